@@ -0,0 +1,123 @@
+/**
+ * LenSymphony - A simple music synthesizer library developed in Lens, France.
+ * Copyright (c) 2025 Romain Wallon - Université d'Artois.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package fr.univartois.butinfo.lensymphony.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+
+import org.xml.sax.SAXException;
+
+import fr.univartois.butinfo.lensymphony.musicxml.MusicXMLSaxParser;
+import fr.univartois.butinfo.lensymphony.notes.Note;
+import fr.univartois.butinfo.lensymphony.notes.NoteFactory;
+
+/**
+ * The Examples class gives access to the MusicXML files bundled in the {@code examples}
+ * directory of the project, on which the benchmarks are run.
+ *
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+final class Examples {
+
+    /**
+     * The system property giving the path of the directory containing the examples.
+     */
+    private static final String EXAMPLES_PROPERTY = "lensymphony.examples";
+
+    /**
+     * Disables instantiation.
+     */
+    private Examples() {
+        throw new AssertionError("No Examples instances for you!");
+    }
+
+    /**
+     * Gives the file of an example.
+     *
+     * @param name The name of the example file.
+     *
+     * @return The file of the example.
+     */
+    static File file(String name) {
+        return new File(System.getProperty(EXAMPLES_PROPERTY, "examples"), name);
+    }
+
+    /**
+     * Creates a SAX parser which does not load the external DTD declared by the examples,
+     * so that the benchmarks do not measure network accesses.
+     *
+     * @return The created parser.
+     *
+     * @throws ParserConfigurationException If the parser cannot be configured.
+     * @throws SAXException If the parser cannot be created.
+     */
+    static SAXParser newSaxParser() throws ParserConfigurationException, SAXException {
+        SAXParserFactory factory = SAXParserFactory.newInstance();
+        factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+        return factory.newSAXParser();
+    }
+
+    /**
+     * Parses an example.
+     *
+     * @param name The name of the example file.
+     *
+     * @return The handler that has parsed the example.
+     *
+     * @throws IOException If the file cannot be read.
+     * @throws ParserConfigurationException If the parser cannot be configured.
+     * @throws SAXException If the file is not a valid XML file.
+     */
+    static MusicXMLSaxParser parse(String name)
+            throws IOException, ParserConfigurationException, SAXException {
+        MusicXMLSaxParser handler = new MusicXMLSaxParser(NoteFactory.getInstance());
+        newSaxParser().parse(file(name), handler);
+        return handler;
+    }
+
+    /**
+     * Parses the parts of an example.
+     *
+     * @param name The name of the example file.
+     *
+     * @return The notes of each part of the example.
+     *
+     * @throws IOException If the file cannot be read.
+     * @throws ParserConfigurationException If the parser cannot be configured.
+     * @throws SAXException If the file is not a valid XML file.
+     */
+    static Map<String, List<Note>> parts(String name)
+            throws IOException, ParserConfigurationException, SAXException {
+        return parse(name).getParts();
+    }
+
+}
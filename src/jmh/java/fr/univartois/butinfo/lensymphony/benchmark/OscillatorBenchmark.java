@@ -0,0 +1,132 @@
+/**
+ * LenSymphony - A simple music synthesizer library developed in Lens, France.
+ * Copyright (c) 2025 Romain Wallon - Université d'Artois.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package fr.univartois.butinfo.lensymphony.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import fr.univartois.butinfo.lensymphony.notes.Instruments;
+import fr.univartois.butinfo.lensymphony.notes.Note;
+import fr.univartois.butinfo.lensymphony.notes.NotePitch;
+import fr.univartois.butinfo.lensymphony.notes.NoteValue;
+import fr.univartois.butinfo.lensymphony.notes.PitchClass;
+import fr.univartois.butinfo.lensymphony.notes.PitchedNote;
+import fr.univartois.butinfo.lensymphony.synthesizer.NoteSynthesizer;
+import fr.univartois.butinfo.lensymphony.synthesizer.OscillatorQuality;
+
+/**
+ * The OscillatorBenchmark measures the time needed to synthesize a note with each of the
+ * instruments relying on oscillators, for each quality of the oscillators.
+ * Comparing the qualities for a given instrument gives the speedup of each backend over
+ * {@code Math.sin}.
+ *
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OscillatorBenchmark {
+
+    /**
+     * The instrument playing the note.
+     */
+    @Param({"TRIANGLE", "TIMPANI", "XYLOPHONE", "VIOLIN", "GUITAR", "PIANO", "FRENCH_HORN",
+            "ACCORDION", "BANJO", "HARP"})
+    public Instruments instrument;
+
+    /**
+     * The quality of the oscillators.
+     */
+    @Param({"EXACT", "ROTATION", "WAVETABLE"})
+    public OscillatorQuality quality;
+
+    /**
+     * The synthesized note (an A4 half note, i.e., one second at 120 BPM).
+     */
+    private final Note note = new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.HALF);
+
+    /**
+     * The synthesizer of the instrument.
+     */
+    private NoteSynthesizer synthesizer;
+
+    /**
+     * The buffer in which the note is synthesized.
+     */
+    private double[] buffer;
+
+    /**
+     * The quality that was in use before the benchmark.
+     */
+    private OscillatorQuality previous;
+
+    /**
+     * Selects the quality of the oscillators.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        previous = OscillatorQuality.getDefault();
+        OscillatorQuality.setDefault(quality);
+        synthesizer = instrument.getSynthesizer();
+        buffer = new double[synthesizer.sampleCount(note, 120)];
+    }
+
+    /**
+     * Restores the quality that was in use before the benchmark.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        OscillatorQuality.setDefault(previous);
+    }
+
+    /**
+     * Synthesizes the note into a reused buffer.
+     *
+     * @return The buffer holding the samples of the note.
+     */
+    @Benchmark
+    public double[] synthesize() {
+        synthesizer.synthesizeInto(note, 120, 0.5, buffer, 0);
+        return buffer;
+    }
+
+}
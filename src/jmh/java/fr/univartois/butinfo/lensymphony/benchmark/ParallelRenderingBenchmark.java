@@ -0,0 +1,144 @@
+/**
+ * LenSymphony - A simple music synthesizer library developed in Lens, France.
+ * Copyright (c) 2025 Romain Wallon - Université d'Artois.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package fr.univartois.butinfo.lensymphony.benchmark;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import fr.univartois.butinfo.lensymphony.notes.Instruments;
+import fr.univartois.butinfo.lensymphony.notes.Note;
+import fr.univartois.butinfo.lensymphony.synthesizer.MultipleScoreSynthesizer;
+import fr.univartois.butinfo.lensymphony.synthesizer.SimpleMusicSynthesizer;
+
+/**
+ * Measures how the rendering of the bundled examples scales with the executor used by
+ * {@link MultipleScoreSynthesizer} to synthesize the parts.
+ * Rendering a whole example takes seconds, so the average time of a rendering is
+ * reported rather than a throughput.
+ *
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class ParallelRenderingBenchmark {
+
+    /**
+     * The name of the rendered example.
+     */
+    @Param({"all-star.xml", "megalovania.xml", "never-gonna-give-you-up.xml",
+            "through-the-fire-and-flames.xml"})
+    public String example;
+
+    /**
+     * The executor on which the parts are rendered.
+     * It is either {@code sequential}, {@code forkjoin-<n>} for a pool of {@code n}
+     * threads, or {@code virtual} for one virtual thread per part.
+     */
+    @Param({"sequential", "forkjoin-2", "forkjoin-4", "forkjoin-8", "virtual"})
+    public String executor;
+
+    /**
+     * The tempo of the example.
+     */
+    private int tempo;
+
+    /**
+     * The notes of each part of the example.
+     */
+    private List<List<Note>> parts;
+
+    /**
+     * The executor service on which the parts are rendered.
+     */
+    private ExecutorService service;
+
+    /**
+     * Parses the example and creates the executor.
+     *
+     * @throws Exception If the example cannot be parsed.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        var handler = Examples.parse(example);
+        tempo = handler.getTempo();
+        parts = List.copyOf(handler.getParts().values());
+
+        if (executor.equals("virtual")) {
+            service = Executors.newVirtualThreadPerTaskExecutor();
+        } else if (executor.startsWith("forkjoin-")) {
+            service = new ForkJoinPool(Integer.parseInt(executor.substring("forkjoin-".length())));
+        }
+    }
+
+    /**
+     * Releases the threads of the executor.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    /**
+     * Renders all the parts of the example with the same instrument as the command line
+     * uses by default, and mixes them.
+     *
+     * @return The mixed samples.
+     */
+    @Benchmark
+    public double[] render() {
+        MultipleScoreSynthesizer composite = new MultipleScoreSynthesizer(service);
+        for (List<Note> notes : parts) {
+            composite.add(new SimpleMusicSynthesizer(tempo, notes,
+                    Instruments.XYLOPHONE.getSynthesizer(), 0.5));
+        }
+        composite.synthesize();
+        return composite.getSamples();
+    }
+
+}
@@ -0,0 +1,212 @@
+/**
+ * LenSymphony - A simple music synthesizer library developed in Lens, France.
+ * Copyright (c) 2025 Romain Wallon - Université d'Artois.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package fr.univartois.butinfo.lensymphony.benchmark;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.parsers.SAXParser;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import fr.univartois.butinfo.lensymphony.binary.BinaryScoreReader;
+import fr.univartois.butinfo.lensymphony.binary.BinaryScoreWriter;
+import fr.univartois.butinfo.lensymphony.musicxml.MusicXMLCache;
+import fr.univartois.butinfo.lensymphony.musicxml.MusicXMLParallelParser;
+import fr.univartois.butinfo.lensymphony.musicxml.MusicXMLSaxParser;
+import fr.univartois.butinfo.lensymphony.musicxml.MusicXMLStaxParser;
+import fr.univartois.butinfo.lensymphony.notes.Note;
+import fr.univartois.butinfo.lensymphony.notes.NoteFactory;
+
+/**
+ * Measures the throughput of {@link MusicXMLSaxParser}, {@link MusicXMLStaxParser} and
+ * {@link MusicXMLParallelParser} on the bundled examples, as well as the loading of the
+ * same examples once converted to binary scores with {@link BinaryScoreWriter}, and their
+ * retrieval from a warm {@link MusicXMLCache}.
+ * The SAX parser, the thread pool, the binary scores and the cache are created once, so
+ * that only the parsing of the document and the creation of the notes are measured.
+ *
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParserBenchmark {
+
+    /**
+     * The name of the parsed example.
+     */
+    @Param({"mystere-1.xml", "weeknd.xml", "megalovania.xml", "all-star.xml",
+            "through-the-fire-and-flames.xml", "bad-piggies.xml", "mystere-5.xml",
+            "never-gonna-give-you-up.xml"})
+    public String example;
+
+    /**
+     * The file of the example.
+     */
+    private File file;
+
+    /**
+     * The SAX parser reading the example.
+     */
+    private SAXParser parser;
+
+    /**
+     * The pool on which the parts are parsed in parallel.
+     */
+    private ForkJoinPool pool;
+
+    /**
+     * The binary score converted from the example.
+     */
+    private Path binaryFile;
+
+    /**
+     * The cache in which the example has already been parsed.
+     */
+    private MusicXMLCache cache;
+
+    /**
+     * Creates the SAX parser, the thread pool, the binary score and the cache.
+     *
+     * @throws Exception If the parser or the binary score cannot be created.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        file = Examples.file(example);
+        parser = Examples.newSaxParser();
+        pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+        MusicXMLSaxParser handler = Examples.parse(example);
+        binaryFile = Files.createTempFile("lensymphony", ".lsym");
+        BinaryScoreWriter.write(binaryFile, handler.getTempo(), handler.getTempoMap(), handler.getParts());
+
+        cache = new MusicXMLCache(NoteFactory.getInstance());
+        cache.parse(file);
+    }
+
+    /**
+     * Shuts the thread pool down and deletes the binary score.
+     *
+     * @throws Exception If the binary score cannot be deleted.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        pool.shutdown();
+        Files.deleteIfExists(binaryFile);
+    }
+
+    /**
+     * Parses the example with {@link MusicXMLSaxParser}.
+     *
+     * @return The notes of each part of the example.
+     *
+     * @throws Exception If the example cannot be parsed.
+     */
+    @Benchmark
+    public Map<String, List<Note>> sax() throws Exception {
+        MusicXMLSaxParser handler = new MusicXMLSaxParser(NoteFactory.getInstance());
+        parser.parse(file, handler);
+        return handler.getParts();
+    }
+
+    /**
+     * Parses the example with {@link MusicXMLStaxParser}.
+     *
+     * @return The notes of each part of the example.
+     *
+     * @throws Exception If the example cannot be parsed.
+     */
+    @Benchmark
+    public Map<String, List<Note>> stax() throws Exception {
+        MusicXMLStaxParser parser = new MusicXMLStaxParser(NoteFactory.getInstance());
+        parser.parse(file);
+        return parser.getParts();
+    }
+
+    /**
+     * Parses the parts of the example in parallel with {@link MusicXMLParallelParser}.
+     *
+     * @return The notes of each part of the example.
+     *
+     * @throws Exception If the example cannot be parsed.
+     */
+    @Benchmark
+    public Map<String, List<Note>> parallel() throws Exception {
+        MusicXMLParallelParser parallelParser = new MusicXMLParallelParser(
+                NoteFactory.getInstance(), pool);
+        parallelParser.parse(file);
+        return parallelParser.getParts();
+    }
+
+    /**
+     * Loads the example converted to a binary score with {@link BinaryScoreReader}.
+     *
+     * @return The notes of each part of the example.
+     *
+     * @throws Exception If the binary score cannot be loaded.
+     */
+    @Benchmark
+    public Map<String, List<Note>> binary() throws Exception {
+        BinaryScoreReader reader = new BinaryScoreReader(NoteFactory.getInstance());
+        reader.read(binaryFile.toFile());
+        return reader.getParts();
+    }
+
+    /**
+     * Retrieves the example from a {@link MusicXMLCache} in which it has already been
+     * parsed.
+     *
+     * @return The notes of each part of the example.
+     *
+     * @throws Exception If the example cannot be read.
+     */
+    @Benchmark
+    public Map<String, List<Note>> cached() throws Exception {
+        return cache.parse(file).parts();
+    }
+
+}
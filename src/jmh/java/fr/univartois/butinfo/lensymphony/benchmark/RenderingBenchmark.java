@@ -0,0 +1,154 @@
+/**
+ * LenSymphony - A simple music synthesizer library developed in Lens, France.
+ * Copyright (c) 2025 Romain Wallon - Université d'Artois.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package fr.univartois.butinfo.lensymphony.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import fr.univartois.butinfo.lensymphony.notes.Instruments;
+import fr.univartois.butinfo.lensymphony.notes.Note;
+import fr.univartois.butinfo.lensymphony.notes.PackedScore;
+import fr.univartois.butinfo.lensymphony.synthesizer.MultipleScoreSynthesizer;
+import fr.univartois.butinfo.lensymphony.synthesizer.PackedMusicSynthesizer;
+import fr.univartois.butinfo.lensymphony.synthesizer.SimpleMusicSynthesizer;
+
+/**
+ * Measures the throughput of the end-to-end rendering of the bundled examples, part by
+ * part with {@link SimpleMusicSynthesizer} or from packed scores with
+ * {@link PackedMusicSynthesizer}, and mixed with {@link MultipleScoreSynthesizer}.
+ * Rendering a whole example takes seconds, so the throughput is reported in renderings
+ * per minute.
+ *
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MINUTES)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class RenderingBenchmark {
+
+    /**
+     * The name of the rendered example.
+     */
+    @Param({"all-star.xml", "bad-piggies.xml", "megalovania.xml", "mystere-1.xml",
+            "mystere-2.xml", "mystere-3.xml", "mystere-4.xml", "mystere-5.xml",
+            "mystere-6.xml", "never-gonna-give-you-up.xml", "take-my-breath.xml",
+            "through-the-fire-and-flames.xml", "weeknd.xml"})
+    public String example;
+
+    /**
+     * The instrument playing all the parts.
+     */
+    @Param({"XYLOPHONE", "PIANO"})
+    public Instruments instrument;
+
+    /**
+     * The tempo of the example.
+     */
+    private int tempo;
+
+    /**
+     * The notes of each part of the example.
+     */
+    private List<List<Note>> parts;
+
+    /**
+     * Parses the example.
+     *
+     * @throws Exception If the example cannot be parsed.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        var handler = Examples.parse(example);
+        tempo = handler.getTempo();
+        parts = List.copyOf(handler.getParts().values());
+    }
+
+    /**
+     * Renders each part of the example on its own.
+     *
+     * @param blackhole The blackhole consuming the samples of each part.
+     */
+    @Benchmark
+    public void simple(Blackhole blackhole) {
+        for (List<Note> notes : parts) {
+            SimpleMusicSynthesizer synth = new SimpleMusicSynthesizer(tempo, notes,
+                    instrument.getSynthesizer(), 0.5);
+            synth.synthesize();
+            blackhole.consume(synth.getSamples());
+        }
+    }
+
+    /**
+     * Renders all the parts of the example sequentially, and mixes them.
+     *
+     * @return The mixed samples.
+     */
+    @Benchmark
+    public double[] multiple() {
+        MultipleScoreSynthesizer composite = new MultipleScoreSynthesizer();
+        for (List<Note> notes : parts) {
+            composite.add(new SimpleMusicSynthesizer(tempo, notes,
+                    instrument.getSynthesizer(), 0.5));
+        }
+        composite.synthesize();
+        return composite.getSamples();
+    }
+
+    /**
+     * Packs each part of the example, and renders it on its own.
+     * The packing of the parts is measured too, as it is done for each rendering.
+     *
+     * @param blackhole The blackhole consuming the samples of each part.
+     */
+    @Benchmark
+    public void packed(Blackhole blackhole) {
+        for (List<Note> notes : parts) {
+            PackedScore score = PackedScore.of(notes, tempo);
+            PackedMusicSynthesizer synth = new PackedMusicSynthesizer(score,
+                    instrument.getSynthesizer(), 0.5);
+            synth.synthesize();
+            blackhole.consume(synth.getSamples());
+        }
+    }
+
+}
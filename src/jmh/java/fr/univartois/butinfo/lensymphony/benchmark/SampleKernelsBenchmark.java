@@ -0,0 +1,143 @@
+/**
+ * LenSymphony - A simple music synthesizer library developed in Lens, France.
+ * Copyright (c) 2025 Romain Wallon - Université d'Artois.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package fr.univartois.butinfo.lensymphony.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import fr.univartois.butinfo.lensymphony.synthesizer.SampleKernels;
+
+/**
+ * Compares the scalar and SIMD {@link SampleKernels} on one second of samples.
+ *
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SampleKernelsBenchmark {
+
+    /**
+     * The number of samples processed by each kernel.
+     */
+    private static final int LENGTH = 44100;
+
+    /**
+     * The kernels to measure.
+     */
+    @Param({"SCALAR", "VECTOR"})
+    public SampleKernels kernels;
+
+    /**
+     * The samples read by the kernels.
+     */
+    private double[] samples;
+
+    /**
+     * The buffer written by the kernels.
+     */
+    private double[] buffer;
+
+    /**
+     * The PCM data written by the encoding kernel.
+     */
+    private byte[] data;
+
+    /**
+     * Fills the samples with random values, and allocates the output buffers.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        samples = new double[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            samples[i] = 2 * random.nextDouble() - 1;
+        }
+        buffer = new double[LENGTH];
+        data = new byte[2 * LENGTH];
+    }
+
+    /**
+     * Scales the samples into the buffer.
+     *
+     * @return The scaled samples.
+     */
+    @Benchmark
+    public double[] scale() {
+        kernels.scale(samples, 0, buffer, 0, LENGTH, 0.5);
+        return buffer;
+    }
+
+    /**
+     * Mixes the samples into the buffer, as one of four parts.
+     *
+     * @return The mixed samples.
+     */
+    @Benchmark
+    public double[] mix() {
+        kernels.mix(samples, 0, buffer, 0, LENGTH, 4);
+        return buffer;
+    }
+
+    /**
+     * Adds white noise to the buffer.
+     *
+     * @return The noisy samples.
+     */
+    @Benchmark
+    public double[] addNoise() {
+        kernels.addNoise(42, 0, 0.1, buffer, 0, LENGTH);
+        return buffer;
+    }
+
+    /**
+     * Encodes the samples into PCM data.
+     *
+     * @return The encoded samples.
+     */
+    @Benchmark
+    public byte[] encode() {
+        kernels.encode(samples, 0, LENGTH, data, 0);
+        return data;
+    }
+
+}
@@ -0,0 +1,112 @@
+/**
+ * LenSymphony - A simple music synthesizer library developed in Lens, France.
+ * Copyright (c) 2025 Romain Wallon - Université d'Artois.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package fr.univartois.butinfo.lensymphony.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import fr.univartois.butinfo.lensymphony.notes.Instruments;
+import fr.univartois.butinfo.lensymphony.notes.Note;
+import fr.univartois.butinfo.lensymphony.notes.NotePitch;
+import fr.univartois.butinfo.lensymphony.notes.NoteValue;
+import fr.univartois.butinfo.lensymphony.notes.PitchClass;
+import fr.univartois.butinfo.lensymphony.notes.PitchedNote;
+import fr.univartois.butinfo.lensymphony.synthesizer.NoteSynthesizer;
+
+/**
+ * Measures the throughput of {@link NoteSynthesizer#synthesize(Note, int, double)} for the
+ * synthesizer of every instrument, on notes of different lengths.
+ * Along with the gc profiler, this gives the allocation rate of each synthesizer.
+ *
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SynthesizerBenchmark {
+
+    /**
+     * The tempo at which the note is played.
+     */
+    private static final int TEMPO = 120;
+
+    /**
+     * The instrument playing the note (all the instruments are measured).
+     */
+    @Param
+    public Instruments instrument;
+
+    /**
+     * The value of the note, i.e., 2 s, 0.5 s or 0.125 s at 120 BPM.
+     */
+    @Param({"WHOLE", "QUARTER", "SIXTEENTH"})
+    public NoteValue value;
+
+    /**
+     * The synthesized note.
+     */
+    private Note note;
+
+    /**
+     * The synthesizer of the instrument.
+     */
+    private NoteSynthesizer synthesizer;
+
+    /**
+     * Creates the note to synthesize.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        note = new PitchedNote(NotePitch.of(PitchClass.A, 4), value);
+        synthesizer = instrument.getSynthesizer();
+    }
+
+    /**
+     * Synthesizes the note into a new array.
+     *
+     * @return The samples of the note.
+     */
+    @Benchmark
+    public double[] synthesize() {
+        return synthesizer.synthesize(note, TEMPO, 0.5);
+    }
+
+}
@@ -24,13 +24,28 @@
 package fr.univartois.butinfo.lensymphony;
 
 import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
 
+import fr.univartois.butinfo.lensymphony.binary.BinaryScoreReader;
+import fr.univartois.butinfo.lensymphony.binary.BinaryScoreWriter;
+import fr.univartois.butinfo.lensymphony.musicxml.MusicXMLCache;
+import fr.univartois.butinfo.lensymphony.musicxml.MusicXMLParallelParser;
 import fr.univartois.butinfo.lensymphony.musicxml.MusicXMLSaxParser;
+import fr.univartois.butinfo.lensymphony.musicxml.NoteListener;
+import fr.univartois.butinfo.lensymphony.musicxml.VoiceLayout;
 import fr.univartois.butinfo.lensymphony.notes.*;
 import fr.univartois.butinfo.lensymphony.synthesizer.*;
 import picocli.CommandLine;
@@ -84,63 +99,240 @@ public final class LenSymphony {
             }
 
 
-            // Creating the SAX parser.
-            SAXParserFactory factory = SAXParserFactory.newInstance();
-            SAXParser saxParser = factory.newSAXParser();
+            if (cmd.getOscillator() != null) {
+                OscillatorQuality.setDefault(cmd.getOscillator());
+            }
+
+            File input = new File(cmd.getInput());
+            if (cmd.isPipeline() && (cmd.getConvert() == null)
+                    && !BinaryScoreReader.isBinaryScore(input)) {
+                // The parts are synthesized while the file is parsed.
+                pipeline(cmd, input);
+                return;
+            }
+
+            ExecutorService executor = createExecutor(cmd);
+            MultipleScoreSynthesizer composite;
+            // The executor is shut down whatever happens, so that no thread is left running.
+            try {
+                int tempo;
+                TempoMap tempoMap;
+                Map<String, List<Note>> listePartitions;
+
+                if (BinaryScoreReader.isBinaryScore(input)) {
+                    // The score has already been parsed and saved in the binary format.
+                    BinaryScoreReader reader = new BinaryScoreReader(noteFactory);
+                    reader.read(input);
+                    tempo = reader.getTempo();
+                    tempoMap = reader.getTempoMap();
+                    listePartitions = reader.getParts();
+
+                } else if (cmd.getCache() != null) {
+                    // The file is parsed only if it has not been parsed before.
+                    MusicXMLCache cache = new MusicXMLCache(noteFactory,
+                            MusicXMLCache.DEFAULT_CAPACITY, Path.of(cmd.getCache()));
+                    MusicXMLCache.ParsedScore score = cache.parse(input);
+                    tempo = score.tempo();
+                    tempoMap = score.tempoMap();
+                    listePartitions = score.parts();
 
-            // Parsing the MusicXML file.
-            MusicXMLSaxParser handler = new MusicXMLSaxParser(noteFactory);
-            saxParser.parse(new File(cmd.getInput()), handler);
+                } else if (executor == null) {
+                    // Creating the SAX parser.
+                    SAXParserFactory factory = SAXParserFactory.newInstance();
+                    SAXParser saxParser = factory.newSAXParser();
 
-            // Creating a musical score from the parsed data.
+                    // Parsing the MusicXML file.
+                    MusicXMLSaxParser handler = new MusicXMLSaxParser(noteFactory);
+                    saxParser.parse(input, handler);
+                    tempo = handler.getTempo();
+                    tempoMap = handler.getTempoMap();
+                    listePartitions = handler.getParts();
 
-            // Synthesizing and playing the music.
-            MusicPiece musicPiece = new MusicPiece(handler.getTempo());
+                } else {
+                    // The parts are parsed in parallel, on the same executor as the synthesis.
+                    MusicXMLParallelParser parser = new MusicXMLParallelParser(noteFactory, executor);
+                    parser.parse(input);
+                    tempo = parser.getTempo();
+                    tempoMap = parser.getTempoMap();
+                    listePartitions = parser.getParts();
+                }
+
+                if (cmd.getConvert() != null) {
+                    // Saving the parsed score, so that it does not need to be parsed again.
+                    BinaryScoreWriter.write(Path.of(cmd.getConvert()), tempo, tempoMap, listePartitions);
+                }
 
-            Map<String, List<Note>> listePartitions = handler.getParts();
+                // Creating a musical score from the parsed data.
+
+                // Synthesizing and playing the music.
+                MusicPiece musicPiece = new MusicPiece(tempoMap);
+
+                // The other lines of a staff (e.g., for its chords) are played with this staff.
+                Map<String, List<List<Note>>> lines = new HashMap<>();
+                Iterator<Map.Entry<String, List<Note>>> it = listePartitions.entrySet().iterator();
+                while (it.hasNext()) {
+                    Map.Entry<String, List<Note>> entry = it.next();
+                    String staff = VoiceLayout.staffOf(entry.getKey());
+                    if (!staff.equals(entry.getKey())) {
+                        lines.computeIfAbsent(staff, k -> new ArrayList<>()).add(entry.getValue());
+                        it.remove();
+                    }
+                }
 
+                // The scores are given by the ID of their part.
+                Map<String, Score> scores = new LinkedHashMap<>();
+                List<String> voices = cmd.getVoices();
+                if (voices != null) {
+                    for (String voice : voices) {
+                        String[] split = voice.split(":");
+                        String part = split[0];
+                        String instrument = split[1].toUpperCase();
+                        List<Note> notes = listePartitions.get(part);
+                        if (notes == null) {
+                            continue;
+                        }
+                        Score score = new Score(Instruments.valueOf(instrument), notes);
+                        lines.getOrDefault(part, List.of()).forEach(score::addVoice);
+                        scores.put(part, score);
+                        listePartitions.remove(part);
+                    }
+                }
 
-            List<String> voices = cmd.getVoices();
-            if (voices != null) {
-                for (String voice : voices) {
-                    String[] split = voice.split(":");
-                    String part = split[0];
-                    String instrument = split[1].toUpperCase();
-                    List<Note> notes = listePartitions.get(part);
+                for (Map.Entry<String, List<Note>> entry : listePartitions.entrySet()) {
+                    List<Note> notes = entry.getValue();
                     if (notes == null) {
                         continue;
                     }
-                    Score score = new Score(Instruments.valueOf(instrument), notes);
-                    musicPiece.addScore(score);
-                    listePartitions.remove(part);
+                    Score score = new Score(Instruments.XYLOPHONE, notes); //Default instrument
+                    lines.getOrDefault(entry.getKey(), List.of()).forEach(score::addVoice);
+                    scores.put(entry.getKey(), score);
+                }
+                scores.values().forEach(musicPiece::addScore);
+
+                composite = new MultipleScoreSynthesizer(executor);
+
+                // Each synthesizer caches the notes it plays, whatever the parts playing them.
+                Map<NoteSynthesizer, NoteSynthesizer> synthesizers = new IdentityHashMap<>();
+                for (Map.Entry<String, Score> entry : scores.entrySet()) {
+                    Score score = entry.getValue();
+                    NoteSynthesizer ns = synthesizers.computeIfAbsent(
+                            synthesizerOf(score.getInstrument(), entry.getKey()),
+                            CachingSynthesizer::new);
+                    // The notes are packed once, so that they are rendered from primitive arrays.
+                    PackedScore packed = PackedScore.ofVoices(score.getVoices(), musicPiece.getTempoMap());
+                    composite.add(new PackedMusicSynthesizer(packed, ns, 0.5));
                 }
-            }
 
-            for (Map.Entry<String, List<Note>> entry : listePartitions.entrySet()) {
-                List<Note> notes = entry.getValue();
-                if (notes == null) {
-                    continue;
+                if ((cmd.getOutput() != null) && (cmd.isPlay() || (executor != null))) {
+                    // The samples are reused for playback, or rendered in parallel.
+                    composite.synthesize();
+                }
+                if (cmd.getOutput() != null) {
+                    composite.save(cmd.getOutput());
+                }
+            } finally {
+                if (executor != null) {
+                    executor.shutdown();
                 }
-                Score score = new Score(Instruments.XYLOPHONE, notes); //Default instrument
-                musicPiece.addScore(score);
+            }
+            if (cmd.isPlay()) {
+                // When nothing has been synthesized, the piece is rendered while it plays.
+                composite.play();
             }
 
-            MultipleScoreSynthesizer composite = new MultipleScoreSynthesizer();
+    }
 
-            for (Score score : musicPiece.getScores()) {
-                NoteSynthesizer ns = score.getInstrument().getSynthesizer();
-                SimpleMusicSynthesizer sms = new SimpleMusicSynthesizer(musicPiece.getTempo(), score.getNotes(), ns,0.5);
-                composite.add(sms);
+    /**
+     * Parses a MusicXML file and synthesizes its parts at the same time.
+     * Each part is handed to a renderer running on its own thread as soon as it has been
+     * parsed, and the parts are mixed while they are saved or played.
+     *
+     * @param cmd The parsed command line.
+     * @param input The MusicXML file to parse.
+     *
+     * @throws Exception If any error occurs.
+     */
+    private static void pipeline(MusicCommandLine cmd, File input) throws Exception {
+        // Each part is played by the instrument given on the command line, if any.
+        Map<String, Instruments> instruments = new HashMap<>();
+        if (cmd.getVoices() != null) {
+            for (String voice : cmd.getVoices()) {
+                String[] split = voice.split(":");
+                instruments.putIfAbsent(split[0], Instruments.valueOf(split[1].toUpperCase()));
             }
+        }
+        Map<NoteSynthesizer, NoteSynthesizer> synthesizers = new IdentityHashMap<>();
+        PipelinedMusicSynthesizer pipeline = new PipelinedMusicSynthesizer(staff -> {
+            Instruments instrument = instruments.getOrDefault(staff, Instruments.XYLOPHONE);
+            return synthesizers.computeIfAbsent(synthesizerOf(instrument, staff),
+                    CachingSynthesizer::new);
+        }, 0.5);
 
-            composite.synthesize();
-            if (cmd.getOutput() != null) {
-                composite.save(cmd.getOutput());
+        // The lines of a staff are played as its part, as when the whole file is parsed.
+        MusicXMLSaxParser handler = new MusicXMLSaxParser(noteFactory, new NoteListener() {
+
+            @Override
+            public void noteParsed(String lineId, int tempo, Note note) {
+                pipeline.addNote(VoiceLayout.staffOf(lineId), lineId, note);
             }
-            if (cmd.isPlay()) {
-                composite.play();
+
+            @Override
+            public void partParsed(TempoMap tempoMap) {
+                pipeline.endParts(tempoMap);
             }
 
+        });
+        try {
+            SAXParser saxParser = SAXParserFactory.newInstance().newSAXParser();
+            saxParser.parse(input, handler);
+        } finally {
+            pipeline.finish(handler.getTempoMap());
+        }
+
+        if ((cmd.getOutput() != null) && cmd.isPlay()) {
+            // The rendered parts can only be read once.
+            pipeline.synthesize();
+        }
+        if (cmd.getOutput() != null) {
+            pipeline.save(cmd.getOutput());
+        }
+        if (cmd.isPlay()) {
+            pipeline.play();
+        }
+    }
+
+    /**
+     * Gives the synthesizer with which an instrument plays a part.
+     * The instruments making noises draw it from a source derived from the ID of the part,
+     * so that the parts they play do not sound exactly the same, while each of them sounds
+     * the same from one rendering to another.
+     *
+     * @param instrument The instrument playing the part.
+     * @param part The ID of the part.
+     *
+     * @return The synthesizer to use for the part.
+     */
+    static NoteSynthesizer synthesizerOf(Instruments instrument, String part) {
+        return instrument.getSynthesizer(NoiseSource.DEFAULT.derive(part));
+    }
+
+    /**
+     * Creates the executor on which the parts are parsed and synthesized, as requested on
+     * the command line.
+     *
+     * @param cmd The parsed command line.
+     *
+     * @return The executor to use, or {@code null} if the parts must be parsed and
+     *         synthesized sequentially.
+     */
+    private static ExecutorService createExecutor(MusicCommandLine cmd) {
+        if (cmd.isVirtualThreads()) {
+            return Executors.newVirtualThreadPerTaskExecutor();
+        }
+        if (cmd.getJobs() > 0) {
+            return new ForkJoinPool(cmd.getJobs());
+        }
+        return null;
     }
 
 }
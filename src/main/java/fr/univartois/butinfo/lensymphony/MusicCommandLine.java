@@ -1,27 +1,52 @@
 package fr.univartois.butinfo.lensymphony;
 
+import fr.univartois.butinfo.lensymphony.synthesizer.OscillatorQuality;
 import picocli.CommandLine.Option;
 
 import java.util.List;
 import java.util.concurrent.Callable;
 
 class MusicCommandLine implements Callable<Integer> {
-	@Option(names = {"-i", "--input"}, description = "Fichier MusicXML d'entrée", required = true)
+	@Option(names = {"-i", "--input"}, description = "Fichier d'entrée, au format MusicXML ou binaire", required = true)
 	private String input;
 
 	@Option(names = {"-o", "--output"}, description = "Fichier de sortie (optionnel)")
 	private String output;
 
+	@Option(names = {"-c", "--convert"}, description = "Fichier dans lequel enregistrer la partition au format binaire, pour la relire sans analyser le MusicXML")
+	private String convert;
+
 	@Option(names = {"-p", "--play"}, description = "Jouer en temps réel")
 	private boolean play ;
 
 	@Option(names = {"-v", "--voice"}, description = "Configuration de voix au format id:instrument. Peut être présent plusieurs fois.",split=",")
 	private List<String> voices;
 
+	@Option(names = {"-j", "--jobs"}, description = "Nombre de threads utilisés pour lire et synthétiser les parties en parallèle (0 pour un rendu séquentiel)")
+	private int jobs;
+
+	@Option(names = {"--virtual-threads"}, description = "Lire et synthétiser chaque partie sur un thread virtuel")
+	private boolean virtualThreads;
+
+	@Option(names = {"--pipeline"}, description = "Synthétiser les parties pendant la lecture du fichier MusicXML")
+	private boolean pipeline;
+
+	@Option(names = {"--cache"}, description = "Dossier dans lequel conserver les partitions analysées, pour ne pas relire un fichier MusicXML inchangé")
+	private String cache;
+
+	@Option(names = {"--oscillator"}, description = "Calcul des sinusoïdes : ${COMPLETION-CANDIDATES} (EXACT par défaut)")
+	private OscillatorQuality oscillator;
+
 	public String getInput() { return input; }
 	public String getOutput() { return output; }
+	public String getConvert() { return convert; }
 	public boolean isPlay() { return play; }
 	public List<String> getVoices() { return voices; }
+	public int getJobs() { return jobs; }
+	public boolean isVirtualThreads() { return virtualThreads; }
+	public boolean isPipeline() { return pipeline; }
+	public String getCache() { return cache; }
+	public OscillatorQuality getOscillator() { return oscillator; }
 
 	public Integer call() throws Exception {
 		return 0;
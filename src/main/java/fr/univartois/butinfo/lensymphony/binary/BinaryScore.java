@@ -0,0 +1,137 @@
+/**
+ * LenSymphony - A simple music synthesizer library developed in Lens, France.
+ * Copyright (c) 2025 Romain Wallon - Université d'Artois.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package fr.univartois.butinfo.lensymphony.binary;
+
+import fr.univartois.butinfo.lensymphony.notes.PitchClass;
+
+/**
+ * The BinaryScore class defines the layout of binary score files.
+ * Such a file stores the tempo of a piece, its changes of tempo and the notes of each of
+ * its parts, as follows (all integers being big-endian):
+ *
+ * <ol>
+ * <li>a header made of six {@code int}s: the magic number {@link #MAGIC}, the version
+ * of the format, the tempo, the number of changes of tempo, the number of parts and the
+ * total number of rows;</li>
+ * <li>a table giving, for each change of tempo, its position in ticks (a {@code long})
+ * and the tempo it sets (an {@code int}), as in a
+ * {@link fr.univartois.butinfo.lensymphony.notes.TempoMap};</li>
+ * <li>a table giving, for each part, the index of its first row and its number of rows
+ * (two {@code int}s);</li>
+ * <li>the identifiers of the parts, each being encoded in UTF-8 and preceded by its
+ * length (as an unsigned {@code short});</li>
+ * <li>three columns of one byte per row, giving respectively the pitch, the value and
+ * the flags of each row.</li>
+ * </ol>
+ *
+ * Each row represents a single pitched note or rest.
+ * Its pitch is given by the index {@code octave * 12 + pitchClass}, or is {@link #REST}
+ * for a rest.
+ * Its value is the ordinal of a {@link fr.univartois.butinfo.lensymphony.notes.NoteValue}.
+ * Its flags give its number of dots, whether it has a fermata, and whether it belongs to
+ * a group of tied notes.
+ * <p>
+ * Files of the first version of the format have no changes of tempo: their header is
+ * made of five {@code int}s, without the number of changes, and they have no table of
+ * changes.
+ *
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+final class BinaryScore {
+
+    /**
+     * The magic number identifying binary score files ({@code "LSYM"}).
+     */
+    static final int MAGIC = 0x4c53594d;
+
+    /**
+     * The version of the format.
+     */
+    static final int VERSION = 2;
+
+    /**
+     * The version of the format in which the changes of tempo are not stored.
+     */
+    static final int SINGLE_TEMPO_VERSION = 1;
+
+    /**
+     * The size of the header (in bytes).
+     */
+    static final int HEADER_SIZE = 6 * Integer.BYTES;
+
+    /**
+     * The size of an entry of the table of changes of tempo (in bytes).
+     */
+    static final int TEMPO_ENTRY_SIZE = Long.BYTES + Integer.BYTES;
+
+    /**
+     * The size of an entry of the part table (in bytes).
+     */
+    static final int PART_ENTRY_SIZE = 2 * Integer.BYTES;
+
+    /**
+     * The number of pitch classes in an octave.
+     */
+    static final int PITCH_CLASSES = PitchClass.values().length;
+
+    /**
+     * The pitch of the rows representing rests.
+     */
+    static final byte REST = -1;
+
+    /**
+     * The pitch of the rows representing an empty group of tied notes.
+     */
+    static final byte EMPTY_TIE = -2;
+
+    /**
+     * The mask of the flags giving the number of dots of a row.
+     */
+    static final int DOTS = 0x03;
+
+    /**
+     * The flag set on rows having a fermata (applied after their dots).
+     */
+    static final int FERMATA = 0x04;
+
+    /**
+     * The flag set on rows belonging to a group of tied notes.
+     */
+    static final int TIED = 0x08;
+
+    /**
+     * The flag set on the last row of a group of tied notes.
+     */
+    static final int TIE_END = 0x10;
+
+    /**
+     * Disables instantiation.
+     */
+    private BinaryScore() {
+        throw new AssertionError("No BinaryScore instances for you!");
+    }
+
+}
@@ -0,0 +1,360 @@
+/**
+ * LenSymphony - A simple music synthesizer library developed in Lens, France.
+ * Copyright (c) 2025 Romain Wallon - Université d'Artois.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package fr.univartois.butinfo.lensymphony.binary;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import fr.univartois.butinfo.lensymphony.notes.AbstractNoteFactory;
+import fr.univartois.butinfo.lensymphony.notes.Note;
+import fr.univartois.butinfo.lensymphony.notes.NotePitch;
+import fr.univartois.butinfo.lensymphony.notes.NoteValue;
+import fr.univartois.butinfo.lensymphony.notes.PitchClass;
+import fr.univartois.butinfo.lensymphony.notes.TempoMap;
+
+/**
+ * The BinaryScoreReader loads the parts of a piece saved in the binary format described
+ * by {@link BinaryScore}.
+ * The file is mapped in memory, and the notes are created directly from its columns,
+ * without any parsing.
+ * It gives access to the same data as the MusicXML parsers.
+ *
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+public final class BinaryScoreReader {
+
+    /**
+     * The pitch classes, indexed by their ordinal.
+     */
+    private static final PitchClass[] PITCH_CLASSES = PitchClass.values();
+
+    /**
+     * The note values, indexed by their ordinal.
+     */
+    private static final NoteValue[] VALUES = NoteValue.values();
+
+    /**
+     * The factory to create the notes of the loaded music.
+     */
+    private final AbstractNoteFactory noteFactory;
+
+    /**
+     * The tempo of the music (in beats per minute).
+     */
+    private int tempo = 60;
+
+    /**
+     * The changes of tempo of the music, or {@code null} if they have not been stored.
+     */
+    private TempoMap tempoMap;
+
+    /**
+     * The map associating each part (given by its ID) to the list of notes in that part.
+     */
+    private final Map<String, List<Note>> parts = new TreeMap<>();
+
+    /**
+     * Creates a new BinaryScoreReader.
+     *
+     * @param noteFactory The factory to create the notes of the loaded music.
+     */
+    public BinaryScoreReader(AbstractNoteFactory noteFactory) {
+        this.noteFactory = noteFactory;
+    }
+
+    /**
+     * Checks whether a file is a binary score file, by looking at its magic number.
+     *
+     * @param file The file to check.
+     *
+     * @return Whether the file is a binary score file.
+     *
+     * @throws IOException If the file cannot be read.
+     */
+    public static boolean isBinaryScore(File file) throws IOException {
+        try (InputStream stream = Files.newInputStream(file.toPath());
+                DataInputStream input = new DataInputStream(stream)) {
+            return input.readInt() == BinaryScore.MAGIC;
+
+        } catch (EOFException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Loads a binary score file.
+     *
+     * @param file The file to load.
+     *
+     * @throws IOException If the file cannot be read, or is not a valid binary score file.
+     */
+    public void read(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+            read(buffer);
+        }
+    }
+
+    /**
+     * Loads a binary score from a buffer.
+     *
+     * @param buffer The buffer containing the binary score, from its current position.
+     *
+     * @throws IOException If the buffer does not contain a valid binary score.
+     */
+    public void read(ByteBuffer buffer) throws IOException {
+        try {
+            if (buffer.getInt() != BinaryScore.MAGIC) {
+                throw new IOException("Not a binary score, or unsupported version");
+            }
+            int version = buffer.getInt();
+            if ((version != BinaryScore.VERSION) && (version != BinaryScore.SINGLE_TEMPO_VERSION)) {
+                throw new IOException("Not a binary score, or unsupported version");
+            }
+            tempo = buffer.getInt();
+            int changeCount = (version == BinaryScore.VERSION) ? buffer.getInt() : 0;
+            int partCount = buffer.getInt();
+            int rows = buffer.getInt();
+            if ((changeCount < 0) || (partCount < 0) || (rows < 0)) {
+                throw new IOException("Corrupted binary score");
+            }
+            tempoMap = (changeCount == 0) ? null : readTempoMap(buffer, changeCount);
+
+            int[] firstRows = new int[partCount];
+            int[] rowCounts = new int[partCount];
+            for (int p = 0; p < partCount; p++) {
+                firstRows[p] = buffer.getInt();
+                rowCounts[p] = buffer.getInt();
+                if ((firstRows[p] < 0) || (rowCounts[p] < 0)
+                        || (firstRows[p] > rows - rowCounts[p])) {
+                    throw new IOException("Corrupted binary score");
+                }
+            }
+
+            String[] ids = new String[partCount];
+            for (int p = 0; p < partCount; p++) {
+                byte[] id = new byte[Short.toUnsignedInt(buffer.getShort())];
+                buffer.get(id);
+                ids[p] = new String(id, StandardCharsets.UTF_8);
+            }
+
+            int pitches = buffer.position();
+            if (buffer.remaining() < 3 * rows) {
+                throw new IOException("Corrupted binary score");
+            }
+            for (int p = 0; p < partCount; p++) {
+                parts.put(ids[p], readPart(buffer, pitches, rows, firstRows[p], rowCounts[p]));
+            }
+
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated binary score", e);
+        }
+    }
+
+    /**
+     * Reads the table of the changes of tempo of the binary score.
+     *
+     * @param buffer The buffer containing the binary score, at the position of the table.
+     * @param count The number of changes of tempo in the table.
+     *
+     * @return The changes of tempo.
+     *
+     * @throws IOException If the changes of tempo are not valid.
+     */
+    private static TempoMap readTempoMap(ByteBuffer buffer, int count) throws IOException {
+        SortedMap<Long, Integer> changes = new TreeMap<>();
+        for (int i = 0; i < count; i++) {
+            changes.put(buffer.getLong(), buffer.getInt());
+        }
+
+        try {
+            return TempoMap.of(changes);
+
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Corrupted binary score: invalid change of tempo", e);
+        }
+    }
+
+    /**
+     * Creates the notes of a part from the columns of the binary score.
+     *
+     * @param buffer The buffer containing the binary score.
+     * @param pitches The position of the pitch column in the buffer.
+     * @param rows The total number of rows in the columns.
+     * @param first The index of the first row of the part.
+     * @param count The number of rows of the part.
+     *
+     * @return The notes of the part.
+     *
+     * @throws IOException If the rows are not valid.
+     */
+    private List<Note> readPart(ByteBuffer buffer, int pitches, int rows, int first, int count)
+            throws IOException {
+        int values = pitches + rows;
+        int flags = values + rows;
+        List<Note> notes = new ArrayList<>(count);
+        List<Note> tie = null;
+
+        for (int row = first; row < first + count; row++) {
+            byte pitch = buffer.get(pitches + row);
+            int value = buffer.get(values + row);
+            int rowFlags = buffer.get(flags + row);
+
+            if (pitch == BinaryScore.EMPTY_TIE) {
+                notes.add(noteFactory.createTiedNotes(List.of()));
+                continue;
+            }
+
+            Note note = createNote(pitch, value, rowFlags);
+            if ((rowFlags & BinaryScore.TIED) == 0) {
+                notes.add(note);
+                continue;
+            }
+
+            if (tie == null) {
+                tie = new ArrayList<>();
+            }
+            tie.add(note);
+            if ((rowFlags & BinaryScore.TIE_END) != 0) {
+                notes.add(noteFactory.createTiedNotes(tie));
+                tie = null;
+            }
+        }
+
+        if (tie != null) {
+            throw new IOException("Corrupted binary score: unterminated tie");
+        }
+        return notes;
+    }
+
+    /**
+     * Creates the note described by a row.
+     *
+     * @param pitch The pitch of the row.
+     * @param value The value of the row.
+     * @param rowFlags The flags of the row.
+     *
+     * @return The created note.
+     *
+     * @throws IOException If the row is not valid.
+     */
+    private Note createNote(int pitch, int value, int rowFlags) throws IOException {
+        if ((value < 0) || (value >= VALUES.length) || (pitch < BinaryScore.REST)) {
+            throw new IOException("Corrupted binary score: invalid note");
+        }
+
+        Note note;
+        if (pitch == BinaryScore.REST) {
+            note = noteFactory.createRest(VALUES[value]);
+        } else {
+            note = noteFactory.createNote(pitchOf(pitch), VALUES[value]);
+        }
+
+        for (int dot = rowFlags & BinaryScore.DOTS; dot > 0; dot--) {
+            note = noteFactory.createDottedNote(note);
+        }
+        if ((rowFlags & BinaryScore.FERMATA) != 0) {
+            note = noteFactory.createFermataOn(note);
+        }
+        return note;
+    }
+
+    /**
+     * Gives the pitch having the given index.
+     *
+     * @param pitch The index of the pitch.
+     *
+     * @return The pitch having the given index.
+     *
+     * @throws IOException If the index does not correspond to a supported pitch.
+     */
+    private static NotePitch pitchOf(int pitch) throws IOException {
+        try {
+            return NotePitch.of(PITCH_CLASSES[pitch % BinaryScore.PITCH_CLASSES],
+                    pitch / BinaryScore.PITCH_CLASSES);
+
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Corrupted binary score: invalid pitch", e);
+        }
+    }
+
+    /**
+     * Gives the tempo of the music (in beats per minute) read from the binary score.
+     *
+     * @return The tempo of the music (in beats per minute).
+     */
+    public int getTempo() {
+        return tempo;
+    }
+
+    /**
+     * Gives the changes of tempo of the music read from the binary score.
+     * The scores saved without their changes of tempo are played at their tempo all along.
+     *
+     * @return The changes of tempo of the music.
+     */
+    public TempoMap getTempoMap() {
+        return (tempoMap == null) ? TempoMap.of(tempo) : tempoMap;
+    }
+
+    /**
+     * Gives the map associating each part (given by its ID) to the list of notes in that
+     * part.
+     *
+     * @return The map of the parts.
+     */
+    public Map<String, List<Note>> getParts() {
+        return parts;
+    }
+
+    /**
+     * Gives the list of notes for a given part.
+     *
+     * @param partId The ID of the part.
+     *
+     * @return The list of notes for the given part.
+     */
+    public List<Note> getNotes(String partId) {
+        return parts.get(partId);
+    }
+
+}
@@ -0,0 +1,265 @@
+/**
+ * LenSymphony - A simple music synthesizer library developed in Lens, France.
+ * Copyright (c) 2025 Romain Wallon - Université d'Artois.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package fr.univartois.butinfo.lensymphony.binary;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import fr.univartois.butinfo.lensymphony.notes.DottedNote;
+import fr.univartois.butinfo.lensymphony.notes.FermataNote;
+import fr.univartois.butinfo.lensymphony.notes.Note;
+import fr.univartois.butinfo.lensymphony.notes.NotePitch;
+import fr.univartois.butinfo.lensymphony.notes.PitchedNote;
+import fr.univartois.butinfo.lensymphony.notes.Rest;
+import fr.univartois.butinfo.lensymphony.notes.TempoMap;
+import fr.univartois.butinfo.lensymphony.notes.TiedNotes;
+
+/**
+ * The BinaryScoreWriter saves the parts of a parsed piece in the binary format described
+ * by {@link BinaryScore}.
+ * It supports the notes created by the MusicXML parsers, i.e., pitched notes and rests,
+ * possibly dotted, then given a fermata, and possibly tied together.
+ *
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+public final class BinaryScoreWriter {
+
+    /**
+     * The pitches of the rows written so far.
+     */
+    private final ByteArrayOutputStream pitches = new ByteArrayOutputStream();
+
+    /**
+     * The values of the rows written so far.
+     */
+    private final ByteArrayOutputStream values = new ByteArrayOutputStream();
+
+    /**
+     * The flags of the rows written so far.
+     */
+    private final ByteArrayOutputStream flags = new ByteArrayOutputStream();
+
+    /**
+     * Creates a new BinaryScoreWriter.
+     */
+    private BinaryScoreWriter() {
+        // Instances are only created by write().
+    }
+
+    /**
+     * Saves the parts of a piece whose tempo never changes to a binary score file.
+     *
+     * @param path The path of the file to write.
+     * @param tempo The tempo of the piece (in beats per minute).
+     * @param parts The map associating each part (given by its ID) to its notes.
+     *
+     * @throws IOException If an I/O error occurs while writing the file.
+     * @throws IllegalArgumentException If a note cannot be represented in the binary
+     *         format.
+     */
+    public static void write(Path path, int tempo, Map<String, List<Note>> parts)
+            throws IOException {
+        write(path, tempo, TempoMap.of(tempo), parts);
+    }
+
+    /**
+     * Saves the parts of a piece to a binary score file, along with its changes of tempo.
+     *
+     * @param path The path of the file to write.
+     * @param tempo The tempo of the piece (in beats per minute).
+     * @param tempoMap The changes of tempo of the piece.
+     * @param parts The map associating each part (given by its ID) to its notes.
+     *
+     * @throws IOException If an I/O error occurs while writing the file.
+     * @throws IllegalArgumentException If a note cannot be represented in the binary
+     *         format.
+     */
+    public static void write(Path path, int tempo, TempoMap tempoMap,
+            Map<String, List<Note>> parts) throws IOException {
+        Files.write(path, encode(tempo, tempoMap, parts));
+    }
+
+    /**
+     * Encodes the parts of a piece whose tempo never changes in the binary format.
+     *
+     * @param tempo The tempo of the piece (in beats per minute).
+     * @param parts The map associating each part (given by its ID) to its notes.
+     *
+     * @return The bytes of the encoded piece.
+     *
+     * @throws IllegalArgumentException If a note cannot be represented in the binary
+     *         format.
+     */
+    public static byte[] encode(int tempo, Map<String, List<Note>> parts) {
+        return encode(tempo, TempoMap.of(tempo), parts);
+    }
+
+    /**
+     * Encodes the parts of a piece in the binary format, along with its changes of tempo.
+     *
+     * @param tempo The tempo of the piece (in beats per minute).
+     * @param tempoMap The changes of tempo of the piece.
+     * @param parts The map associating each part (given by its ID) to its notes.
+     *
+     * @return The bytes of the encoded piece.
+     *
+     * @throws IllegalArgumentException If a note cannot be represented in the binary
+     *         format.
+     */
+    public static byte[] encode(int tempo, TempoMap tempoMap, Map<String, List<Note>> parts) {
+        BinaryScoreWriter writer = new BinaryScoreWriter();
+        List<byte[]> ids = new ArrayList<>(parts.size());
+        int[] firstRows = new int[parts.size()];
+        int[] rowCounts = new int[parts.size()];
+        int namesSize = 0;
+
+        int p = 0;
+        for (Map.Entry<String, List<Note>> part : parts.entrySet()) {
+            byte[] id = part.getKey().getBytes(StandardCharsets.UTF_8);
+            if (id.length > 0xffff) {
+                throw new IllegalArgumentException("Part identifier is too long");
+            }
+            ids.add(id);
+            namesSize += Short.BYTES + id.length;
+
+            firstRows[p] = writer.pitches.size();
+            for (Note note : part.getValue()) {
+                writer.encode(note);
+            }
+            rowCounts[p] = writer.pitches.size() - firstRows[p];
+            p++;
+        }
+
+        int rows = writer.pitches.size();
+        Map<Long, Integer> changes = tempoMap.getChanges();
+        ByteBuffer buffer = ByteBuffer.allocate(BinaryScore.HEADER_SIZE
+                + changes.size() * BinaryScore.TEMPO_ENTRY_SIZE
+                + parts.size() * BinaryScore.PART_ENTRY_SIZE + namesSize + 3 * rows);
+        buffer.putInt(BinaryScore.MAGIC).putInt(BinaryScore.VERSION).putInt(tempo)
+                .putInt(changes.size()).putInt(parts.size()).putInt(rows);
+        for (Map.Entry<Long, Integer> change : changes.entrySet()) {
+            buffer.putLong(change.getKey()).putInt(change.getValue());
+        }
+        for (int i = 0; i < firstRows.length; i++) {
+            buffer.putInt(firstRows[i]).putInt(rowCounts[i]);
+        }
+        for (byte[] id : ids) {
+            buffer.putShort((short) id.length).put(id);
+        }
+        buffer.put(writer.pitches.toByteArray());
+        buffer.put(writer.values.toByteArray());
+        buffer.put(writer.flags.toByteArray());
+        return buffer.array();
+    }
+
+    /**
+     * Encodes a note of a part.
+     *
+     * @param note The note to encode.
+     *
+     * @throws IllegalArgumentException If the note cannot be represented in the binary
+     *         format.
+     */
+    private void encode(Note note) {
+        if (!(note instanceof TiedNotes tied)) {
+            encodeRow(note, 0);
+            return;
+        }
+
+        List<Note> notes = tied.getNotes();
+        if (notes.isEmpty()) {
+            addRow(BinaryScore.EMPTY_TIE, 0, BinaryScore.TIED | BinaryScore.TIE_END);
+            return;
+        }
+        int last = notes.size() - 1;
+        for (int i = 0; i < last; i++) {
+            encodeRow(notes.get(i), BinaryScore.TIED);
+        }
+        encodeRow(notes.get(last), BinaryScore.TIED | BinaryScore.TIE_END);
+    }
+
+    /**
+     * Encodes a single pitched note or rest, with its decorations.
+     *
+     * @param note The note to encode.
+     * @param rowFlags The flags describing the tie the note belongs to, if any.
+     *
+     * @throws IllegalArgumentException If the note cannot be represented in the binary
+     *         format.
+     */
+    private void encodeRow(Note note, int rowFlags) {
+        Note base = note;
+        if (base instanceof FermataNote fermata) {
+            rowFlags |= BinaryScore.FERMATA;
+            base = fermata.getDecoratedNote();
+        }
+
+        int dots = 0;
+        while (base instanceof DottedNote dotted) {
+            dots++;
+            base = dotted.getDecoratedNote();
+        }
+        if (dots > BinaryScore.DOTS) {
+            throw new IllegalArgumentException("Too many dots on note " + note);
+        }
+        rowFlags |= dots;
+
+        if (base instanceof PitchedNote pitched) {
+            NotePitch pitch = pitched.pitch();
+            int index = pitch.octave() * BinaryScore.PITCH_CLASSES
+                    + pitch.pitchClass().ordinal();
+            addRow(index, pitched.value().ordinal(), rowFlags);
+
+        } else if ((base instanceof Rest rest) && (rest.getDots() == 0)
+                && rest.getTiedNotes().isEmpty()) {
+            addRow(BinaryScore.REST, rest.getValue().ordinal(), rowFlags);
+
+        } else {
+            throw new IllegalArgumentException("Cannot encode note " + note);
+        }
+    }
+
+    /**
+     * Adds a row to the columns.
+     *
+     * @param pitch The pitch of the row.
+     * @param value The value of the row.
+     * @param rowFlags The flags of the row.
+     */
+    private void addRow(int pitch, int value, int rowFlags) {
+        pitches.write(pitch);
+        values.write(value);
+        flags.write(rowFlags);
+    }
+
+}
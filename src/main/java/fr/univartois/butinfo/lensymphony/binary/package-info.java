@@ -0,0 +1,11 @@
+/**
+ * The {@code fr.univartois.butinfo.lensymphony.binary} package contains classes for
+ * saving parsed scores in a compact binary format, and loading them back without parsing
+ * their MusicXML source again.
+ *
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+
+package fr.univartois.butinfo.lensymphony.binary;
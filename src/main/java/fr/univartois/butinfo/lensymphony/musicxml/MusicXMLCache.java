@@ -0,0 +1,389 @@
+/**
+ * LenSymphony - A simple music synthesizer library developed in Lens, France.
+ * Copyright (c) 2025 Romain Wallon - Université d'Artois.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package fr.univartois.butinfo.lensymphony.musicxml;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.xml.stream.XMLStreamException;
+
+import fr.univartois.butinfo.lensymphony.binary.BinaryScoreReader;
+import fr.univartois.butinfo.lensymphony.binary.BinaryScoreWriter;
+import fr.univartois.butinfo.lensymphony.notes.AbstractNoteFactory;
+import fr.univartois.butinfo.lensymphony.notes.Note;
+import fr.univartois.butinfo.lensymphony.notes.TempoMap;
+
+/**
+ * The MusicXMLCache keeps the result of the parsing of MusicXML files, so that a file
+ * rendered again (e.g., with other instruments) is not parsed once more.
+ * <p>
+ * Parsed scores are identified by the SHA-256 hash of the content of their file.
+ * The path, modification time and size of each file are also recorded along with this
+ * hash, so that a file which has not changed is not even read again.
+ * The cache is bounded by a number of notes: when it is full, the least recently used
+ * scores are evicted first.
+ * <p>
+ * Optionally, the parsed scores may also be saved in a directory, in the binary format
+ * of {@link BinaryScoreWriter}, so that they survive the cache (and the application).
+ * <p>
+ * The cache may be shared by several threads.
+ *
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+public final class MusicXMLCache {
+
+    /**
+     * The default maximum number of notes kept in the cache.
+     */
+    public static final long DEFAULT_CAPACITY = 1 << 20;
+
+    /**
+     * The extension of the files in which the parsed scores are saved.
+     */
+    private static final String EXTENSION = ".lsym";
+
+    /**
+     * The factory to create the notes of the parsed music.
+     */
+    private final AbstractNoteFactory noteFactory;
+
+    /**
+     * The maximum number of notes kept in the cache.
+     */
+    private final long capacity;
+
+    /**
+     * The directory in which the parsed scores are saved, or {@code null} if they are
+     * only kept in memory.
+     */
+    private final Path directory;
+
+    /**
+     * The stamps of the files that have been parsed, identified by their path.
+     */
+    private final Map<Path, Stamp> stamps = new HashMap<>();
+
+    /**
+     * The parsed scores, identified by the hash of their file, from the least to the most
+     * recently used.
+     */
+    private final Map<String, ParsedScore> scores = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * The number of notes currently kept in the cache.
+     */
+    private long size;
+
+    /**
+     * Creates a new MusicXMLCache with the default capacity, which keeps the parsed scores
+     * in memory only.
+     *
+     * @param noteFactory The factory to create the notes of the parsed music.
+     */
+    public MusicXMLCache(AbstractNoteFactory noteFactory) {
+        this(noteFactory, DEFAULT_CAPACITY, null);
+    }
+
+    /**
+     * Creates a new MusicXMLCache.
+     *
+     * @param noteFactory The factory to create the notes of the parsed music.
+     * @param capacity The maximum number of notes kept in memory.
+     * @param directory The directory in which to save the parsed scores, or {@code null}
+     *        to keep them in memory only.
+     *
+     * @throws IllegalArgumentException If {@code capacity} is negative.
+     */
+    public MusicXMLCache(AbstractNoteFactory noteFactory, long capacity, Path directory) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("The capacity must not be negative");
+        }
+        this.noteFactory = noteFactory;
+        this.capacity = capacity;
+        this.directory = directory;
+    }
+
+    /**
+     * Gives the parsed content of a MusicXML file, parsing it only if it is not in the
+     * cache yet.
+     * The returned map may be modified freely, as it is not shared with the cache.
+     *
+     * @param file The file to parse.
+     *
+     * @return The tempo, the changes of tempo and the notes of each part of the file.
+     *
+     * @throws IOException If the file cannot be read.
+     * @throws XMLStreamException If the file is not a well-formed XML file.
+     */
+    public ParsedScore parse(File file) throws IOException, XMLStreamException {
+        Path path = file.toPath().toAbsolutePath().normalize();
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        long modified = attributes.lastModifiedTime().toMillis();
+
+        synchronized (this) {
+            Stamp stamp = stamps.get(path);
+            if ((stamp != null) && (stamp.modified() == modified)
+                    && (stamp.size() == attributes.size())) {
+                ParsedScore score = scores.get(stamp.hash());
+                if (score != null) {
+                    return score.copy();
+                }
+            }
+        }
+
+        // The file is read once, to be both hashed and parsed.
+        byte[] content = Files.readAllBytes(path);
+        String hash = hash(content);
+        synchronized (this) {
+            stamps.put(path, new Stamp(modified, attributes.size(), hash));
+            ParsedScore score = scores.get(hash);
+            if (score != null) {
+                return score.copy();
+            }
+        }
+
+        // The file is loaded or parsed outside of the lock, so that other files do not
+        // wait for it.
+        ParsedScore score = load(hash);
+        if (score == null) {
+            MusicXMLStaxParser parser = new MusicXMLStaxParser(noteFactory);
+            parser.parse(new ByteArrayInputStream(content));
+            score = ParsedScore.of(parser.getTempo(), parser.getTempoMap(), parser.getParts());
+            save(hash, score);
+        }
+        store(hash, score);
+        return score.copy();
+    }
+
+    /**
+     * Loads a parsed score from the directory of this cache.
+     *
+     * @param hash The hash of the file of the score.
+     *
+     * @return The loaded score, or {@code null} if it has not been saved (or cannot be
+     *         read).
+     */
+    private ParsedScore load(String hash) {
+        if (directory == null) {
+            return null;
+        }
+
+        File file = directory.resolve(hash + EXTENSION).toFile();
+        if (!file.isFile()) {
+            return null;
+        }
+
+        try {
+            BinaryScoreReader reader = new BinaryScoreReader(noteFactory);
+            reader.read(file);
+            return ParsedScore.of(reader.getTempo(), reader.getTempoMap(), reader.getParts());
+
+        } catch (IOException e) {
+            // The saved score is not valid: the file will be parsed again.
+            return null;
+        }
+    }
+
+    /**
+     * Saves a parsed score in the directory of this cache.
+     * The score is written to a temporary file first, so that a score being saved is
+     * never read by another process.
+     *
+     * @param hash The hash of the file of the score.
+     * @param score The score to save.
+     *
+     * @throws IOException If the score cannot be written.
+     */
+    private void save(String hash, ParsedScore score) throws IOException {
+        if (directory == null) {
+            return;
+        }
+
+        byte[] encoded;
+        try {
+            encoded = BinaryScoreWriter.encode(score.tempo(), score.tempoMap(), score.parts());
+
+        } catch (IllegalArgumentException e) {
+            // The notes created by the factory cannot be saved: they are only kept in memory.
+            return;
+        }
+
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, hash, ".tmp");
+        try {
+            Files.write(temporary, encoded);
+            Files.move(temporary, directory.resolve(hash + EXTENSION),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Stores a parsed score in the cache, and evicts the least recently used scores until
+     * the cache fits in its capacity.
+     *
+     * @param hash The hash of the file of the score.
+     * @param score The score to store.
+     */
+    private synchronized void store(String hash, ParsedScore score) {
+        long notes = score.size();
+        if (notes > capacity) {
+            return;
+        }
+
+        ParsedScore previous = scores.put(hash, score);
+        size += notes - ((previous == null) ? 0 : previous.size());
+        Iterator<Map.Entry<String, ParsedScore>> it = scores.entrySet().iterator();
+        while (size > capacity) {
+            Map.Entry<String, ParsedScore> evicted = it.next();
+            size -= evicted.getValue().size();
+            it.remove();
+            stamps.values().removeIf(stamp -> stamp.hash().equals(evicted.getKey()));
+        }
+    }
+
+    /**
+     * Gives the number of notes currently kept in memory.
+     *
+     * @return The number of cached notes.
+     */
+    public synchronized long size() {
+        return size;
+    }
+
+    /**
+     * Removes all the scores kept in memory.
+     * The scores saved in the directory of this cache, if any, are kept.
+     */
+    public synchronized void clear() {
+        stamps.clear();
+        scores.clear();
+        size = 0;
+    }
+
+    /**
+     * Computes the SHA-256 hash of the content of a file.
+     *
+     * @param content The content of the file.
+     *
+     * @return The hexadecimal representation of the hash.
+     */
+    private static String hash(byte[] content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content));
+
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is supported by all Java platforms.
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * The Stamp identifies the version of a file that has been parsed.
+     *
+     * @param modified The time at which the file was last modified (in milliseconds).
+     * @param size The size of the file (in bytes).
+     * @param hash The hash of the content of the file.
+     */
+    private record Stamp(long modified, long size, String hash) {
+    }
+
+    /**
+     * The ParsedScore record is the result of the parsing of a MusicXML file.
+     *
+     * @param tempo The tempo of the music (in beats per minute).
+     * @param tempoMap The changes of tempo of the music.
+     * @param parts The map associating each part (given by its ID) to the list of notes
+     *        in that part.
+     */
+    public record ParsedScore(int tempo, TempoMap tempoMap, Map<String, List<Note>> parts) {
+
+        /**
+         * Creates an unmodifiable ParsedScore.
+         *
+         * @param tempo The tempo of the music (in beats per minute).
+         * @param tempoMap The changes of tempo of the music.
+         * @param parts The notes of each part.
+         *
+         * @return The created score, which does not share any collection with
+         *         {@code parts}.
+         */
+        private static ParsedScore of(int tempo, TempoMap tempoMap,
+                Map<String, List<Note>> parts) {
+            Map<String, List<Note>> copy = new TreeMap<>();
+            for (Map.Entry<String, List<Note>> part : parts.entrySet()) {
+                copy.put(part.getKey(), List.copyOf(part.getValue()));
+            }
+            return new ParsedScore(tempo, tempoMap, copy);
+        }
+
+        /**
+         * Gives a copy of this score, whose map and lists may be modified.
+         *
+         * @return The copy of this score.
+         */
+        private ParsedScore copy() {
+            Map<String, List<Note>> copy = new TreeMap<>();
+            for (Map.Entry<String, List<Note>> part : parts.entrySet()) {
+                copy.put(part.getKey(), new ArrayList<>(part.getValue()));
+            }
+            return new ParsedScore(tempo, tempoMap, copy);
+        }
+
+        /**
+         * Gives the number of notes of this score.
+         *
+         * @return The number of notes.
+         */
+        private long size() {
+            long notes = 0;
+            for (List<Note> part : parts.values()) {
+                notes += part.size();
+            }
+            return notes;
+        }
+
+    }
+
+}
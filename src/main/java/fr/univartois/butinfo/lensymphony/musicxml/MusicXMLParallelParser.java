@@ -0,0 +1,532 @@
+/**
+ * LenSymphony - A simple music synthesizer library developed in Lens, France.
+ * Copyright (c) 2025 Romain Wallon - Université d'Artois.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package fr.univartois.butinfo.lensymphony.musicxml;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import javax.xml.stream.XMLStreamException;
+
+import fr.univartois.butinfo.lensymphony.notes.AbstractNoteFactory;
+import fr.univartois.butinfo.lensymphony.notes.Note;
+import fr.univartois.butinfo.lensymphony.notes.TempoMap;
+
+/**
+ * The MusicXMLParallelParser parses the {@code part} elements of a MusicXML file in
+ * parallel.
+ * The document is first scanned at the byte level to find the range of each part, and
+ * the time signature in effect when it starts.
+ * Each range is then parsed by its own {@link MusicXMLStaxParser}, as a separate task on
+ * an executor.
+ * Finally, the notes and the changes of tempo of the parts are merged in document order,
+ * and the tempo is the last one declared in the document, so that the result is the same as that of
+ * {@link MusicXMLSaxParser}.
+ *
+ * Documents which are not encoded with a superset of ASCII (e.g., UTF-16) cannot be
+ * scanned, and are parsed sequentially.
+ *
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+public final class MusicXMLParallelParser {
+
+    /**
+     * The factory to create the notes of the parsed music.
+     */
+    private final AbstractNoteFactory noteFactory;
+
+    /**
+     * The executor on which the parts are parsed, or {@code null} to parse them
+     * sequentially on the calling thread.
+     */
+    private final Executor executor;
+
+    /**
+     * The tempo of the music (in beats per minute).
+     */
+    private int tempo = 60;
+
+    /**
+     * The changes of tempo read from the MusicXML file, associated to their position in
+     * the music (in ticks).
+     */
+    private final SortedMap<Long, Integer> tempoChanges = new TreeMap<>();
+
+    /**
+     * The map associating each part (given by its ID) to the list of notes in that part.
+     */
+    private final Map<String, List<Note>> parts = new TreeMap<>();
+
+    /**
+     * Creates a new MusicXMLParallelParser.
+     *
+     * @param noteFactory The factory to create the notes of the parsed music.
+     *        It must be safe to use from several threads.
+     * @param executor The executor on which to parse the parts, or {@code null} to parse
+     *        them sequentially.
+     */
+    public MusicXMLParallelParser(AbstractNoteFactory noteFactory, Executor executor) {
+        this.noteFactory = noteFactory;
+        this.executor = executor;
+    }
+
+    /**
+     * Parses a MusicXML file.
+     *
+     * @param file The file to parse.
+     *
+     * @throws IOException If the file cannot be read.
+     * @throws XMLStreamException If the file is not a well-formed XML file.
+     */
+    public void parse(File file) throws IOException, XMLStreamException {
+        parse(Files.readAllBytes(file.toPath()));
+    }
+
+    /**
+     * Parses a MusicXML document.
+     *
+     * @param document The bytes of the document to parse.
+     *
+     * @throws XMLStreamException If the document is not a well-formed XML document.
+     */
+    public void parse(byte[] document) throws XMLStreamException {
+        List<PartRange> ranges = isAsciiCompatible(document) ? scan(document) : List.of();
+        if (ranges.isEmpty()) {
+            MusicXMLStaxParser parser = new MusicXMLStaxParser(noteFactory);
+            parser.parse(new ByteArrayInputStream(document));
+            merge(parser);
+            return;
+        }
+
+        // Each part is parsed as a document of its own, with the same declaration.
+        int prologLength = declarationLength(document);
+        List<CompletableFuture<MusicXMLStaxParser>> tasks = new ArrayList<>(ranges.size());
+        for (PartRange range : ranges) {
+            if (executor == null) {
+                MusicXMLStaxParser parser = parsePart(document, prologLength, range);
+                tasks.add(CompletableFuture.completedFuture(parser));
+            } else {
+                tasks.add(CompletableFuture.supplyAsync(
+                        () -> parsePartUnchecked(document, prologLength, range), executor));
+            }
+        }
+
+        try {
+            for (CompletableFuture<MusicXMLStaxParser> task : tasks) {
+                merge(task.join());
+            }
+
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof XMLStreamException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Parses the notes of a single part.
+     *
+     * @param document The bytes of the whole document.
+     * @param prologLength The length of the XML declaration of the document.
+     * @param range The range of the part in the document.
+     *
+     * @return The parser that has read the part.
+     *
+     * @throws XMLStreamException If the part is not well-formed.
+     */
+    private MusicXMLStaxParser parsePart(byte[] document, int prologLength, PartRange range)
+            throws XMLStreamException {
+        MusicXMLStaxParser parser = new MusicXMLStaxParser(noteFactory);
+        parser.setBeats(range.beats());
+        InputStream input = new SequenceInputStream(
+                new ByteArrayInputStream(document, 0, prologLength),
+                new ByteArrayInputStream(document, range.start(), range.end() - range.start()));
+        parser.parse(input);
+        return parser;
+    }
+
+    /**
+     * Parses the notes of a single part, wrapping the parse errors so that this method
+     * may be run as a task.
+     *
+     * @param document The bytes of the whole document.
+     * @param prologLength The length of the XML declaration of the document.
+     * @param range The range of the part in the document.
+     *
+     * @return The parser that has read the part.
+     *
+     * @throws CompletionException If the part is not well-formed.
+     */
+    private MusicXMLStaxParser parsePartUnchecked(byte[] document, int prologLength,
+            PartRange range) {
+        try {
+            return parsePart(document, prologLength, range);
+
+        } catch (XMLStreamException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    /**
+     * Adds the notes read by a parser to those of this parser.
+     *
+     * @param parser The parser to merge, which must come after those already merged in
+     *        the document.
+     */
+    private void merge(MusicXMLStaxParser parser) {
+        for (Map.Entry<String, List<Note>> part : parser.getParts().entrySet()) {
+            parts.computeIfAbsent(part.getKey(), k -> new ArrayList<>()).addAll(part.getValue());
+        }
+        if (parser.hasTempo()) {
+            tempo = parser.getTempo();
+        }
+        // The positions are relative to the start of each part, as in a sequential parse.
+        tempoChanges.putAll(parser.getTempoChanges());
+    }
+
+    /**
+     * Checks whether a document is encoded with a superset of ASCII, so that its markup
+     * can be recognized byte by byte.
+     *
+     * @param document The bytes of the document.
+     *
+     * @return Whether the document can be scanned.
+     */
+    private static boolean isAsciiCompatible(byte[] document) {
+        // UTF-16 and UTF-32 documents start with a BOM or with a null byte.
+        return (document.length > 1) && (document[0] != 0) && (document[1] != 0)
+                && ((document[0] & 0xff) != 0xfe) && ((document[0] & 0xff) != 0xff);
+    }
+
+    /**
+     * Gives the length of the XML declaration of a document (including its byte order
+     * mark, if any).
+     *
+     * @param document The bytes of the document.
+     *
+     * @return The length of the declaration, or {@code 0} if there is none.
+     */
+    private static int declarationLength(byte[] document) {
+        int start = ((document.length >= 3) && ((document[0] & 0xff) == 0xef)) ? 3 : 0;
+        if (!startsWith(document, start, "<?xml")) {
+            return start;
+        }
+        int end = indexOf(document, start, "?>");
+        return (end < 0) ? start : (end + 2);
+    }
+
+    /**
+     * Scans a document to find the range of each of its {@code part} elements, and the
+     * number of beats per measure in effect when each of them starts.
+     * Comments, processing instructions, CDATA sections and the document type declaration
+     * are skipped, as well as quoted attribute values.
+     *
+     * @param document The bytes of the document.
+     *
+     * @return The ranges of the parts, in document order.
+     */
+    static List<PartRange> scan(byte[] document) {
+        List<PartRange> ranges = new ArrayList<>();
+        int beats = 0;
+        int partStart = -1;
+        int partBeats = 0;
+        int index = 0;
+
+        while ((index = indexOf(document, index, '<')) >= 0) {
+            if (startsWith(document, index, "<!--")) {
+                index = skip(document, index, "-->");
+
+            } else if (startsWith(document, index, "<![CDATA[")) {
+                index = skip(document, index, "]]>");
+
+            } else if (startsWith(document, index, "<?")) {
+                index = skip(document, index, "?>");
+
+            } else if (startsWith(document, index, "<!")) {
+                index = skipDeclaration(document, index);
+
+            } else {
+                int tagEnd = skipTag(document, index);
+                boolean empty = document[tagEnd - 2] == '/';
+
+                if (isTag(document, index + 1, "part")) {
+                    partStart = index;
+                    partBeats = beats;
+                    if (empty) {
+                        ranges.add(new PartRange(partStart, tagEnd, partBeats));
+                        partStart = -1;
+                    }
+
+                } else if (isTag(document, index + 1, "/part") && (partStart >= 0)) {
+                    ranges.add(new PartRange(partStart, tagEnd, partBeats));
+                    partStart = -1;
+
+                } else if (isTag(document, index + 1, "beats") && !empty) {
+                    beats = parseBeats(document, tagEnd, beats);
+                }
+                index = tagEnd;
+            }
+        }
+
+        if (partStart >= 0) {
+            // The last part is not closed: the document is not well-formed.
+            return List.of();
+        }
+        return ranges;
+    }
+
+    /**
+     * Reads the number of beats stored in the content of a {@code beats} element.
+     *
+     * @param document The bytes of the document.
+     * @param from The index of the content of the element.
+     * @param beats The number of beats to use if the content is not a number.
+     *
+     * @return The number of beats read from the document.
+     */
+    private static int parseBeats(byte[] document, int from, int beats) {
+        int end = indexOf(document, from, '<');
+        if (end < 0) {
+            return beats;
+        }
+        String text = new String(document, from, end - from).trim();
+        try {
+            return Integer.parseInt(text);
+
+        } catch (NumberFormatException e) {
+            // The error will be reported when the part is parsed.
+            return beats;
+        }
+    }
+
+    /**
+     * Checks whether the name of a tag is the given one.
+     *
+     * @param document The bytes of the document.
+     * @param from The index of the name in the document.
+     * @param name The expected name.
+     *
+     * @return Whether the tag has the given name.
+     */
+    private static boolean isTag(byte[] document, int from, String name) {
+        if (!startsWith(document, from, name)) {
+            return false;
+        }
+        int next = from + name.length();
+        return (next < document.length) && ((document[next] == '>') || (document[next] == '/')
+                || (document[next] <= ' '));
+    }
+
+    /**
+     * Gives the index following the end of a tag, skipping quoted attribute values.
+     *
+     * @param document The bytes of the document.
+     * @param from The index of the tag.
+     *
+     * @return The index following the end of the tag.
+     */
+    private static int skipTag(byte[] document, int from) {
+        byte quote = 0;
+        for (int i = from + 1; i < document.length; i++) {
+            byte b = document[i];
+            if (quote != 0) {
+                if (b == quote) {
+                    quote = 0;
+                }
+            } else if ((b == '"') || (b == '\'')) {
+                quote = b;
+            } else if (b == '>') {
+                return i + 1;
+            }
+        }
+        return document.length;
+    }
+
+    /**
+     * Gives the index following the end of a markup declaration (such as the document type
+     * declaration), skipping its internal subset if any.
+     *
+     * @param document The bytes of the document.
+     * @param from The index of the declaration.
+     *
+     * @return The index following the end of the declaration.
+     */
+    private static int skipDeclaration(byte[] document, int from) {
+        int depth = 0;
+        for (int i = from + 2; i < document.length; i++) {
+            if (document[i] == '[') {
+                depth++;
+            } else if (document[i] == ']') {
+                depth--;
+            } else if ((document[i] == '>') && (depth <= 0)) {
+                return i + 1;
+            }
+        }
+        return document.length;
+    }
+
+    /**
+     * Gives the index following the given terminator.
+     *
+     * @param document The bytes of the document.
+     * @param from The index from which to look for the terminator.
+     * @param terminator The terminator to look for.
+     *
+     * @return The index following the terminator, or the length of the document if there
+     *         is none.
+     */
+    private static int skip(byte[] document, int from, String terminator) {
+        int index = indexOf(document, from, terminator);
+        return (index < 0) ? document.length : (index + terminator.length());
+    }
+
+    /**
+     * Gives the index of the first occurrence of a byte in a document.
+     *
+     * @param document The bytes of the document.
+     * @param from The index from which to look for the byte.
+     * @param b The byte to look for.
+     *
+     * @return The index of the byte, or {@code -1} if there is none.
+     */
+    private static int indexOf(byte[] document, int from, char b) {
+        for (int i = from; i < document.length; i++) {
+            if (document[i] == b) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gives the index of the first occurrence of an ASCII string in a document.
+     *
+     * @param document The bytes of the document.
+     * @param from The index from which to look for the string.
+     * @param s The string to look for.
+     *
+     * @return The index of the string, or {@code -1} if there is none.
+     */
+    private static int indexOf(byte[] document, int from, String s) {
+        for (int i = indexOf(document, from, s.charAt(0)); i >= 0;
+                i = indexOf(document, i + 1, s.charAt(0))) {
+            if (startsWith(document, i, s)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks whether an ASCII string appears at a given index of a document.
+     *
+     * @param document The bytes of the document.
+     * @param from The index at which the string is expected.
+     * @param s The expected string.
+     *
+     * @return Whether the string appears at the given index.
+     */
+    private static boolean startsWith(byte[] document, int from, String s) {
+        if (from + s.length() > document.length) {
+            return false;
+        }
+        for (int i = 0; i < s.length(); i++) {
+            if (document[from + i] != s.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gives the tempo of the music (in beats per minute) read from the MusicXML file.
+     *
+     * @return The tempo of the music (in beats per minute).
+     */
+    public int getTempo() {
+        return tempo;
+    }
+
+    /**
+     * Gives the changes of tempo read from the MusicXML file.
+     * When the tempo is never given, the music is played at the default tempo.
+     *
+     * @return The tempo map of the music.
+     */
+    public TempoMap getTempoMap() {
+        return tempoChanges.isEmpty() ? TempoMap.of(tempo) : TempoMap.of(tempoChanges);
+    }
+
+    /**
+     * Gives the map associating each part (given by its ID) to the list of notes in that
+     * part.
+     *
+     * @return The map of the parts.
+     */
+    public Map<String, List<Note>> getParts() {
+        return parts;
+    }
+
+    /**
+     * Gives the list of notes for a given part.
+     *
+     * @param partId The ID of the part.
+     *
+     * @return The list of notes for the given part.
+     */
+    public List<Note> getNotes(String partId) {
+        return parts.get(partId);
+    }
+
+    /**
+     * The PartRange record describes where a {@code part} element lies in a document.
+     *
+     * @param start The index of the start tag of the part.
+     * @param end The index following the end tag of the part.
+     * @param beats The number of beats per measure in effect when the part starts.
+     */
+    record PartRange(int start, int end, int beats) {
+    }
+
+}
@@ -27,6 +27,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.function.Consumer;
 
@@ -38,12 +39,15 @@ import fr.univartois.butinfo.lensymphony.notes.Note;
 import fr.univartois.butinfo.lensymphony.notes.NotePitch;
 import fr.univartois.butinfo.lensymphony.notes.NoteValue;
 import fr.univartois.butinfo.lensymphony.notes.PitchClass;
+import fr.univartois.butinfo.lensymphony.notes.TempoMap;
 
 /**
  * The MusicXMLSaxParser is a SAX parser for MusicXML files.
  * It extracts all the information needed to play the music, (e.g., notes, tempo, etc.).
  * It is neither a complete nor a robust MusicXML parser: its sole purpose is to provide a
  * sufficiently rich representation of a piece of music to be played by the synthesizer.
+ * Notes played at the same time, such as chords or the different voices of a staff, are
+ * placed on lines of their own by a {@link VoiceLayout}.
  *
  * @author Romain Wallon
  *
@@ -56,6 +60,12 @@ public final class MusicXMLSaxParser extends DefaultHandler {
      */
     private final AbstractNoteFactory noteFactory;
 
+    /**
+     * The listener notified of each parsed note, or {@code null} if the notes are stored
+     * in {@link #parts}.
+     */
+    private final NoteListener listener;
+
     /**
      * The number of beats per measure.
      */
@@ -66,6 +76,17 @@ public final class MusicXMLSaxParser extends DefaultHandler {
      */
     private int tempo = 60;
 
+    /**
+     * The changes of tempo read from the MusicXML file, associated to their position in
+     * the music (in ticks).
+     */
+    private final SortedMap<Long, Integer> tempoChanges = new TreeMap<>();
+
+    /**
+     * The layout placing the notes played at the same time on different lines.
+     */
+    private final VoiceLayout layout;
+
     /**
      * The map associating each part (given by its ID) to the list of notes in that part.
      */
@@ -87,14 +108,9 @@ public final class MusicXMLSaxParser extends DefaultHandler {
     private List<Note> notes;
 
     /**
-     * The current tie being parsed (used during parsing).
-     */
-    private List<Note> currentTie;
-
-    /**
-     * Whether a tie has been started and not ended (used during parsing).
+     * The ID of the part (or staff) associated with {@link #notes}.
      */
-    private boolean inTie;
+    private String notesId;
 
     /**
      * The pitch class of the current note (used during parsing).
@@ -131,6 +147,32 @@ public final class MusicXMLSaxParser extends DefaultHandler {
      */
     private int currentStaff = 0;
 
+    /**
+     * The voice of the current note (used during parsing).
+     */
+    private String currentVoice = null;
+
+    /**
+     * Whether the current note is part of a chord (used during parsing).
+     */
+    private boolean currentChord;
+
+    /**
+     * The last duration read, in divisions, or {@code -1} if the current note has no
+     * duration (used during parsing).
+     */
+    private int currentDuration = -1;
+
+    /**
+     * Whether a tie starts from the current note (used during parsing).
+     */
+    private boolean currentTieStart;
+
+    /**
+     * Whether a tie ends on the current note (used during parsing).
+     */
+    private boolean currentTieStop;
+
     /**
      * The text buffer used to accumulate character data between XML tags.
      */
@@ -144,6 +186,7 @@ public final class MusicXMLSaxParser extends DefaultHandler {
             "part", this::startPart,
             "tie", this::startTie,
             "rest", this::startRest,
+            "chord", this::startChord,
             "note", this::startNote);
 
     /**
@@ -151,6 +194,11 @@ public final class MusicXMLSaxParser extends DefaultHandler {
      */
     private Map<String, Runnable> endElementHandlers = Map.ofEntries(
             Map.entry("beats", this::endBeats),
+            Map.entry("divisions", this::endDivisions),
+            Map.entry("duration", this::endDuration),
+            Map.entry("voice", this::endVoice),
+            Map.entry("backup", this::endBackup),
+            Map.entry("forward", this::endForward),
             Map.entry("chromatic", this::endChromatic),
             Map.entry("step", this::endStep),
             Map.entry("display-step", this::endStep),
@@ -163,7 +211,8 @@ public final class MusicXMLSaxParser extends DefaultHandler {
             Map.entry("dot", this::endDot),
             Map.entry("fermata", this::endFermata),
             Map.entry("staff", this::endStaff),
-            Map.entry("note", this::endNote));
+            Map.entry("note", this::endNote),
+            Map.entry("part", this::endPart));
 
     /**
      * Creates a new MusicXMLSaxParser.
@@ -171,7 +220,23 @@ public final class MusicXMLSaxParser extends DefaultHandler {
      * @param noteFactory The factory to create the notes of the parsed music.
      */
     public MusicXMLSaxParser(AbstractNoteFactory noteFactory) {
+        this(noteFactory, null);
+    }
+
+    /**
+     * Creates a new MusicXMLSaxParser which hands each note to a listener as soon as it
+     * has been parsed.
+     * In this case, the notes are not stored, so that the lists given by
+     * {@link #getParts()} remain empty.
+     *
+     * @param noteFactory The factory to create the notes of the parsed music.
+     * @param listener The listener to notify of each parsed note, or {@code null} to
+     *        store the notes.
+     */
+    public MusicXMLSaxParser(AbstractNoteFactory noteFactory, NoteListener listener) {
         this.noteFactory = noteFactory;
+        this.listener = listener;
+        this.layout = new VoiceLayout(noteFactory, (listener == null) ? this::store : listener);
     }
 
     /*
@@ -198,6 +263,8 @@ public final class MusicXMLSaxParser extends DefaultHandler {
         String tempoAttr = attributes.getValue("tempo");
         if (tempoAttr != null) {
             tempo = Integer.parseInt(tempoAttr);
+            // The new tempo applies from the position reached in the current part.
+            tempoChanges.put(layout.getPosition(), tempo);
         }
     }
 
@@ -210,6 +277,8 @@ public final class MusicXMLSaxParser extends DefaultHandler {
         currentPartId = attributes.getValue("id");
         currentChromaticTransposition = 0;
         notes = null;
+        notesId = null;
+        layout.startPart();
     }
 
     /**
@@ -220,14 +289,11 @@ public final class MusicXMLSaxParser extends DefaultHandler {
     private void startTie(Attributes attributes) {
         if ("start".equals(attributes.getValue("type"))) {
             // Starting a new tie, or continuing an existing one.
-            if (currentTie == null) {
-                currentTie = new ArrayList<>();
-            }
-            inTie = true;
+            currentTieStart = true;
 
         } else if ("stop".equals(attributes.getValue("type"))) {
             // Ending the current tie.
-            inTie = false;
+            currentTieStop = true;
 
         }
     }
@@ -245,6 +311,16 @@ public final class MusicXMLSaxParser extends DefaultHandler {
         }
     }
 
+    /**
+     * Records that the current note starts with the previous one when a {@code chord}
+     * element is started.
+     *
+     * @param attributes The attributes of the {@code chord} element.
+     */
+    private void startChord(Attributes attributes) {
+        currentChord = true;
+    }
+
     /**
      * Initializes the state for a new {@code note} element.
      *
@@ -258,6 +334,11 @@ public final class MusicXMLSaxParser extends DefaultHandler {
         currentValue = null;
         currentStaff = 0;
         currentNote = null;
+        currentVoice = null;
+        currentChord = false;
+        currentDuration = -1;
+        currentTieStart = false;
+        currentTieStop = false;
     }
 
     /*
@@ -292,6 +373,44 @@ public final class MusicXMLSaxParser extends DefaultHandler {
         beats = Integer.parseInt(text);
     }
 
+    /**
+     * Extracts the number of divisions per quarter note from the content of a
+     * {@code divisions} element.
+     */
+    private void endDivisions() {
+        String text = textBuffer.toString().trim();
+        layout.setDivisions(Integer.parseInt(text));
+    }
+
+    /**
+     * Extracts a duration from the content of a {@code duration} element.
+     */
+    private void endDuration() {
+        String text = textBuffer.toString().trim();
+        currentDuration = Integer.parseInt(text);
+    }
+
+    /**
+     * Extracts the voice of the current note from the content of a {@code voice} element.
+     */
+    private void endVoice() {
+        currentVoice = textBuffer.toString().trim();
+    }
+
+    /**
+     * Moves backward in the current part when a {@code backup} element is closed.
+     */
+    private void endBackup() {
+        layout.backup(currentDuration);
+    }
+
+    /**
+     * Moves forward in the current part when a {@code forward} element is closed.
+     */
+    private void endForward() {
+        layout.forward(currentDuration);
+    }
+
     /**
      * Extracts the chromatic transposition from the content of a {@code chromatic}
      * element.
@@ -369,37 +488,68 @@ public final class MusicXMLSaxParser extends DefaultHandler {
         currentStaff = Integer.parseInt(text);
         String staffId = currentPartId + "." + currentStaff;
         notes = parts.computeIfAbsent(staffId, k -> new ArrayList<>());
+        notesId = staffId;
     }
 
     /**
-     * Finalizes the current note and adds it to the list of notes when a {@code note}
+     * Finalizes the current note and places it on a line of its staff when a {@code note}
      * element is closed.
      */
     private void endNote() {
-        if (inTie) {
-            // The note is not added yet: the tie is not over.
-            currentTie.add(currentNote);
-            return;
+        if (notes == null) {
+            // No staff defined yet: using a default one.
+            notes = parts.computeIfAbsent(currentPartId, k -> new ArrayList<>());
+            notesId = currentPartId;
         }
 
-        if (currentTie != null) {
-            // The tie has just been ended.
-            // The note, is added to the tie, and a tied note is created.
-            currentTie.add(currentNote);
-            currentNote = noteFactory.createTiedNotes(currentTie);
-            currentTie = null;
+        if (currentNote == null) {
+            // The note cannot be played, but the following notes must not be shifted.
+            layout.skip(currentChord, currentDuration);
+            return;
         }
 
-        // Adding the note to the list of notes.
-        if (notes == null) {
-            // No staff defined yet: using a default one.
-            notes = parts.computeIfAbsent(currentPartId, k -> new ArrayList<>());
+        // The note is added once its tie (if any) is over.
+        layout.add(notesId, currentVoice, currentChord, currentDuration,
+                currentTieStart, currentTieStop, tempo, currentNote);
+    }
+
+    /**
+     * Places the notes of the ties left open when a {@code part} element is closed, and
+     * notifies the listener, if any, that the part has been parsed.
+     */
+    private void endPart() {
+        layout.endPart();
+        if (listener != null) {
+            listener.partParsed(getTempoMap());
         }
-        notes.add(currentNote);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see org.xml.sax.helpers.DefaultHandler#endDocument()
+     */
+    @Override
+    public void endDocument() {
+        // Placing the ties which are still open, if any.
+        layout.endPart();
+    }
+
+    /**
+     * Adds a note to the list of notes of a line.
+     *
+     * @param lineId The ID of the line.
+     * @param tempo The tempo in effect when the note has been parsed.
+     * @param note The note to add.
+     */
+    private void store(String lineId, int tempo, Note note) {
+        parts.computeIfAbsent(lineId, k -> new ArrayList<>()).add(note);
     }
 
     /**
      * Gives the tempo of the music (in beats per minute) read from the MusicXML file.
+     * If the tempo changes, this is the last tempo declared in the file (see
+     * {@link #getTempoMap()} for all the changes).
      *
      * @return The tempo of the music (in beats per minute).
      */
@@ -407,6 +557,16 @@ public final class MusicXMLSaxParser extends DefaultHandler {
         return tempo;
     }
 
+    /**
+     * Gives the changes of tempo read from the MusicXML file.
+     * When the tempo is never given, the music is played at the default tempo.
+     *
+     * @return The tempo map of the music.
+     */
+    public TempoMap getTempoMap() {
+        return tempoChanges.isEmpty() ? TempoMap.of(tempo) : TempoMap.of(tempoChanges);
+    }
+
     /**
      * Gives the map associating each part (given by its ID) to the list of notes in that
      * part.
@@ -0,0 +1,707 @@
+/**
+ * LenSymphony - A simple music synthesizer library developed in Lens, France.
+ * Copyright (c) 2025 Romain Wallon - Université d'Artois.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package fr.univartois.butinfo.lensymphony.musicxml;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import fr.univartois.butinfo.lensymphony.notes.AbstractNoteFactory;
+import fr.univartois.butinfo.lensymphony.notes.Note;
+import fr.univartois.butinfo.lensymphony.notes.NotePitch;
+import fr.univartois.butinfo.lensymphony.notes.NoteValue;
+import fr.univartois.butinfo.lensymphony.notes.PitchClass;
+import fr.univartois.butinfo.lensymphony.notes.TempoMap;
+
+/**
+ * The MusicXMLStaxParser is a pull parser for MusicXML files, based on StAX.
+ * It extracts exactly the same information as {@link MusicXMLSaxParser}, but avoids most
+ * of the allocations the latter performs for each element.
+ * Elements are dispatched with a {@code switch} on their local name, which compares it
+ * with the labels by {@link String#hashCode()} then {@link String#equals(Object)}.
+ * The StAX reader of the JDK returns the same {@link String} instances for the names it
+ * has already met, whose hash code is thus computed only once.
+ * Character data is accumulated in a reusable buffer, from which integers, steps and note
+ * types are decoded directly, without creating any intermediate {@link String}.
+ *
+ * An instance of this class is meant to parse a single document, as is the case for
+ * {@link MusicXMLSaxParser}.
+ *
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+public final class MusicXMLStaxParser {
+
+    /**
+     * The factory used to create the StAX readers.
+     * The external DTD declared by MusicXML files is never loaded, as it is not needed to
+     * read the notes.
+     */
+    private static final XMLInputFactory INPUT_FACTORY = newInputFactory();
+
+    /**
+     * The pitch classes of the natural notes, indexed by their upper case letter relative
+     * to {@code 'A'}.
+     */
+    private static final PitchClass[] STEPS = new PitchClass[26];
+
+    static {
+        for (PitchClass pitchClass : PitchClass.values()) {
+            String name = pitchClass.name();
+            if (name.length() == 1) {
+                STEPS[name.charAt(0) - 'A'] = pitchClass;
+            }
+        }
+    }
+
+    /**
+     * The factory to create the notes of the parsed music.
+     */
+    private final AbstractNoteFactory noteFactory;
+
+    /**
+     * The number of beats per measure.
+     */
+    private int beats;
+
+    /**
+     * The tempo of the music (in beats per minute).
+     */
+    private int tempo = 60;
+
+    /**
+     * Whether the tempo has been read from the parsed document.
+     */
+    private boolean tempoRead;
+
+    /**
+     * The changes of tempo read from the MusicXML file, associated to their position in
+     * the music (in ticks).
+     */
+    private final SortedMap<Long, Integer> tempoChanges = new TreeMap<>();
+
+    /**
+     * The layout placing the notes played at the same time on different lines.
+     */
+    private final VoiceLayout layout;
+
+    /**
+     * The map associating each part (given by its ID) to the list of notes in that part.
+     */
+    private final Map<String, List<Note>> parts = new TreeMap<>();
+
+    /**
+     * The identifier of the current part being parsed (used during parsing).
+     */
+    private String currentPartId = null;
+
+    /**
+     * The current chromatic transposition (used during parsing).
+     */
+    private int currentChromaticTransposition = 0;
+
+    /**
+     * The list of notes of the current part (or staff) being parsed.
+     */
+    private List<Note> notes;
+
+    /**
+     * The ID of the part (or staff) associated with {@link #notes}.
+     */
+    private String notesId;
+
+    /**
+     * The voice of the current note (used during parsing).
+     */
+    private String currentVoice = null;
+
+    /**
+     * Whether the current note is part of a chord (used during parsing).
+     */
+    private boolean currentChord;
+
+    /**
+     * The last voice read, which is reused as long as the following notes are in the
+     * same voice.
+     */
+    private String lastVoice = null;
+
+    /**
+     * The last duration read, in divisions, or {@code -1} if the current note has no
+     * duration (used during parsing).
+     */
+    private int currentDuration = -1;
+
+    /**
+     * Whether a tie starts from the current note (used during parsing).
+     */
+    private boolean currentTieStart;
+
+    /**
+     * Whether a tie ends on the current note (used during parsing).
+     */
+    private boolean currentTieStop;
+
+    /**
+     * The pitch class of the current note (used during parsing).
+     */
+    private PitchClass currentPitchClass = null;
+
+    /**
+     * The alteration of the current note (used during parsing).
+     */
+    private int currentAlter = 0;
+
+    /**
+     * The octave of the current note (used during parsing).
+     */
+    private int currentOctave = -1;
+
+    /**
+     * The pitch of the current note (used during parsing).
+     */
+    private NotePitch currentPitch = null;
+
+    /**
+     * The current note (used during parsing).
+     */
+    private Note currentNote = null;
+
+    /**
+     * The buffer used to accumulate character data between XML tags.
+     */
+    private char[] text = new char[64];
+
+    /**
+     * The number of characters currently stored in {@link #text}.
+     */
+    private int textLength;
+
+    /**
+     * Creates a new MusicXMLStaxParser.
+     *
+     * @param noteFactory The factory to create the notes of the parsed music.
+     */
+    public MusicXMLStaxParser(AbstractNoteFactory noteFactory) {
+        this.noteFactory = noteFactory;
+        this.layout = new VoiceLayout(noteFactory, this::store);
+    }
+
+    /**
+     * Sets the number of beats per measure in effect before the parsed document declares
+     * its own.
+     * This is needed when the document is a single part extracted from a score, which
+     * inherits the time signature of the parts preceding it.
+     *
+     * @param beats The number of beats per measure.
+     */
+    void setBeats(int beats) {
+        this.beats = beats;
+    }
+
+    /**
+     * Checks whether the tempo has been read from the parsed document, rather than being
+     * the default one.
+     *
+     * @return Whether the tempo has been read.
+     */
+    boolean hasTempo() {
+        return tempoRead;
+    }
+
+    /**
+     * Creates the factory used to create the StAX readers.
+     *
+     * @return The created factory.
+     */
+    private static XMLInputFactory newInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+        return factory;
+    }
+
+    /**
+     * Parses a MusicXML file.
+     *
+     * @param file The file to parse.
+     *
+     * @throws IOException If the file cannot be read.
+     * @throws XMLStreamException If the file is not a well-formed XML file.
+     */
+    public void parse(File file) throws IOException, XMLStreamException {
+        try (InputStream input = Files.newInputStream(file.toPath())) {
+            parse(input);
+        }
+    }
+
+    /**
+     * Parses a MusicXML document read from a stream.
+     * The stream is not closed by this method.
+     *
+     * @param input The stream to read the document from.
+     *
+     * @throws XMLStreamException If the document is not a well-formed XML document.
+     */
+    public void parse(InputStream input) throws XMLStreamException {
+        XMLStreamReader reader = INPUT_FACTORY.createXMLStreamReader(input);
+        try {
+            while (reader.hasNext()) {
+                switch (reader.next()) {
+                    case XMLStreamConstants.START_ELEMENT -> {
+                        textLength = 0;
+                        startElement(reader);
+                    }
+                    case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA,
+                            XMLStreamConstants.SPACE -> characters(reader);
+                    case XMLStreamConstants.END_ELEMENT -> endElement(reader.getLocalName());
+                    case XMLStreamConstants.END_DOCUMENT -> layout.endPart();
+                    default -> {
+                        // Other events are not relevant to the music.
+                    }
+                }
+            }
+
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Handles the start of an XML element.
+     *
+     * @param reader The reader positioned on the start of the element.
+     */
+    private void startElement(XMLStreamReader reader) {
+        switch (reader.getLocalName()) {
+            case "sound" -> startSound(reader);
+            case "part" -> startPart(reader);
+            case "tie" -> startTie(reader);
+            case "rest" -> startRest(reader);
+            case "chord" -> currentChord = true;
+            case "note" -> startNote();
+            default -> {
+                // Nothing to do for the other elements.
+            }
+        }
+    }
+
+    /**
+     * Reads the tempo from the {@code sound} element.
+     *
+     * @param reader The reader positioned on the {@code sound} element.
+     */
+    private void startSound(XMLStreamReader reader) {
+        String tempoAttr = reader.getAttributeValue(null, "tempo");
+        if (tempoAttr != null) {
+            tempo = Integer.parseInt(tempoAttr);
+            tempoRead = true;
+            // The new tempo applies from the position reached in the current part.
+            tempoChanges.put(layout.getPosition(), tempo);
+        }
+    }
+
+    /**
+     * Initializes the state for a new {@code part} element.
+     *
+     * @param reader The reader positioned on the {@code part} element.
+     */
+    private void startPart(XMLStreamReader reader) {
+        currentPartId = reader.getAttributeValue(null, "id");
+        currentChromaticTransposition = 0;
+        notes = null;
+        notesId = null;
+        layout.startPart();
+    }
+
+    /**
+     * Initializes the state for a new {@code tie} element.
+     *
+     * @param reader The reader positioned on the {@code tie} element.
+     */
+    private void startTie(XMLStreamReader reader) {
+        String type = reader.getAttributeValue(null, "type");
+        if ("start".equals(type)) {
+            // Starting a new tie, or continuing an existing one.
+            currentTieStart = true;
+
+        } else if ("stop".equals(type)) {
+            // Ending the current tie.
+            currentTieStop = true;
+        }
+    }
+
+    /**
+     * Adds a full rest when a {@code rest} element is started with its {@code measure}
+     * attribute set to {@code "yes"}.
+     *
+     * @param reader The reader positioned on the {@code rest} element.
+     */
+    private void startRest(XMLStreamReader reader) {
+        if ("yes".equals(reader.getAttributeValue(null, "measure"))) {
+            currentNote = noteFactory.createTiedNotes(
+                    Collections.nCopies(beats, noteFactory.createRest(NoteValue.QUARTER)));
+        }
+    }
+
+    /**
+     * Initializes the state for a new {@code note} element.
+     */
+    private void startNote() {
+        currentPitchClass = null;
+        currentAlter = 0;
+        currentOctave = -1;
+        currentPitch = null;
+        currentNote = null;
+        currentVoice = null;
+        currentChord = false;
+        currentDuration = -1;
+        currentTieStart = false;
+        currentTieStop = false;
+    }
+
+    /**
+     * Appends the character data the reader is positioned on to the text buffer.
+     *
+     * @param reader The reader positioned on character data.
+     */
+    private void characters(XMLStreamReader reader) {
+        int length = reader.getTextLength();
+        if (textLength + length > text.length) {
+            text = Arrays.copyOf(text, Math.max(2 * text.length, textLength + length));
+        }
+        System.arraycopy(reader.getTextCharacters(), reader.getTextStart(),
+                text, textLength, length);
+        textLength += length;
+    }
+
+    /**
+     * Handles the end of an XML element.
+     *
+     * @param name The local name of the element.
+     */
+    private void endElement(String name) {
+        switch (name) {
+            case "beats" -> beats = parseInt();
+            case "divisions" -> layout.setDivisions(parseInt());
+            case "duration" -> currentDuration = parseInt();
+            case "voice" -> currentVoice = parseVoice();
+            case "backup" -> layout.backup(currentDuration);
+            case "forward" -> layout.forward(currentDuration);
+            case "chromatic" -> currentChromaticTransposition = parseInt();
+            case "step", "display-step" -> currentPitchClass = parseStep();
+            case "alter" -> currentAlter = parseInt();
+            case "octave", "display-octave" -> currentOctave = parseInt();
+            case "pitch", "unpitched" -> endPitch();
+            case "type" -> endType();
+            case "dot" -> currentNote = noteFactory.createDottedNote(currentNote);
+            case "fermata" -> currentNote = noteFactory.createFermataOn(currentNote);
+            case "staff" -> endStaff();
+            case "note" -> endNote();
+            case "part" -> layout.endPart();
+            default -> {
+                // Nothing to do for the other elements.
+            }
+        }
+    }
+
+    /**
+     * Finalizes the pitch of the current note when a {@code pitch} element is closed.
+     */
+    private void endPitch() {
+        currentPitch = NotePitch.of(currentPitchClass, currentOctave,
+                currentChromaticTransposition + currentAlter);
+    }
+
+    /**
+     * Extracts the note value from the content of a {@code type} element, and creates
+     * the current note accordingly.
+     */
+    private void endType() {
+        NoteValue value = parseNoteValue();
+        if (currentPitch == null) {
+            currentNote = noteFactory.createRest(value);
+        } else {
+            currentNote = noteFactory.createNote(currentPitch, value);
+        }
+    }
+
+    /**
+     * Extracts the staff identifier from the content of a {@code staff} element.
+     */
+    private void endStaff() {
+        String staffId = currentPartId + "." + parseInt();
+        notes = parts.computeIfAbsent(staffId, k -> new ArrayList<>());
+        notesId = staffId;
+    }
+
+    /**
+     * Finalizes the current note and places it on a line of its staff when a {@code note}
+     * element is closed.
+     */
+    private void endNote() {
+        if (notes == null) {
+            // No staff defined yet: using a default one.
+            notes = parts.computeIfAbsent(currentPartId, k -> new ArrayList<>());
+            notesId = currentPartId;
+        }
+
+        if (currentNote == null) {
+            // The note cannot be played, but the following notes must not be shifted.
+            layout.skip(currentChord, currentDuration);
+            return;
+        }
+
+        // The note is added once its tie (if any) is over.
+        layout.add(notesId, currentVoice, currentChord, currentDuration,
+                currentTieStart, currentTieStop, tempo, currentNote);
+    }
+
+    /**
+     * Adds a note to the list of notes of a line.
+     *
+     * @param lineId The ID of the line.
+     * @param tempo The tempo in effect when the note has been parsed.
+     * @param note The note to add.
+     */
+    private void store(String lineId, int tempo, Note note) {
+        parts.computeIfAbsent(lineId, k -> new ArrayList<>()).add(note);
+    }
+
+    /**
+     * Gives the index of the first character of the text buffer which is not a
+     * whitespace, following the same convention as {@link String#trim()}.
+     *
+     * @return The index of the first significant character.
+     */
+    private int trimStart() {
+        int start = 0;
+        while ((start < textLength) && (text[start] <= ' ')) {
+            start++;
+        }
+        return start;
+    }
+
+    /**
+     * Gives the index following the last character of the text buffer which is not a
+     * whitespace, following the same convention as {@link String#trim()}.
+     *
+     * @return The index following the last significant character.
+     */
+    private int trimEnd() {
+        int end = textLength;
+        while ((end > 0) && (text[end - 1] <= ' ')) {
+            end--;
+        }
+        return end;
+    }
+
+    /**
+     * Decodes the integer stored in the text buffer.
+     *
+     * @return The decoded integer.
+     *
+     * @throws NumberFormatException If the text buffer does not contain an integer.
+     */
+    private int parseInt() {
+        int start = trimStart();
+        int end = trimEnd();
+        int index = start;
+        boolean negative = false;
+        if ((index < end) && ((text[index] == '-') || (text[index] == '+'))) {
+            negative = text[index] == '-';
+            index++;
+        }
+
+        if ((index == end) || (end - index > 9)) {
+            // Empty or possibly overflowing values are left to the standard parser.
+            return Integer.parseInt(new String(text, start, Math.max(0, end - start)));
+        }
+
+        int value = 0;
+        for (; index < end; index++) {
+            int digit = text[index] - '0';
+            if ((digit < 0) || (digit > 9)) {
+                throw new NumberFormatException(
+                        "For input string: \"" + new String(text, start, end - start) + "\"");
+            }
+            value = 10 * value + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Decodes the pitch class stored in the text buffer.
+     *
+     * @return The decoded pitch class.
+     *
+     * @throws IllegalArgumentException If the text buffer does not contain a step.
+     */
+    private PitchClass parseStep() {
+        int start = trimStart();
+        int end = trimEnd();
+        if (end - start == 1) {
+            int letter = Character.toUpperCase(text[start]) - 'A';
+            if ((letter >= 0) && (letter < STEPS.length) && (STEPS[letter] != null)) {
+                return STEPS[letter];
+            }
+        }
+        String step = new String(text, start, Math.max(0, end - start));
+        return PitchClass.valueOf(step.toUpperCase());
+    }
+
+    /**
+     * Decodes the voice stored in the text buffer.
+     * The voice of the previous note is returned if it is the same, so that no string is
+     * created for most notes.
+     *
+     * @return The decoded voice.
+     */
+    private String parseVoice() {
+        int start = trimStart();
+        int end = trimEnd();
+        if ((lastVoice == null) || !matches(lastVoice, start, end)) {
+            lastVoice = new String(text, start, Math.max(0, end - start));
+        }
+        return lastVoice;
+    }
+
+    /**
+     * Decodes the note value stored in the text buffer.
+     *
+     * @return The decoded note value.
+     *
+     * @throws IllegalArgumentException If the text buffer does not contain a note type.
+     */
+    private NoteValue parseNoteValue() {
+        int start = trimStart();
+        int end = trimEnd();
+        for (NoteValue value : NoteValue.values()) {
+            if (matches(value.getType(), start, end)) {
+                return value;
+            }
+        }
+        return NoteValue.fromString(new String(text, start, Math.max(0, end - start)));
+    }
+
+    /**
+     * Checks whether a range of the text buffer is equal to a string, ignoring case.
+     *
+     * @param expected The expected string.
+     * @param start The index of the first character of the range.
+     * @param end The index following the last character of the range.
+     *
+     * @return Whether the range matches the expected string.
+     */
+    private boolean matches(String expected, int start, int end) {
+        if (expected.length() != end - start) {
+            return false;
+        }
+        for (int i = 0; i < expected.length(); i++) {
+            char actual = text[start + i];
+            if (Character.toLowerCase(actual) != Character.toLowerCase(expected.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gives the tempo of the music (in beats per minute) read from the MusicXML file.
+     * If the tempo changes, this is the last tempo declared in the file (see
+     * {@link #getTempoMap()} for all the changes).
+     *
+     * @return The tempo of the music (in beats per minute).
+     */
+    public int getTempo() {
+        return tempo;
+    }
+
+    /**
+     * Gives the changes of tempo read from the MusicXML file.
+     * When the tempo is never given, the music is played at the default tempo.
+     *
+     * @return The tempo map of the music.
+     */
+    public TempoMap getTempoMap() {
+        return tempoChanges.isEmpty() ? TempoMap.of(tempo) : TempoMap.of(tempoChanges);
+    }
+
+    /**
+     * Gives the changes of tempo read from the parsed document, which may be merged with
+     * those of other documents.
+     *
+     * @return The map associating the position of each change (in ticks) to the tempo it
+     *         sets.
+     */
+    SortedMap<Long, Integer> getTempoChanges() {
+        return tempoChanges;
+    }
+
+    /**
+     * Gives the map associating each part (given by its ID) to the list of notes in that
+     * part.
+     *
+     * @return The map of the parts.
+     */
+    public Map<String, List<Note>> getParts() {
+        return parts;
+    }
+
+    /**
+     * Gives the list of notes for a given part.
+     *
+     * @param partId The ID of the part.
+     *
+     * @return The list of notes for the given part.
+     */
+    public List<Note> getNotes(String partId) {
+        return parts.get(partId);
+    }
+
+    /**
+     * Gives the list of notes of the last part parsed from the MusicXML file.
+     *
+     * @return The list of parsed notes.
+     */
+    public List<Note> getNotes() {
+        return notes;
+    }
+
+}
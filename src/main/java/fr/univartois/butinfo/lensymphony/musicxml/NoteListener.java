@@ -0,0 +1,66 @@
+/**
+ * LenSymphony - A simple music synthesizer library developed in Lens, France.
+ * Copyright (c) 2025 Romain Wallon - Université d'Artois.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package fr.univartois.butinfo.lensymphony.musicxml;
+
+import fr.univartois.butinfo.lensymphony.notes.Note;
+import fr.univartois.butinfo.lensymphony.notes.TempoMap;
+
+/**
+ * The NoteListener interface defines a callback notified by {@link MusicXMLSaxParser} of
+ * each note as soon as it has been parsed.
+ * This allows to process the notes of a piece (e.g., to synthesize them) while the rest
+ * of the document is being parsed.
+ *
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+@FunctionalInterface
+public interface NoteListener {
+
+    /**
+     * Notifies this listener that a note has been parsed.
+     * The notes of each part are notified in the order in which they are played.
+     * Notes played at the same time are notified in different parts, which are lines of
+     * the same staff (see {@link VoiceLayout}).
+     *
+     * @param partId The ID of the part (or staff, or line of a staff) the note belongs to.
+     * @param tempo The tempo in effect when the note has been parsed (in beats per
+     *        minute).
+     * @param note The parsed note.
+     */
+    void noteParsed(String partId, int tempo, Note note);
+
+    /**
+     * Notifies this listener that all the notes of a part have been parsed, so that the
+     * lines to which notes have been added since the previous part are complete.
+     * By default, nothing is done.
+     *
+     * @param tempoMap The changes of tempo read so far, including those of this part.
+     */
+    default void partParsed(TempoMap tempoMap) {
+        // Nothing to do by default.
+    }
+
+}
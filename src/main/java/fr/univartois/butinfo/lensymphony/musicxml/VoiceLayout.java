@@ -0,0 +1,536 @@
+/**
+ * LenSymphony - A simple music synthesizer library developed in Lens, France.
+ * Copyright (c) 2025 Romain Wallon - Université d'Artois.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package fr.univartois.butinfo.lensymphony.musicxml;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import fr.univartois.butinfo.lensymphony.notes.AbstractNoteFactory;
+import fr.univartois.butinfo.lensymphony.notes.Note;
+import fr.univartois.butinfo.lensymphony.notes.NoteValue;
+import fr.univartois.butinfo.lensymphony.notes.Timeline;
+
+/**
+ * The VoiceLayout places the notes read from the parts of a MusicXML file on lines of
+ * consecutive notes, so that notes played at the same time (in a chord, or in different
+ * voices) are not appended one after the other.
+ * <p>
+ * The layout follows the position reached in the current part, as MusicXML does: each
+ * note which is not part of a chord moves it forward by its duration, and the
+ * {@code backup} and {@code forward} elements move it backward or forward.
+ * Each note is then appended to a line of its staff which is free at the position where
+ * the note starts, preferring the line of its voice.
+ * When this line ends before the note starts, the gap is filled with rests, so that each
+ * line can be played on its own.
+ * <p>
+ * The first line of a staff is identified by the ID of the staff, so that a staff without
+ * chords nor voices is read as before.
+ * The other lines are identified by the ID of the staff, followed by {@link #SEPARATOR}
+ * and their number (starting from 2).
+ * <p>
+ * Tied notes are gathered by pitch in each staff, and placed when their tie ends.
+ * The ties which are still open at the end of a part are placed as they are, so that
+ * their notes are not lost.
+ *
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+public final class VoiceLayout {
+
+    /**
+     * The character separating the ID of a staff from the number of one of its lines.
+     */
+    public static final char SEPARATOR = '/';
+
+    /**
+     * The shortest gap between two notes of a line which is filled with rests (in
+     * ticks).
+     * Shorter gaps only come from rounding durations which cannot be represented exactly,
+     * and are ignored.
+     */
+    private static final long MIN_GAP = NoteValue.TWO_HUNDRED_FIFTY_SIXTH.ticks();
+
+    /**
+     * The note values used to fill the gaps, from the longest to the shortest.
+     */
+    private static final NoteValue[] VALUES = NoteValue.values();
+
+    /**
+     * The factory to create the rests filling the gaps, and the tied notes.
+     */
+    private final AbstractNoteFactory noteFactory;
+
+    /**
+     * The listener notified of each note appended to a line, with the ID of this line.
+     */
+    private final NoteListener listener;
+
+    /**
+     * The staves of the current part, given by their ID.
+     */
+    private final Map<String, Staff> staves = new HashMap<>();
+
+    /**
+     * The notes of the ties which have been started and not ended yet, associated to the
+     * staff and pitch of these notes, in the order in which they have been started.
+     */
+    private final Map<TieKey, Tie> ties = new LinkedHashMap<>();
+
+    /**
+     * The position reached in the current part.
+     */
+    private final Cursor part = new Cursor();
+
+    /**
+     * The cursor which has been moved by the last note.
+     */
+    private Cursor current = part;
+
+    /**
+     * The number of divisions per quarter note in which the durations of the current part
+     * are expressed, or {@code 0} if it is not known yet.
+     * In the latter case, the durations cannot be read, and the position is followed in
+     * each staff from the length of its notes.
+     */
+    private int divisions;
+
+    /**
+     * Creates a new VoiceLayout.
+     *
+     * @param noteFactory The factory to create the rests filling the gaps, and the tied
+     *        notes.
+     * @param listener The listener to notify of each note appended to a line.
+     */
+    VoiceLayout(AbstractNoteFactory noteFactory, NoteListener listener) {
+        this.noteFactory = noteFactory;
+        this.listener = listener;
+    }
+
+    /**
+     * Gives the ID of the staff to which a line belongs.
+     *
+     * @param lineId The ID of the line, as notified by the parsers.
+     *
+     * @return The ID of the staff of the line.
+     */
+    public static String staffOf(String lineId) {
+        int index = lineId.lastIndexOf(SEPARATOR);
+        return (index < 0) ? lineId : lineId.substring(0, index);
+    }
+
+    /**
+     * Moves to the beginning of a new part.
+     */
+    void startPart() {
+        endPart();
+        divisions = 0;
+        part.position = 0;
+        part.chordStart = 0;
+        current = part;
+        staves.clear();
+    }
+
+    /**
+     * Ends the current part, by placing the notes of the ties which have been started
+     * and not ended yet.
+     * Calling this method again has no effect until new notes are placed.
+     */
+    void endPart() {
+        for (Map.Entry<TieKey, Tie> entry : ties.entrySet()) {
+            Tie tie = entry.getValue();
+            place(staves.get(entry.getKey().staffId()), tie.voice, tie.chord, tie.start,
+                    tie.length, tie.tempo, noteFactory.createTiedNotes(tie.notes));
+        }
+        ties.clear();
+    }
+
+    /**
+     * Sets the number of divisions per quarter note in which the following durations are
+     * expressed.
+     *
+     * @param divisions The number of divisions per quarter note.
+     */
+    void setDivisions(int divisions) {
+        this.divisions = divisions;
+    }
+
+    /**
+     * Gives the position reached in the current part.
+     *
+     * @return The position reached in the current part (in ticks).
+     */
+    long getPosition() {
+        return current.position;
+    }
+
+    /**
+     * Moves the position in the current part backward, as requested by a {@code backup}
+     * element.
+     *
+     * @param duration The duration of the backup, in divisions.
+     */
+    void backup(int duration) {
+        part.position = Math.max(0, part.position - toTicks(duration, 0));
+    }
+
+    /**
+     * Moves the position in the current part forward, as requested by a {@code forward}
+     * element.
+     *
+     * @param duration The duration of the forward, in divisions.
+     */
+    void forward(int duration) {
+        part.position += toTicks(duration, 0);
+    }
+
+    /**
+     * Skips a note which could not be read, so that the following notes are still played
+     * at the right position.
+     *
+     * @param chord Whether the note is part of a chord.
+     * @param duration The duration of the note in divisions, or a negative value if it is
+     *        not given.
+     */
+    void skip(boolean chord, int duration) {
+        current.advance(chord, toTicks(duration, 0));
+    }
+
+    /**
+     * Places a note read from the current part.
+     *
+     * @param staffId The ID of the staff of the note.
+     * @param voice The voice of the note, or {@code null} if it is not given.
+     * @param chord Whether the note is part of a chord, i.e., starts with the previous
+     *        note.
+     * @param duration The duration of the note in divisions, or a negative value if it is
+     *        not given.
+     * @param tieStart Whether a tie starts from the note.
+     * @param tieStop Whether a tie ends on the note.
+     * @param tempo The tempo in effect when the note is read (in beats per minute).
+     * @param note The note to place.
+     */
+    void add(String staffId, String voice, boolean chord, int duration, boolean tieStart,
+            boolean tieStop, int tempo, Note note) {
+        Staff staff = staves.computeIfAbsent(staffId, Staff::new);
+        current = (divisions > 0) ? part : staff.cursor;
+        long length = toTicks(duration, note.getTicks());
+        long start = current.advance(chord, length);
+
+        if (!tieStart && ties.isEmpty()) {
+            // Most notes are not tied.
+            place(staff, voice, chord, start, length, tempo, note);
+            return;
+        }
+
+        TieKey key = new TieKey(staffId, note.getFrequency());
+        Tie tie = ties.get(key);
+        if (tie != null) {
+            // The note continues a tie, even if its end has been forgotten.
+            tie.notes.add(note);
+            tie.length += length;
+            tie.tempo = tempo;
+            if (tieStart) {
+                return;
+            }
+            ties.remove(key);
+            place(staff, tie.voice, tie.chord, tie.start, tie.length, tempo,
+                    noteFactory.createTiedNotes(tie.notes));
+
+        } else if (tieStart) {
+            // The note is not placed yet: the tie is not over.
+            Tie started = new Tie(voice, chord, start);
+            started.notes.add(note);
+            started.length = length;
+            started.tempo = tempo;
+            ties.put(key, started);
+
+        } else {
+            place(staff, voice, chord, start, length, tempo, note);
+        }
+    }
+
+    /**
+     * Appends a note to a line of its staff which is free when the note starts.
+     * The other notes of a chord do not change the line of their voice, so that the
+     * following notes of the voice remain on the same line as the first notes of the
+     * chords.
+     *
+     * @param staff The staff of the note.
+     * @param voice The voice of the note.
+     * @param chord Whether the note is part of a chord.
+     * @param start The position at which the note starts (in ticks).
+     * @param length The length of the note (in ticks).
+     * @param tempo The tempo in effect when the note is read.
+     * @param note The note to place.
+     */
+    private void place(Staff staff, String voice, boolean chord, long start, long length,
+            int tempo, Note note) {
+        Line line = staff.voices.get(voice);
+        if ((line == null) || !line.isFreeAt(start)) {
+            line = staff.lineFreeAt(start);
+            if (!chord) {
+                staff.voices.put(voice, line);
+            }
+        }
+
+        if (start - line.end >= MIN_GAP) {
+            listener.noteParsed(line.id, tempo, rest(start - line.end));
+        }
+        listener.noteParsed(line.id, tempo, note);
+        line.end = Math.max(line.end, start) + length;
+    }
+
+    /**
+     * Creates a rest lasting (approximately) a given number of ticks.
+     *
+     * @param ticks The length of the rest (in ticks).
+     *
+     * @return The created rest.
+     */
+    private Note rest(long ticks) {
+        List<Note> rests = new ArrayList<>();
+        long remaining = ticks;
+        for (NoteValue value : VALUES) {
+            while (remaining >= value.ticks()) {
+                rests.add(noteFactory.createRest(value));
+                remaining -= value.ticks();
+            }
+        }
+        return (rests.size() == 1) ? rests.getFirst() : noteFactory.createTiedNotes(rests);
+    }
+
+    /**
+     * Converts a duration read from the current part into ticks.
+     *
+     * @param duration The duration, in divisions, or a negative value if it is not given.
+     * @param fallback The number of ticks to use when the divisions are not known.
+     *
+     * @return The duration in ticks.
+     */
+    private long toTicks(int duration, long fallback) {
+        if (divisions <= 0) {
+            return Math.max(0, fallback);
+        }
+        if (duration < 0) {
+            // Only grace notes have no duration: they do not take any time in the part.
+            return 0;
+        }
+        return (duration * Timeline.TICKS_PER_WHOLE) / (4L * divisions);
+    }
+
+    /**
+     * The Cursor follows the position reached while reading the notes.
+     */
+    private static final class Cursor {
+
+        /**
+         * The position reached (in ticks).
+         */
+        private long position;
+
+        /**
+         * The position at which the last note that is not part of a chord starts (in
+         * ticks).
+         */
+        private long chordStart;
+
+        /**
+         * Moves this cursor after a note.
+         *
+         * @param chord Whether the note is part of a chord, in which case it starts with
+         *        the previous note and the position does not change.
+         * @param length The length of the note (in ticks).
+         *
+         * @return The position at which the note starts (in ticks).
+         */
+        private long advance(boolean chord, long length) {
+            if (chord) {
+                return chordStart;
+            }
+            chordStart = position;
+            position += length;
+            return chordStart;
+        }
+
+    }
+
+    /**
+     * The Staff gathers the lines of a staff.
+     */
+    private static final class Staff {
+
+        /**
+         * The ID of the staff.
+         */
+        private final String id;
+
+        /**
+         * The lines of the staff, in the order in which they have been created.
+         */
+        private final List<Line> lines = new ArrayList<>();
+
+        /**
+         * The line on which the last note of each voice has been placed.
+         */
+        private final Map<String, Line> voices = new HashMap<>();
+
+        /**
+         * The position reached in the staff, used when the durations cannot be read.
+         */
+        private final Cursor cursor = new Cursor();
+
+        /**
+         * Creates a new Staff.
+         *
+         * @param id The ID of the staff.
+         */
+        private Staff(String id) {
+            this.id = id;
+        }
+
+        /**
+         * Gives the first line of this staff which is free at a given position, creating
+         * a new one if all the lines are busy.
+         *
+         * @param start The position at which a note starts (in ticks).
+         *
+         * @return A line on which the note can be appended.
+         */
+        private Line lineFreeAt(long start) {
+            for (Line line : lines) {
+                if (line.isFreeAt(start)) {
+                    return line;
+                }
+            }
+
+            String lineId = lines.isEmpty() ? id : (id + SEPARATOR + (lines.size() + 1));
+            Line line = new Line(lineId);
+            lines.add(line);
+            return line;
+        }
+
+    }
+
+    /**
+     * The Line is a sequence of consecutive notes in a staff.
+     */
+    private static final class Line {
+
+        /**
+         * The ID under which the notes of this line are notified.
+         */
+        private final String id;
+
+        /**
+         * The position at which the last note of this line ends (in ticks).
+         */
+        private long end;
+
+        /**
+         * Creates a new Line.
+         *
+         * @param id The ID under which the notes of this line are notified.
+         */
+        private Line(String id) {
+            this.id = id;
+        }
+
+        /**
+         * Checks whether a note starting at a given position can be appended to this
+         * line.
+         *
+         * @param start The position at which the note starts (in ticks).
+         *
+         * @return Whether the line has ended at this position.
+         */
+        private boolean isFreeAt(long start) {
+            return end - start < MIN_GAP;
+        }
+
+    }
+
+    /**
+     * The TieKey identifies the notes which may be tied together.
+     *
+     * @param staffId The ID of the staff of the notes.
+     * @param frequency The frequency of the notes.
+     */
+    private record TieKey(String staffId, double frequency) {
+    }
+
+    /**
+     * The Tie gathers the notes of a tie which has not ended yet.
+     */
+    private static final class Tie {
+
+        /**
+         * The voice of the first note of the tie.
+         */
+        private final String voice;
+
+        /**
+         * Whether the first note of the tie is part of a chord.
+         */
+        private final boolean chord;
+
+        /**
+         * The position at which the first note of the tie starts (in ticks).
+         */
+        private final long start;
+
+        /**
+         * The total length of the notes of the tie (in ticks).
+         */
+        private long length;
+
+        /**
+         * The tempo in effect when the last note of the tie has been read.
+         */
+        private int tempo;
+
+        /**
+         * The notes of the tie, in the order in which they are played.
+         */
+        private final List<Note> notes = new ArrayList<>();
+
+        /**
+         * Creates a new Tie.
+         *
+         * @param voice The voice of the first note of the tie.
+         * @param chord Whether the first note of the tie is part of a chord.
+         * @param start The position at which the first note of the tie starts.
+         */
+        private Tie(String voice, boolean chord, long start) {
+            this.voice = voice;
+            this.chord = chord;
+            this.start = start;
+        }
+
+    }
+
+}
@@ -56,4 +56,17 @@ public class DottedNote extends NoteDecorator {
     public int getDuration(int tempo) {
         return (int) (super.getDuration(tempo) * 1.5); // Dotted note duration is 1.5 times the original note duration
     }
+
+    /**
+     * Returns the exact length of the dotted note, which is 1.5 times the length of the
+     * original note.
+     *
+     * @return The length in ticks, or {@code -1} if the length of the original note is
+     *         not known.
+     */
+    @Override
+    public long getTicks() {
+        long ticks = super.getTicks();
+        return (ticks < 0) ? -1 : (ticks + (ticks / 2));
+    }
 }
\ No newline at end of file
@@ -24,4 +24,17 @@ public class FermataNote extends NoteDecorator {
     public int getDuration(int tempo) {
         return super.getDuration(tempo) * 2; // Fermata note during is 2 times the original note duration
     }
+
+    /**
+     * Returns the exact length of the fermata note, which is 2 times the length of the
+     * original note.
+     *
+     * @return The length in ticks, or {@code -1} if the length of the original note is
+     *         not known.
+     */
+    @Override
+    public long getTicks() {
+        long ticks = super.getTicks();
+        return (ticks < 0) ? -1 : (ticks * 2);
+    }
 }
@@ -1,10 +1,14 @@
 package fr.univartois.butinfo.lensymphony.notes;
 
+import java.util.function.Function;
+
 import fr.univartois.butinfo.lensymphony.synthesizer.*;
 
 /**
  * An enumeration of musical instruments that can be used to play notes.
  * Each instrument has its own synthesizer that defines how its notes should sound.
+ * The instruments making noises can also give synthesizers drawing their noise from
+ * another source, so that the parts they play do not all sound exactly the same.
  *
  * @author Mouille Antoine, Rabhi Nessim & Dassonville Ugo
  */
@@ -17,12 +21,12 @@ public enum Instruments {
 	/**
 	 * A snare drum using 4 harmonics.
 	 */
-	SNARE_DRUM(SnareDrumSynthesizer.getInstance()),
+	SNARE_DRUM(SnareDrumSynthesizer.getInstance(), SnareDrumSynthesizer::withNoise),
 
 	/**
 	 * A cymbal using 5 harmonics.
 	 */
-	CYMBAL(CymbaleSynthesizer.getInstance()),
+	CYMBAL(CymbaleSynthesizer.getInstance(), CymbaleSynthesizer::withNoise),
 
 	/**
 	 * A triangle using 6 harmonics.
@@ -90,7 +94,7 @@ public enum Instruments {
 			0.015, 4.2)
 	),
 
-	GASBA(new WhiteNoiseSynthesizer(
+	GASBA(noise -> new WhiteNoiseSynthesizer(
 			new VibratoSynthesizer(
 					new ADSRSynthesizer(
 							new HarmonicSynthesizer(new PureSound(), 4),
@@ -98,7 +102,7 @@ public enum Instruments {
 					),
 					0.012, 4.0
 			),
-			0.015)
+			0.015, noise)
 	),
 
 
@@ -106,10 +110,10 @@ public enum Instruments {
 	A flute using harmonics odd
 	 */
 
-	FLUTE(new VibratoSynthesizer(
+	FLUTE(noise -> new VibratoSynthesizer(
 			new HarmonicSynthesizerComplex(
 					new ADSRSynthesizer(
-							new WhiteNoiseSynthesizer(new PureSound(), 0.003),
+							new WhiteNoiseSynthesizer(new PureSound(), 0.003, noise),
 							0.09, 0.0, 1.0, 0.3
 					),
 					5,
@@ -137,12 +141,42 @@ public enum Instruments {
 	private final NoteSynthesizer synthesizer;
 
 	/**
-	 * Creates a new instrument with the specified synthesizer.
+	 * The function giving the synthesizer of this instrument drawing its noise from a
+	 * given source.
+	 */
+	private final Function<NoiseSource, NoteSynthesizer> noisySynthesizer;
+
+	/**
+	 * Creates a new instrument with the specified synthesizer, which makes no noise.
 	 *
 	 * @param synthesizer The synthesizer to use for this instrument
 	 */
 	Instruments(NoteSynthesizer synthesizer) {
+		this(synthesizer, noise -> synthesizer);
+	}
+
+	/**
+	 * Creates a new instrument making noises, whose default synthesizer draws its noise
+	 * from {@link NoiseSource#DEFAULT}.
+	 *
+	 * @param noisySynthesizer The function giving the synthesizer of this instrument
+	 *        drawing its noise from a given source
+	 */
+	Instruments(Function<NoiseSource, NoteSynthesizer> noisySynthesizer) {
+		this(noisySynthesizer.apply(NoiseSource.DEFAULT), noisySynthesizer);
+	}
+
+	/**
+	 * Creates a new instrument making noises.
+	 *
+	 * @param synthesizer The synthesizer to use for this instrument by default
+	 * @param noisySynthesizer The function giving the synthesizer of this instrument
+	 *        drawing its noise from a given source
+	 */
+	Instruments(NoteSynthesizer synthesizer,
+			Function<NoiseSource, NoteSynthesizer> noisySynthesizer) {
 		this.synthesizer = synthesizer;
+		this.noisySynthesizer = noisySynthesizer;
 	}
 
 	/**
@@ -153,4 +187,18 @@ public enum Instruments {
 	public NoteSynthesizer getSynthesizer() {
 		return synthesizer;
 	}
+
+	/**
+	 * Gets a synthesizer for this instrument drawing its noise from the given source.
+	 * The instruments which make no noise always give the same synthesizer, so that it
+	 * can still be shared by all the parts they play.
+	 *
+	 * @param noise The source of the noise (must not be {@code null})
+	 * @return The synthesizer used to generate this instrument's sound with this noise
+	 * @throws NullPointerException if {@code noise} is {@code null} and the instrument
+	 *         makes noises
+	 */
+	public NoteSynthesizer getSynthesizer(NoiseSource noise) {
+		return noisySynthesizer.apply(noise);
+	}
 }
\ No newline at end of file
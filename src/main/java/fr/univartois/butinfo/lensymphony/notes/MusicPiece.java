@@ -10,6 +10,7 @@ import java.util.Iterator;
 public class MusicPiece implements Iterable<Score>{
     private List<Score> scores = new ArrayList<>();
     private int tempo;
+    private TempoMap tempoMap;
 
     /**
      * this constructor create a music piece with a tempo
@@ -19,6 +20,15 @@ public class MusicPiece implements Iterable<Score>{
         this.tempo = tempo;
     }
 
+    /**
+     * this constructor create a music piece whose tempo changes
+     * @param tempoMap the changes of tempo of the music piece
+     */
+    public MusicPiece(TempoMap tempoMap) {
+        this.tempo = tempoMap.getInitialTempo();
+        this.tempoMap = tempoMap;
+    }
+
     /**
      * this method return the list of scores
      * @return the list of scores
@@ -34,6 +44,18 @@ public class MusicPiece implements Iterable<Score>{
     public int getTempo() {
         return tempo;
     }
+
+    /**
+     * this method return the changes of tempo of the music piece
+     * @return the tempo map, in which the tempo never changes if the piece has been
+     *         created with a single tempo
+     */
+    public TempoMap getTempoMap() {
+        if (tempoMap == null) {
+            tempoMap = TempoMap.of(tempo);
+        }
+        return tempoMap;
+    }
     /**
      * this method add a stave in our list of stave
      * @param score a list of notes
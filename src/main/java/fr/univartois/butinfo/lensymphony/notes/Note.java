@@ -50,4 +50,33 @@ public interface Note {
      */
     int getDuration(int tempo);
 
+    /**
+     * Gives the exact length of this note, as a number of ticks, where a whole note lasts
+     * {@link Timeline#TICKS_PER_WHOLE} ticks.
+     * Contrary to {@link #getDuration(int)}, this length does not depend on the tempo and
+     * is not rounded, so that the notes can be placed exactly on a {@link Timeline}.
+     * <p>
+     * By default, the length of a note is not known, and only its duration is used.
+     *
+     * @return The length of this note in ticks, or {@code -1} if it is not known.
+     */
+    default long getTicks() {
+        return -1;
+    }
+
+    /**
+     * Gives the number of audio samples this note lasts, given a tempo in beats per
+     * minute (BPM), at the sample rate of a {@link Timeline}.
+     * <p>
+     * By default, this number is derived from the duration of the note in milliseconds.
+     * Notes already placed on a timeline may give their exact number of samples instead.
+     *
+     * @param tempo The tempo in beats per minute (BPM).
+     *
+     * @return The number of samples of this note.
+     */
+    default int getSampleCount(int tempo) {
+        return (int) (getDuration(tempo) / 1000.0 * Timeline.SAMPLE_RATE);
+    }
+
 }
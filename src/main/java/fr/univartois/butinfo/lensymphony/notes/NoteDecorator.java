@@ -77,4 +77,25 @@ public abstract class NoteDecorator implements Note {
     public int getDuration(int tempo) {
         return note.getDuration(tempo);
     }
+
+    /**
+     * Returns the exact length of the decorated note.
+     * <p>
+     * This default implementation delegates to the wrapped note.
+     *
+     * @return The length of the decorated note in ticks, or {@code -1} if it is not known.
+     */
+    @Override
+    public long getTicks() {
+        return note.getTicks();
+    }
+
+    /**
+     * Gives the note decorated by this decorator.
+     *
+     * @return The decorated note.
+     */
+    public Note getDecoratedNote() {
+        return note;
+    }
 }
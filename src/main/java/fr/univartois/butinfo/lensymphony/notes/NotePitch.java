@@ -23,14 +23,14 @@
 
 package fr.univartois.butinfo.lensymphony.notes;
 
-import java.util.EnumMap;
-import java.util.Map;
-
 /**
  * The NotePitch class represents the pitch of a musical note, defined by its
  * {@link PitchClass} and its octave.
  * It corresponds to the exact frequency of the note.
  * Each NotePitch instance is unique for a given pitch class and octave combination.
+ * All the instances are created when the class is initialized, so that they may be
+ * retrieved from several threads (e.g., when the parts of a score are parsed or
+ * synthesized in parallel) without any synchronization.
  *
  * @author Romain Wallon
  *
@@ -44,25 +44,44 @@ public final class NotePitch {
     private static final int NB_OCTAVES = 9;
 
     /**
-     * The map storing the NotePitch instances for each pitch class and octave
-     * combination.
+     * The pitch classes, in the order of their ordinal.
      */
-    private static final Map<PitchClass, NotePitch[]> NOTE_PITCHES = new EnumMap<>(PitchClass.class);
+    private static final PitchClass[] CLASSES = PitchClass.values();
+
+    /**
+     * The NotePitch instances for each pitch class and octave combination, stored at
+     * index {@code octave * 12 + pitchClass.ordinal()}, i.e., in increasing order of
+     * frequency.
+     */
+    private static final NotePitch[] NOTE_PITCHES = new NotePitch[NB_OCTAVES * CLASSES.length];
+
+    static {
+        // The frequency is computed w.r.t. A4 = 440 Hz (using the equal temperament).
+        int a = PitchClass.A.ordinal();
+        for (int octave = 0; octave < NB_OCTAVES; octave++) {
+            for (PitchClass pitchClass : CLASSES) {
+                int ordinal = pitchClass.ordinal();
+                double frequency = 440.0 * Math.pow(2, (ordinal - a + (octave - 4) * 12) / 12.0);
+                NOTE_PITCHES[octave * CLASSES.length + ordinal] =
+                        new NotePitch(pitchClass, octave, frequency);
+            }
+        }
+    }
 
     /**
      * The pitch class of the note (C, D, E, etc.).
      */
-    private PitchClass pitchClass;
+    private final PitchClass pitchClass;
 
     /**
      * The octave of the note (0 to 8).
      */
-    private int octave;
+    private final int octave;
 
     /**
      * The frequency of the note (in Hz), calculated from the pitch class and octave.
      */
-    private double frequency;
+    private final double frequency;
 
     /**
      * Creates a new NotePitch.
@@ -100,36 +119,14 @@ public final class NotePitch {
      * @return The NotePitch instance for the given pitch class and octave.
      */
     public static NotePitch of(PitchClass pitchClass, int octave, int alteration) {
-        PitchClass[] classes = PitchClass.values();
-        int realOrdinal = pitchClass.ordinal() + alteration;
-        int realOctave = octave;
-
-        // Adjusting the octave if the ordinal goes out of bounds.
-        // In this case, the alteration has changed the octave.
-        if (realOrdinal < 0) {
-            realOctave--;
-            realOrdinal += classes.length;
-
-        } else if (realOrdinal >= classes.length) {
-            realOctave++;
-            realOrdinal -= classes.length;
-        }
-        PitchClass realPitchClass = classes[realOrdinal];
+        // The alteration may change the octave of the note.
+        int index = octave * CLASSES.length + pitchClass.ordinal() + alteration;
 
         // Validating the octave range.
-        if ((realOctave < 0) || (NB_OCTAVES <= realOctave)) {
+        if ((index < 0) || (NOTE_PITCHES.length <= index)) {
             throw new IllegalArgumentException("Pitch is too low or too high");
         }
-
-        // Retrieving or creating the NotePitch instance.
-        // The frequency is computed w.r.t. A4 = 440 Hz (using the equal temperament).
-        NotePitch[] notes = NOTE_PITCHES.computeIfAbsent(realPitchClass, k -> new NotePitch[NB_OCTAVES]);
-        if (notes[realOctave] == null) {
-            int a = PitchClass.A.ordinal();
-            double frequency = 440.0 * Math.pow(2, (realOrdinal - a + (realOctave - 4) * 12) / 12.0);
-            notes[realOctave] = new NotePitch(realPitchClass, realOctave, frequency);
-        }
-        return notes[realOctave];
+        return NOTE_PITCHES[index];
     }
 
     /**
@@ -167,6 +164,24 @@ public final class NotePitch {
         return alter(1);
     }
 
+    /**
+     * Gives the pitch class of this note pitch.
+     *
+     * @return The pitch class of this note pitch.
+     */
+    public PitchClass pitchClass() {
+        return pitchClass;
+    }
+
+    /**
+     * Gives the octave of this note pitch.
+     *
+     * @return The octave of this note pitch (0 to 8).
+     */
+    public int octave() {
+        return octave;
+    }
+
     /**
      * Gives the frequency of this note pitch (in Hz).
      *
@@ -116,6 +116,26 @@ public enum NoteValue {
         return (int) (wholeNoteDuration * fractionOfWhole);
     }
 
+    /**
+     * Gives the exact length of a note having this value, as a number of ticks.
+     *
+     * @return The length of the note, where a whole note lasts
+     *         {@link Timeline#TICKS_PER_WHOLE} ticks.
+     */
+    public long ticks() {
+        // The fractions are powers of two, so that this product is exact.
+        return (long) (Timeline.TICKS_PER_WHOLE * fractionOfWhole);
+    }
+
+    /**
+     * Gives the string type associated with this note value, as used in MusicXML files.
+     *
+     * @return The string type of this note value.
+     */
+    public String getType() {
+        return type;
+    }
+
     /**
      * Returns the NoteValue corresponding to the given string type.
      *
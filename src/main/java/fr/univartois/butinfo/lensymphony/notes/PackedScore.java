@@ -0,0 +1,452 @@
+/**
+ * LenSymphony - A simple music synthesizer library developed in Lens, France.
+ * Copyright (c) 2025 Romain Wallon - Université d'Artois.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package fr.univartois.butinfo.lensymphony.notes;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The PackedScore is a compact representation of the notes of a score, in which each
+ * note is described by a few primitive values stored in parallel arrays, rather than by
+ * a graph of objects.
+ * <p>
+ * The onset and length (in samples) of each note are computed once, when the score is
+ * packed, by placing its notes on a {@link Timeline} following the changes of tempo of
+ * the piece.
+ * The tempo at which each note is played is found by binary search in the
+ * {@link TempoMap} of the piece.
+ * The frequency and duration (at this tempo) of each note are stored as they are given by
+ * the object model, so that rendering a packed score produces exactly the same samples, without
+ * walking through the decorators of the notes.
+ * <p>
+ * A score may be made of several voices played at the same time, such as the notes of
+ * chords.
+ * The notes of each voice are consecutive and stored after those of the previous voice,
+ * so that the notes of different voices may overlap.
+ *
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+public final class PackedScore {
+
+    /**
+     * The flag telling that a note is a rest.
+     */
+    public static final int REST = 0x01;
+
+    /**
+     * The flag telling that a note is dotted.
+     */
+    public static final int DOTTED = 0x02;
+
+    /**
+     * The flag telling that a note has a fermata.
+     */
+    public static final int FERMATA = 0x04;
+
+    /**
+     * The flag telling that a note is made of tied notes.
+     */
+    public static final int TIED = 0x08;
+
+    /**
+     * The changes of tempo for which the score has been packed.
+     */
+    private final TempoMap tempoMap;
+
+    /**
+     * The number of notes in the score.
+     */
+    private final int size;
+
+    /**
+     * The index of the first note of each voice, followed by the number of notes.
+     */
+    private final int[] voiceStarts;
+
+    /**
+     * The number of samples of the whole score.
+     */
+    private final int length;
+
+    /**
+     * The index of the first sample of each note.
+     */
+    private final int[] onsets;
+
+    /**
+     * The number of samples of each note.
+     */
+    private final int[] lengths;
+
+    /**
+     * The frequency of each note, in Hertz (Hz).
+     */
+    private final double[] frequencies;
+
+    /**
+     * The duration of each note at the tempo of the score, in milliseconds.
+     */
+    private final int[] durations;
+
+    /**
+     * The flags describing each note.
+     */
+    private final byte[] flags;
+
+    /**
+     * Creates a new PackedScore.
+     *
+     * @param tempoMap The changes of tempo for which the score has been packed.
+     * @param size The number of notes in the score.
+     * @param voiceStarts The index of the first note of each voice.
+     * @param length The number of samples of the whole score.
+     * @param onsets The index of the first sample of each note.
+     * @param lengths The number of samples of each note.
+     * @param frequencies The frequency of each note.
+     * @param durations The duration of each note.
+     * @param flags The flags describing each note.
+     */
+    private PackedScore(TempoMap tempoMap, int size,
+            int[] voiceStarts, int length, int[] onsets, int[] lengths, double[] frequencies,
+            int[] durations, byte[] flags) {
+        this.tempoMap = tempoMap;
+        this.size = size;
+        this.voiceStarts = voiceStarts;
+        this.length = length;
+        this.onsets = onsets;
+        this.lengths = lengths;
+        this.frequencies = frequencies;
+        this.durations = durations;
+        this.flags = flags;
+    }
+
+    /**
+     * Packs a score with all its voices.
+     *
+     * @param score The score to pack.
+     * @param tempo The tempo at which the score is played, in beats per minute (BPM).
+     *
+     * @return The packed score.
+     */
+    public static PackedScore of(Score score, int tempo) {
+        return of(score, TempoMap.of(tempo));
+    }
+
+    /**
+     * Packs a score with all its voices, following the changes of tempo of the piece.
+     *
+     * @param score The score to pack.
+     * @param tempoMap The changes of tempo of the piece.
+     *
+     * @return The packed score.
+     */
+    public static PackedScore of(Score score, TempoMap tempoMap) {
+        return ofVoices(score.getVoices(), tempoMap);
+    }
+
+    /**
+     * Packs a sequence of notes.
+     *
+     * @param notes The notes to pack.
+     * @param tempo The tempo at which the notes are played, in beats per minute (BPM).
+     *
+     * @return The packed score.
+     *
+     * @throws ArithmeticException If the score is too long to be indexed.
+     */
+    public static PackedScore of(Iterable<Note> notes, int tempo) {
+        return of(notes, TempoMap.of(tempo));
+    }
+
+    /**
+     * Packs a sequence of notes, following the changes of tempo of the piece.
+     *
+     * @param notes The notes to pack.
+     * @param tempoMap The changes of tempo of the piece.
+     *
+     * @return The packed score.
+     *
+     * @throws ArithmeticException If the score is too long to be indexed.
+     */
+    public static PackedScore of(Iterable<Note> notes, TempoMap tempoMap) {
+        return ofVoices(List.of(notes), tempoMap);
+    }
+
+    /**
+     * Packs several voices played at the same time, following the changes of tempo of the
+     * piece.
+     * Each voice is placed on its own {@link Timeline}, starting at the beginning of the
+     * score.
+     *
+     * @param voices The notes of each voice to pack.
+     * @param tempoMap The changes of tempo of the piece.
+     *
+     * @return The packed score.
+     *
+     * @throws ArithmeticException If the score is too long to be indexed.
+     */
+    public static PackedScore ofVoices(List<? extends Iterable<Note>> voices,
+            TempoMap tempoMap) {
+        int capacity = 16;
+        int[] onsets = new int[capacity];
+        int[] lengths = new int[capacity];
+        double[] frequencies = new double[capacity];
+        int[] durations = new int[capacity];
+        byte[] flags = new byte[capacity];
+        // A score without any voice is made of a single empty voice.
+        int[] voiceStarts = new int[Math.max(1, voices.size()) + 1];
+
+        int size = 0;
+        int length = 0;
+        for (int v = 0; v < voices.size(); v++) {
+            Iterable<Note> notes = voices.get(v);
+            Timeline timeline = Timeline.of(notes, tempoMap);
+            voiceStarts[v] = size;
+            int i = 0;
+            for (Note note : notes) {
+                if (size == capacity) {
+                    capacity *= 2;
+                    onsets = Arrays.copyOf(onsets, capacity);
+                    lengths = Arrays.copyOf(lengths, capacity);
+                    frequencies = Arrays.copyOf(frequencies, capacity);
+                    durations = Arrays.copyOf(durations, capacity);
+                    flags = Arrays.copyOf(flags, capacity);
+                }
+
+                onsets[size] = Math.toIntExact(timeline.getOnset(i));
+                lengths[size] = timeline.getLength(i);
+                frequencies[size] = note.getFrequency();
+                durations[size] = note.getDuration(timeline.getTempo(i));
+                flags[size] = flagsOf(note);
+                length = Math.max(length, Math.addExact(onsets[size], lengths[size]));
+                size++;
+                i++;
+            }
+        }
+        voiceStarts[voiceStarts.length - 1] = size;
+
+        return new PackedScore(tempoMap, size, voiceStarts, length,
+                Arrays.copyOf(onsets, size), Arrays.copyOf(lengths, size),
+                Arrays.copyOf(frequencies, size), Arrays.copyOf(durations, size),
+                Arrays.copyOf(flags, size));
+    }
+
+    /**
+     * Computes the flags describing a note, by walking through its decorators.
+     *
+     * @param note The note to describe.
+     *
+     * @return The flags of the note.
+     */
+    private static byte flagsOf(Note note) {
+        int result = 0;
+        Note current = note;
+        while (current instanceof NoteDecorator decorator) {
+            if (decorator instanceof DottedNote) {
+                result |= DOTTED;
+
+            } else if (decorator instanceof FermataNote) {
+                result |= FERMATA;
+            }
+            current = decorator.getDecoratedNote();
+        }
+
+        if (current instanceof Rest) {
+            result |= REST;
+
+        } else if (current instanceof TiedNotes) {
+            result |= TIED;
+        }
+        return (byte) result;
+    }
+
+    /**
+     * Gives the changes of tempo for which this score has been packed.
+     *
+     * @return The tempo map of this score.
+     */
+    public TempoMap getTempoMap() {
+        return tempoMap;
+    }
+
+    /**
+     * Gives the tempo at which a note is played.
+     *
+     * @param index The index of the note.
+     *
+     * @return The tempo at the onset of the note, in beats per minute (BPM).
+     */
+    public int getTempo(int index) {
+        return tempoMap.tempoAtSample(onsets[index]);
+    }
+
+    /**
+     * Gives the number of notes in this score.
+     *
+     * @return The number of notes.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gives the number of voices in this score.
+     *
+     * @return The number of voices.
+     */
+    public int getVoiceCount() {
+        return voiceStarts.length - 1;
+    }
+
+    /**
+     * Gives the number of voices sounding at the onset of a note, including the voice of
+     * this note.
+     * Another voice sounds at this onset when one of its notes that is not a rest starts
+     * at or before the onset, and ends after it.
+     *
+     * @param index The index of the note.
+     *
+     * @return The number of voices sounding at the onset of the note, which is at least 1.
+     */
+    public int getPolyphony(int index) {
+        int onset = onsets[index];
+        int count = 1;
+        for (int v = 0; v < getVoiceCount(); v++) {
+            int from = voiceStarts[v];
+            int to = voiceStarts[v + 1];
+            if ((from <= index) && (index < to)) {
+                continue;
+            }
+
+            // Looking for the last note of the voice starting at or before the onset.
+            int low = from;
+            int high = to;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (onsets[middle] <= onset) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            int last = low - 1;
+            if ((last >= from) && ((flags[last] & REST) == 0)
+                    && (onsets[last] + lengths[last] > onset)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gives the index of the first note of a voice.
+     * The notes of the voice are those from this index (inclusive) to the index of the
+     * first note of the following voice (exclusive).
+     *
+     * @param voice The index of the voice, or the number of voices to get the number of
+     *        notes of this score.
+     *
+     * @return The index of the first note of the voice.
+     */
+    public int getVoiceStart(int voice) {
+        return voiceStarts[voice];
+    }
+
+    /**
+     * Gives the number of samples of the whole score.
+     *
+     * @return The index of the sample following the last note to end.
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Gives the index of the first sample of a note.
+     *
+     * @param index The index of the note.
+     *
+     * @return The onset of the note, in samples.
+     */
+    public int getOnset(int index) {
+        return onsets[index];
+    }
+
+    /**
+     * Gives the number of samples of a note.
+     *
+     * @param index The index of the note.
+     *
+     * @return The length of the note, in samples.
+     */
+    public int getLength(int index) {
+        return lengths[index];
+    }
+
+    /**
+     * Gives the frequency of a note.
+     *
+     * @param index The index of the note.
+     *
+     * @return The frequency of the note, in Hertz (Hz).
+     */
+    public double getFrequency(int index) {
+        return frequencies[index];
+    }
+
+    /**
+     * Gives the duration of a note at the tempo at which it is played.
+     *
+     * @param index The index of the note.
+     *
+     * @return The duration of the note, in milliseconds.
+     */
+    public int getDuration(int index) {
+        return durations[index];
+    }
+
+    /**
+     * Gives the flags describing a note.
+     *
+     * @param index The index of the note.
+     *
+     * @return The flags of the note, among {@link #REST}, {@link #DOTTED},
+     *         {@link #FERMATA} and {@link #TIED}.
+     */
+    public int getFlags(int index) {
+        return flags[index];
+    }
+
+    /**
+     * Gives the number of bytes used by the arrays of this score.
+     *
+     * @return The size of the arrays, in bytes (without the headers of the arrays).
+     */
+    public long footprint() {
+        return (long) size * ((3 * Integer.BYTES) + Double.BYTES + Byte.BYTES);
+    }
+
+}
@@ -93,6 +93,17 @@ public final class PitchedNote implements Note {
         return value.duration(tempo);
     }
 
+    /**
+     * Gives the exact length of this note.
+     * This method delegates to {@link NoteValue#ticks()}.
+     *
+     * @return The length of this note in ticks.
+     */
+    @Override
+    public long getTicks() {
+        return value.ticks();
+    }
+
     /**
      * Gives access to this note's pitch component.
      *
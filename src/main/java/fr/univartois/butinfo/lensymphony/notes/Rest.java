@@ -70,6 +70,24 @@ public class Rest implements Note {
 		return this;
 	}
 
+	/**
+	 * Returns the value of this rest, without its dots.
+	 *
+	 * @return the value of this rest
+	 */
+	public NoteValue getValue() {
+		return noteValue;
+	}
+
+	/**
+	 * Returns the number of dots added to this rest.
+	 *
+	 * @return the number of dots of this rest
+	 */
+	public int getDots() {
+		return dots;
+	}
+
 	/**
 	 * Returns an unmodifiable view of the tied notes.
 	 *
@@ -115,4 +133,31 @@ public class Rest implements Note {
 
 		return (int) total;
 	}
+
+	/**
+	 * Computes the exact length of this rest, in ticks.
+	 *
+	 * <p>The calculation applies the augmentation dots to the length of the {@link NoteValue}
+	 * (each dot adding half of the previous addition), and adds the lengths of any tied
+	 * notes.</p>
+	 *
+	 * @return the total length in ticks, or {@code -1} if the length of a tied note is not
+	 *         known
+	 */
+	@Override
+	public long getTicks() {
+		long base = noteValue.ticks();
+		// The dots add base/2 + base/4 + ... + base/2^dots, which is 2*base - base/2^dots
+		long total = (2 * base) - (base >> Math.min(dots, Long.SIZE - 1));
+
+		for (Note n : tiedNotes) {
+			long ticks = n.getTicks();
+			if (ticks < 0) {
+				return -1;
+			}
+			total += ticks;
+		}
+
+		return total;
+	}
 }
@@ -1,5 +1,6 @@
 package fr.univartois.butinfo.lensymphony.notes;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 
@@ -23,6 +24,11 @@ public class Score implements Iterable<Note> {
 	 */
 	private Instruments instrument;
 
+	/**
+	 * The other voices of this stave, played at the same time as its notes.
+	 */
+	private List<List<Note>> otherVoices = new ArrayList<>();
+
 
 	/**
 	 * Creates a new stave for the given musical instrument.
@@ -65,4 +71,26 @@ public class Score implements Iterable<Note> {
 	public Iterable<Note> getNotes() {
 		return notes;
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Adds a voice to this stave, whose notes are played at the same time as the notes
+	 * of the stave (e.g., the other notes of its chords).
+	 *
+	 * @param voice The notes of the voice to add.
+	 */
+	public void addVoice(List<Note> voice) {
+		otherVoices.add(voice);
+	}
+
+	/**
+	 * Gives all the voices of this stave, starting with its own notes.
+	 *
+	 * @return The voices of this stave.
+	 */
+	public List<List<Note>> getVoices() {
+		List<List<Note>> voices = new ArrayList<>();
+		voices.add(notes);
+		voices.addAll(otherVoices);
+		return voices;
+	}
+}
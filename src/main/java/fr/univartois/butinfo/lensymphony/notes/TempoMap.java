@@ -0,0 +1,213 @@
+/**
+ * LenSymphony - A simple music synthesizer library developed in Lens, France.
+ * Copyright (c) 2025 Romain Wallon - Université d'Artois.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package fr.univartois.butinfo.lensymphony.notes;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * The TempoMap records the changes of tempo of a piece of music, by their position in
+ * the piece (given in ticks, see {@link Note#getTicks()}).
+ * <p>
+ * The index of the sample at which each change occurs is computed once, when the map is
+ * created.
+ * Converting a position into a sample then only requires to find the last change before
+ * this position, by binary search, and to convert the remaining ticks at the tempo of
+ * this change.
+ * The rounding error is thus at most half a sample per change of tempo, whatever the
+ * length of the piece.
+ *
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+public final class TempoMap {
+
+    /**
+     * The position of each change of tempo, in ticks, in increasing order.
+     * The first change is always at position 0.
+     */
+    private final long[] positions;
+
+    /**
+     * The tempo set by each change, in beats per minute (BPM).
+     */
+    private final int[] tempos;
+
+    /**
+     * The index of the sample at which each change of tempo occurs.
+     */
+    private final long[] offsets;
+
+    /**
+     * Creates a new TempoMap.
+     *
+     * @param positions The position of each change of tempo.
+     * @param tempos The tempo set by each change.
+     */
+    private TempoMap(long[] positions, int[] tempos) {
+        this.positions = positions;
+        this.tempos = tempos;
+        this.offsets = new long[positions.length];
+        for (int i = 1; i < positions.length; i++) {
+            offsets[i] = offsets[i - 1]
+                    + Timeline.toSamples(positions[i] - positions[i - 1], tempos[i - 1]);
+        }
+    }
+
+    /**
+     * Creates a TempoMap in which the tempo never changes.
+     *
+     * @param tempo The tempo of the whole piece, in beats per minute (BPM).
+     *
+     * @return The created map.
+     *
+     * @throws IllegalArgumentException If {@code tempo} is not positive.
+     */
+    public static TempoMap of(int tempo) {
+        return of(new TreeMap<>(Map.of(0L, tempo)));
+    }
+
+    /**
+     * Creates a TempoMap from the changes of tempo of a piece.
+     * The tempo of the first change also applies before this change, so that a piece
+     * whose tempo is only given after its first notes is played at this tempo from its
+     * beginning.
+     *
+     * @param changes The map associating the position of each change (in ticks) to the
+     *        tempo it sets (in beats per minute).
+     *
+     * @return The created map.
+     *
+     * @throws IllegalArgumentException If there is no change, or if a position is negative
+     *         or a tempo is not positive.
+     */
+    public static TempoMap of(SortedMap<Long, Integer> changes) {
+        if (changes.isEmpty()) {
+            throw new IllegalArgumentException("At least one tempo is needed");
+        }
+
+        long[] positions = new long[changes.size()];
+        int[] tempos = new int[changes.size()];
+        int size = 0;
+        for (Map.Entry<Long, Integer> change : changes.entrySet()) {
+            if ((change.getKey() < 0) || (change.getValue() <= 0)) {
+                throw new IllegalArgumentException("Invalid change of tempo: " + change);
+            }
+
+            if ((size > 0) && (tempos[size - 1] == change.getValue())) {
+                // The tempo does not actually change.
+                continue;
+            }
+            positions[size] = change.getKey();
+            tempos[size] = change.getValue();
+            size++;
+        }
+        positions[0] = 0;
+        return new TempoMap(Arrays.copyOf(positions, size), Arrays.copyOf(tempos, size));
+    }
+
+    /**
+     * Finds the last change of tempo occurring at or before a given value.
+     *
+     * @param values The values associated to the changes, in increasing order.
+     * @param value The value to look for.
+     *
+     * @return The index of the last change whose value is at most {@code value}.
+     */
+    private static int lastBefore(long[] values, long value) {
+        int index = Arrays.binarySearch(values, value);
+        if (index < 0) {
+            // The value falls between two changes.
+            return Math.max(0, -index - 2);
+        }
+
+        // Several changes may occur at the same sample: the last one applies.
+        while ((index + 1 < values.length) && (values[index + 1] == value)) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Converts a position in the piece into the closest sample.
+     *
+     * @param ticks The position to convert, in ticks.
+     *
+     * @return The index of the sample at this position.
+     */
+    public long toSamples(long ticks) {
+        int change = lastBefore(positions, ticks);
+        return offsets[change] + Timeline.toSamples(ticks - positions[change], tempos[change]);
+    }
+
+    /**
+     * Gives the tempo at a given position in the piece.
+     *
+     * @param ticks The position in the piece, in ticks.
+     *
+     * @return The tempo at this position, in beats per minute (BPM).
+     */
+    public int tempoAt(long ticks) {
+        return tempos[lastBefore(positions, ticks)];
+    }
+
+    /**
+     * Gives the tempo at a given sample of the piece.
+     *
+     * @param sample The index of the sample.
+     *
+     * @return The tempo at this sample, in beats per minute (BPM).
+     */
+    public int tempoAtSample(long sample) {
+        return tempos[lastBefore(offsets, sample)];
+    }
+
+    /**
+     * Gives the tempo at the beginning of the piece.
+     *
+     * @return The initial tempo, in beats per minute (BPM).
+     */
+    public int getInitialTempo() {
+        return tempos[0];
+    }
+
+    /**
+     * Gives the changes of tempo recorded in this map.
+     *
+     * @return The (unmodifiable) map associating the position of each change (in ticks)
+     *         to the tempo it sets.
+     */
+    public SortedMap<Long, Integer> getChanges() {
+        SortedMap<Long, Integer> changes = new TreeMap<>();
+        for (int i = 0; i < positions.length; i++) {
+            changes.put(positions[i], tempos[i]);
+        }
+        return Collections.unmodifiableSortedMap(changes);
+    }
+
+}
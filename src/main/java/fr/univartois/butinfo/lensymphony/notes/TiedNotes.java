@@ -39,4 +39,32 @@ public class TiedNotes implements Note{
         }
         return totalDuration;
     }
+
+    /**
+     * this function return the exact total length of the tied notes, or -1 if the length
+     * of one of them is not known
+     *
+     */
+
+    @Override
+    public long getTicks() {
+        long totalTicks = 0;
+        for (Note note : notes) {
+            long ticks = note.getTicks();
+            if (ticks < 0) {
+                return -1;
+            }
+            totalTicks = totalTicks + ticks; // sum the length of each note
+        }
+        return totalTicks;
+    }
+
+    /**
+     * Gives the notes that are tied together, in the order in which they are played.
+     *
+     * @return The (unmodifiable) list of the tied notes.
+     */
+    public List<Note> getNotes() {
+        return notes;
+    }
 }
@@ -0,0 +1,220 @@
+/**
+ * LenSymphony - A simple music synthesizer library developed in Lens, France.
+ * Copyright (c) 2025 Romain Wallon - Université d'Artois.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package fr.univartois.butinfo.lensymphony.notes;
+
+import java.util.Arrays;
+
+/**
+ * The Timeline places a sequence of notes in time, by computing the exact onset and
+ * length (in samples) of each of them, given the tempo (or the changes of tempo, see
+ * {@link TempoMap}) of the piece.
+ * <p>
+ * The position of each note is first computed exactly, as a number of ticks (see
+ * {@link Note#getTicks()}), and only then converted to a number of samples, with integer
+ * arithmetic.
+ * The rounding errors thus never add up: each onset is the closest sample to the exact
+ * position of the note, so that parts played together stay aligned however long the
+ * piece is.
+ * <p>
+ * The notes whose length is not known are given as many samples as their duration (in
+ * milliseconds) lasts, and shift the following notes accordingly.
+ *
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+public final class Timeline {
+
+    /**
+     * The number of ticks in a whole note.
+     * It allows to represent exactly the shortest note value with up to 12 dots.
+     */
+    public static final long TICKS_PER_WHOLE = 1L << 20;
+
+    /**
+     * The number of samples per second (Hz) on a timeline, which is the sample rate of
+     * the synthesizers.
+     */
+    public static final int SAMPLE_RATE = 44100;
+
+    /**
+     * The number of samples in a whole note at a tempo of one beat per minute.
+     */
+    private static final long SAMPLES_PER_WHOLE = 4L * 60 * SAMPLE_RATE;
+
+    /**
+     * The changes of tempo of the piece.
+     */
+    private final TempoMap tempoMap;
+
+    /**
+     * The index of the first sample of each note, followed by the index of the sample
+     * following the last note.
+     */
+    private final long[] boundaries;
+
+    /**
+     * Creates a new Timeline.
+     *
+     * @param tempoMap The changes of tempo of the piece.
+     * @param boundaries The boundaries of the notes.
+     */
+    private Timeline(TempoMap tempoMap, long[] boundaries) {
+        this.tempoMap = tempoMap;
+        this.boundaries = boundaries;
+    }
+
+    /**
+     * Places a sequence of notes on a timeline.
+     *
+     * @param notes The notes to place, in the order in which they are played.
+     * @param tempo The tempo at which the notes are played, in beats per minute (BPM).
+     *
+     * @return The timeline of the notes.
+     *
+     * @throws IllegalArgumentException If {@code tempo} is not positive.
+     * @throws ArithmeticException If the notes are too long to be placed.
+     */
+    public static Timeline of(Iterable<Note> notes, int tempo) {
+        if (tempo <= 0) {
+            throw new IllegalArgumentException("Tempo must be > 0");
+        }
+        return of(notes, TempoMap.of(tempo));
+    }
+
+    /**
+     * Places a sequence of notes on a timeline, following the changes of tempo of the
+     * piece.
+     *
+     * @param notes The notes to place, in the order in which they are played.
+     * @param tempoMap The changes of tempo of the piece.
+     *
+     * @return The timeline of the notes.
+     *
+     * @throws ArithmeticException If the notes are too long to be placed.
+     */
+    public static Timeline of(Iterable<Note> notes, TempoMap tempoMap) {
+        long[] boundaries = new long[16];
+        int size = 0;
+        long ticks = 0;
+        long shift = 0;
+        for (Note note : notes) {
+            if (size + 1 == boundaries.length) {
+                boundaries = Arrays.copyOf(boundaries, 2 * boundaries.length);
+            }
+            boundaries[size] = tempoMap.toSamples(ticks) + shift;
+
+            long length = note.getTicks();
+            if (length < 0) {
+                // The note cannot be placed exactly.
+                int tempo = tempoMap.tempoAt(ticks);
+                shift += (long) (note.getDuration(tempo) / 1000.0 * SAMPLE_RATE);
+            } else {
+                ticks = Math.addExact(ticks, length);
+            }
+            size++;
+        }
+        boundaries[size] = tempoMap.toSamples(ticks) + shift;
+        return new Timeline(tempoMap, Arrays.copyOf(boundaries, size + 1));
+    }
+
+    /**
+     * Converts a position given in ticks into the closest sample.
+     *
+     * @param ticks The position to convert.
+     * @param tempo The tempo in beats per minute (BPM).
+     *
+     * @return The index of the closest sample.
+     *
+     * @throws ArithmeticException If the position is too far to be converted.
+     */
+    public static long toSamples(long ticks, int tempo) {
+        long numerator = Math.multiplyExact(ticks, SAMPLES_PER_WHOLE);
+        long denominator = tempo * TICKS_PER_WHOLE;
+        return Math.floorDiv(Math.addExact(Math.multiplyExact(numerator, 2), denominator), 2 * denominator);
+    }
+
+    /**
+     * Gives the changes of tempo of the piece.
+     *
+     * @return The tempo map of the piece.
+     */
+    public TempoMap getTempoMap() {
+        return tempoMap;
+    }
+
+    /**
+     * Gives the tempo at which a note is played.
+     *
+     * @param index The index of the note.
+     *
+     * @return The tempo at the onset of the note, in beats per minute (BPM).
+     */
+    public int getTempo(int index) {
+        return tempoMap.tempoAtSample(boundaries[index]);
+    }
+
+    /**
+     * Gives the number of notes on this timeline.
+     *
+     * @return The number of notes.
+     */
+    public int size() {
+        return boundaries.length - 1;
+    }
+
+    /**
+     * Gives the index of the first sample of a note.
+     *
+     * @param index The index of the note.
+     *
+     * @return The onset of the note, in samples.
+     */
+    public long getOnset(int index) {
+        return boundaries[index];
+    }
+
+    /**
+     * Gives the number of samples of a note.
+     *
+     * @param index The index of the note.
+     *
+     * @return The length of the note, in samples.
+     *
+     * @throws ArithmeticException If the note is too long to be rendered.
+     */
+    public int getLength(int index) {
+        return Math.toIntExact(boundaries[index + 1] - boundaries[index]);
+    }
+
+    /**
+     * Gives the number of samples of all the notes.
+     *
+     * @return The index of the sample following the last note.
+     */
+    public long getLength() {
+        return boundaries[boundaries.length - 1];
+    }
+
+}
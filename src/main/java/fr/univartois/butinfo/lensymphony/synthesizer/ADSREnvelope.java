@@ -0,0 +1,291 @@
+/**
+ * LenSymphony - A simple music synthesizer library developed in Lens, France.
+ * Copyright (c) 2025 Romain Wallon - Université d'Artois.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package fr.univartois.butinfo.lensymphony.synthesizer;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The ADSREnvelope applies the envelope of an {@link ADSRSynthesizer} to the samples of
+ * the notes.
+ * <p>
+ * Instead of finding the phase of the envelope at each sample, the samples at which each
+ * phase starts are computed once per note, and each phase is then applied in its own loop,
+ * as a ramp or as a constant.
+ * The samples get exactly the same values as when multiplying each of them by the
+ * volume of the note and the {@linkplain #level(double, int) level} of the envelope at
+ * its time.
+ * <p>
+ * The phases only depend on the number of samples and on the duration of the notes, so
+ * that those of the most recently played notes are kept in a small cache, which may be
+ * shared by several parts rendered in parallel.
+ *
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+final class ADSREnvelope {
+
+    /**
+     * The maximum number of notes whose phases are kept in the cache.
+     */
+    private static final int CAPACITY = 64;
+
+    /**
+     * The duration of the attack.
+     */
+    private final double attack;
+
+    /**
+     * The duration of the decay.
+     */
+    private final double decay;
+
+    /**
+     * The level of the sustain.
+     */
+    private final double sustain;
+
+    /**
+     * The duration of the release.
+     */
+    private final double release;
+
+    /**
+     * The phases of the most recently played notes, from the least to the most recently
+     * used.
+     */
+    private final Map<Key, Phases> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Phases> eldest) {
+            return size() > CAPACITY;
+        }
+    };
+
+    /**
+     * Creates a new ADSREnvelope.
+     *
+     * @param attack The duration of the attack.
+     * @param decay The duration of the decay.
+     * @param sustain The level of the sustain.
+     * @param release The duration of the release.
+     */
+    ADSREnvelope(double attack, double decay, double sustain, double release) {
+        this.attack = attack;
+        this.decay = decay;
+        this.sustain = sustain;
+        this.release = release;
+    }
+
+    /**
+     * Gives the level of the envelope at a given time of a note.
+     *
+     * @param t The time in the note, in milliseconds.
+     * @param duration The duration of the note, in milliseconds.
+     *
+     * @return The level of the envelope, between 0 and 1.
+     */
+    double level(double t, int duration) {
+        if ((t >= 0) && (t < attack)) {
+            return t / attack;
+        }
+        if ((t >= attack) && (t < attack + decay)) {
+            return 1 - ((t - attack) / decay) * (1 - sustain);
+        }
+        if ((t >= attack + decay) && (t < duration - release)) {
+            return sustain;
+        }
+        if ((t >= duration - release) && (t < duration)) {
+            return sustain * (1 - ((t - (duration - release)) / release));
+        }
+        return 0;
+    }
+
+    /**
+     * Gives the phases of the envelope of a note.
+     *
+     * @param total The number of samples of the note.
+     * @param duration The duration of the note, in milliseconds.
+     *
+     * @return The phases of the envelope of the note.
+     */
+    Phases phases(int total, int duration) {
+        Key key = new Key(total, duration);
+        synchronized (cache) {
+            return cache.computeIfAbsent(key, k -> new Phases(total, duration));
+        }
+    }
+
+    /**
+     * Gives the number of notes whose phases are in the cache.
+     *
+     * @return The number of cached notes.
+     */
+    int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * The Phases of the envelope of a note, given by the index of the sample at which each
+     * of them ends.
+     * A phase is empty when it ends where the previous one ends.
+     */
+    final class Phases {
+
+        /**
+         * The number of samples of the note.
+         */
+        private final int total;
+
+        /**
+         * The duration of the note, in milliseconds.
+         */
+        private final int duration;
+
+        /**
+         * The index of the first sample after the attack.
+         */
+        private final int attackEnd;
+
+        /**
+         * The index of the first sample after the decay.
+         */
+        private final int decayEnd;
+
+        /**
+         * The index of the first sample after the sustain.
+         */
+        private final int sustainEnd;
+
+        /**
+         * The index of the first sample after the release, from which the note is silent.
+         */
+        private final int releaseEnd;
+
+        /**
+         * Computes the phases of the envelope of a note.
+         *
+         * @param total The number of samples of the note.
+         * @param duration The duration of the note, in milliseconds.
+         */
+        private Phases(int total, int duration) {
+            this.total = total;
+            this.duration = duration;
+            this.attackEnd = firstAtOrAfter(attack);
+            this.decayEnd = Math.max(attackEnd, firstAtOrAfter(attack + decay));
+            this.sustainEnd = Math.max(decayEnd, firstAtOrAfter(duration - release));
+            this.releaseEnd = Math.max(sustainEnd, firstAtOrAfter(duration));
+        }
+
+        /**
+         * Gives the time of a sample, as computed by the {@link ADSRSynthesizer}.
+         *
+         * @param index The index of the sample.
+         *
+         * @return The time of the sample.
+         */
+        private double time(int index) {
+            return (double) duration * index / total;
+        }
+
+        /**
+         * Gives the index of the first sample whose time is at least the given time, or
+         * the number of samples if there is none.
+         *
+         * @param t The time to look for.
+         *
+         * @return The index of the first sample at or after {@code t}.
+         */
+        private int firstAtOrAfter(double t) {
+            if ((total == 0) || (time(total - 1) < t)) {
+                return total;
+            }
+            if (time(0) >= t) {
+                return 0;
+            }
+
+            // The estimate is fixed, so that the same comparisons as for each sample are made.
+            int index = (int) Math.max(1, Math.min(total - 1, Math.ceil(t * total / duration)));
+            while (time(index - 1) >= t) {
+                index--;
+            }
+            while (time(index) < t) {
+                index++;
+            }
+            return index;
+        }
+
+        /**
+         * Applies the envelope to the samples of a block of the note.
+         *
+         * @param volume The volume of the note.
+         * @param from The index in the note of the first sample of the block.
+         * @param buffer The buffer containing the samples of the block.
+         * @param offset The index of the first sample of the block in the buffer.
+         * @param length The number of samples in the block.
+         */
+        void apply(double volume, int from, double[] buffer, int offset, int length) {
+            int end = from + length;
+            int shift = offset - from;
+
+            for (int k = from, to = Math.min(end, attackEnd); k < to; k++) {
+                buffer[shift + k] *= volume * (time(k) / attack);
+            }
+            for (int k = Math.max(from, attackEnd), to = Math.min(end, decayEnd); k < to; k++) {
+                buffer[shift + k] *= volume * (1 - ((time(k) - attack) / decay) * (1 - sustain));
+            }
+            int sustainStart = Math.max(from, decayEnd);
+            int sustainLength = Math.min(end, sustainEnd) - sustainStart;
+            if (sustainLength > 0) {
+                SampleKernels.getDefault().scale(buffer, shift + sustainStart,
+                        buffer, shift + sustainStart, sustainLength, volume * sustain);
+            }
+            double releaseStart = duration - release;
+            for (int k = Math.max(from, sustainEnd), to = Math.min(end, releaseEnd); k < to; k++) {
+                buffer[shift + k] *= volume * (sustain * (1 - ((time(k) - releaseStart) / release)));
+            }
+            // The samples after the release are multiplied by a null level, as the envelope
+            // defines them, instead of being set to 0: NaN or infinite samples or volumes thus
+            // still give NaN, and negative samples -0.0, as when the level was applied to each
+            // sample.
+            double silence = volume * 0.0;
+            for (int k = Math.max(from, releaseEnd); k < end; k++) {
+                buffer[shift + k] *= silence;
+            }
+        }
+
+    }
+
+    /**
+     * The Key identifies the phases of the envelope of a note.
+     *
+     * @param total The number of samples of the note.
+     * @param duration The duration of the note, in milliseconds.
+     */
+    private record Key(int total, int duration) {
+    }
+
+}
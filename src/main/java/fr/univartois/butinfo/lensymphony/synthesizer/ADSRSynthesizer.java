@@ -6,12 +6,9 @@ import fr.univartois.butinfo.lensymphony.notes.Note;
  * this class represents the adsr envelope
  * @author Antoine Mouille
  */
-public class ADSRSynthesizer extends NoteSynthesizerDecorator{
+public class ADSRSynthesizer extends NoteSynthesizerDecorator implements FusibleSynthesizer{
 
-    private double attack=0.0;
-    private double decay=0.0;
-    private double release=0.0;
-    private double sustain=0.0;
+    private final ADSREnvelope envelope;
 
     /**
      * this constructer initialize the ADSR envelope
@@ -23,14 +20,12 @@ public class ADSRSynthesizer extends NoteSynthesizerDecorator{
      */
     public ADSRSynthesizer(NoteSynthesizer synthesizer,double attack, double decay, double sustain, double release) {
         super(synthesizer);
-        this.attack=attack;
-        this.decay=decay;
-        this.sustain=sustain;
-        this.release=release;
+        this.envelope=new ADSREnvelope(attack, decay, sustain, release);
     }
 
     /**
-     * this method is the ADSR envelope, it changes the volume depending on the parameters of this method and the initialisation of the ADSR
+     * this method is the ADSR envelope, it gives the volume at a given time of the note depending on the initialisation of the ADSR
+     * (the notes are not synthesized with this method, the envelope is applied phase by phase to their samples)
      * @param t the duration of the note
      * @param note the note
      * @param tempo the tempo of the note
@@ -38,46 +33,55 @@ public class ADSRSynthesizer extends NoteSynthesizerDecorator{
      * @return the new volume after the ADSR
      */
     public double adsrEnvelope(double t,Note note, int tempo,double volume) {
-        int noteDuration = note.getDuration(tempo);
-        double newVolume;
-        if(t>=0 && t<attack){
-            newVolume = t/attack;
-        }else if(t>=attack && t<attack+decay){
-            newVolume = 1-((t-attack)/decay)*(1-sustain);
-        }else if(t>=attack+decay && t<noteDuration-release){
-             newVolume = sustain;
-        }else if(t>=noteDuration-release && t<noteDuration){
-            newVolume = sustain*(1-((t-(noteDuration-release))/release));
-        }else{
-            newVolume =0;
-        }
-        return volume*newVolume;
+        return volume*envelope.level(t, note.getDuration(tempo));
     }
 
     /**
-     *  the synthesized of the note with the ADSR
+     *  the synthesized of a block of the note with the ADSR, applied in place in the given buffer
      * @param note   The note to synthesize.
      * @param tempo  The tempo in beats per minute (BPM).
      * @param volume The volume level for the note (0.0 to 1.0).
+     * @param onset  The index in its part of the first sample of the note.
+     * @param from   The index in the note of the first sample to compute.
+     * @param out    The buffer in which to write the samples.
+     * @param offset The index of the first sample in the buffer.
+     * @param length The maximum number of samples to write.
      *
-     * @return the sound of the note after the synthesizer
+     * @return the number of samples written in the buffer
      */
     @Override
-    public double[] synthesize(Note note, int tempo,double volume) {
-            double[] sound = super.synthesize(note, tempo, volume);
-            int noteDuration = note.getDuration(tempo);
-            int n = sound.length;
+    public int synthesizeBlock(Note note, int tempo, double volume, long onset, int from,
+            double[] out, int offset, int length) {
+            int n = super.synthesizeBlock(note, tempo, volume, onset, from, out, offset, length);
+            // the phases of the envelope are computed once for the note, instead of once per sample
+            ADSREnvelope.Phases phases = envelope.phases(synthesizer.sampleCount(note, tempo), note.getDuration(tempo));
+            phases.apply(volume, from, out, offset, n);
+            return n;
 
-            for(int i=0;i<n;i++){
-                double t = (double) noteDuration*i/n;
-                double envelope = adsrEnvelope(t, note, tempo, volume);
-
-                sound[i]*=envelope;
+    }
 
-            }
+    /**
+     *  creates the stage applying the ADSR to the samples of the note, from a given index of the note
+     * @param note   The note to synthesize.
+     * @param tempo  The tempo in beats per minute (BPM).
+     * @param volume The volume level for the note (0.0 to 1.0).
+     * @param from   The index in the note of the first sample to compute.
+     *
+     * @return the stage applying the ADSR to the samples of the note
+     */
+    @Override
+    public SampleStage stage(Note note, int tempo, double volume, int from) {
+            ADSREnvelope.Phases phases = envelope.phases(synthesizer.sampleCount(note, tempo), note.getDuration(tempo));
 
-            return sound;
+            return new SampleStage() {
+                private int index = from;
 
+                @Override
+                public void process(double[] buffer, int offset, int length) {
+                    phases.apply(volume, index, buffer, offset, length);
+                    index += length;
+                }
+            };
     }
 
 }
@@ -0,0 +1,196 @@
+/**
+ * LenSymphony - A simple music synthesizer library developed in Lens, France.
+ * Copyright (c) 2025 Romain Wallon - Université d'Artois.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package fr.univartois.butinfo.lensymphony.synthesizer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import fr.univartois.butinfo.lensymphony.notes.MusicPiece;
+import fr.univartois.butinfo.lensymphony.notes.Note;
+import fr.univartois.butinfo.lensymphony.notes.PackedScore;
+import fr.univartois.butinfo.lensymphony.notes.Score;
+
+/**
+ * The AudioSource interface defines a stream of audio samples, which are pulled block by
+ * block by its consumer.
+ * This allows to play or save a piece of music without holding all its samples in
+ * memory at once.
+ * <p>
+ * Sources can be combined into a rendering graph: the sources of the scores of a piece
+ * are pulled by a mixing source, which is itself pulled block by block by the audio line,
+ * the WAV writer or any other consumer.
+ *
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+@FunctionalInterface
+public interface AudioSource {
+
+    /**
+     * Reads the next samples of this stream.
+     * This method always reads {@code length} samples, unless the end of the stream is
+     * reached.
+     * Once the end of the stream has been reached, this method always returns
+     * {@code -1}.
+     *
+     * @param buffer The array in which to store the samples.
+     * @param offset The index in {@code buffer} of the first sample to read.
+     * @param length The number of samples to read.
+     *
+     * @return The number of samples that have been read, or {@code -1} if there is no
+     *         sample left in the stream.
+     */
+    int read(double[] buffer, int offset, int length);
+
+    /**
+     * Creates an audio source reading already synthesized samples.
+     *
+     * @param samples The samples to read.
+     *
+     * @return The audio source reading the given samples.
+     */
+    static AudioSource of(double[] samples) {
+        return new AudioSource() {
+
+            /**
+             * The index of the next sample to read.
+             */
+            private int position;
+
+            @Override
+            public int read(double[] buffer, int offset, int length) {
+                if (position >= samples.length) {
+                    return -1;
+                }
+                int n = Math.min(length, samples.length - position);
+                System.arraycopy(samples, position, buffer, offset, n);
+                position += n;
+                return n;
+            }
+        };
+    }
+
+    /**
+     * Creates an audio source rendering a sequence of notes on the fly.
+     * The notes are scheduled one after the other, and rendered block by block when the
+     * synthesizer supports it.
+     *
+     * @param tempo The tempo of the music in beats per minute (BPM).
+     * @param notes The notes to render.
+     * @param synthesizer The note synthesizer used to generate the audio samples.
+     * @param volume The volume of the notes.
+     *
+     * @return The audio source rendering the notes.
+     */
+    static AudioSource of(int tempo, Iterable<Note> notes, NoteSynthesizer synthesizer,
+            double volume) {
+        return new NoteSequenceSource(tempo, notes, synthesizer, volume);
+    }
+
+    /**
+     * Creates an audio source rendering a score on the fly, with the synthesizer of its
+     * instrument.
+     * When the score has several voices, it is packed so that they are added while they are
+     * read, as by {@link PackedMusicSynthesizer}.
+     *
+     * @param score The score to render.
+     * @param tempo The tempo of the music in beats per minute (BPM).
+     * @param volume The volume of the notes.
+     *
+     * @return The audio source rendering the score.
+     */
+    static AudioSource of(Score score, int tempo, double volume) {
+        NoteSynthesizer synthesizer = score.getInstrument().getSynthesizer();
+        if (score.getVoices().size() == 1) {
+            return of(tempo, score.getNotes(), synthesizer, volume);
+        }
+        return of(PackedScore.of(score, tempo), synthesizer, volume);
+    }
+
+    /**
+     * Creates an audio source rendering a packed score on the fly.
+     * Each note starts at the onset computed when the score was packed, and the voices of
+     * the score are added while they are read, as by {@link PackedMusicSynthesizer}.
+     *
+     * @param score The packed score to render.
+     * @param synthesizer The note synthesizer used to generate the audio samples.
+     * @param volume The volume of the notes.
+     *
+     * @return The audio source rendering the score.
+     */
+    static AudioSource of(PackedScore score, NoteSynthesizer synthesizer, double volume) {
+        if (score.getVoiceCount() <= 1) {
+            return new PackedScoreSource(score, synthesizer, volume);
+        }
+
+        List<AudioSource> voices = new ArrayList<>();
+        for (int v = 0; v < score.getVoiceCount(); v++) {
+            voices.add(new PackedScoreSource(score, v, synthesizer, volume));
+        }
+        return sum(voices);
+    }
+
+    /**
+     * Creates an audio source rendering all the scores of a piece of music on the fly, and
+     * mixing them while they are read.
+     *
+     * @param piece The piece of music to render.
+     * @param volume The volume of the notes.
+     *
+     * @return The audio source rendering the piece.
+     */
+    static AudioSource of(MusicPiece piece, double volume) {
+        List<AudioSource> sources = new ArrayList<>();
+        for (Score score : piece) {
+            sources.add(of(score, piece.getTempo(), volume));
+        }
+        return mix(sources);
+    }
+
+    /**
+     * Creates an audio source averaging the samples read from several other sources.
+     * The mixed stream ends when all the sources have ended.
+     *
+     * @param sources The sources to mix.
+     *
+     * @return The audio source mixing the given sources.
+     */
+    static AudioSource mix(List<AudioSource> sources) {
+        return new MixSource(sources, sources.size());
+    }
+
+    /**
+     * Creates an audio source adding the samples read from several other sources.
+     * The resulting stream ends when all the sources have ended.
+     *
+     * @param sources The sources to add.
+     *
+     * @return The audio source adding the given sources.
+     */
+    static AudioSource sum(List<AudioSource> sources) {
+        return new MixSource(sources, 1);
+    }
+
+}
@@ -0,0 +1,206 @@
+/**
+ * LenSymphony - A simple music synthesizer library developed in Lens, France.
+ * Copyright (c) 2025 Romain Wallon - Université d'Artois.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package fr.univartois.butinfo.lensymphony.synthesizer;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * The AudioStreamer class feeds an audio output with the PCM data of an
+ * {@link AudioSource}.
+ * The samples are pulled and encoded block by block in a producer thread, and handed to
+ * the output through a bounded ring of reusable blocks.
+ * Thus, the output starts receiving data as soon as the first block is ready, and the
+ * memory used does not depend on the length of the stream.
+ *
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+public final class AudioStreamer {
+
+    /**
+     * The number of samples in each block.
+     */
+    public static final int BLOCK_FRAMES = 4096;
+
+    /**
+     * The number of blocks in the ring shared by the producer and the output.
+     */
+    private static final int RING_SIZE = 4;
+
+    /**
+     * The marker put in the ring once the producer is done.
+     */
+    private static final Block END = new Block(new byte[0], 0);
+
+    /**
+     * The AudioOutput interface defines where the encoded data are written, such as a
+     * {@link javax.sound.sampled.SourceDataLine}.
+     */
+    @FunctionalInterface
+    public interface AudioOutput {
+
+        /**
+         * Writes encoded audio data.
+         *
+         * @param data The array containing the data to write.
+         * @param offset The index of the first byte to write.
+         * @param length The number of bytes to write.
+         */
+        void write(byte[] data, int offset, int length);
+
+    }
+
+    /**
+     * A block of encoded data.
+     *
+     * @param data The array containing the data.
+     * @param length The number of bytes of the array that are used.
+     */
+    private record Block(byte[] data, int length) {
+    }
+
+    /**
+     * Disables instantiation.
+     */
+    private AudioStreamer() {
+        throw new AssertionError("No AudioStreamer instances for you!");
+    }
+
+    /**
+     * Streams all the samples of an audio source to an output.
+     * This method returns once all the data have been written to the output, or if the
+     * current thread is interrupted (in which case its interrupted status is set).
+     *
+     * @param source The source of the samples to stream.
+     * @param output The output to write the encoded data to, from the current thread.
+     *
+     * @throws RuntimeException If reading the source fails.
+     */
+    public static void stream(AudioSource source, AudioOutput output) {
+        BlockingQueue<byte[]> free = new ArrayBlockingQueue<>(RING_SIZE);
+        BlockingQueue<Block> filled = new ArrayBlockingQueue<>(RING_SIZE + 1);
+        for (int i = 0; i < RING_SIZE; i++) {
+            free.add(new byte[BLOCK_FRAMES * PcmEncoding.BYTES_PER_SAMPLE]);
+        }
+
+        Producer producer = new Producer(source, free, filled);
+        Thread thread = new Thread(producer, "lensymphony-audio-producer");
+        thread.setDaemon(true);
+        thread.start();
+
+        try {
+            for (Block block = filled.take(); block != END; block = filled.take()) {
+                output.write(block.data(), 0, block.length());
+                free.put(block.data());
+            }
+            producer.rethrowFailure();
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+        } finally {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * The Producer pulls the samples from the source, and encodes them into the free
+     * blocks of the ring.
+     */
+    private static final class Producer implements Runnable {
+
+        /**
+         * The source of the samples.
+         */
+        private final AudioSource source;
+
+        /**
+         * The blocks that can be filled.
+         */
+        private final BlockingQueue<byte[]> free;
+
+        /**
+         * The blocks that are ready to be written.
+         */
+        private final BlockingQueue<Block> filled;
+
+        /**
+         * The failure that stopped the producer, if any.
+         */
+        private volatile Throwable failure;
+
+        /**
+         * Creates a new Producer.
+         *
+         * @param source The source of the samples.
+         * @param free The blocks that can be filled.
+         * @param filled The blocks that are ready to be written.
+         */
+        private Producer(AudioSource source, BlockingQueue<byte[]> free,
+                BlockingQueue<Block> filled) {
+            this.source = source;
+            this.free = free;
+            this.filled = filled;
+        }
+
+        @Override
+        public void run() {
+            double[] samples = new double[BLOCK_FRAMES];
+            try {
+                for (int n = source.read(samples, 0, BLOCK_FRAMES); n >= 0;
+                        n = source.read(samples, 0, BLOCK_FRAMES)) {
+                    byte[] data = free.take();
+                    PcmEncoding.encode(samples, 0, n, data, 0);
+                    filled.put(new Block(data, n * PcmEncoding.BYTES_PER_SAMPLE));
+                }
+
+            } catch (InterruptedException e) {
+                // The output does not need more data.
+                return;
+
+            } catch (RuntimeException | Error e) {
+                failure = e;
+            }
+
+            // There is always room for the marker, as the ring holds one more element.
+            filled.add(END);
+        }
+
+        /**
+         * Rethrows the failure that stopped this producer, if any.
+         */
+        private void rethrowFailure() {
+            if (failure instanceof RuntimeException e) {
+                throw e;
+            }
+            if (failure instanceof Error e) {
+                throw e;
+            }
+        }
+
+    }
+
+}
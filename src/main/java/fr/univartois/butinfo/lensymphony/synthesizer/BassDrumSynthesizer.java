@@ -128,22 +128,59 @@ public class BassDrumSynthesizer implements NoteSynthesizer {
 
     @Override
     public double[] synthesize(Note note, int tempo, double volume) {
+        double[] sounds = new double[sampleCount(note, tempo)];
+        synthesizeInto(note, tempo, volume, sounds, 0);
+        return sounds;
+    }
+
+    /**
+     * Synthesizes a bass drum sound for the given note, directly into the given buffer.
+     *
+     * @param note   The note to synthesize (duration is used, pitch is ignored for bass drum).
+     * @param tempo  The tempo in beats per minute (BPM).
+     * @param volume The volume level for the note (typically between 0.0 and 1.0).
+     * @param out    The buffer in which to write the samples.
+     * @param offset The index of the first sample in the buffer.
+     *
+     * @return The number of samples written in the buffer.
+     */
+    @Override
+    public int synthesizeInto(Note note, int tempo, double volume, double[] out, int offset) {
+        return synthesizeBlock(note, tempo, volume, 0, out, offset, sampleCount(note, tempo));
+    }
+
+    /**
+     * Synthesizes a block of a bass drum sound for the given note, directly into the given
+     * buffer.
+     *
+     * @param note   The note to synthesize (duration is used, pitch is ignored for bass drum).
+     * @param tempo  The tempo in beats per minute (BPM).
+     * @param volume The volume level for the note (typically between 0.0 and 1.0).
+     * @param from   The index in the note of the first sample to compute.
+     * @param out    The buffer in which to write the samples.
+     * @param offset The index of the first sample in the buffer.
+     * @param length The maximum number of samples to write.
+     *
+     * @return The number of samples written in the buffer.
+     */
+    @Override
+    public int synthesizeBlock(Note note, int tempo, double volume, int from, double[] out,
+            int offset, int length) {
 
         // Calculate duration in seconds
         double duration = note.getDuration(tempo) / 1000.0;
-        int nbSample = (int) (duration * SAMPLE_RATE);
-        double[] sounds = new double[nbSample];
+        int nbSample = Math.max(0, Math.min(length, sampleCount(note, tempo) - from));
 
         // Generate each sample with exponential decay
         for (int i = 0; i < nbSample; i++) {
             // Current time in seconds
-            double t = (double) i / SAMPLE_RATE;
+            double t = (double) (from + i) / SAMPLE_RATE;
 
             // Calculate variable frequency: f(t) = fstart + t · (fend - fstart) / D
             double frequency = startFrequency + (t * (endFrequency - startFrequency) / duration);
 
             if (frequency <= 0) {
-                 sounds[i] = 0;
+                 out[offset + i] = 0;
                  continue;
             }
 
@@ -151,10 +188,30 @@ public class BassDrumSynthesizer implements NoteSynthesizer {
             double envelope = Math.exp(-decayRate * t);
 
             // Calculate signal: s(t) = V · exp(-decayRate·t) · sin(2π · f(t) · t)
-            sounds[i] = volume * envelope * Math.sin(2 * Math.PI * frequency * t);
+            out[offset + i] = volume * envelope * Math.sin(2 * Math.PI * frequency * t);
         }
 
-        return sounds;
+        return nbSample;
+    }
+
+    /**
+     * Tells that the sound of a bass drum is always the same for the same note.
+     *
+     * @return Always {@code true}.
+     */
+    @Override
+    public boolean isDeterministic() {
+        return true;
+    }
+
+    /**
+     * Tells that any block of a bass drum sound can be computed on its own.
+     *
+     * @return Always {@code true}.
+     */
+    @Override
+    public boolean supportsBlocks() {
+        return true;
     }
 
 }
\ No newline at end of file
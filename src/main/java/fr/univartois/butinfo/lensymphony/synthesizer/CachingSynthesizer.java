@@ -0,0 +1,345 @@
+/**
+ * LenSymphony - A simple music synthesizer library developed in Lens, France.
+ * Copyright (c) 2025 Romain Wallon - Université d'Artois.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package fr.univartois.butinfo.lensymphony.synthesizer;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import fr.univartois.butinfo.lensymphony.notes.Note;
+
+/**
+ * A decorator for {@link NoteSynthesizer} that keeps the samples of the most recently
+ * synthesized notes, so that a note played again is copied instead of being synthesized
+ * once more.
+ * <p>
+ * The samples of a note only depend on its frequency, its duration, and the volume at
+ * which it is played, which together identify the cached samples of the decorated
+ * synthesizer.
+ * The cache is bounded by a number of samples: when it is full, the least recently used
+ * notes are evicted first.
+ * Synthesizers that are not {@linkplain NoteSynthesizer#isDeterministic() deterministic}
+ * are never cached, so that each of their notes keeps sounding differently.
+ * <p>
+ * The cache may be shared by several parts rendered in parallel.
+ *
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+public final class CachingSynthesizer extends NoteSynthesizerDecorator {
+
+    /**
+     * The default maximum number of samples kept in the cache (about 32 MB).
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 22;
+
+    /**
+     * The maximum number of samples kept in the cache.
+     */
+    private final long capacity;
+
+    /**
+     * The samples of the cached notes, from the least to the most recently used.
+     */
+    private final Map<Key, double[]> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * The number of samples currently kept in the cache.
+     */
+    private long size;
+
+    /**
+     * Creates a new caching synthesizer with the default capacity.
+     *
+     * @param synthesizer The synthesizer to decorate (must not be {@code null}).
+     *
+     * @throws NullPointerException If {@code synthesizer} is {@code null}.
+     */
+    public CachingSynthesizer(NoteSynthesizer synthesizer) {
+        this(synthesizer, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new caching synthesizer.
+     *
+     * @param synthesizer The synthesizer to decorate (must not be {@code null}).
+     * @param capacity The maximum number of samples to keep in the cache.
+     *
+     * @throws NullPointerException If {@code synthesizer} is {@code null}.
+     * @throws IllegalArgumentException If {@code capacity} is negative.
+     */
+    public CachingSynthesizer(NoteSynthesizer synthesizer, long capacity) {
+        super(synthesizer);
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must be >= 0");
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Computes the audio samples for a given note, or copies them from the cache if the
+     * same note has already been synthesized.
+     *
+     * @param note The note to synthesize.
+     * @param tempo The tempo in beats per minute (BPM).
+     * @param volume The volume level for the note (0.0 to 1.0).
+     *
+     * @return A new array of audio samples representing the synthesized note.
+     */
+    @Override
+    public double[] synthesize(Note note, int tempo, double volume) {
+        if (!synthesizer.isDeterministic()) {
+            return synthesizer.synthesize(note, tempo, volume);
+        }
+        return samples(note, tempo, volume).clone();
+    }
+
+    /**
+     * Computes the audio samples for a given note, or copies them from the cache if the
+     * same note has already been synthesized, into the given buffer.
+     *
+     * @param note The note to synthesize.
+     * @param tempo The tempo in beats per minute (BPM).
+     * @param volume The volume level for the note (0.0 to 1.0).
+     * @param out The buffer in which to write the samples.
+     * @param offset The index of the first sample in the buffer.
+     *
+     * @return The number of samples written in the buffer.
+     */
+    @Override
+    public int synthesizeInto(Note note, int tempo, double volume, double[] out, int offset) {
+        if (!synthesizer.isDeterministic()) {
+            return synthesizer.synthesizeInto(note, tempo, volume, out, offset);
+        }
+        double[] samples = samples(note, tempo, volume);
+        int n = Math.min(samples.length, out.length - offset);
+        System.arraycopy(samples, 0, out, offset, n);
+        return n;
+    }
+
+    /**
+     * Computes a block of the audio samples for a given note, or copies it from the cache
+     * if the same note has already been synthesized, into the given buffer.
+     * On a cache miss at the beginning of the note, the note is synthesized in full, so
+     * that its following blocks are copied from the cache.
+     * Otherwise, when the note is too long to be cached or has been evicted, only the
+     * requested block is computed by the decorated synthesizer, so that a note is never
+     * synthesized in full for each of its blocks.
+     *
+     * @param note The note to synthesize.
+     * @param tempo The tempo in beats per minute (BPM).
+     * @param volume The volume level for the note (0.0 to 1.0).
+     * @param from The index in the note of the first sample to compute.
+     * @param out The buffer in which to write the samples.
+     * @param offset The index of the first sample in the buffer.
+     * @param length The maximum number of samples to write.
+     *
+     * @return The number of samples written in the buffer.
+     */
+    @Override
+    public int synthesizeBlock(Note note, int tempo, double volume, int from, double[] out,
+            int offset, int length) {
+        if (!synthesizer.isDeterministic()) {
+            return synthesizer.synthesizeBlock(note, tempo, volume, from, out, offset, length);
+        }
+        Key key = keyOf(note, tempo, volume);
+        double[] samples = lookup(key);
+        if (samples == null) {
+            if ((from > 0) || (key.length() > capacity)) {
+                return synthesizer.synthesizeBlock(note, tempo, volume, from, out, offset, length);
+            }
+            samples = render(key, note, tempo, volume);
+        }
+        int n = Math.max(0, Math.min(length, samples.length - from));
+        System.arraycopy(samples, from, out, offset, n);
+        return n;
+    }
+
+    /**
+     * Computes the audio samples for a given note played at a given position of its part.
+     * The notes of a synthesizer which is not deterministic are synthesized at their
+     * position, so that they may vary from one note to the next.
+     * The other notes are copied from the cache, as their position does not matter.
+     *
+     * @param note The note to synthesize.
+     * @param tempo The tempo in beats per minute (BPM).
+     * @param volume The volume level for the note (0.0 to 1.0).
+     * @param onset The index in its part of the first sample of the note.
+     * @param out The buffer in which to write the samples.
+     * @param offset The index of the first sample in the buffer.
+     *
+     * @return The number of samples written in the buffer.
+     */
+    @Override
+    public int synthesizeInto(Note note, int tempo, double volume, long onset, double[] out,
+            int offset) {
+        if (!synthesizer.isDeterministic()) {
+            return synthesizer.synthesizeInto(note, tempo, volume, onset, out, offset);
+        }
+        return synthesizeInto(note, tempo, volume, out, offset);
+    }
+
+    /**
+     * Computes a block of the audio samples for a given note played at a given position of
+     * its part.
+     * The notes of a synthesizer which is not deterministic are synthesized at their
+     * position, so that they may vary from one note to the next.
+     * The other notes are copied from the cache, as their position does not matter.
+     *
+     * @param note The note to synthesize.
+     * @param tempo The tempo in beats per minute (BPM).
+     * @param volume The volume level for the note (0.0 to 1.0).
+     * @param onset The index in its part of the first sample of the note.
+     * @param from The index in the note of the first sample to compute.
+     * @param out The buffer in which to write the samples.
+     * @param offset The index of the first sample in the buffer.
+     * @param length The maximum number of samples to write.
+     *
+     * @return The number of samples written in the buffer.
+     */
+    @Override
+    public int synthesizeBlock(Note note, int tempo, double volume, long onset, int from,
+            double[] out, int offset, int length) {
+        if (!synthesizer.isDeterministic()) {
+            return synthesizer.synthesizeBlock(note, tempo, volume, onset, from, out, offset,
+                    length);
+        }
+        return synthesizeBlock(note, tempo, volume, from, out, offset, length);
+    }
+
+    /**
+     * Gives the number of samples currently kept in the cache.
+     *
+     * @return The number of cached samples.
+     */
+    public synchronized long size() {
+        return size;
+    }
+
+    /**
+     * Removes all the notes from the cache.
+     */
+    public synchronized void clear() {
+        cache.clear();
+        size = 0;
+    }
+
+    /**
+     * Gives the samples of a note, synthesizing them if they are not in the cache yet.
+     * The returned array is shared with the cache, and must not be modified.
+     *
+     * @param note The note to synthesize.
+     * @param tempo The tempo in beats per minute (BPM).
+     * @param volume The volume level for the note (0.0 to 1.0).
+     *
+     * @return The samples of the note.
+     */
+    private double[] samples(Note note, int tempo, double volume) {
+        Key key = keyOf(note, tempo, volume);
+        double[] samples = lookup(key);
+        if (samples != null) {
+            return samples;
+        }
+        return render(key, note, tempo, volume);
+    }
+
+    /**
+     * Gives the key identifying the samples of a note.
+     *
+     * @param note The note to synthesize.
+     * @param tempo The tempo in beats per minute (BPM).
+     * @param volume The volume level for the note (0.0 to 1.0).
+     *
+     * @return The key of the note.
+     */
+    private Key keyOf(Note note, int tempo, double volume) {
+        return new Key(note.getFrequency(), note.getDuration(tempo),
+                synthesizer.sampleCount(note, tempo), volume);
+    }
+
+    /**
+     * Gives the samples of a note from the cache.
+     * The returned array is shared with the cache, and must not be modified.
+     *
+     * @param key The key identifying the note.
+     *
+     * @return The samples of the note, or {@code null} if they are not in the cache.
+     */
+    private synchronized double[] lookup(Key key) {
+        return cache.get(key);
+    }
+
+    /**
+     * Synthesizes the samples of a note, and stores them in the cache.
+     * The note is synthesized outside of the lock, so that parts do not wait for each
+     * other.
+     *
+     * @param key The key identifying the note.
+     * @param note The note to synthesize.
+     * @param tempo The tempo in beats per minute (BPM).
+     * @param volume The volume level for the note (0.0 to 1.0).
+     *
+     * @return The samples of the note.
+     */
+    private double[] render(Key key, Note note, int tempo, double volume) {
+        double[] samples = synthesizer.synthesize(note, tempo, volume);
+        store(key, samples);
+        return samples;
+    }
+
+    /**
+     * Stores the samples of a note in the cache, and evicts the least recently used notes
+     * until the cache fits in its capacity.
+     *
+     * @param key The key identifying the note.
+     * @param samples The samples of the note.
+     */
+    private synchronized void store(Key key, double[] samples) {
+        if (samples.length > capacity) {
+            return;
+        }
+
+        double[] previous = cache.put(key, samples);
+        size += samples.length - ((previous == null) ? 0 : previous.length);
+        Iterator<double[]> it = cache.values().iterator();
+        while (size > capacity) {
+            size -= it.next().length;
+            it.remove();
+        }
+    }
+
+    /**
+     * The Key identifies the samples of a note, given what the synthesizers use to
+     * compute them.
+     *
+     * @param frequency The frequency of the note.
+     * @param duration The duration of the note, in milliseconds.
+     * @param length The number of samples of the note.
+     * @param volume The volume at which the note is played.
+     */
+    private record Key(double frequency, int duration, int length, double volume) {
+    }
+
+}
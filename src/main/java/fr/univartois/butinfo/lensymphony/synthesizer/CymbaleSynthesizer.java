@@ -1,11 +1,16 @@
 package fr.univartois.butinfo.lensymphony.synthesizer;
 
 import fr.univartois.butinfo.lensymphony.notes.Note;
-import java.util.Random;
+import java.util.Arrays;
 
 
 /**
  * The CymbaleSynthesizer class is responsible for synthesizing cymbal-like sounds
+ * <p>
+ * The noise of the cymbal is given by a {@link NoiseSource}, so that the same note always
+ * sounds the same at the same position of its part.
+ * The hits are copied from a small bank of variations computed once, rather than
+ * computed sample by sample, and the position of each note selects its variation.
  *
  */
 public final class CymbaleSynthesizer implements NoteSynthesizer {
@@ -15,22 +20,29 @@ public final class CymbaleSynthesizer implements NoteSynthesizer {
     /**
      * Eager singleton instance.
      */
-    private static final CymbaleSynthesizer INSTANCE = new CymbaleSynthesizer();
+    private static final CymbaleSynthesizer INSTANCE = new CymbaleSynthesizer(NoiseSource.DEFAULT);
 
     private static final double ATTACK_DEFAULT = 0.01; // seconds
     private static final double DECAY_DEFAULT = 0.2; // seconds
 
     private final double attack = ATTACK_DEFAULT;
     private final double decay = DECAY_DEFAULT;
-    private final Random random = new Random();
+    private final NoiseSource noise;
+    private final PercussionBank bank;
 
 
 
     /**
      * Private constructor for don't have other instances.
+     *
+     * @param noise the source of the noise of the cymbal
      */
-    private CymbaleSynthesizer() {
-
+    private CymbaleSynthesizer(NoiseSource noise) {
+        this.noise = noise;
+        this.bank = new PercussionBank(noise, (i, rdm) -> {
+            double t = (double) i / SAMPLE_RATE;
+            return cymbaleEnvelope(t, 1.0) * rdm * Math.sin(4000.0 * Math.PI * t);
+        });
     }
 
 
@@ -43,6 +55,21 @@ public final class CymbaleSynthesizer implements NoteSynthesizer {
         return INSTANCE;
     }
 
+    /**
+     * Returns a synthesizer drawing its noise from another source, for instance to give
+     * each part its own seed.
+     *
+     * @param noise the source of the noise (must not be {@code null})
+     * @return a {@code CymbaleSynthesizer} using the given source
+     * @throws NullPointerException if {@code noise} is {@code null}
+     */
+    public static CymbaleSynthesizer withNoise(NoiseSource noise) {
+        if (noise == null) {
+            throw new NullPointerException("noise");
+        }
+        return new CymbaleSynthesizer(noise);
+    }
+
 
 
 
@@ -81,26 +108,123 @@ public final class CymbaleSynthesizer implements NoteSynthesizer {
      */
     @Override
     public double[] synthesize(Note note, int tempo, double volume) {
+        double[] sounds = new double[sampleCount(note, tempo)];
+        synthesizeInto(note, tempo, volume, sounds, 0);
+        return sounds;
+    }
+
+    /**
+     * Synthesizes the provided {@link Note} directly into the given buffer.
+     * If the note frequency is zero or negative, the region of the buffer is filled
+     * with zeros.
+     *
+     * @param note   the note to synthesize
+     * @param tempo  tempo in BPM (used to compute note duration)
+     * @param volume overall volume applied to the signal
+     * @param out    the buffer in which to write the samples
+     * @param offset the index of the first sample in the buffer
+     * @return the number of samples written in the buffer
+     */
+    @Override
+    public int synthesizeInto(Note note, int tempo, double volume, double[] out, int offset) {
+        return synthesizeInto(note, tempo, volume, 0, out, offset);
+    }
+
+    /**
+     * Synthesizes the provided {@link Note} played at a given position of its part
+     * directly into the given buffer.
+     *
+     * @param note   the note to synthesize
+     * @param tempo  tempo in BPM (used to compute note duration)
+     * @param volume overall volume applied to the signal
+     * @param onset  the index in its part of the first sample of the note
+     * @param out    the buffer in which to write the samples
+     * @param offset the index of the first sample in the buffer
+     * @return the number of samples written in the buffer
+     */
+    @Override
+    public int synthesizeInto(Note note, int tempo, double volume, long onset, double[] out,
+            int offset) {
+        return synthesizeBlock(note, tempo, volume, onset, 0, out, offset,
+                sampleCount(note, tempo));
+    }
+
+    /**
+     * Synthesizes a block of the provided {@link Note} directly into the given buffer.
+     * If the note frequency is zero or negative, the region of the buffer is filled
+     * with zeros.
+     *
+     * @param note   the note to synthesize
+     * @param tempo  tempo in BPM (used to compute note duration)
+     * @param volume overall volume applied to the signal
+     * @param from   the index in the note of the first sample to compute
+     * @param out    the buffer in which to write the samples
+     * @param offset the index of the first sample in the buffer
+     * @param length the maximum number of samples to write
+     * @return the number of samples written in the buffer
+     */
+    @Override
+    public int synthesizeBlock(Note note, int tempo, double volume, int from, double[] out,
+            int offset, int length) {
+        return synthesizeBlock(note, tempo, volume, 0, from, out, offset, length);
+    }
+
+    /**
+     * Synthesizes a block of the provided {@link Note} played at a given position of its
+     * part directly into the given buffer.
+     * If the note frequency is zero or negative, the region of the buffer is filled
+     * with zeros.
+     *
+     * @param note   the note to synthesize
+     * @param tempo  tempo in BPM (used to compute note duration)
+     * @param volume overall volume applied to the signal
+     * @param onset  the index in its part of the first sample of the note
+     * @param from   the index in the note of the first sample to compute
+     * @param out    the buffer in which to write the samples
+     * @param offset the index of the first sample in the buffer
+     * @param length the maximum number of samples to write
+     * @return the number of samples written in the buffer
+     */
+    @Override
+    public int synthesizeBlock(Note note, int tempo, double volume, long onset, int from,
+            double[] out, int offset, int length) {
         double frequency = note.getFrequency();
-        double[] sounds = new double[(int) ((note.getDuration(tempo) / 1000.0) * SAMPLE_RATE)];
+        int nbSample = Math.max(0, Math.min(length, sampleCount(note, tempo) - from));
 
         if (frequency <= 0) {
-            return sounds;
+            Arrays.fill(out, offset, offset + nbSample, 0.0);
+            return nbSample;
         }
 
 
-        for (int i = 0; i < sounds.length; i++) {
-            double t = (double) i / SAMPLE_RATE;
-            double envelope = cymbaleEnvelope(t, volume);
-            double rdm = random.nextDouble(-1,1);  // random value between -1.0 and 1.0
-            double end = Math.sin(4000.0 * Math.PI * t); // sin(4000πt)
+        // volume * envelope * rdm * sin(4000πt), copied from the bank of hits
+        bank.play(noise.seed(note, sampleCount(note, tempo)), onset, volume * volume, from, out,
+                offset, nbSample);
 
-            sounds[i] = volume* envelope * rdm * end;
-        }
+        return nbSample;
 
-        return sounds;
 
 
+    }
 
+    /**
+     * Tells that the sound of a cymbal varies from one hit to the next, so that its
+     * notes are not cached.
+     *
+     * @return always {@code false}
+     */
+    @Override
+    public boolean isDeterministic() {
+        return false;
+    }
+
+    /**
+     * Tells that any block of a cymbal sound can be computed on its own.
+     *
+     * @return always {@code true}
+     */
+    @Override
+    public boolean supportsBlocks() {
+        return true;
     }
 }
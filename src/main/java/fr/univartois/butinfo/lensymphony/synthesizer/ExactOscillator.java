@@ -0,0 +1,71 @@
+/**
+ * LenSymphony - A simple music synthesizer library developed in Lens, France.
+ * Copyright (c) 2025 Romain Wallon - Université d'Artois.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package fr.univartois.butinfo.lensymphony.synthesizer;
+
+/**
+ * The ExactOscillator computes each sample of a sine wave with {@code Math.sin}.
+ * It gives the same values as {@code Math.sin(omega * t)}, where {@code t} is computed as
+ * {@code (double) index / SAMPLE_RATE}.
+ *
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ *
+ * @see OscillatorQuality#EXACT
+ */
+final class ExactOscillator implements Oscillator {
+
+    /**
+     * The angular frequency of the sine wave, in radians per second.
+     */
+    private final double omega;
+
+    /**
+     * The index of the next sample.
+     */
+    private int index;
+
+    /**
+     * Creates a new ExactOscillator.
+     *
+     * @param omega The angular frequency of the sine wave, in radians per second.
+     * @param from The index of the first sample to generate.
+     */
+    ExactOscillator(double omega, int from) {
+        this.omega = omega;
+        this.index = from;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.butinfo.lensymphony.synthesizer.Oscillator#next()
+     */
+    @Override
+    public double next() {
+        double t = (double) index++ / NoteSynthesizer.SAMPLE_RATE;
+        return Math.sin(omega * t);
+    }
+
+}
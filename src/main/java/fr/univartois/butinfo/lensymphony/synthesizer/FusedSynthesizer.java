@@ -0,0 +1,299 @@
+/**
+ * LenSymphony - A simple music synthesizer library developed in Lens, France.
+ * Copyright (c) 2025 Romain Wallon - Université d'Artois.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package fr.univartois.butinfo.lensymphony.synthesizer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import fr.univartois.butinfo.lensymphony.notes.Note;
+
+/**
+ * The FusedSynthesizer computes the samples of a chain of decorators in a single pass over
+ * the samples of the note, instead of one pass per decorator.
+ * <p>
+ * The decorators of the chain that compute each sample from the sample below them (the
+ * {@link FusibleSynthesizer}s) are applied one after the other to small blocks of samples,
+ * which thus stay in the L1 cache until the last decorator has been applied.
+ * Each decorator keeps its own loop over a block, so that its computation is not
+ * interleaved with calls to the other decorators.
+ * If the bottom of the chain is not fusible (such as a drum), it is synthesized first, and
+ * the fused decorators are then applied to its samples.
+ * <p>
+ * The stages of the decorators are created once for each note, and are kept while the note
+ * is rendered block by block, for a few notes at a time (such as the notes of a chord).
+ * A fused synthesizer is thus not thread-safe: a chain must be fused for each part that is
+ * rendered in parallel with the others.
+ * <p>
+ * As each decorator computes the same samples whether it is fused or not, the fused
+ * synthesizer produces the same samples as the chain it fuses.
+ *
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+public final class FusedSynthesizer extends NoteSynthesizerDecorator {
+
+    /**
+     * The number of samples to which all the decorators are applied before moving to the
+     * next samples (2 KB).
+     */
+    private static final int TILE = 256;
+
+    /**
+     * The maximum number of notes whose stages are kept while they are rendered.
+     */
+    private static final int VOICES = 8;
+
+    /**
+     * The synthesizer at the bottom of the chain that cannot be fused, or {@code null} if
+     * the whole chain is fused.
+     */
+    private final NoteSynthesizer source;
+
+    /**
+     * The fused synthesizers, from the bottom to the top of the chain.
+     */
+    private final FusibleSynthesizer[] layers;
+
+    /**
+     * The notes being rendered, with the stages of the fused synthesizers for each of them.
+     * The empty slots are {@code null}.
+     */
+    private final Voice[] voices = new Voice[VOICES];
+
+    /**
+     * The index of the slot in which to keep the next note, when no slot is empty.
+     */
+    private int next;
+
+    /**
+     * Creates a new FusedSynthesizer.
+     *
+     * @param synthesizer The chain of decorators that is fused.
+     * @param source The synthesizer at the bottom of the chain that cannot be fused, if any.
+     * @param layers The fused synthesizers, from the bottom to the top of the chain.
+     */
+    private FusedSynthesizer(NoteSynthesizer synthesizer, NoteSynthesizer source,
+            FusibleSynthesizer[] layers) {
+        super(synthesizer);
+        this.source = source;
+        this.layers = layers;
+    }
+
+    /**
+     * Fuses the decorators of a synthesizer.
+     * The decorators are fused from the top of the chain, until one of them cannot be.
+     * There is nothing to fuse when less than two of them can be.
+     *
+     * @param synthesizer The synthesizer to fuse.
+     *
+     * @return The fused synthesizer, or {@code synthesizer} itself if it has nothing to
+     *         fuse.
+     */
+    public static NoteSynthesizer fuse(NoteSynthesizer synthesizer) {
+        List<FusibleSynthesizer> layers = new ArrayList<>();
+        NoteSynthesizer current = synthesizer;
+        while (current instanceof FusibleSynthesizer fusible) {
+            layers.add(0, fusible);
+            current = (current instanceof NoteSynthesizerDecorator decorator)
+                    ? decorator.synthesizer : null;
+        }
+
+        if (layers.size() < 2) {
+            return synthesizer;
+        }
+        return new FusedSynthesizer(synthesizer, current,
+                layers.toArray(new FusibleSynthesizer[layers.size()]));
+    }
+
+    /**
+     * Computes a block of the audio samples for a given note, directly into the given
+     * buffer, by applying all the fused decorators to a few samples at a time.
+     *
+     * @param note The note to synthesize.
+     * @param tempo The tempo in beats per minute (BPM).
+     * @param volume The volume level for the note (0.0 to 1.0).
+     * @param onset The index in its part of the first sample of the note.
+     * @param from The index in the note of the first sample to compute.
+     * @param out The buffer in which to write the samples.
+     * @param offset The index of the first sample in the buffer.
+     * @param length The maximum number of samples to write.
+     *
+     * @return The number of samples written in the buffer.
+     */
+    @Override
+    public int synthesizeBlock(Note note, int tempo, double volume, long onset, int from,
+            double[] out, int offset, int length) {
+        int count = sampleCount(note, tempo);
+        int n = Math.max(0, Math.min(length, count - from));
+        if (n == 0) {
+            return 0;
+        }
+        if (source != null) {
+            n = source.synthesizeBlock(note, tempo, volume, onset, from, out, offset, n);
+        }
+
+        SampleStage[] stages = stages(note, tempo, volume, onset, from, n, count);
+        for (int start = 0; start < n; start += TILE) {
+            int size = Math.min(TILE, n - start);
+            for (SampleStage stage : stages) {
+                stage.process(out, offset + start, size);
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Gives the stages computing a block of the samples of a note.
+     * If the block follows the last one computed for the note, the stages of this block are
+     * reused.
+     * Otherwise, they are created for the block.
+     * The stages are kept until the end of the note is reached.
+     *
+     * @param note The note to synthesize.
+     * @param tempo The tempo in beats per minute (BPM).
+     * @param volume The volume level for the note (0.0 to 1.0).
+     * @param onset The index in its part of the first sample of the note.
+     * @param from The index in the note of the first sample of the block.
+     * @param length The number of samples in the block.
+     * @param count The number of samples of the note.
+     *
+     * @return The stages computing the block, from the bottom to the top of the chain.
+     */
+    private SampleStage[] stages(Note note, int tempo, double volume, long onset, int from,
+            int length, int count) {
+        int slot = -1;
+        for (int i = 0; (i < VOICES) && (slot < 0); i++) {
+            if ((voices[i] != null) && voices[i].continues(note, tempo, volume, onset, from)) {
+                slot = i;
+            }
+        }
+
+        if (slot < 0) {
+            SampleStage[] stages = new SampleStage[layers.length];
+            for (int i = 0; i < layers.length; i++) {
+                stages[i] = layers[i].stage(note, tempo, volume, from);
+            }
+            slot = emptySlot();
+            voices[slot] = new Voice(note, tempo, volume, onset, stages);
+        }
+
+        Voice voice = voices[slot];
+        voice.position = from + length;
+        if (voice.position >= count) {
+            // The note is over, so its stages will not be used anymore.
+            voices[slot] = null;
+        }
+        return voice.stages;
+    }
+
+    /**
+     * Gives a slot in which to keep the stages of a new note.
+     * When no slot is empty, the slots are reused one after the other.
+     *
+     * @return The index of the slot.
+     */
+    private int emptySlot() {
+        for (int i = 0; i < VOICES; i++) {
+            if (voices[i] == null) {
+                return i;
+            }
+        }
+        int slot = next;
+        next = (next + 1) % VOICES;
+        return slot;
+    }
+
+    /**
+     * The Voice keeps the stages computing the samples of a note being rendered, with the
+     * index of the next sample they compute.
+     */
+    private static final class Voice {
+
+        /**
+         * The note being rendered.
+         */
+        private final Note note;
+
+        /**
+         * The tempo at which the note is played.
+         */
+        private final int tempo;
+
+        /**
+         * The volume at which the note is played.
+         */
+        private final double volume;
+
+        /**
+         * The index in its part of the first sample of the note.
+         */
+        private final long onset;
+
+        /**
+         * The stages computing the samples of the note.
+         */
+        private final SampleStage[] stages;
+
+        /**
+         * The index in the note of the next sample computed by the stages.
+         */
+        private int position;
+
+        /**
+         * Creates a new Voice.
+         *
+         * @param note The note being rendered.
+         * @param tempo The tempo at which the note is played.
+         * @param volume The volume at which the note is played.
+         * @param onset The index in its part of the first sample of the note.
+         * @param stages The stages computing the samples of the note.
+         */
+        private Voice(Note note, int tempo, double volume, long onset, SampleStage[] stages) {
+            this.note = note;
+            this.tempo = tempo;
+            this.volume = volume;
+            this.onset = onset;
+            this.stages = stages;
+        }
+
+        /**
+         * Checks whether a block of a note follows the last block computed by this voice.
+         *
+         * @param note The note to synthesize.
+         * @param tempo The tempo in beats per minute (BPM).
+         * @param volume The volume level for the note (0.0 to 1.0).
+         * @param onset The index in its part of the first sample of the note.
+         * @param from The index in the note of the first sample of the block.
+         *
+         * @return Whether the stages of this voice compute the block.
+         */
+        private boolean continues(Note note, int tempo, double volume, long onset, int from) {
+            return (this.note == note) && (this.tempo == tempo) && (this.volume == volume)
+                    && (this.onset == onset) && (position == from);
+        }
+
+    }
+
+}
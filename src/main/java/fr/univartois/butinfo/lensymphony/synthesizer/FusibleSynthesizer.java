@@ -0,0 +1,58 @@
+/**
+ * LenSymphony - A simple music synthesizer library developed in Lens, France.
+ * Copyright (c) 2025 Romain Wallon - Université d'Artois.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package fr.univartois.butinfo.lensymphony.synthesizer;
+
+import fr.univartois.butinfo.lensymphony.notes.Note;
+
+/**
+ * The FusibleSynthesizer is a synthesizer computing each sample of a note from the sample
+ * computed at the same index by the synthesizer it decorates (if any).
+ * Its computation is then described by a {@link SampleStage}, so that the layers of a chain
+ * of such synthesizers may all be applied to a block before moving to the next one.
+ * <p>
+ * The samples of a block written by
+ * {@link #synthesizeBlock(Note, int, double, long, int, double[], int, int)} must be those
+ * written by the stage created for the same block.
+ *
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ *
+ * @see FusedSynthesizer
+ */
+interface FusibleSynthesizer extends NoteSynthesizer {
+
+    /**
+     * Creates the stage computing the samples of a note from a given index.
+     *
+     * @param note The note to synthesize.
+     * @param tempo The tempo in beats per minute (BPM).
+     * @param volume The volume level for the note (0.0 to 1.0).
+     * @param from The index in the note of the first sample the stage will process.
+     *
+     * @return The stage computing the samples of the note.
+     */
+    SampleStage stage(Note note, int tempo, double volume, int from);
+
+}
@@ -47,13 +47,19 @@ import fr.univartois.butinfo.lensymphony.notes.Note;
  *
  * @version 0.1.0
  */
-public class HarmonicSynthesizer extends NoteSynthesizerDecorator {
+public class HarmonicSynthesizer extends NoteSynthesizerDecorator
+        implements FusibleSynthesizer {
 
     /**
      * The number of harmonics to generate (including the fundamental frequency).
      */
     private final int numberOfHarmonics;
 
+    /**
+     * The square roots of the ranks of the harmonics, indexed by their rank.
+     */
+    private final double[] roots;
+
     /**
      * Creates a new harmonic synthesizer decorator.
      *
@@ -69,44 +75,118 @@ public class HarmonicSynthesizer extends NoteSynthesizerDecorator {
             throw new IllegalArgumentException("numberOfHarmonics must be >= 1");
         }
         this.numberOfHarmonics = numberOfHarmonics;
+        this.roots = new double[numberOfHarmonics + 1];
+        for (int harmonic = 2; harmonic <= numberOfHarmonics; harmonic++) {
+            roots[harmonic] = Math.sqrt(harmonic);
+        }
+    }
+
+    /**
+     * Gives the number of audio samples produced for the given note.
+     * Silences produce no sample at all.
+     *
+     * @param note  The note to synthesize.
+     * @param tempo The tempo in beats per minute (BPM).
+     *
+     * @return The number of samples produced for the note.
+     */
+    @Override
+    public int sampleCount(Note note, int tempo) {
+        if (note.getFrequency() <= 0) {
+            return 0;
+        }
+        return super.sampleCount(note, tempo);
     }
 
     /**
-     * Synthesizes the given note with harmonics to create a richer sound.
-     * <p>
-     * If the note's frequency is 0 or negative (representing silence), returns empty array.
-     * Otherwise, delegates to the base synthesizer and adds harmonics (from 2 to n).
+     * Synthesizes a block of the given note with harmonics, in place in the given buffer.
      *
      * @param note   The note to synthesize.
      * @param tempo  The tempo in beats per minute (BPM).
      * @param volume The volume level for the note (0.0 to 1.0).
+     * @param onset  The index in its part of the first sample of the note.
+     * @param from   The index in the note of the first sample to compute.
+     * @param out    The buffer in which to write the samples.
+     * @param offset The index of the first sample in the buffer.
+     * @param length The maximum number of samples to write.
      *
-     * @return An array of audio samples with harmonics applied.
+     * @return The number of samples written in the buffer (none for silences).
      */
     @Override
-    public double[] synthesize(Note note, int tempo, double volume) {
+    public int synthesizeBlock(Note note, int tempo, double volume, long onset, int from,
+            double[] out, int offset, int length) {
         double frequency = note.getFrequency();
 
         if (frequency <= 0) {
-            return new double[0];
+            return 0;
         }
 
-        double duration = note.getDuration(tempo) / 1000.0;
-        int nbSample = (int) (duration * SAMPLE_RATE);
+        int nbSample = super.synthesizeBlock(note, tempo, volume, onset, from, out, offset,
+                length);
 
-        double[] sounds = super.synthesize(note, tempo, volume);
+        addHarmonics(oscillators(frequency, from), out, offset, nbSample);
+        return nbSample;
+    }
 
-        for (int i = 0; i < nbSample; i++) {
-            double t = (double) i / SAMPLE_RATE;
-            double value = sounds[i];
+    /**
+     * Creates the stage adding the harmonics to the samples of the given note, from a
+     * given index of the note.
+     *
+     * @param note   The note to synthesize.
+     * @param tempo  The tempo in beats per minute (BPM).
+     * @param volume The volume level for the note (0.0 to 1.0).
+     * @param from   The index in the note of the first sample to compute.
+     *
+     * @return The stage adding the harmonics to the samples of the note.
+     */
+    @Override
+    public SampleStage stage(Note note, int tempo, double volume, int from) {
+        double frequency = note.getFrequency();
+
+        if (frequency <= 0) {
+            // Silences have no sample to process.
+            return (buffer, offset, length) -> { };
+        }
+
+        Oscillator[] oscillators = oscillators(frequency, from);
+        return (buffer, offset, length) -> addHarmonics(oscillators, buffer, offset, length);
+    }
+
+    /**
+     * Creates the oscillators of the harmonics of a note, from a given index of the note.
+     * Each harmonic gets its own oscillator, indexed by its rank.
+     *
+     * @param frequency The fundamental frequency of the note.
+     * @param from      The index in the note of the first sample to compute.
+     *
+     * @return The oscillators of the harmonics.
+     */
+    private Oscillator[] oscillators(double frequency, int from) {
+        Oscillator[] oscillators = new Oscillator[numberOfHarmonics + 1];
+        for (int harmonic = 2; harmonic <= numberOfHarmonics; harmonic++) {
+            oscillators[harmonic] = Oscillator.of(2 * Math.PI * harmonic * frequency, from);
+        }
+        return oscillators;
+    }
+
+    /**
+     * Adds the harmonics to the next samples of a note.
+     *
+     * @param oscillators The oscillators of the harmonics, indexed by their rank.
+     * @param buffer      The buffer containing the samples.
+     * @param offset      The index of the first sample in the buffer.
+     * @param length      The number of samples to modify.
+     */
+    private void addHarmonics(Oscillator[] oscillators, double[] buffer, int offset,
+            int length) {
+        for (int i = 0; i < length; i++) {
+            double value = buffer[offset + i];
 
             for (int harmonic = 2; harmonic <= numberOfHarmonics; harmonic++) {
-                value += Math.sin(2 * Math.PI * harmonic * frequency * t) / Math.sqrt(harmonic);
+                value += oscillators[harmonic].next() / roots[harmonic];
             }
 
-            sounds[i] += (1. / numberOfHarmonics) * value;
+            buffer[offset + i] += (1. / numberOfHarmonics) * value;
         }
-
-        return sounds;
     }
-}
\ No newline at end of file
+}
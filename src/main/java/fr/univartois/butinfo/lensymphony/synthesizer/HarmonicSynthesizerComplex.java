@@ -6,7 +6,7 @@ import fr.univartois.butinfo.lensymphony.notes.Note;
 import java.util.function.BiFunction;
 import java.util.function.IntUnaryOperator;
 
-public class HarmonicSynthesizerComplex extends NoteSynthesizerDecorator{
+public class HarmonicSynthesizerComplex extends NoteSynthesizerDecorator implements FusibleSynthesizer{
 
     /**
      * The number of harmonics to generate (including the fundamental frequency).
@@ -48,44 +48,104 @@ public class HarmonicSynthesizerComplex extends NoteSynthesizerDecorator{
 
 
     /**
-     * Synthesizes the given note with harmonics to create a richer sound.
+     * Synthesizes a block of the given note with harmonics, in place in the given buffer.
      * @param note   The note to synthesize.
      * @param tempo  The tempo in beats per minute (BPM).
      * @param volume The volume level for the note (0.0 to 1.0).
+     * @param onset  The index in its part of the first sample of the note.
+     * @param from   The index in the note of the first sample to compute.
+     * @param out    The buffer in which to write the samples.
+     * @param offset The index of the first sample in the buffer.
+     * @param length The maximum number of samples to write.
      *
-     * @return
+     * @return the number of samples written in the buffer
      */
     @Override
-    public double[] synthesize(Note note, int tempo, double volume) {
+    public int synthesizeBlock(Note note, int tempo, double volume, long onset, int from,
+            double[] out, int offset, int length) {
         double frequency = note.getFrequency();
-        double[] sounds = super.synthesize(note, tempo, volume);
+        int nbSample = super.synthesizeBlock(note, tempo, volume, onset, from, out, offset, length);
 
 
         if (frequency <= 0) {
-            return sounds;
+            return nbSample;
         }
 
-        double duration = note.getDuration(tempo) / 1000.0;
-        int nbSample = (int) (duration * SAMPLE_RATE);
+        addHarmonics(oscillators(frequency, from), from, out, offset, nbSample);
 
-        for (int i = 0; i < nbSample; i++) {
-            double t = (double) i / SAMPLE_RATE;
-            double value = sounds[i];
+        return nbSample;
+    }
 
-            for (int harmonic = 2; harmonic <= numberOfHarmonics; harmonic++) {
-                int indexHarmonic = h.applyAsInt(harmonic); // get harmonic index using function h
-                double amplitude = a.apply(harmonic, t); // get amplitude using function a
-                value += amplitude * Math.sin(2 * Math.PI * indexHarmonic * frequency * t);
+    /**
+     * Creates the stage adding the harmonics to the samples of the given note, from a
+     * given index of the note.
+     * @param note   The note to synthesize.
+     * @param tempo  The tempo in beats per minute (BPM).
+     * @param volume The volume level for the note (0.0 to 1.0).
+     * @param from   The index in the note of the first sample to compute.
+     *
+     * @return the stage adding the harmonics to the samples of the note
+     */
+    @Override
+    public SampleStage stage(Note note, int tempo, double volume, int from) {
+        double frequency = note.getFrequency();
+
+        if (frequency <= 0) {
+            return (buffer, offset, length) -> { };
+        }
+
+        Oscillator[] oscillators = oscillators(frequency, from);
+        return new SampleStage() {
+            private int index = from;
 
+            @Override
+            public void process(double[] buffer, int offset, int length) {
+                addHarmonics(oscillators, index, buffer, offset, length);
+                index += length;
             }
+        };
+    }
 
-            sounds[i] = (1. / numberOfHarmonics) * value;
+    /**
+     * Creates the oscillators of the harmonics of a note, from a given index of the note.
+     * @param frequency the fundamental frequency of the note
+     * @param from      the index in the note of the first sample to compute
+     *
+     * @return the oscillators of the harmonics, indexed by their ordinal
+     */
+    private Oscillator[] oscillators(double frequency, int from) {
+        // Each harmonic gets its own oscillator, indexed by its ordinal.
+        Oscillator[] oscillators = new Oscillator[numberOfHarmonics + 1];
+        for (int harmonic = 2; harmonic <= numberOfHarmonics; harmonic++) {
+            int indexHarmonic = h.applyAsInt(harmonic); // get harmonic index using function h
+            oscillators[harmonic] = Oscillator.of(2 * Math.PI * indexHarmonic * frequency, from);
         }
-
-        return sounds;
+        return oscillators;
     }
 
+    /**
+     * Adds the harmonics to the next samples of a note.
+     * @param oscillators the oscillators of the harmonics, indexed by their ordinal
+     * @param from        the index in the note of the first sample to modify
+     * @param buffer      the buffer containing the samples
+     * @param offset      the index of the first sample in the buffer
+     * @param length      the number of samples to modify
+     */
+    private void addHarmonics(Oscillator[] oscillators, int from, double[] buffer, int offset,
+            int length) {
+        for (int i = 0; i < length; i++) {
+            double t = (double) (from + i) / SAMPLE_RATE;
+            double value = buffer[offset + i];
+
+            for (int harmonic = 2; harmonic <= numberOfHarmonics; harmonic++) {
+                double amplitude = a.apply(harmonic, t); // get amplitude using function a
+                value += amplitude * oscillators[harmonic].next();
 
+            }
+
+            buffer[offset + i] = (1. / numberOfHarmonics) * value;
+        }
+    }
 
 
 
@@ -0,0 +1,90 @@
+/**
+ * LenSymphony - A simple music synthesizer library developed in Lens, France.
+ * Copyright (c) 2025 Romain Wallon - Université d'Artois.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package fr.univartois.butinfo.lensymphony.synthesizer;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The MixSource is an audio source adding the samples read from several other sources,
+ * after dividing them by a given count.
+ * When this count is the number of sources, the samples are averaged as those produced by
+ * {@link MultipleScoreSynthesizer#synthesize()}.
+ *
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+final class MixSource implements AudioSource {
+
+    /**
+     * The sources to mix.
+     */
+    private final List<AudioSource> sources;
+
+    /**
+     * The number by which the samples of each source are divided.
+     */
+    private final int count;
+
+    /**
+     * The buffer in which the samples of each source are read before being mixed.
+     */
+    private double[] scratch = new double[0];
+
+    /**
+     * Creates a new MixSource.
+     *
+     * @param sources The sources to mix.
+     * @param count The number by which the samples of each source are divided.
+     */
+    MixSource(List<AudioSource> sources, int count) {
+        this.sources = sources;
+        this.count = count;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.butinfo.lensymphony.synthesizer.AudioSource#read(double[], int, int)
+     */
+    @Override
+    public int read(double[] buffer, int offset, int length) {
+        if (scratch.length < length) {
+            scratch = new double[length];
+        }
+
+        int read = -1;
+        Arrays.fill(buffer, offset, offset + length, 0.0);
+        for (AudioSource source : sources) {
+            int n = source.read(scratch, 0, length);
+            if (n > 0) {
+                SampleKernels.getDefault().mix(scratch, 0, buffer, offset, n, count);
+            }
+            read = Math.max(read, n);
+        }
+        return read;
+    }
+
+}
@@ -2,11 +2,17 @@ package fr.univartois.butinfo.lensymphony.synthesizer;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 /**
  * Implements a composite pattern to combine multiple music synthesizers together.
  * This synthesizer allows adding multiple synthesizers and combines their audio samples
  * by averaging them together.
+ * The synthesizers may be rendered in parallel, by providing an executor on which each
+ * of them is synthesized.
+ * In this case, the children must not share any mutable state.
  *
  * @author Dassonville Ugo
  * @version 0.1.0
@@ -23,6 +29,37 @@ public class MultipleScoreSynthesizer implements MusicSynthesizer {
 	 */
 	private double[] samples = new double[0];
 
+	/**
+	 * The number of samples mixed at once for all the synthesizers, chosen so that the
+	 * mixed block stays in the CPU cache while each part is added to it.
+	 */
+	private static final int MIX_BLOCK_SIZE = 4096;
+
+	/**
+	 * The executor on which the synthesizers are rendered, or {@code null} to render them
+	 * sequentially on the calling thread.
+	 */
+	private final Executor executor;
+
+	/**
+	 * Creates a new MultipleScoreSynthesizer, which renders its synthesizers sequentially.
+	 */
+	public MultipleScoreSynthesizer() {
+		this(null);
+	}
+
+	/**
+	 * Creates a new MultipleScoreSynthesizer, which renders each of its synthesizers as a
+	 * separate task on the given executor.
+	 * The mixed samples are the same as those obtained with sequential rendering.
+	 *
+	 * @param executor The executor on which to render the synthesizers, or {@code null}
+	 *        to render them sequentially.
+	 */
+	public MultipleScoreSynthesizer(Executor executor) {
+		this.executor = executor;
+	}
+
 	/**
 	 * Adds a music synthesizer to this composite.
 	 *
@@ -36,41 +73,114 @@ public class MultipleScoreSynthesizer implements MusicSynthesizer {
 
 	/**
 	 * Generates the audio samples by combining all the synthesizers.
-	 * Each synthesizer is synthesized and their maximum length is used to create
-	 * the combined samples array.
+	 * Each synthesizer is synthesized, then their samples are mixed once into an array
+	 * as long as the longest of them.
+	 * If an executor has been given, the synthesizers are rendered concurrently and this
+	 * method waits for all of them to complete.
 	 */
 	@Override
 	public void synthesize() {
-		for (MusicSynthesizer synth : synthetizers) {
-			synth.synthesize();
+		if (executor == null) {
+			for (MusicSynthesizer synth : synthetizers) {
+				synth.synthesize();
+			}
+		} else {
+			synthesizeInParallel();
 		}
 
+		double[][] parts = new double[synthetizers.size()][];
 		int maxLen = 0;
-		for (MusicSynthesizer synth : synthetizers) {
-			int len = synth.getSamples().length;
-			if (len > maxLen) {
-				maxLen = len;
+		for (int p = 0; p < parts.length; p++) {
+			parts[p] = synthetizers.get(p).getSamples();
+			if (parts[p].length > maxLen) {
+				maxLen = parts[p].length;
+			}
+		}
+		samples = mix(parts, maxLen);
+	}
+
+	/**
+	 * Mixes the samples of all the parts by averaging them.
+	 * The mixed array is filled block by block, each block receiving the samples of all
+	 * the parts in turn, so that it is only written to memory once.
+	 * For each sample, the parts are added in the same order, so that the result does not
+	 * depend on the size of the blocks.
+	 *
+	 * @param parts The samples of each part.
+	 * @param length The length of the mixed array.
+	 *
+	 * @return The averaged samples of the parts.
+	 */
+	private static double[] mix(double[][] parts, int length) {
+		double[] mixed = new double[length];
+		int count = parts.length;
+		SampleKernels kernels = SampleKernels.getDefault();
+
+		for (int start = 0; start < length; start += MIX_BLOCK_SIZE) {
+			for (double[] part : parts) {
+				int end = Math.min(start + MIX_BLOCK_SIZE, part.length);
+				if (end > start) {
+					kernels.mix(part, start, mixed, start, end - start, count);
+				}
 			}
 		}
-		samples = new double[maxLen];
+		return mixed;
+	}
+
+	/**
+	 * Renders each synthesizer as a separate task on the executor, and waits for all of
+	 * them to complete.
+	 * If one of the tasks fails, its exception is rethrown on the calling thread.
+	 */
+	private void synthesizeInParallel() {
+		CompletableFuture<?>[] tasks = new CompletableFuture<?>[synthetizers.size()];
+		for (int i = 0; i < tasks.length; i++) {
+			tasks[i] = CompletableFuture.runAsync(synthetizers.get(i)::synthesize, executor);
+		}
+
+		try {
+			CompletableFuture.allOf(tasks).join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			if (e.getCause() instanceof Error cause) {
+				throw cause;
+			}
+			throw e;
+		}
 	}
 
 	/**
 	 * Gets the combined audio samples from all synthesizers.
 	 * The samples are averaged by dividing each sample by the number of synthesizers.
+	 * They are mixed once by {@link #synthesize()}, so that calling this method several
+	 * times always gives the same samples.
 	 *
 	 * @return The averaged audio samples from all synthesizers
 	 */
 	@Override
 	public double[] getSamples() {
-		int count = synthetizers.size();
+		return samples;
+	}
 
+	/**
+	 * Opens a stream reading the combined audio samples of all synthesizers.
+	 * If the audio stream has not been synthesized yet, the streams of the synthesizers
+	 * are mixed while they are read, so that the samples are rendered on the fly.
+	 *
+	 * @return A new stream of the combined audio samples.
+	 */
+	@Override
+	public AudioSource openStream() {
+		if (samples.length > 0) {
+			return AudioSource.of(samples);
+		}
+
+		List<AudioSource> sources = new ArrayList<>();
 		for (MusicSynthesizer synth : synthetizers) {
-			double[] cSamples = synth.getSamples();
-			for (int i = 0; i < cSamples.length; i++) {
-				samples[i] += cSamples[i] / count;
-			}
+			sources.add(synth.openStream());
 		}
-		return samples;
+		return AudioSource.mix(sources);
 	}
 }
\ No newline at end of file
@@ -23,15 +23,10 @@
 
 package fr.univartois.butinfo.lensymphony.synthesizer;
 
-import static fr.univartois.butinfo.lensymphony.synthesizer.NoteSynthesizer.SAMPLE_RATE;
-
-import java.io.ByteArrayInputStream;
-import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
 
-import javax.sound.sampled.AudioFileFormat;
 import javax.sound.sampled.AudioFormat;
-import javax.sound.sampled.AudioInputStream;
 import javax.sound.sampled.AudioSystem;
 import javax.sound.sampled.LineUnavailableException;
 import javax.sound.sampled.SourceDataLine;
@@ -61,6 +56,18 @@ public interface MusicSynthesizer {
      */
     double[] getSamples();
 
+    /**
+     * Opens a stream reading the audio samples of this synthesizer block by block.
+     * By default, the stream reads the samples given by {@link #getSamples()}.
+     * Implementations may render the samples on the fly when the audio stream has not
+     * been synthesized yet.
+     *
+     * @return A new stream of the audio samples.
+     */
+    default AudioSource openStream() {
+        return AudioSource.of(getSamples());
+    }
+
     /**
      * Returns the synthesized audio data as a byte array.
      * If the audio stream has not been synthesized yet, this method returns an empty
@@ -72,52 +79,49 @@ public interface MusicSynthesizer {
      */
     default byte[] getAudioData() {
         double[] samples = getSamples();
-        byte[] audioData = new byte[samples.length * 2];
-
-        for (int i = 0; i < samples.length; i++) {
-            short sampleShort = (short) (samples[i] * 32767);
-            audioData[i * 2] = (byte) (sampleShort & 0xFF);
-            audioData[i * 2 + 1] = (byte) ((sampleShort >> 8) & 0xFF);
-        }
+        byte[] audioData = new byte[samples.length * PcmEncoding.BYTES_PER_SAMPLE];
+        PcmEncoding.encode(samples, 0, samples.length, audioData, 0);
         return audioData;
     }
 
     /**
-     * Plays the synthesized audio stream.
-     * If the audio stream has not been synthesized yet, this method will not play
-     * anything.
+     * Plays the audio stream given by {@link #openStream()}.
+     * The samples are encoded and written to the audio line block by block while the
+     * stream is read, so that playback starts as soon as the first block is ready.
+     * If the audio stream has not been synthesized yet and the synthesizer does not
+     * render it on the fly, this method will not play anything.
      *
      * @throws LineUnavailableException If an audio line cannot be opened.
      *
      * @see #synthesize()
+     * @see AudioStreamer
      */
     default void play() throws LineUnavailableException {
-        AudioFormat format = new AudioFormat(SAMPLE_RATE, Short.SIZE, 1, true, false);
+        AudioFormat format = PcmEncoding.format();
         try (SourceDataLine line = AudioSystem.getSourceDataLine(format)) {
             line.open(format);
             line.start();
-            byte[] audioData = getAudioData();
-            line.write(audioData, 0, audioData.length);
+            AudioStreamer.stream(openStream(), line::write);
             line.drain();
         }
     }
 
     /**
-     * Saves the synthesized audio stream to a WAV file.
-     * If the audio stream has not been synthesized yet, the resulting file will be empty.
+     * Saves the audio stream given by {@link #openStream()} to a WAV file.
+     * The samples are encoded and written to the file block by block while the stream is
+     * read, so that the whole audio data is never held in memory.
+     * If the audio stream has not been synthesized yet and the synthesizer does not
+     * render it on the fly, the resulting file will be empty.
      *
      * @param filename The name of the WAV file to save the audio stream to.
      *
      * @throws IOException If an I/O error occurs while writing the file.
      *
      * @see #synthesize()
+     * @see WavWriter
      */
     default void save(String filename) throws IOException {
-        AudioFormat format = new AudioFormat(SAMPLE_RATE, Short.SIZE, 1, true, false);
-        byte[] audioData = getAudioData();
-        ByteArrayInputStream bais = new ByteArrayInputStream(audioData);
-        AudioInputStream ais = new AudioInputStream(bais, format, audioData.length);
-        AudioSystem.write(ais, AudioFileFormat.Type.WAVE, new File(filename));
+        WavWriter.write(openStream(), Path.of(filename));
     }
 
 }
@@ -0,0 +1,177 @@
+/**
+ * LenSymphony - A simple music synthesizer library developed in Lens, France.
+ * Copyright (c) 2025 Romain Wallon - Université d'Artois.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package fr.univartois.butinfo.lensymphony.synthesizer;
+
+import fr.univartois.butinfo.lensymphony.notes.Note;
+
+/**
+ * The NoiseSource produces the random values used by the synthesizers of noises, such as
+ * drums or the breath of wind instruments.
+ * <p>
+ * Unlike a {@link java.util.Random}, a noise source has no mutable state: the value of each
+ * sample of a note is computed from a seed derived from the seed of the source and from the
+ * note, and from the index of the sample in the note.
+ * The values are those of the SplitMix64 generator on which
+ * {@link java.util.SplittableRandom} is built, indexed by the sample instead of being drawn
+ * one after the other.
+ * As a consequence:
+ * <ul>
+ * <li>the same note always sounds the same, so that noises are deterministic, and may be
+ * cached;</li>
+ * <li>any block of a note can be computed on its own;</li>
+ * <li>the source may be shared by parts rendered in parallel without any contention.</li>
+ * </ul>
+ * Parts that should not sound exactly the same can use sources with different seeds,
+ * e.g. derived from their ID with {@link #derive(String)}.
+ *
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+public final class NoiseSource {
+
+    /**
+     * The source used by default by the synthesizers of noises.
+     */
+    public static final NoiseSource DEFAULT = new NoiseSource(0x4c656e53796d7068L);
+
+    /**
+     * The increment between the states of SplitMix64 (the odd integer closest to
+     * {@code 2^64} divided by the golden ratio).
+     */
+    private static final long GAMMA = 0x9e3779b97f4a7c15L;
+
+    /**
+     * The seed of this source.
+     */
+    private final long seed;
+
+    /**
+     * Creates a new NoiseSource.
+     *
+     * @param seed The seed of the source.
+     */
+    private NoiseSource(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Gives the noise source having the given seed.
+     *
+     * @param seed The seed of the source.
+     *
+     * @return The noise source with the given seed.
+     */
+    public static NoiseSource of(long seed) {
+        return new NoiseSource(seed);
+    }
+
+    /**
+     * Gives a source derived from this one for a given key, such as the ID of a part.
+     * The derived source only depends on this source and on the key, so that each part
+     * gets its own noise, which stays the same from one rendering to another.
+     *
+     * @param key The key identifying what the derived source is used for.
+     *
+     * @return The source derived from this one for the key.
+     */
+    public NoiseSource derive(String key) {
+        return new NoiseSource(seed(key.hashCode()));
+    }
+
+    /**
+     * Gives the seed of this source.
+     *
+     * @return The seed of this source.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gives the seed of the noise of a note, which only depends on the seed of this source,
+     * and on the frequency and the number of samples of the note.
+     *
+     * @param note The note to synthesize.
+     * @param sampleCount The number of samples of the note.
+     *
+     * @return The seed to give to {@link #noise(long, int)} for the samples of the note.
+     */
+    public long seed(Note note, int sampleCount) {
+        long bits = Double.doubleToLongBits(note.getFrequency());
+        return mix(seed(bits) + sampleCount * GAMMA);
+    }
+
+    /**
+     * Gives the seed of a noise identified by a key, which only depends on the seed of this
+     * source and on the key.
+     *
+     * @param key The key identifying the noise.
+     *
+     * @return The seed to give to {@link #noise(long, int)} for the samples of the noise.
+     */
+    public long seed(long key) {
+        return seed(seed, key);
+    }
+
+    /**
+     * Gives a seed derived from another seed and from a key, e.g. to vary the noise of a
+     * note with its position.
+     *
+     * @param seed The seed to derive from.
+     * @param key The key identifying the derived seed.
+     *
+     * @return The derived seed.
+     */
+    public static long seed(long seed, long key) {
+        return mix(seed + key * GAMMA);
+    }
+
+    /**
+     * Gives the noise of a sample of a note.
+     *
+     * @param seed The seed of the note, as given by {@link #seed(Note, int)}.
+     * @param index The index of the sample in the note.
+     *
+     * @return A value uniformly distributed in {@code [-1, 1)}.
+     */
+    public static double noise(long seed, int index) {
+        long bits = mix(seed + (index + 1L) * GAMMA);
+        return (bits >>> 11) * 0x1.0p-52 - 1.0;
+    }
+
+    /**
+     * Mixes the bits of a state of SplitMix64 to give the corresponding random value.
+     *
+     * @param z The state to mix.
+     *
+     * @return The mixed value.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+}
@@ -0,0 +1,176 @@
+/**
+ * LenSymphony - A simple music synthesizer library developed in Lens, France.
+ * Copyright (c) 2025 Romain Wallon - Université d'Artois.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package fr.univartois.butinfo.lensymphony.synthesizer;
+
+import java.util.Iterator;
+
+import fr.univartois.butinfo.lensymphony.notes.Note;
+
+/**
+ * The NoteSequenceSource is an audio source rendering a sequence of notes on the fly.
+ * The notes are scheduled one after the other, and each of them is synthesized only when
+ * its samples are read.
+ * When the synthesizer can compute any block of a note on its own, the samples are
+ * rendered straight into the buffer of the reader, so that no note is ever held in memory
+ * in full.
+ * Otherwise, each note is synthesized into a buffer reused from one note to the next.
+ * The samples are the same as those produced by
+ * {@link SimpleMusicSynthesizer#synthesize()}.
+ *
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+final class NoteSequenceSource implements AudioSource {
+
+    /**
+     * The notes that remain to be rendered.
+     */
+    private final Iterator<Note> notes;
+
+    /**
+     * The tempo of the music in beats per minute (BPM).
+     */
+    private final int tempo;
+
+    /**
+     * The note synthesizer used to generate the audio samples for each note.
+     */
+    private final NoteSynthesizer synthesizer;
+
+    /**
+     * The volume of the notes.
+     */
+    private final double volume;
+
+    /**
+     * Whether the notes are rendered block by block, straight into the buffer of the
+     * reader.
+     */
+    private final boolean blocks;
+
+    /**
+     * The note being read.
+     */
+    private Note note;
+
+    /**
+     * The samples of the note being read, when the notes are not rendered block by block.
+     */
+    private double[] current = new double[0];
+
+    /**
+     * The number of samples of the note being read.
+     */
+    private int currentLength;
+
+    /**
+     * The index of the next sample to read in the note being read.
+     */
+    private int position;
+
+    /**
+     * The index in the sequence of the first sample of the note being read.
+     */
+    private long onset;
+
+    /**
+     * Creates a new NoteSequenceSource.
+     *
+     * @param tempo The tempo of the music in beats per minute (BPM).
+     * @param notes The notes to render.
+     * @param synthesizer The note synthesizer used to generate the audio samples.
+     * @param volume The volume of the notes.
+     */
+    NoteSequenceSource(int tempo, Iterable<Note> notes, NoteSynthesizer synthesizer, double volume) {
+        this.notes = notes.iterator();
+        this.tempo = tempo;
+        this.synthesizer = synthesizer;
+        this.volume = volume;
+        this.blocks = synthesizer.supportsBlocks();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.butinfo.lensymphony.synthesizer.AudioSource#read(double[], int, int)
+     */
+    @Override
+    public int read(double[] buffer, int offset, int length) {
+        int read = 0;
+        while (read < length) {
+            if ((position == currentLength) && !nextNote()) {
+                break;
+            }
+            int n = Math.min(length - read, currentLength - position);
+            if (blocks) {
+                int written = synthesizer.synthesizeBlock(
+                        note, tempo, volume, onset, position, buffer, offset + read, n);
+                if (written < n) {
+                    // The note has ended earlier than announced.
+                    currentLength = position + written;
+                    n = written;
+                }
+            } else {
+                System.arraycopy(current, position, buffer, offset + read, n);
+            }
+            position += n;
+            read += n;
+        }
+        return (read == 0) && (length > 0) ? -1 : read;
+    }
+
+    /**
+     * Moves to the next note of the sequence.
+     * Unless the notes are rendered block by block, the note is rendered in full.
+     *
+     * @return Whether there was a note left to render.
+     */
+    private boolean nextNote() {
+        if (!notes.hasNext()) {
+            return false;
+        }
+
+        note = notes.next();
+        int count = synthesizer.sampleCount(note, tempo);
+        onset += currentLength;
+        position = 0;
+        if (blocks) {
+            currentLength = count;
+            return true;
+        }
+
+        // Keeping room for one more sample, to detect the notes longer than announced.
+        if (current.length <= count) {
+            current = new double[count + 1];
+        }
+        currentLength = synthesizer.synthesizeInto(note, tempo, volume, onset, current, 0);
+        if (currentLength == current.length) {
+            current = synthesizer.synthesize(note, tempo, volume);
+            currentLength = current.length;
+        }
+        return true;
+    }
+
+}
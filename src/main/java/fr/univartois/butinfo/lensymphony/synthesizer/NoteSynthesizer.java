@@ -51,4 +51,163 @@ public interface NoteSynthesizer {
      */
     double[] synthesize(Note note, int tempo, double volume);
 
+    /**
+     * Gives the number of audio samples this synthesizer produces for a given note.
+     * Implementations producing a number of samples that is not directly derived from the
+     * duration of the note must override this method.
+     * <p>
+     * By default, the number of samples given by the note itself is used (see
+     * {@link Note#getSampleCount(int)}), so that notes placed on a timeline are given
+     * their exact number of samples.
+     *
+     * @param note The note to synthesize.
+     * @param tempo The tempo in beats per minute (BPM).
+     *
+     * @return The number of samples produced for the note.
+     */
+    default int sampleCount(Note note, int tempo) {
+        return note.getSampleCount(tempo);
+    }
+
+    /**
+     * Computes the audio samples for a given note, and writes them into a region of a
+     * buffer owned by the caller, so that no array needs to be allocated for the note.
+     * The buffer must have room for at least {@link #sampleCount(Note, int)} samples
+     * starting from {@code offset}.
+     * <p>
+     * This default implementation adapts {@link #synthesize(Note, int, double)}, so that
+     * existing implementations keep working.
+     * As such implementations may produce more samples than announced by
+     * {@link #sampleCount(Note, int)}, only the samples that fit into {@code out} are
+     * written.
+     * Implementations should override it to write their samples in place.
+     *
+     * @param note The note to synthesize.
+     * @param tempo The tempo in beats per minute (BPM).
+     * @param volume The volume level for the note (0.0 to 1.0).
+     * @param out The buffer in which to write the samples.
+     * @param offset The index of {@code out} at which to write the first sample.
+     *
+     * @return The number of samples written into {@code out}.
+     */
+    default int synthesizeInto(Note note, int tempo, double volume, double[] out, int offset) {
+        double[] sounds = synthesize(note, tempo, volume);
+        int n = Math.min(sounds.length, out.length - offset);
+        System.arraycopy(sounds, 0, out, offset, n);
+        return n;
+    }
+
+    /**
+     * Computes a block of the audio samples for a given note, and writes them into a
+     * region of a buffer owned by the caller.
+     * The block starts at the sample of index {@code from} of the note, and is made of at
+     * most {@code length} samples, so that a note can be rendered block by block while
+     * it is played.
+     * <p>
+     * This default implementation synthesizes the whole note and copies the requested
+     * block, so that existing implementations keep working.
+     * Implementations that can compute any block of a note on its own should override
+     * it, together with {@link #supportsBlocks()}.
+     *
+     * @param note The note to synthesize.
+     * @param tempo The tempo in beats per minute (BPM).
+     * @param volume The volume level for the note (0.0 to 1.0).
+     * @param from The index in the note of the first sample to compute.
+     * @param out The buffer in which to write the samples.
+     * @param offset The index of {@code out} at which to write the first sample.
+     * @param length The maximum number of samples to write.
+     *
+     * @return The number of samples written into {@code out}, which is less than
+     *         {@code length} only when the end of the note is reached.
+     */
+    default int synthesizeBlock(Note note, int tempo, double volume, int from, double[] out,
+            int offset, int length) {
+        double[] sounds = synthesize(note, tempo, volume);
+        int n = Math.max(0, Math.min(length, sounds.length - from));
+        System.arraycopy(sounds, from, out, offset, n);
+        return n;
+    }
+
+    /**
+     * Computes the audio samples for a given note played at a given position of its part,
+     * and writes them into a region of a buffer owned by the caller.
+     * Synthesizers which are not {@linkplain #isDeterministic() deterministic} may use the
+     * position of the note to vary its sound from one note to the next, while each note
+     * still sounds the same from one rendering to another.
+     * <p>
+     * By default, the position of the note is ignored.
+     *
+     * @param note The note to synthesize.
+     * @param tempo The tempo in beats per minute (BPM).
+     * @param volume The volume level for the note (0.0 to 1.0).
+     * @param onset The index in its part of the first sample of the note.
+     * @param out The buffer in which to write the samples.
+     * @param offset The index of {@code out} at which to write the first sample.
+     *
+     * @return The number of samples written into {@code out}.
+     *
+     * @see #synthesizeInto(Note, int, double, double[], int)
+     */
+    default int synthesizeInto(Note note, int tempo, double volume, long onset, double[] out,
+            int offset) {
+        return synthesizeInto(note, tempo, volume, out, offset);
+    }
+
+    /**
+     * Computes a block of the audio samples for a given note played at a given position
+     * of its part, and writes them into a region of a buffer owned by the caller.
+     * Synthesizers which are not {@linkplain #isDeterministic() deterministic} may use the
+     * position of the note to vary its sound from one note to the next.
+     * <p>
+     * By default, the position of the note is ignored.
+     *
+     * @param note The note to synthesize.
+     * @param tempo The tempo in beats per minute (BPM).
+     * @param volume The volume level for the note (0.0 to 1.0).
+     * @param onset The index in its part of the first sample of the note.
+     * @param from The index in the note of the first sample to compute.
+     * @param out The buffer in which to write the samples.
+     * @param offset The index of {@code out} at which to write the first sample.
+     * @param length The maximum number of samples to write.
+     *
+     * @return The number of samples written into {@code out}, which is less than
+     *         {@code length} only when the end of the note is reached.
+     *
+     * @see #synthesizeBlock(Note, int, double, int, double[], int, int)
+     */
+    default int synthesizeBlock(Note note, int tempo, double volume, long onset, int from,
+            double[] out, int offset, int length) {
+        return synthesizeBlock(note, tempo, volume, from, out, offset, length);
+    }
+
+    /**
+     * Checks whether this synthesizer computes each block of a note on its own in
+     * {@link #synthesizeBlock(Note, int, double, int, double[], int, int)}.
+     * When it does not, rendering a note block by block requires to synthesize it in
+     * full first.
+     *
+     * @return Whether this synthesizer can render any block of a note on its own.
+     */
+    default boolean supportsBlocks() {
+        return false;
+    }
+
+    /**
+     * Checks whether this synthesizer always produces the same samples for the same note,
+     * tempo and volume.
+     * This is not the case for synthesizers relying on random values, such as noises, or
+     * varying the sound of a note with its position in its part.
+     * The samples of a deterministic synthesizer may be reused from one note to another.
+     * <p>
+     * By default, synthesizers are not considered deterministic, so that their samples are
+     * never reused.
+     *
+     * @return Whether this synthesizer is deterministic.
+     *
+     * @see CachingSynthesizer
+     */
+    default boolean isDeterministic() {
+        return false;
+    }
+
 }
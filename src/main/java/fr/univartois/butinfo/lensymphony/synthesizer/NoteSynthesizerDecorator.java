@@ -30,6 +30,12 @@ import fr.univartois.butinfo.lensymphony.notes.Note;
  * synthesizer and delegates all operations to it by default.
  * <p>
  * Subclasses can override specific methods to add or modify synthesis behavior.
+ * All the methods synthesizing a note go through
+ * {@link #synthesizeBlock(Note, int, double, long, int, double[], int, int)}, so that a
+ * decorator modifying the samples of the decorated synthesizer only needs to override this
+ * method.
+ * Decorators adding randomness to the samples must also override
+ * {@link #isDeterministic()}.
  * This class follows the Decorator design pattern.
  *
  * @author Rabhi Nessim
@@ -58,10 +64,8 @@ public abstract class NoteSynthesizerDecorator implements NoteSynthesizer {
     }
 
     /**
-     * Synthesizes the given note by delegating to the wrapped synthesizer.
-     * <p>
-     * This default implementation delegates to the wrapped synthesizer.
-     * Subclasses may override to modify the synthesis process.
+     * Synthesizes the given note into a new array of {@link #sampleCount(Note, int)}
+     * samples.
      *
      * @param note   The note to synthesize.
      * @param tempo  The tempo in beats per minute (BPM).
@@ -71,6 +75,126 @@ public abstract class NoteSynthesizerDecorator implements NoteSynthesizer {
      */
     @Override
     public double[] synthesize(Note note, int tempo, double volume) {
-        return synthesizer.synthesize(note, tempo, volume);
+        double[] sounds = new double[sampleCount(note, tempo)];
+        synthesizeInto(note, tempo, volume, sounds, 0);
+        return sounds;
+    }
+
+    /**
+     * Gives the number of audio samples produced for the given note, by delegating to
+     * the wrapped synthesizer.
+     *
+     * @param note  The note to synthesize.
+     * @param tempo The tempo in beats per minute (BPM).
+     *
+     * @return The number of samples produced for the note.
+     */
+    @Override
+    public int sampleCount(Note note, int tempo) {
+        return synthesizer.sampleCount(note, tempo);
+    }
+
+    /**
+     * Synthesizes the given note into the given buffer, as if it was played at the
+     * beginning of its part.
+     *
+     * @param note   The note to synthesize.
+     * @param tempo  The tempo in beats per minute (BPM).
+     * @param volume The volume level for the note (0.0 to 1.0).
+     * @param out    The buffer in which to write the samples.
+     * @param offset The index of the first sample in the buffer.
+     *
+     * @return The number of samples written in the buffer.
+     */
+    @Override
+    public int synthesizeInto(Note note, int tempo, double volume, double[] out, int offset) {
+        return synthesizeInto(note, tempo, volume, 0, out, offset);
+    }
+
+    /**
+     * Synthesizes the given note played at a given position of its part into the given
+     * buffer, as a single block.
+     *
+     * @param note   The note to synthesize.
+     * @param tempo  The tempo in beats per minute (BPM).
+     * @param volume The volume level for the note (0.0 to 1.0).
+     * @param onset  The index in its part of the first sample of the note.
+     * @param out    The buffer in which to write the samples.
+     * @param offset The index of the first sample in the buffer.
+     *
+     * @return The number of samples written in the buffer.
+     */
+    @Override
+    public int synthesizeInto(Note note, int tempo, double volume, long onset, double[] out,
+            int offset) {
+        return synthesizeBlock(note, tempo, volume, onset, 0, out, offset,
+                sampleCount(note, tempo));
+    }
+
+    /**
+     * Synthesizes a block of the given note into the given buffer, as if it was played at
+     * the beginning of its part.
+     *
+     * @param note   The note to synthesize.
+     * @param tempo  The tempo in beats per minute (BPM).
+     * @param volume The volume level for the note (0.0 to 1.0).
+     * @param from   The index in the note of the first sample to compute.
+     * @param out    The buffer in which to write the samples.
+     * @param offset The index of the first sample in the buffer.
+     * @param length The maximum number of samples to write.
+     *
+     * @return The number of samples written in the buffer.
+     */
+    @Override
+    public int synthesizeBlock(Note note, int tempo, double volume, int from, double[] out,
+            int offset, int length) {
+        return synthesizeBlock(note, tempo, volume, 0, from, out, offset, length);
+    }
+
+    /**
+     * Synthesizes a block of the given note played at a given position of its part, by
+     * delegating to the wrapped synthesizer.
+     * <p>
+     * Subclasses modifying the samples of the wrapped synthesizer override this method,
+     * and apply their effect to the samples written by this implementation.
+     *
+     * @param note   The note to synthesize.
+     * @param tempo  The tempo in beats per minute (BPM).
+     * @param volume The volume level for the note (0.0 to 1.0).
+     * @param onset  The index in its part of the first sample of the note.
+     * @param from   The index in the note of the first sample to compute.
+     * @param out    The buffer in which to write the samples.
+     * @param offset The index of the first sample in the buffer.
+     * @param length The maximum number of samples to write.
+     *
+     * @return The number of samples written in the buffer.
+     */
+    @Override
+    public int synthesizeBlock(Note note, int tempo, double volume, long onset, int from,
+            double[] out, int offset, int length) {
+        return synthesizer.synthesizeBlock(note, tempo, volume, onset, from, out, offset,
+                length);
+    }
+
+    /**
+     * Tells whether any block of a note can be computed on its own, by delegating to the
+     * wrapped synthesizer.
+     *
+     * @return Whether the wrapped synthesizer supports blocks.
+     */
+    @Override
+    public boolean supportsBlocks() {
+        return synthesizer.supportsBlocks();
+    }
+
+    /**
+     * Tells whether this synthesizer is deterministic, by delegating to the wrapped
+     * synthesizer.
+     *
+     * @return Whether the wrapped synthesizer is deterministic.
+     */
+    @Override
+    public boolean isDeterministic() {
+        return synthesizer.isDeterministic();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,65 @@
+/**
+ * LenSymphony - A simple music synthesizer library developed in Lens, France.
+ * Copyright (c) 2025 Romain Wallon - Université d'Artois.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package fr.univartois.butinfo.lensymphony.synthesizer;
+
+/**
+ * The Oscillator interface defines a generator of the successive samples of a sine wave.
+ * It replaces the computation of {@code Math.sin(omega * t)} for each sample by a
+ * cheaper computation, depending on the {@link OscillatorQuality} in use.
+ * <p>
+ * An oscillator is created for a given angular frequency and a given sample index, so
+ * that any block of a note can be rendered on its own.
+ *
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+public interface Oscillator {
+
+    /**
+     * Gives the value of the sine wave at the current sample, and moves to the next
+     * sample.
+     *
+     * @return The value of the sine wave, between -1 and 1.
+     */
+    double next();
+
+    /**
+     * Creates an oscillator with the default quality.
+     * The first value it gives is that of {@code Math.sin(omega * t)}, where {@code t} is
+     * the time of the sample of index {@code from}.
+     *
+     * @param omega The angular frequency of the sine wave, in radians per second (i.e.,
+     *        {@code 2 * Math.PI} times its frequency in Hz).
+     * @param from The index of the first sample to generate.
+     *
+     * @return The created oscillator.
+     *
+     * @see OscillatorQuality#getDefault()
+     */
+    static Oscillator of(double omega, int from) {
+        return OscillatorQuality.getDefault().create(omega, from);
+    }
+
+}
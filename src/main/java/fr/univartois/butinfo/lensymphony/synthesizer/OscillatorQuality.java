@@ -0,0 +1,179 @@
+/**
+ * LenSymphony - A simple music synthesizer library developed in Lens, France.
+ * Copyright (c) 2025 Romain Wallon - Université d'Artois.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package fr.univartois.butinfo.lensymphony.synthesizer;
+
+import java.lang.System.Logger.Level;
+import java.util.Locale;
+
+/**
+ * The OscillatorQuality enumeration lists the backends that can compute the sine waves
+ * of the synthesizers, from the most accurate to the fastest.
+ * <p>
+ * The default quality is read from the {@code lensymphony.oscillator} system property
+ * (e.g., {@code -Dlensymphony.oscillator=rotation}), and is {@link #EXACT} when it is not
+ * set (or does not name a quality).
+ *
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+public enum OscillatorQuality {
+
+    /**
+     * The reference backend, which calls {@code Math.sin} for each sample.
+     * It produces exactly the same samples as the synthesizers always did.
+     */
+    EXACT {
+
+        @Override
+        public Oscillator create(double omega, int from) {
+            return new ExactOscillator(omega, from);
+        }
+
+        @Override
+        public double maxError() {
+            return 0;
+        }
+
+    },
+
+    /**
+     * The recursive rotation backend, which rotates a complex number by a constant angle
+     * for each sample (i.e., two multiplications and two additions), and resynchronizes
+     * it with {@code Math.sin} periodically so that the rounding errors do not build up.
+     */
+    ROTATION {
+
+        @Override
+        public Oscillator create(double omega, int from) {
+            return new RotationOscillator(omega, from);
+        }
+
+        @Override
+        public double maxError() {
+            // Most of this error comes from the rounding of omega * t in Math.sin itself,
+            // which grows with the frequency and the length of the note.
+            return 1e-8;
+        }
+
+    },
+
+    /**
+     * The wavetable backend, which reads a precomputed period of the sine wave with a
+     * phase accumulator and interpolates linearly between its entries.
+     */
+    WAVETABLE {
+
+        @Override
+        public Oscillator create(double omega, int from) {
+            return new WavetableOscillator(omega, from);
+        }
+
+        @Override
+        public double maxError() {
+            return WavetableOscillator.MAX_ERROR;
+        }
+
+    };
+
+    /**
+     * The system property giving the default quality.
+     */
+    private static final String QUALITY_PROPERTY = "lensymphony.oscillator";
+
+    /**
+     * The quality used by the synthesizers.
+     */
+    private static volatile OscillatorQuality defaultQuality = parse(
+            System.getProperty(QUALITY_PROPERTY));
+
+    /**
+     * Creates an oscillator with this quality.
+     *
+     * @param omega The angular frequency of the sine wave, in radians per second.
+     * @param from The index of the first sample to generate.
+     *
+     * @return The created oscillator.
+     */
+    public abstract Oscillator create(double omega, int from);
+
+    /**
+     * Gives the maximum absolute difference between the values given by the oscillators
+     * of this quality and those given by {@code Math.sin}.
+     *
+     * @return The maximum error of this quality.
+     */
+    public abstract double maxError();
+
+    /**
+     * Gives the quality named by the value of the {@code lensymphony.oscillator} system
+     * property, whatever its case.
+     * When this value does not name a quality, a warning is logged and {@link #EXACT} is
+     * used, as when the property is not set.
+     *
+     * @param name The value of the property, or {@code null} if it is not set.
+     *
+     * @return The named quality.
+     */
+    static OscillatorQuality parse(String name) {
+        if (name == null) {
+            return EXACT;
+        }
+        try {
+            return valueOf(name.strip().toUpperCase(Locale.ROOT));
+
+        } catch (IllegalArgumentException e) {
+            System.getLogger(OscillatorQuality.class.getName()).log(Level.WARNING,
+                    "Unknown oscillator quality \"{0}\" in {1}, using {2} instead", name,
+                    QUALITY_PROPERTY, EXACT);
+            return EXACT;
+        }
+    }
+
+    /**
+     * Gives the quality used by the synthesizers.
+     *
+     * @return The default quality.
+     */
+    public static OscillatorQuality getDefault() {
+        return defaultQuality;
+    }
+
+    /**
+     * Sets the quality used by the synthesizers.
+     * It should be set before rendering, as notes that are already cached keep the samples
+     * computed with the previous quality.
+     *
+     * @param quality The new default quality.
+     *
+     * @throws NullPointerException If {@code quality} is {@code null}.
+     */
+    public static void setDefault(OscillatorQuality quality) {
+        if (quality == null) {
+            throw new NullPointerException("quality");
+        }
+        defaultQuality = quality;
+    }
+
+}
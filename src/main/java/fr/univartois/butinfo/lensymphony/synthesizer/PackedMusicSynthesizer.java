@@ -0,0 +1,180 @@
+/**
+ * LenSymphony - A simple music synthesizer library developed in Lens, France.
+ * Copyright (c) 2025 Romain Wallon - Université d'Artois.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package fr.univartois.butinfo.lensymphony.synthesizer;
+
+import java.util.Arrays;
+
+import fr.univartois.butinfo.lensymphony.notes.PackedScore;
+
+/**
+ * The PackedMusicSynthesizer allows to synthesize a {@link PackedScore} into an audio
+ * stream.
+ * As the onset of each note is known in advance, the samples of each note are written
+ * straight at their place in the audio stream, which is allocated once.
+ * A note for which the synthesizer produces fewer samples than its length is followed by
+ * silence, and one for which it produces more is cut at its end.
+ * The synthesizers receive views of the notes of the score, so that they read the
+ * frequency and duration of each note from arrays rather than from a graph of objects.
+ * <p>
+ * When the score has several voices, the samples of their notes are added at their onset
+ * to the same audio stream, rather than being rendered in streams of their own.
+ * To keep some headroom, each note is divided by the number of voices sounding at its
+ * onset (see {@link PackedScore#getPolyphony(int)}): the notes of a chord share the
+ * volume of a single note, while a voice playing alone keeps its own volume, whatever the
+ * number of voices of the score.
+ *
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+public final class PackedMusicSynthesizer implements MusicSynthesizer {
+
+    /**
+     * The score to synthesize.
+     */
+    private final PackedScore score;
+
+    /**
+     * The synthesizer playing the notes.
+     */
+    private final NoteSynthesizer synthesizer;
+
+    /**
+     * The volume level for the notes.
+     */
+    private final double volume;
+
+    /**
+     * The synthesized audio samples as a double array.
+     */
+    private double[] samples = new double[0];
+
+    /**
+     * Creates a new PackedMusicSynthesizer.
+     *
+     * @param score The score to synthesize.
+     * @param synthesizer The synthesizer playing the notes.
+     * @param volume The volume level for the notes.
+     */
+    public PackedMusicSynthesizer(PackedScore score, NoteSynthesizer synthesizer, double volume) {
+        this.score = score;
+        this.synthesizer = synthesizer;
+        this.volume = volume;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.butinfo.lensymphony.synthesizer.MusicSynthesizer#synthesize()
+     */
+    @Override
+    public void synthesize() {
+        PackedNote note = new PackedNote(score);
+
+        double[] buffer = new double[score.getLength()];
+        if (score.getVoiceCount() > 1) {
+            mixVoices(note, buffer);
+            samples = buffer;
+            return;
+        }
+
+        for (int i = 0; i < score.size(); i++) {
+            note.moveTo(i);
+            int tempo = note.getTempo();
+            int onset = score.getOnset(i);
+            int length = score.getLength(i);
+            if (synthesizer.sampleCount(note, tempo) <= length) {
+                int n = synthesizer.synthesizeInto(note, tempo, volume, onset, buffer, onset);
+                if (n > length) {
+                    // The synthesizer has produced more samples than announced: they are cut.
+                    Arrays.fill(buffer, onset + length, onset + n, 0);
+                }
+
+            } else {
+                // The note would overlap the following one: it is cut at its end.
+                double[] sounds = synthesizer.synthesize(note, tempo, volume);
+                System.arraycopy(sounds, 0, buffer, onset, Math.min(sounds.length, length));
+            }
+        }
+        samples = buffer;
+    }
+
+    /**
+     * Synthesizes the notes of all the voices of the score, and adds them to a buffer.
+     * Each note is first synthesized into a scratch buffer, as it may overlap the notes
+     * of the other voices.
+     * Only the samples that fit into this buffer are written, and only those within the
+     * length of the note are mixed, whatever the number of samples the synthesizer
+     * produces.
+     * Each note is divided by the number of voices sounding at its onset.
+     *
+     * @param note The view on the notes of the score.
+     * @param buffer The buffer in which to mix the voices.
+     */
+    private void mixVoices(PackedNote note, double[] buffer) {
+        SampleKernels kernels = SampleKernels.getDefault();
+        double[] scratch = new double[0];
+        for (int i = 0; i < score.size(); i++) {
+            note.moveTo(i);
+            int tempo = note.getTempo();
+            int onset = score.getOnset(i);
+            int length = score.getLength(i);
+            int needed = Math.max(length, synthesizer.sampleCount(note, tempo));
+            if (scratch.length < needed) {
+                scratch = new double[needed];
+            }
+
+            // The note is cut at its end, as in a single voice.
+            int n = Math.min(length,
+                    synthesizer.synthesizeInto(note, tempo, volume, onset, scratch, 0));
+            kernels.mix(scratch, 0, buffer, onset, n, score.getPolyphony(i));
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.butinfo.lensymphony.synthesizer.MusicSynthesizer#getSamples()
+     */
+    @Override
+    public double[] getSamples() {
+        return samples;
+    }
+
+    /**
+     * Opens a stream reading the audio samples of this synthesizer.
+     * If the audio stream has not been synthesized yet, the notes are rendered block by
+     * block while the stream is read.
+     *
+     * @return A new stream of the audio samples.
+     */
+    @Override
+    public AudioSource openStream() {
+        if (samples.length > 0) {
+            return AudioSource.of(samples);
+        }
+        return AudioSource.of(score, synthesizer, volume);
+    }
+
+}
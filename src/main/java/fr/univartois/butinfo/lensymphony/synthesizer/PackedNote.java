@@ -0,0 +1,153 @@
+/**
+ * LenSymphony - A simple music synthesizer library developed in Lens, France.
+ * Copyright (c) 2025 Romain Wallon - Université d'Artois.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package fr.univartois.butinfo.lensymphony.synthesizer;
+
+import fr.univartois.butinfo.lensymphony.notes.Note;
+import fr.univartois.butinfo.lensymphony.notes.PackedScore;
+
+/**
+ * The PackedNote is a view of one of the notes of a {@link PackedScore}, which can be
+ * moved from one note to another.
+ * It allows to hand the notes of a packed score to the synthesizers without creating an
+ * object per note, and so that their calls to {@link Note#getDuration(int)} are simple
+ * array reads instead of walks through the decorators of the notes.
+ * The synthesizers also get the exact number of samples of each note from
+ * {@link Note#getSampleCount(int)}, rather than a number derived from its duration in
+ * milliseconds.
+ * <p>
+ * As a view is moved from one note to another, it must not be kept by the synthesizers
+ * once the samples of the note have been computed.
+ *
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+final class PackedNote implements Note {
+
+    /**
+     * The score containing the note.
+     */
+    private final PackedScore score;
+
+    /**
+     * The index of the note in the score.
+     */
+    private int index;
+
+    /**
+     * The tempo at which the note is played.
+     */
+    private int tempo;
+
+    /**
+     * Creates a new PackedNote, viewing the first note of a score.
+     *
+     * @param score The score containing the notes to view.
+     */
+    PackedNote(PackedScore score) {
+        this.score = score;
+        if (score.size() > 0) {
+            moveTo(0);
+        }
+    }
+
+    /**
+     * Moves this view to another note of the score.
+     *
+     * @param index The index of the note to view.
+     */
+    void moveTo(int index) {
+        this.index = index;
+        this.tempo = score.getTempo(index);
+    }
+
+    /**
+     * Gives the tempo at which the viewed note is played, which is the tempo the
+     * synthesizers must be given for this note.
+     *
+     * @return The tempo of the note, in beats per minute (BPM).
+     */
+    int getTempo() {
+        return tempo;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.butinfo.lensymphony.notes.Note#getFrequency()
+     */
+    @Override
+    public double getFrequency() {
+        return score.getFrequency(index);
+    }
+
+    /**
+     * Gives the duration of the viewed note.
+     *
+     * @param tempo The tempo in beats per minute (BPM), which must be the tempo at which
+     *        the note is played.
+     *
+     * @return The duration of the note, in milliseconds.
+     *
+     * @throws IllegalArgumentException If {@code tempo} is not the tempo of the note.
+     */
+    @Override
+    public int getDuration(int tempo) {
+        checkTempo(tempo);
+        return score.getDuration(index);
+    }
+
+    /**
+     * Gives the exact number of samples of the viewed note, as computed on the timeline of
+     * its score.
+     *
+     * @param tempo The tempo in beats per minute (BPM), which must be the tempo at which
+     *        the note is played.
+     *
+     * @return The number of samples of the note.
+     *
+     * @throws IllegalArgumentException If {@code tempo} is not the tempo of the note.
+     */
+    @Override
+    public int getSampleCount(int tempo) {
+        checkTempo(tempo);
+        return score.getLength(index);
+    }
+
+    /**
+     * Checks that the viewed note is played at a given tempo, as its duration is only
+     * known at this tempo.
+     *
+     * @param tempo The tempo to check.
+     *
+     * @throws IllegalArgumentException If {@code tempo} is not the tempo of the note.
+     */
+    private void checkTempo(int tempo) {
+        if (tempo != this.tempo) {
+            throw new IllegalArgumentException("The note is played at a tempo of "
+                    + this.tempo + " BPM, not " + tempo);
+        }
+    }
+
+}
@@ -0,0 +1,225 @@
+/**
+ * LenSymphony - A simple music synthesizer library developed in Lens, France.
+ * Copyright (c) 2025 Romain Wallon - Université d'Artois.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package fr.univartois.butinfo.lensymphony.synthesizer;
+
+import java.util.Arrays;
+
+import fr.univartois.butinfo.lensymphony.notes.PackedScore;
+
+/**
+ * The PackedScoreSource is an audio source rendering a {@link PackedScore} on the fly.
+ * Each note starts at the onset computed when the score was packed: if a synthesizer
+ * produces fewer samples than announced, the remaining samples of the note are silent,
+ * so that the following notes are not shifted, and if it produces more, the note is cut
+ * at its end.
+ * <p>
+ * A source renders a single voice of the score: the voices of a score are rendered by
+ * sources of their own, which are then added.
+ * Each note is divided by the number of voices sounding at its onset, as by
+ * {@link PackedMusicSynthesizer}.
+ *
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+final class PackedScoreSource implements AudioSource {
+
+    /**
+     * The score to render.
+     */
+    private final PackedScore score;
+
+    /**
+     * The synthesizer used to generate the audio samples of each note.
+     */
+    private final NoteSynthesizer synthesizer;
+
+    /**
+     * The volume of the notes.
+     */
+    private final double volume;
+
+    /**
+     * Whether the notes are rendered block by block, straight into the buffer of the
+     * reader.
+     */
+    private final boolean blocks;
+
+    /**
+     * The view of the note being read.
+     */
+    private final PackedNote note;
+
+    /**
+     * The index of the first note of the voice to render.
+     */
+    private final int first;
+
+    /**
+     * The index following the last note of the voice to render.
+     */
+    private final int end;
+
+    /**
+     * The index of the note being read, which is before {@link #first} before the first
+     * note.
+     */
+    private int index;
+
+    /**
+     * The samples of the note being read, when the notes are not rendered block by block.
+     */
+    private double[] current = new double[0];
+
+    /**
+     * The number of samples of the note being read that have actually been synthesized.
+     */
+    private int written;
+
+    /**
+     * The index of the next sample to read in the note being read.
+     */
+    private int position;
+
+    /**
+     * The number of voices sounding at the onset of the note being read, by which its
+     * samples are divided.
+     */
+    private int polyphony;
+
+    /**
+     * Creates a new PackedScoreSource rendering all the notes of a score made of a single
+     * voice.
+     *
+     * @param score The score to render.
+     * @param synthesizer The synthesizer used to generate the audio samples of each note.
+     * @param volume The volume of the notes.
+     */
+    PackedScoreSource(PackedScore score, NoteSynthesizer synthesizer, double volume) {
+        this(score, 0, synthesizer, volume);
+    }
+
+    /**
+     * Creates a new PackedScoreSource rendering a voice of a score.
+     *
+     * @param score The score to render.
+     * @param voice The index of the voice to render.
+     * @param synthesizer The synthesizer used to generate the audio samples of each note.
+     * @param volume The volume of the notes.
+     */
+    PackedScoreSource(PackedScore score, int voice, NoteSynthesizer synthesizer, double volume) {
+        this.score = score;
+        this.first = score.getVoiceStart(voice);
+        this.end = score.getVoiceStart(voice + 1);
+        this.index = first - 1;
+        this.synthesizer = synthesizer;
+        this.volume = volume;
+        this.blocks = synthesizer.supportsBlocks();
+        this.note = new PackedNote(score);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.butinfo.lensymphony.synthesizer.AudioSource#read(double[], int, int)
+     */
+    @Override
+    public int read(double[] buffer, int offset, int length) {
+        int read = 0;
+        while (read < length) {
+            if (((index < first) || (position == score.getLength(index))) && !nextNote()) {
+                break;
+            }
+
+            int n = Math.min(length - read, score.getLength(index) - position);
+            int from = offset + read;
+            int synthesized = Math.max(0, Math.min(n, written - position));
+            if (blocks && (synthesized > 0)) {
+                int actual = synthesizer.synthesizeBlock(note, note.getTempo(), volume,
+                        score.getOnset(index), position, buffer, from, synthesized);
+                if (actual < synthesized) {
+                    // The note has ended earlier than announced.
+                    written = position + actual;
+                    synthesized = actual;
+                }
+                divide(buffer, from, synthesized);
+            } else if (synthesized > 0) {
+                System.arraycopy(current, position, buffer, from, synthesized);
+            }
+            Arrays.fill(buffer, from + synthesized, from + n, 0);
+            position += n;
+            read += n;
+        }
+        return (read == 0) && (length > 0) ? -1 : read;
+    }
+
+    /**
+     * Moves to the next note of the score.
+     * Unless the notes are rendered block by block, the note is rendered in full.
+     *
+     * @return Whether there was a note left to render.
+     */
+    private boolean nextNote() {
+        if (index + 1 >= end) {
+            return false;
+        }
+
+        index++;
+        note.moveTo(index);
+        position = 0;
+        polyphony = score.getPolyphony(index);
+        int count = score.getLength(index);
+        if (blocks) {
+            written = count;
+            return true;
+        }
+
+        int needed = Math.max(count, synthesizer.sampleCount(note, note.getTempo()));
+        if (current.length < needed) {
+            current = new double[needed];
+        }
+        written = Math.min(count,
+                synthesizer.synthesizeInto(note, note.getTempo(), volume, score.getOnset(index),
+                        current, 0));
+        divide(current, 0, written);
+        return true;
+    }
+
+    /**
+     * Divides the samples of the note being read by the number of voices sounding at its
+     * onset.
+     *
+     * @param samples The array containing the samples.
+     * @param offset The index of the first sample to divide.
+     * @param length The number of samples to divide.
+     */
+    private void divide(double[] samples, int offset, int length) {
+        if (polyphony > 1) {
+            for (int i = offset; i < offset + length; i++) {
+                samples[i] /= polyphony;
+            }
+        }
+    }
+
+}
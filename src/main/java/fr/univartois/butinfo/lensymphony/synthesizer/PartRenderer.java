@@ -0,0 +1,164 @@
+/**
+ * LenSymphony - A simple music synthesizer library developed in Lens, France.
+ * Copyright (c) 2025 Romain Wallon - Université d'Artois.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+
+package fr.univartois.butinfo.lensymphony.synthesizer;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+
+import fr.univartois.butinfo.lensymphony.notes.Note;
+import fr.univartois.butinfo.lensymphony.notes.PackedScore;
+import fr.univartois.butinfo.lensymphony.notes.TempoMap;
+
+/**
+ * The PartRenderer renders the notes of a part on its own thread, once they have all been
+ * given, while the following parts are still being produced.
+ * The lines of the part are packed into a {@link PackedScore}, and synthesized in full
+ * by a {@link PackedMusicSynthesizer}.
+ * The samples are then read as an {@link AudioSource}, whose first read waits for the
+ * rendering to end.
+ * <p>
+ * The number of parts rendered at the same time is bounded by a semaphore, whose permit
+ * is taken when the renderer is created: the producer of the notes thus waits for a
+ * rendering to end, rather than starting more threads than the synthesis can keep up
+ * with.
+ *
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+final class PartRenderer implements AudioSource {
+
+    /**
+     * The latch released once the part has been rendered (or the rendering has failed).
+     * Releasing it publishes {@link #samples} and {@link #failure} to the reader.
+     */
+    private final CountDownLatch done = new CountDownLatch(1);
+
+    /**
+     * The rendered samples of the part.
+     */
+    private double[] samples = new double[0];
+
+    /**
+     * The failure that stopped the rendering, if any.
+     */
+    private Throwable failure;
+
+    /**
+     * The source reading the rendered samples, or {@code null} if it has not been read
+     * yet.
+     */
+    private AudioSource source;
+
+    /**
+     * Creates a new PartRenderer, and starts rendering the notes of a part.
+     * If all the permits of the renderers are taken, this constructor waits for one of
+     * them to be released.
+     *
+     * @param partId The ID of the rendered part, used to name the rendering thread.
+     * @param lines The notes of each line of the part.
+     * @param tempoMap The changes of tempo of the piece.
+     * @param synthesizer The note synthesizer used to generate the audio samples.
+     * @param volume The volume of the notes.
+     * @param permits The permits of the parts being rendered, which is released once the
+     *        part has been rendered.
+     */
+    PartRenderer(String partId, List<List<Note>> lines, TempoMap tempoMap,
+            NoteSynthesizer synthesizer, double volume, Semaphore permits) {
+        permits.acquireUninterruptibly();
+        Thread thread = new Thread(() -> {
+            try {
+                render(lines, tempoMap, synthesizer, volume);
+            } finally {
+                permits.release();
+            }
+        }, "lensymphony-part-" + partId);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Renders all the notes of the part.
+     *
+     * @param lines The notes of each line of the part.
+     * @param tempoMap The changes of tempo of the piece.
+     * @param synthesizer The note synthesizer used to generate the audio samples.
+     * @param volume The volume of the notes.
+     */
+    private void render(List<List<Note>> lines, TempoMap tempoMap, NoteSynthesizer synthesizer,
+            double volume) {
+        try {
+            PackedMusicSynthesizer part = new PackedMusicSynthesizer(
+                    PackedScore.ofVoices(lines, tempoMap), synthesizer, volume);
+            part.synthesize();
+            samples = part.getSamples();
+
+        } catch (RuntimeException | Error e) {
+            failure = e;
+        }
+
+        done.countDown();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.butinfo.lensymphony.synthesizer.AudioSource#read(double[], int, int)
+     */
+    @Override
+    public int read(double[] buffer, int offset, int length) {
+        if (source == null) {
+            source = AudioSource.of(awaitSamples());
+        }
+        return source.read(buffer, offset, length);
+    }
+
+    /**
+     * Waits for the part to be rendered.
+     *
+     * @return The rendered samples, or no sample if the reader has been interrupted.
+     *
+     * @throws RuntimeException If the rendering has failed.
+     */
+    private double[] awaitSamples() {
+        try {
+            done.await();
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new double[0];
+        }
+
+        if (failure instanceof RuntimeException e) {
+            throw e;
+        }
+        if (failure instanceof Error e) {
+            throw e;
+        }
+        return samples;
+    }
+
+}
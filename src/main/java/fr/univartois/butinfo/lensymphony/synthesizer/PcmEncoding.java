@@ -0,0 +1,105 @@
+/**
+ * LenSymphony - A simple music synthesizer library developed in Lens, France.
+ * Copyright (c) 2025 Romain Wallon - Université d'Artois.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package fr.univartois.butinfo.lensymphony.synthesizer;
+
+import static fr.univartois.butinfo.lensymphony.synthesizer.NoteSynthesizer.SAMPLE_RATE;
+
+import java.nio.ByteBuffer;
+
+import javax.sound.sampled.AudioFormat;
+
+/**
+ * The PcmEncoding class converts audio samples into 16-bit signed little-endian PCM
+ * data, which is the format in which LenSymphony plays and saves music.
+ *
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+public final class PcmEncoding {
+
+    /**
+     * The number of bytes used to encode a sample.
+     */
+    public static final int BYTES_PER_SAMPLE = Short.BYTES;
+
+    /**
+     * Disables instantiation.
+     */
+    private PcmEncoding() {
+        throw new AssertionError("No PcmEncoding instances for you!");
+    }
+
+    /**
+     * Gives the audio format of the encoded data.
+     *
+     * @return The mono, 16-bit signed little-endian audio format at
+     *         {@link NoteSynthesizer#SAMPLE_RATE}.
+     */
+    public static AudioFormat format() {
+        return new AudioFormat(SAMPLE_RATE, Short.SIZE, 1, true, false);
+    }
+
+    /**
+     * Encodes audio samples into PCM data, with the {@linkplain SampleKernels#getDefault()
+     * default kernels}.
+     *
+     * @param samples The samples to encode, with values in {@code [-1, 1]}.
+     * @param from The index of the first sample to encode.
+     * @param length The number of samples to encode.
+     * @param out The array in which to write the encoded data.
+     * @param offset The index in {@code out} at which to write the first byte.
+     */
+    public static void encode(double[] samples, int from, int length, byte[] out, int offset) {
+        SampleKernels.getDefault().encode(samples, from, length, out, offset);
+    }
+
+    /**
+     * Encodes audio samples into PCM data, written at the current position of a buffer.
+     * The buffer must use the little-endian byte order, and have enough room for the
+     * encoded samples.
+     *
+     * @param samples The samples to encode, with values in {@code [-1, 1]}.
+     * @param from The index of the first sample to encode.
+     * @param length The number of samples to encode.
+     * @param out The buffer in which to write the encoded data.
+     */
+    public static void encode(double[] samples, int from, int length, ByteBuffer out) {
+        for (int i = 0; i < length; i++) {
+            out.putShort(toShort(samples[from + i]));
+        }
+    }
+
+    /**
+     * Converts a sample into a 16-bit value.
+     *
+     * @param sample The sample to convert.
+     *
+     * @return The 16-bit value of the sample.
+     */
+    private static short toShort(double sample) {
+        return (short) (sample * 32767);
+    }
+
+}
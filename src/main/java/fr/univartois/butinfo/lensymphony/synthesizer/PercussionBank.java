@@ -0,0 +1,211 @@
+/**
+ * LenSymphony - A simple music synthesizer library developed in Lens, France.
+ * Copyright (c) 2025 Romain Wallon - Université d'Artois.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package fr.univartois.butinfo.lensymphony.synthesizer;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The PercussionBank keeps a few variations of the sound of a percussion, so that a hit is
+ * copied from the bank instead of being computed sample by sample.
+ * <p>
+ * The sound of a hit does not depend on the tempo or on the duration of the note, which
+ * only decide when it is cut, and its volume only scales it.
+ * The bank thus stores the first samples of a few hits played at full volume, each with
+ * its own noise, and each note is given one of them, selected from its own seed and from
+ * its position in its part, so that repeated hits of the same note do not all sound the
+ * same, while each of them sounds the same from one rendering to another.
+ * The samples of a note lasting longer than the bank are computed as they were stored.
+ * <p>
+ * Each variation is only computed when it is first needed, and only up to the end of the
+ * longest hit played from it so far, so that a bank given to a part with short hits stays
+ * small.
+ *
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+final class PercussionBank {
+
+    /**
+     * The number of variations of the hit.
+     */
+    static final int VARIANTS = 8;
+
+    /**
+     * The maximum number of samples stored for each variation (one second).
+     */
+    static final int LENGTH = NoteSynthesizer.SAMPLE_RATE;
+
+    /**
+     * The minimum number of samples stored for a variation, so that a variation played
+     * block by block is not extended for each block.
+     */
+    private static final int MIN_LENGTH = 4096;
+
+    /**
+     * The Shape computes the samples of a hit played at full volume.
+     */
+    @FunctionalInterface
+    interface Shape {
+
+        /**
+         * Computes a sample of a hit played at full volume.
+         *
+         * @param index The index of the sample in the hit.
+         * @param noise The noise of the sample, in {@code [-1, 1)}.
+         *
+         * @return The value of the sample.
+         */
+        double sample(int index, double noise);
+
+    }
+
+    /**
+     * The shape of the hit.
+     */
+    private final Shape shape;
+
+    /**
+     * The seeds of the noise of each variation.
+     */
+    private final long[] seeds = new long[VARIANTS];
+
+    /**
+     * The samples stored for each variation, or {@code null} until they are needed.
+     */
+    private final AtomicReferenceArray<double[]> variants =
+            new AtomicReferenceArray<>(VARIANTS);
+
+    /**
+     * Creates a new PercussionBank.
+     *
+     * @param noise The source of the noise of the hits.
+     * @param shape The shape of the hit.
+     */
+    PercussionBank(NoiseSource noise, Shape shape) {
+        this.shape = shape;
+        for (int v = 0; v < VARIANTS; v++) {
+            seeds[v] = noise.seed(v);
+        }
+    }
+
+    /**
+     * Gives the variation of the hit played by a note.
+     *
+     * @param seed The seed of the noise of the note, as given by its {@link NoiseSource}.
+     * @param onset The index in its part of the first sample of the note.
+     *
+     * @return The index of the variation of the note.
+     */
+    static int variantOf(long seed, long onset) {
+        return (int) Math.floorMod(NoiseSource.seed(seed, onset), (long) VARIANTS);
+    }
+
+    /**
+     * Gives the first samples of a variation of the hit, computing them if needed.
+     *
+     * @param variant The index of the variation.
+     * @param length The number of samples needed, which must not exceed {@link #LENGTH}.
+     *
+     * @return The samples stored for the variation, of which there are at least
+     *         {@code length}.
+     */
+    double[] variant(int variant, int length) {
+        double[] samples = variants.get(variant);
+        if ((samples == null) || (samples.length < length)) {
+            samples = extend(variant, length);
+        }
+        return samples;
+    }
+
+    /**
+     * Gives the number of samples currently stored for a variation of the hit.
+     *
+     * @param variant The index of the variation.
+     *
+     * @return The number of stored samples.
+     */
+    int stored(int variant) {
+        double[] samples = variants.get(variant);
+        return (samples == null) ? 0 : samples.length;
+    }
+
+    /**
+     * Extends the samples stored for a variation of the hit.
+     * The stored samples are at least doubled, so that a hit played block by block only
+     * extends them a few times.
+     *
+     * @param variant The index of the variation.
+     * @param length The number of samples needed, which must not exceed {@link #LENGTH}.
+     *
+     * @return The samples stored for the variation, of which there are at least
+     *         {@code length}.
+     */
+    private synchronized double[] extend(int variant, int length) {
+        double[] samples = variants.get(variant);
+        int stored = (samples == null) ? 0 : samples.length;
+        if (stored >= length) {
+            // Another thread has extended the variation meanwhile.
+            return samples;
+        }
+
+        int newLength = Math.min(LENGTH, Math.max(length, Math.max(MIN_LENGTH, 2 * stored)));
+        double[] extended = (samples == null) ? new double[newLength]
+                : Arrays.copyOf(samples, newLength);
+        for (int i = stored; i < newLength; i++) {
+            extended[i] = shape.sample(i, NoiseSource.noise(seeds[variant], i));
+        }
+        variants.set(variant, extended);
+        return extended;
+    }
+
+    /**
+     * Writes a block of the hit played by a note into the given buffer.
+     *
+     * @param seed The seed of the note, which selects the variation of the hit.
+     * @param onset The index in its part of the first sample of the note, which also
+     *        selects the variation of the hit.
+     * @param gain The gain applied to the hit played at full volume.
+     * @param from The index in the note of the first sample to write.
+     * @param out The buffer in which to write the samples.
+     * @param offset The index of the first sample in the buffer.
+     * @param length The number of samples to write.
+     */
+    void play(long seed, long onset, double gain, int from, double[] out, int offset,
+            int length) {
+        int variant = variantOf(seed, onset);
+        int stored = Math.max(0, Math.min(length, LENGTH - from));
+
+        if (stored > 0) {
+            double[] samples = variant(variant, from + stored);
+            SampleKernels.getDefault().scale(samples, from, out, offset, stored, gain);
+        }
+        for (int i = stored; i < length; i++) {
+            int index = from + i;
+            out[offset + i] = gain * shape.sample(index, NoiseSource.noise(seeds[variant], index));
+        }
+    }
+
+}
@@ -0,0 +1,238 @@
+/**
+ * LenSymphony - A simple music synthesizer library developed in Lens, France.
+ * Copyright (c) 2025 Romain Wallon - Université d'Artois.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package fr.univartois.butinfo.lensymphony.synthesizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+import fr.univartois.butinfo.lensymphony.notes.Note;
+import fr.univartois.butinfo.lensymphony.notes.TempoMap;
+
+/**
+ * The PipelinedMusicSynthesizer synthesizes the parts of a piece while its notes are
+ * still being produced (typically, by a parser).
+ * The notes of a part may be played on several lines (e.g., for its chords).
+ * Each part is rendered on its own thread as soon as all its notes have been added (see
+ * {@link #endParts(TempoMap)}), and the parts are mixed while the stream given by
+ * {@link #openStream()} is read.
+ * The lines of each part are placed and added as by {@link PackedMusicSynthesizer},
+ * following the changes of tempo known when the part ends, so that the samples are
+ * the same as those of the parts synthesized once the whole piece has been read, unless
+ * a later part changes the tempo at a position which has already been rendered.
+ * <p>
+ * As the lines of a part can only be placed once they are complete, each part is
+ * rendered in full, while the following parts are produced: when the parts are written
+ * one after the other (as in partwise MusicXML files), a part is synthesized while the
+ * next one is parsed.
+ * The rendered samples are kept until they are mixed, so that the memory used is that of
+ * the parts synthesized once the whole piece has been read.
+ * At most as many parts as there are processors are rendered at the same time: when
+ * this many parts are being rendered, {@link #endParts(TempoMap)} waits for one of them
+ * to end, so that the producer of the notes does not get ahead of the synthesis.
+ * <p>
+ * As all the parts must be known before they can be mixed, the stream can only be
+ * opened once all the notes have been added (see {@link #finish(TempoMap)}).
+ *
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+public final class PipelinedMusicSynthesizer implements MusicSynthesizer {
+
+    /**
+     * The maximum number of parts rendered at the same time.
+     */
+    static final int MAX_RENDERING = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * The function giving the note synthesizer of each part (given by its ID).
+     */
+    private final Function<String, NoteSynthesizer> synthesizers;
+
+    /**
+     * The volume of the notes.
+     */
+    private final double volume;
+
+    /**
+     * The notes of the parts which are not rendered yet, given by part ID and then by line
+     * ID.
+     * The lines are ordered by ID, as the parts read by the parsers.
+     */
+    private final Map<String, Map<String, List<Note>>> pending = new TreeMap<>();
+
+    /**
+     * The renderers of the parts, ordered by part ID.
+     */
+    private final Map<String, PartRenderer> renderers = new TreeMap<>();
+
+    /**
+     * The permits of the parts being rendered.
+     */
+    private final Semaphore rendering = new Semaphore(MAX_RENDERING);
+
+    /**
+     * Whether all the notes have been added.
+     */
+    private boolean finished;
+
+    /**
+     * Whether the stream of the renderers has been opened.
+     */
+    private boolean opened;
+
+    /**
+     * The synthesized audio samples as a double array.
+     */
+    private double[] samples = new double[0];
+
+    /**
+     * Creates a new PipelinedMusicSynthesizer.
+     *
+     * @param synthesizers The function giving the note synthesizer of each part (given by
+     *        its ID).
+     *        The synthesizers must be safe to use from several threads.
+     * @param volume The volume of the notes.
+     */
+    public PipelinedMusicSynthesizer(Function<String, NoteSynthesizer> synthesizers,
+            double volume) {
+        this.synthesizers = synthesizers;
+        this.volume = volume;
+    }
+
+    /**
+     * Adds a note at the end of a line of a part.
+     * The notes must all be added from the same thread.
+     *
+     * @param partId The ID of the part.
+     * @param lineId The ID of the line of the part on which the note is played.
+     * @param note The note to add.
+     *
+     * @throws IllegalStateException If the part has already been rendered, or if
+     *         {@link #finish(TempoMap)} has already been called.
+     */
+    public void addNote(String partId, String lineId, Note note) {
+        if (finished) {
+            throw new IllegalStateException("All the notes have already been added");
+        }
+        if (renderers.containsKey(partId)) {
+            throw new IllegalStateException("Part " + partId + " has already been rendered");
+        }
+        pending.computeIfAbsent(partId, id -> new TreeMap<>())
+                .computeIfAbsent(lineId, id -> new ArrayList<>()).add(note);
+    }
+
+    /**
+     * Notifies this synthesizer that all the notes of the parts to which notes have been
+     * added so far have been added, and starts rendering these parts.
+     * If as many parts as there are processors are already being rendered, this method
+     * waits for the rendering of some of them to end.
+     *
+     * @param tempoMap The changes of tempo of the piece known so far.
+     */
+    public void endParts(TempoMap tempoMap) {
+        for (Map.Entry<String, Map<String, List<Note>>> part : pending.entrySet()) {
+            String partId = part.getKey();
+            List<List<Note>> lines = new ArrayList<>(part.getValue().values());
+            renderers.put(partId, new PartRenderer(partId, lines, tempoMap,
+                    synthesizers.apply(partId), volume, rendering));
+        }
+        pending.clear();
+    }
+
+    /**
+     * Notifies this synthesizer that all the notes have been added, so that the parts
+     * can be mixed.
+     * The parts which are not rendered yet are rendered with the given changes of tempo.
+     * Calling this method more than once has no effect.
+     *
+     * @param tempoMap The changes of tempo of the whole piece.
+     */
+    public void finish(TempoMap tempoMap) {
+        if (!finished) {
+            endParts(tempoMap);
+            finished = true;
+        }
+    }
+
+    /**
+     * Reads the whole mixed stream into an array, so that it can be read again.
+     */
+    @Override
+    public void synthesize() {
+        AudioSource source = openStream();
+        double[] buffer = new double[AudioStreamer.BLOCK_FRAMES];
+        int length = 0;
+        for (int n = source.read(buffer, length, AudioStreamer.BLOCK_FRAMES); n >= 0;
+                n = source.read(buffer, length, AudioStreamer.BLOCK_FRAMES)) {
+            length += n;
+            if (buffer.length - length < AudioStreamer.BLOCK_FRAMES) {
+                buffer = Arrays.copyOf(buffer, 2 * buffer.length);
+            }
+        }
+        samples = Arrays.copyOf(buffer, length);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.butinfo.lensymphony.synthesizer.MusicSynthesizer#getSamples()
+     */
+    @Override
+    public double[] getSamples() {
+        return samples;
+    }
+
+    /**
+     * Opens a stream reading the audio samples of this synthesizer.
+     * If the audio stream has not been synthesized yet, the parts are mixed as soon as
+     * they have been rendered by their own threads.
+     * In this case, the stream can only be opened once.
+     *
+     * @return A new stream of the audio samples.
+     *
+     * @throws IllegalStateException If not all the notes have been added, or if the
+     *         rendered parts have already been read.
+     */
+    @Override
+    public AudioSource openStream() {
+        if (samples.length > 0) {
+            return AudioSource.of(samples);
+        }
+        if (!finished) {
+            throw new IllegalStateException("Some notes may still be added");
+        }
+        if (opened) {
+            throw new IllegalStateException("The rendered parts have already been read");
+        }
+        opened = true;
+        return AudioSource.mix(new ArrayList<>(renderers.values()));
+    }
+
+}
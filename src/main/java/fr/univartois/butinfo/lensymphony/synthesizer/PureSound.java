@@ -8,7 +8,7 @@ import fr.univartois.butinfo.lensymphony.notes.Note;
  *
  * @author antoine mouille
  */
-public class PureSound implements NoteSynthesizer{
+public class PureSound implements FusibleSynthesizer{
     public static final int SAMPLE_RATE = 44100;
     /**
      * this function synthesize a pure sound
@@ -20,19 +20,102 @@ public class PureSound implements NoteSynthesizer{
      * @return an array of every sample of the synthesized pure sound
      */
     public double[] synthesize(Note note, int tempo, double volume){
+        double[] sounds = new double[sampleCount(note, tempo)];
+        synthesizeInto(note, tempo, volume, sounds, 0);
+        return sounds;
+    }
+
+    /**
+     * this function synthesize a pure sound directly into the given buffer
+     *
+     * @param note the reference note to get the frequencies
+     * @param tempo the tempo in beats per minutes (BPM)
+     * @param volume the volume level for the note (0.0 to 1.0)
+     * @param out the buffer in which to write the samples
+     * @param offset the index of the first sample in the buffer
+     *
+     * @return the number of samples written in the buffer
+     */
+    @Override
+    public int synthesizeInto(Note note, int tempo, double volume, double[] out, int offset){
+        return synthesizeBlock(note, tempo, volume, 0, out, offset, sampleCount(note, tempo));
+    }
+
+    /**
+     * this function synthesize a block of a pure sound directly into the given buffer
+     *
+     * @param note the reference note to get the frequencies
+     * @param tempo the tempo in beats per minutes (BPM)
+     * @param volume the volume level for the note (0.0 to 1.0)
+     * @param from the index in the note of the first sample to compute
+     * @param out the buffer in which to write the samples
+     * @param offset the index of the first sample in the buffer
+     * @param length the maximum number of samples to write
+     *
+     * @return the number of samples written in the buffer
+     */
+    @Override
+    public int synthesizeBlock(Note note, int tempo, double volume, int from, double[] out,
+            int offset, int length){
         double frequency = note.getFrequency();
 
-        double duration = note.getDuration(tempo)/1000.0;
+        int nbSample = Math.max(0, Math.min(length, sampleCount(note, tempo) - from));
 
-        int nbSample = (int) (duration*SAMPLE_RATE);
+        write(Oscillator.of(2*Math.PI*frequency, from), volume, out, offset, nbSample);
 
-        double[] sounds = new double[nbSample];
+        return nbSample;
+    }
 
-        for(int i=0;i<nbSample;i++){
-            double t = (double) i /SAMPLE_RATE;
-            sounds[i] = volume * Math.sin(2*Math.PI*frequency*t);
+    /**
+     * this function creates the stage writing the samples of a pure sound, from a given
+     * index of the note
+     *
+     * @param note the reference note to get the frequencies
+     * @param tempo the tempo in beats per minutes (BPM)
+     * @param volume the volume level for the note (0.0 to 1.0)
+     * @param from the index in the note of the first sample to compute
+     *
+     * @return the stage writing the samples of the note
+     */
+    @Override
+    public SampleStage stage(Note note, int tempo, double volume, int from){
+        Oscillator oscillator = Oscillator.of(2*Math.PI*note.getFrequency(), from);
+        return (buffer, offset, length) -> write(oscillator, volume, buffer, offset, length);
+    }
+
+    /**
+     * this function writes the next samples of a pure sound into the given buffer
+     *
+     * @param oscillator the oscillator giving the next values of the sine wave
+     * @param volume the volume level for the note (0.0 to 1.0)
+     * @param out the buffer in which to write the samples
+     * @param offset the index of the first sample in the buffer
+     * @param length the number of samples to write
+     */
+    private static void write(Oscillator oscillator, double volume, double[] out, int offset,
+            int length){
+        for(int i=0;i<length;i++){
+            out[offset+i] = volume * oscillator.next();
         }
+    }
 
-        return sounds;
+    /**
+     * this function tells that a pure sound is always the same for the same note
+     *
+     * @return always {@code true}
+     */
+    @Override
+    public boolean isDeterministic(){
+        return true;
+    }
+
+    /**
+     * this function tells that any block of a pure sound can be computed on its own
+     *
+     * @return always {@code true}
+     */
+    @Override
+    public boolean supportsBlocks(){
+        return true;
     }
 }
@@ -0,0 +1,117 @@
+/**
+ * LenSymphony - A simple music synthesizer library developed in Lens, France.
+ * Copyright (c) 2025 Romain Wallon - Université d'Artois.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package fr.univartois.butinfo.lensymphony.synthesizer;
+
+/**
+ * The RotationOscillator computes a sine wave by rotating a point of the unit circle by
+ * the same angle for each sample.
+ * The point is recomputed exactly every {@link #RESYNC_PERIOD} samples, so that the
+ * rounding errors of the rotations stay bounded whatever the length of the note.
+ *
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ *
+ * @see OscillatorQuality#ROTATION
+ */
+final class RotationOscillator implements Oscillator {
+
+    /**
+     * The number of samples after which the point is recomputed exactly.
+     */
+    static final int RESYNC_PERIOD = 1024;
+
+    /**
+     * The angular frequency of the sine wave, in radians per second.
+     */
+    private final double omega;
+
+    /**
+     * The cosine of the angle of a rotation.
+     */
+    private final double cosStep;
+
+    /**
+     * The sine of the angle of a rotation.
+     */
+    private final double sinStep;
+
+    /**
+     * The cosine of the current angle.
+     */
+    private double cos;
+
+    /**
+     * The sine of the current angle.
+     */
+    private double sin;
+
+    /**
+     * The index of the next sample.
+     */
+    private int index;
+
+    /**
+     * The number of samples that remain before the point is recomputed.
+     */
+    private int remaining;
+
+    /**
+     * Creates a new RotationOscillator.
+     *
+     * @param omega The angular frequency of the sine wave, in radians per second.
+     * @param from The index of the first sample to generate.
+     */
+    RotationOscillator(double omega, int from) {
+        double step = omega / NoteSynthesizer.SAMPLE_RATE;
+        this.omega = omega;
+        this.cosStep = Math.cos(step);
+        this.sinStep = Math.sin(step);
+        this.index = from;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.butinfo.lensymphony.synthesizer.Oscillator#next()
+     */
+    @Override
+    public double next() {
+        if (remaining == 0) {
+            double angle = omega * ((double) index / NoteSynthesizer.SAMPLE_RATE);
+            cos = Math.cos(angle);
+            sin = Math.sin(angle);
+            remaining = RESYNC_PERIOD;
+        }
+
+        double value = sin;
+        double c = cos;
+        sin = (value * cosStep) + (c * sinStep);
+        cos = (c * cosStep) - (value * sinStep);
+        index++;
+        remaining--;
+        return value;
+    }
+
+}
@@ -0,0 +1,368 @@
+/**
+ * LenSymphony - A simple music synthesizer library developed in Lens, France.
+ * Copyright (c) 2025 Romain Wallon - Université d'Artois.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package fr.univartois.butinfo.lensymphony.synthesizer;
+
+import java.lang.System.Logger.Level;
+import java.util.Locale;
+
+/**
+ * The SampleKernels enumeration lists the backends that can run the element-wise loops
+ * over the samples of the synthesizers, such as applying a gain, mixing parts, adding
+ * noise or encoding the samples.
+ * <p>
+ * Both backends produce exactly the same samples.
+ * The {@link #VECTOR} backend is built apart (with {@code -PvectorKernels}), as it needs
+ * the incubating {@code jdk.incubator.vector} module.
+ * It is only available when it has been built and this module is added to the JVM (with
+ * {@code --add-modules jdk.incubator.vector}); otherwise, the {@link #SCALAR} backend is
+ * used instead.
+ * <p>
+ * The default backend is read from the {@code lensymphony.kernels} system property (e.g.,
+ * {@code -Dlensymphony.kernels=scalar}), and is {@link #VECTOR} when it is not set (or
+ * does not name a backend) and this backend is available.
+ *
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+public enum SampleKernels {
+
+    /**
+     * The reference backend, which processes the samples one at a time, and lets the JIT
+     * compiler vectorize the loops it can.
+     */
+    SCALAR {
+
+        @Override
+        public boolean isAvailable() {
+            return true;
+        }
+
+        @Override
+        public void scale(double[] src, int srcOffset, double[] dst, int dstOffset,
+                int length, double gain) {
+            for (int i = 0; i < length; i++) {
+                dst[dstOffset + i] = src[srcOffset + i] * gain;
+            }
+        }
+
+        @Override
+        public void mix(double[] part, int partOffset, double[] mixed, int mixedOffset,
+                int length, int count) {
+            for (int i = 0; i < length; i++) {
+                mixed[mixedOffset + i] += part[partOffset + i] / count;
+            }
+        }
+
+        @Override
+        public void addNoise(long seed, int from, double amplitude, double[] buffer,
+                int offset, int length) {
+            for (int i = 0; i < length; i++) {
+                buffer[offset + i] += amplitude * NoiseSource.noise(seed, from + i);
+            }
+        }
+
+        @Override
+        public void encode(double[] samples, int from, int length, byte[] out, int offset) {
+            for (int i = 0; i < length; i++) {
+                short sampleShort = (short) (samples[from + i] * 32767);
+                out[offset + i * 2] = (byte) (sampleShort & 0xFF);
+                out[offset + i * 2 + 1] = (byte) ((sampleShort >> 8) & 0xFF);
+            }
+        }
+
+    },
+
+    /**
+     * The SIMD backend, which processes the samples by vectors with the Vector API of the
+     * JDK.
+     * Its kernels throw an {@link IllegalStateException} when it is not available.
+     */
+    VECTOR {
+
+        @Override
+        public boolean isAvailable() {
+            return VECTOR_LOOPS != null;
+        }
+
+        @Override
+        public void scale(double[] src, int srcOffset, double[] dst, int dstOffset,
+                int length, double gain) {
+            vectorLoops().scale(src, srcOffset, dst, dstOffset, length, gain);
+        }
+
+        @Override
+        public void mix(double[] part, int partOffset, double[] mixed, int mixedOffset,
+                int length, int count) {
+            vectorLoops().mix(part, partOffset, mixed, mixedOffset, length, count);
+        }
+
+        @Override
+        public void addNoise(long seed, int from, double amplitude, double[] buffer,
+                int offset, int length) {
+            vectorLoops().addNoise(seed, from, amplitude, buffer, offset, length);
+        }
+
+        @Override
+        public void encode(double[] samples, int from, int length, byte[] out, int offset) {
+            // The conversions of vectors of doubles into shorts are slower than the scalar
+            // loop, which is thus kept.
+            SCALAR.encode(samples, from, length, out, offset);
+        }
+
+    };
+
+    /**
+     * The system property giving the default backend.
+     */
+    private static final String KERNELS_PROPERTY = "lensymphony.kernels";
+
+    /**
+     * The name of the class implementing the loops of the {@link #VECTOR} backend.
+     */
+    private static final String VECTOR_KERNELS = SampleKernels.class.getPackageName()
+            + ".VectorKernels";
+
+    /**
+     * The loops of the {@link #VECTOR} backend, or {@code null} if they cannot be used by
+     * this JVM.
+     */
+    private static final Loops VECTOR_LOOPS = loadVectorLoops();
+
+    /**
+     * The backend used by the synthesizers.
+     */
+    private static volatile SampleKernels defaultKernels = available(
+            parse(System.getProperty(KERNELS_PROPERTY)));
+
+    /**
+     * The Loops are the kernels of a backend which are implemented apart from this
+     * enumeration, as they need a module which may not be available.
+     */
+    interface Loops {
+
+        /**
+         * Multiplies samples by a gain (see {@link SampleKernels#scale}).
+         *
+         * @param src The array containing the samples to scale.
+         * @param srcOffset The index of the first sample to scale.
+         * @param dst The array in which to write the scaled samples.
+         * @param dstOffset The index at which to write the first scaled sample.
+         * @param length The number of samples to scale.
+         * @param gain The gain to apply.
+         */
+        void scale(double[] src, int srcOffset, double[] dst, int dstOffset, int length,
+                double gain);
+
+        /**
+         * Adds the samples of a part to a mix averaging several parts (see
+         * {@link SampleKernels#mix}).
+         *
+         * @param part The array containing the samples of the part.
+         * @param partOffset The index of the first sample of the part to add.
+         * @param mixed The array containing the mix.
+         * @param mixedOffset The index of the first sample of the mix to add to.
+         * @param length The number of samples to add.
+         * @param count The number of parts in the mix.
+         */
+        void mix(double[] part, int partOffset, double[] mixed, int mixedOffset, int length,
+                int count);
+
+        /**
+         * Adds white noise to the samples of a note (see {@link SampleKernels#addNoise}).
+         *
+         * @param seed The seed of the noise of the note.
+         * @param from The index in the note of the first sample.
+         * @param amplitude The amplitude of the noise.
+         * @param buffer The buffer containing the samples.
+         * @param offset The index of the first sample in the buffer.
+         * @param length The number of samples to which to add noise.
+         */
+        void addNoise(long seed, int from, double amplitude, double[] buffer, int offset,
+                int length);
+
+    }
+
+    /**
+     * Checks whether this backend can be used by this JVM.
+     *
+     * @return Whether this backend is available.
+     */
+    public abstract boolean isAvailable();
+
+    /**
+     * Multiplies samples by a gain, i.e., computes {@code dst[i] = src[i] * gain}.
+     * The source and destination may be the same array, to scale samples in place.
+     *
+     * @param src The array containing the samples to scale.
+     * @param srcOffset The index of the first sample to scale.
+     * @param dst The array in which to write the scaled samples.
+     * @param dstOffset The index at which to write the first scaled sample.
+     * @param length The number of samples to scale.
+     * @param gain The gain to apply.
+     */
+    public abstract void scale(double[] src, int srcOffset, double[] dst, int dstOffset,
+            int length, double gain);
+
+    /**
+     * Adds the samples of a part to a mix averaging several parts, i.e., computes
+     * {@code mixed[i] += part[i] / count}.
+     *
+     * @param part The array containing the samples of the part.
+     * @param partOffset The index of the first sample of the part to add.
+     * @param mixed The array containing the mix.
+     * @param mixedOffset The index of the first sample of the mix to add to.
+     * @param length The number of samples to add.
+     * @param count The number of parts in the mix.
+     */
+    public abstract void mix(double[] part, int partOffset, double[] mixed, int mixedOffset,
+            int length, int count);
+
+    /**
+     * Adds white noise to the samples of a note, i.e., computes
+     * {@code buffer[i] += amplitude * NoiseSource.noise(seed, from + i)}.
+     *
+     * @param seed The seed of the noise of the note.
+     * @param from The index in the note of the first sample.
+     * @param amplitude The amplitude of the noise.
+     * @param buffer The buffer containing the samples.
+     * @param offset The index of the first sample in the buffer.
+     * @param length The number of samples to which to add noise.
+     *
+     * @see NoiseSource#noise(long, int)
+     */
+    public abstract void addNoise(long seed, int from, double amplitude, double[] buffer,
+            int offset, int length);
+
+    /**
+     * Encodes audio samples into 16-bit signed little-endian PCM data.
+     *
+     * @param samples The samples to encode, with values in {@code [-1, 1]}.
+     * @param from The index of the first sample to encode.
+     * @param length The number of samples to encode.
+     * @param out The array in which to write the encoded data.
+     * @param offset The index in {@code out} at which to write the first byte.
+     *
+     * @see PcmEncoding
+     */
+    public abstract void encode(double[] samples, int from, int length, byte[] out,
+            int offset);
+
+    /**
+     * Loads the loops of the {@link #VECTOR} backend, if the Vector API can be used by this
+     * JVM and these loops have been built.
+     * They are loaded by reflection, so that the other classes do not depend on the
+     * {@code jdk.incubator.vector} module.
+     *
+     * @return The loops of the vector backend, or {@code null} if they cannot be used.
+     */
+    private static Loops loadVectorLoops() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return null;
+        }
+        try {
+            return (Loops) Class.forName(VECTOR_KERNELS).getDeclaredConstructor().newInstance();
+
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // The vector kernels have not been built with the other classes.
+            return null;
+        }
+    }
+
+    /**
+     * Gives the loops of the {@link #VECTOR} backend.
+     *
+     * @return The loops of the vector backend.
+     *
+     * @throws IllegalStateException If the vector backend is not available.
+     */
+    private static Loops vectorLoops() {
+        if (VECTOR_LOOPS == null) {
+            throw new IllegalStateException("The vector kernels are not available");
+        }
+        return VECTOR_LOOPS;
+    }
+
+    /**
+     * Gives the backend named by the value of the {@code lensymphony.kernels} system
+     * property, whatever its case.
+     * When this value does not name a backend, a warning is logged and {@link #VECTOR} is
+     * used, as when the property is not set.
+     *
+     * @param name The value of the property, or {@code null} if it is not set.
+     *
+     * @return The named backend.
+     */
+    static SampleKernels parse(String name) {
+        if (name == null) {
+            return VECTOR;
+        }
+        try {
+            return valueOf(name.strip().toUpperCase(Locale.ROOT));
+
+        } catch (IllegalArgumentException e) {
+            System.getLogger(SampleKernels.class.getName()).log(Level.WARNING,
+                    "Unknown kernels \"{0}\" in {1}, using {2} instead", name,
+                    KERNELS_PROPERTY, VECTOR);
+            return VECTOR;
+        }
+    }
+
+    /**
+     * Gives the backend to use in place of the given one, which is the scalar backend when
+     * the given one is not available.
+     *
+     * @param kernels The requested backend.
+     *
+     * @return The backend to use.
+     */
+    private static SampleKernels available(SampleKernels kernels) {
+        return kernels.isAvailable() ? kernels : SCALAR;
+    }
+
+    /**
+     * Gives the backend used by the synthesizers.
+     *
+     * @return The default backend.
+     */
+    public static SampleKernels getDefault() {
+        return defaultKernels;
+    }
+
+    /**
+     * Sets the backend used by the synthesizers.
+     * If the given backend is not available, the scalar backend is used instead.
+     *
+     * @param kernels The new default backend.
+     *
+     * @throws NullPointerException If {@code kernels} is {@code null}.
+     */
+    public static void setDefault(SampleKernels kernels) {
+        if (kernels == null) {
+            throw new NullPointerException("kernels");
+        }
+        defaultKernels = available(kernels);
+    }
+
+}
@@ -0,0 +1,56 @@
+/**
+ * LenSymphony - A simple music synthesizer library developed in Lens, France.
+ * Copyright (c) 2025 Romain Wallon - Université d'Artois.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package fr.univartois.butinfo.lensymphony.synthesizer;
+
+/**
+ * The SampleStage computes the samples of a note for one of the layers of a synthesizer,
+ * from the samples computed by the layers below it.
+ * A stage is created for a note by its {@link FusibleSynthesizer}, and processes its
+ * samples one block after the other, keeping its state (such as the phase of its
+ * oscillators) from one block to the next.
+ * <p>
+ * As a stage may depend on the note it has been created for, it must not be kept once the
+ * samples of the note have been computed.
+ * A stage is created once for a note, and not once for each of its blocks, so that
+ * rendering a note block by block does not allocate a stage for each block.
+ *
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ *
+ * @see FusedSynthesizer
+ */
+interface SampleStage {
+
+    /**
+     * Processes in place the next samples of the note.
+     *
+     * @param buffer The buffer containing the samples computed by the layers below this
+     *        stage, and in which to write the samples of this stage.
+     * @param offset The index of the first sample to process in the buffer.
+     * @param length The number of samples to process.
+     */
+    void process(double[] buffer, int offset, int length);
+
+}
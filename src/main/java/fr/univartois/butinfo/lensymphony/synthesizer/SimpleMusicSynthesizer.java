@@ -85,15 +85,34 @@ public final class SimpleMusicSynthesizer implements MusicSynthesizer {
      */
     @Override
     public void synthesize() {
+        // Computing the length of the audio stream first, so that it is allocated once.
+        int totalLength = 0;
         for (Note note : notes) {
-            // Synthesizing the sound samples for this note.
-            double[] noteSamples = synthesizer.synthesize(note, tempo, default_volume);
+            totalLength += synthesizer.sampleCount(note, tempo);
+        }
+
+        double[] buffer = new double[totalLength];
+        int position = 0;
+        for (Note note : notes) {
+            // Synthesizing the sound samples for this note straight into its slice.
+            int count = synthesizer.sampleCount(note, tempo);
+            int room = buffer.length - position;
+            int written = synthesizer.synthesizeInto(
+                    note, tempo, default_volume, position, buffer, position);
 
-            // Appending the samples to the overall audio stream.
-            int previousLength = samples.length;
-            samples = Arrays.copyOf(samples, samples.length + noteSamples.length);
-            System.arraycopy(noteSamples, 0, samples, previousLength, noteSamples.length);
+            while ((written == room) && (written != count)) {
+                // The note has filled the buffer without having the announced length:
+                // it has more samples than there is room for.
+                buffer = Arrays.copyOf(buffer, 2 * buffer.length + count);
+                room = buffer.length - position;
+                written = synthesizer.synthesizeInto(
+                        note, tempo, default_volume, position, buffer, position);
+            }
+            position += written;
         }
+
+        // Trimming the buffer if some notes produced fewer samples than announced.
+        samples = (position == buffer.length) ? buffer : Arrays.copyOf(buffer, position);
     }
 
     /*
@@ -106,4 +125,19 @@ public final class SimpleMusicSynthesizer implements MusicSynthesizer {
         return samples;
     }
 
+    /**
+     * Opens a stream reading the audio samples of this synthesizer.
+     * If the audio stream has not been synthesized yet, the notes are rendered block by
+     * block while the stream is read.
+     *
+     * @return A new stream of the audio samples.
+     */
+    @Override
+    public AudioSource openStream() {
+        if (samples.length > 0) {
+            return AudioSource.of(samples);
+        }
+        return AudioSource.of(tempo, notes, synthesizer, default_volume);
+    }
+
 }
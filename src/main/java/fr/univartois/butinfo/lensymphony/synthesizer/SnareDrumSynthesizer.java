@@ -2,20 +2,21 @@ package fr.univartois.butinfo.lensymphony.synthesizer;
 
 import fr.univartois.butinfo.lensymphony.notes.Note;
 
-import java.util.Random;
-
 public class SnareDrumSynthesizer implements NoteSynthesizer{
 
     private double attack=0.01;
-    Random random = new Random();
-    private static final SnareDrumSynthesizer INSTANCE = new SnareDrumSynthesizer();
+    private final NoiseSource noise;
+    private final PercussionBank bank;
+    private static final SnareDrumSynthesizer INSTANCE = new SnareDrumSynthesizer(NoiseSource.DEFAULT);
 
     /**
      * constructor of this class
      *
+     * @param noise the source of the noise of the drum
      */
-    private SnareDrumSynthesizer(){
-
+    private SnareDrumSynthesizer(NoiseSource noise){
+        this.noise = noise;
+        this.bank = new PercussionBank(noise, (i, r) -> envelope((double) i / SAMPLE_RATE, 1.0) * r);
     }
 
     /**
@@ -25,6 +26,20 @@ public class SnareDrumSynthesizer implements NoteSynthesizer{
     public static SnareDrumSynthesizer getInstance(){
         return INSTANCE;
     }
+
+    /**
+     * this method give a snare drum drawing its noise from another source, for instance
+     * to give each part its own seed
+     * @param noise the source of the noise (must not be {@code null})
+     * @return a snare drum using the given source
+     * @throws NullPointerException if {@code noise} is {@code null}
+     */
+    public static SnareDrumSynthesizer withNoise(NoiseSource noise){
+        if (noise == null) {
+            throw new NullPointerException("noise");
+        }
+        return new SnareDrumSynthesizer(noise);
+    }
     /**
      * this method calculate the envelope of the sound at an instant time
      * @param t a given instant time
@@ -54,21 +69,112 @@ public class SnareDrumSynthesizer implements NoteSynthesizer{
      */
     @Override
     public double[] synthesize(Note note, int tempo, double volume) {
+        double[] sounds = new double[sampleCount(note, tempo)];
+        synthesizeInto(note, tempo, volume, sounds, 0);
+        return sounds;
+    }
+
+    /**
+     * Computes the audio samples for a given note, directly into the given buffer.
+     *
+     * @param note   The note to synthesize.
+     * @param tempo  The tempo in beats per minute (BPM).
+     * @param volume The volume level for the note (0.0 to 1.0).
+     * @param out    The buffer in which to write the samples.
+     * @param offset The index of the first sample in the buffer.
+     * @return The number of samples written in the buffer.
+     */
+    @Override
+    public int synthesizeInto(Note note, int tempo, double volume, double[] out, int offset) {
+        return synthesizeInto(note, tempo, volume, 0, out, offset);
+    }
+
+    /**
+     * Computes the audio samples for a given note played at a given position of its part,
+     * directly into the given buffer.
+     *
+     * @param note   The note to synthesize.
+     * @param tempo  The tempo in beats per minute (BPM).
+     * @param volume The volume level for the note (0.0 to 1.0).
+     * @param onset  The index in its part of the first sample of the note.
+     * @param out    The buffer in which to write the samples.
+     * @param offset The index of the first sample in the buffer.
+     * @return The number of samples written in the buffer.
+     */
+    @Override
+    public int synthesizeInto(Note note, int tempo, double volume, long onset, double[] out,
+            int offset) {
+        return synthesizeBlock(note, tempo, volume, onset, 0, out, offset,
+                sampleCount(note, tempo));
+    }
+
+    /**
+     * Computes a block of the audio samples for a given note, directly into the given
+     * buffer.
+     *
+     * @param note   The note to synthesize.
+     * @param tempo  The tempo in beats per minute (BPM).
+     * @param volume The volume level for the note (0.0 to 1.0).
+     * @param from   The index in the note of the first sample to compute.
+     * @param out    The buffer in which to write the samples.
+     * @param offset The index of the first sample in the buffer.
+     * @param length The maximum number of samples to write.
+     * @return The number of samples written in the buffer.
+     */
+    @Override
+    public int synthesizeBlock(Note note, int tempo, double volume, int from, double[] out,
+            int offset, int length) {
+        return synthesizeBlock(note, tempo, volume, 0, from, out, offset, length);
+    }
+
+    /**
+     * Computes a block of the audio samples for a given note played at a given position
+     * of its part, directly into the given buffer.
+     * The position of the note selects the variation of the hit, so that repeated hits do
+     * not all sound the same.
+     *
+     * @param note   The note to synthesize.
+     * @param tempo  The tempo in beats per minute (BPM).
+     * @param volume The volume level for the note (0.0 to 1.0).
+     * @param onset  The index in its part of the first sample of the note.
+     * @param from   The index in the note of the first sample to compute.
+     * @param out    The buffer in which to write the samples.
+     * @param offset The index of the first sample in the buffer.
+     * @param length The maximum number of samples to write.
+     * @return The number of samples written in the buffer.
+     */
+    @Override
+    public int synthesizeBlock(Note note, int tempo, double volume, long onset, int from,
+            double[] out, int offset, int length) {
 
-        double noteDuration = note.getDuration(tempo)/1000.0;
+        int nbSample = Math.max(0, Math.min(length, sampleCount(note, tempo) - from));
 
-        int nbSample = (int) (noteDuration*SAMPLE_RATE);
 
-        double[] sounds = new double[nbSample];
 
+        // the hit is copied from the bank, as the volume is applied twice
+        bank.play(noise.seed(note, sampleCount(note, tempo)), onset, volume * volume, from, out, offset, nbSample);
 
+        return nbSample;
+    }
 
-        for(int i=0; i<nbSample; i++){
-            double t = (double) i/SAMPLE_RATE;
-            double r = random.nextDouble()*2.0-1.0;
-            sounds[i] = volume* envelope(t,volume) * r ;
-        }
+    /**
+     * Tells that the sound of a snare drum varies from one hit to the next, so that its
+     * notes are not cached.
+     *
+     * @return Always {@code false}.
+     */
+    @Override
+    public boolean isDeterministic() {
+        return false;
+    }
 
-        return sounds;
+    /**
+     * Tells that any block of a snare drum sound can be computed on its own.
+     *
+     * @return Always {@code true}.
+     */
+    @Override
+    public boolean supportsBlocks() {
+        return true;
     }
 }
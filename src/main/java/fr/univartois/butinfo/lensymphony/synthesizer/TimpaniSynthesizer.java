@@ -1,5 +1,7 @@
 package fr.univartois.butinfo.lensymphony.synthesizer;
 
+import java.util.Arrays;
+
 import fr.univartois.butinfo.lensymphony.notes.Note;
 
 public class TimpaniSynthesizer implements NoteSynthesizer{
@@ -30,29 +32,99 @@ public class TimpaniSynthesizer implements NoteSynthesizer{
      */
     @Override
     public double[] synthesize(Note note, int tempo, double volume) {
-        double frequency = note.getFrequency();
+        double[] sounds = new double[sampleCount(note, tempo)];
+        synthesizeInto(note, tempo, volume, sounds, 0);
+        return sounds;
+    }
+
+    /**
+     * Gives the number of audio samples produced for the given note.
+     * The duration of the note is counted in whole seconds.
+     *
+     * @param note  The note to synthesize.
+     * @param tempo The tempo in beats per minute (BPM).
+     * @return The number of samples produced for the note.
+     */
+    @Override
+    public int sampleCount(Note note, int tempo) {
         double duration = note.getDuration(tempo) / 1000;
+        return (int) (duration * SAMPLE_RATE);
+    }
 
-        int nbSample = (int) (duration * SAMPLE_RATE);
+    /**
+     * Computes the audio samples for a given note, directly into the given buffer.
+     *
+     * @param note   The note to synthesize.
+     * @param tempo  The tempo in beats per minute (BPM).
+     * @param volume The volume level for the note (0.0 to 1.0).
+     * @param out    The buffer in which to write the samples.
+     * @param offset The index of the first sample in the buffer.
+     * @return The number of samples written in the buffer.
+     */
+    @Override
+    public int synthesizeInto(Note note, int tempo, double volume, double[] out, int offset) {
+        return synthesizeBlock(note, tempo, volume, 0, out, offset, sampleCount(note, tempo));
+    }
 
-        double[] sounds = new double[nbSample];
+    /**
+     * Computes a block of the audio samples for a given note, directly into the given
+     * buffer.
+     *
+     * @param note   The note to synthesize.
+     * @param tempo  The tempo in beats per minute (BPM).
+     * @param volume The volume level for the note (0.0 to 1.0).
+     * @param from   The index in the note of the first sample to compute.
+     * @param out    The buffer in which to write the samples.
+     * @param offset The index of the first sample in the buffer.
+     * @param length The maximum number of samples to write.
+     * @return The number of samples written in the buffer.
+     */
+    @Override
+    public int synthesizeBlock(Note note, int tempo, double volume, int from, double[] out,
+            int offset, int length) {
+        double frequency = note.getFrequency();
+        double duration = note.getDuration(tempo) / 1000;
+
+        int nbSample = Math.max(0, Math.min(length, sampleCount(note, tempo) - from));
 
+        Oscillator oscillator = Oscillator.of(2 * Math.PI * frequency, from);
         double t = 0;
         for (int i = 0; i < nbSample; i++) {
-            t = (double) i / SAMPLE_RATE;
+            t = (double) (from + i) / SAMPLE_RATE;
             double realFrequency = frequency + ((t * (0.6 * frequency - frequency)) / duration);
 
 
             if (realFrequency <= 0) {
-                return sounds;
+                Arrays.fill(out, offset + i, offset + nbSample, 0.0);
+                return nbSample;
             }
 
             double decayRate = 5.0;
             double envelope = Math.exp(-decayRate * t);
 
             // Calculate signal: s(t) = V · exp(-decayRate·t) · sin(2π · f(t) · t)
-            sounds[i] = volume * envelope * Math.sin(2 * Math.PI * frequency * t);
+            out[offset + i] = volume * envelope * oscillator.next();
         }
-        return sounds;
+        return nbSample;
+    }
+
+    /**
+     * Tells that the sound of a timpani is always the same for the same note.
+     *
+     * @return Always {@code true}.
+     */
+    @Override
+    public boolean isDeterministic() {
+        return true;
+    }
+
+    /**
+     * Tells that any block of a timpani sound can be computed on its own.
+     *
+     * @return Always {@code true}.
+     */
+    @Override
+    public boolean supportsBlocks() {
+        return true;
     }
 }
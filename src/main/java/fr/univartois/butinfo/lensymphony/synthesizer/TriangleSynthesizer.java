@@ -1,5 +1,7 @@
 package fr.univartois.butinfo.lensymphony.synthesizer;
 
+import java.util.Arrays;
+
 import fr.univartois.butinfo.lensymphony.notes.Note;
 
 /**
@@ -47,27 +49,90 @@ public class TriangleSynthesizer implements NoteSynthesizer{
 	 */
 	@Override
 	public double[] synthesize(Note note, int tempo, double volume) {
-		double frequency = note.getFrequency();
+		double[] sounds = new double[sampleCount(note, tempo)];
+		synthesizeInto(note, tempo, volume, sounds, 0);
+		return sounds;
+	}
 
-		double duration = note.getDuration(tempo)/1000.0;
+	/**
+	 * Synthesize the audio samples for a given note, directly into the given buffer.
+	 * Silences are written as zeros.
+	 *
+	 * @param note the Note to synthesize
+	 * @param tempo tempo in beats per minute used to compute note duration
+	 * @param volume scalar volume multiplier (0.0 to 1.0 typical)
+	 * @param out the buffer in which to write the samples
+	 * @param offset the index of the first sample in the buffer
+	 * @return the number of samples written in the buffer
+	 */
+	@Override
+	public int synthesizeInto(Note note, int tempo, double volume, double[] out, int offset) {
+		return synthesizeBlock(note, tempo, volume, 0, out, offset, sampleCount(note, tempo));
+	}
 
-		int nbSample = (int) (duration*SAMPLE_RATE);
+	/**
+	 * Synthesize a block of the audio samples for a given note, directly into the given
+	 * buffer.
+	 * Silences are written as zeros.
+	 *
+	 * @param note the Note to synthesize
+	 * @param tempo tempo in beats per minute used to compute note duration
+	 * @param volume scalar volume multiplier (0.0 to 1.0 typical)
+	 * @param from the index in the note of the first sample to compute
+	 * @param out the buffer in which to write the samples
+	 * @param offset the index of the first sample in the buffer
+	 * @param length the maximum number of samples to write
+	 * @return the number of samples written in the buffer
+	 */
+	@Override
+	public int synthesizeBlock(Note note, int tempo, double volume, int from, double[] out,
+			int offset, int length) {
+		double frequency = note.getFrequency();
+
+		int nbSample = Math.max(0, Math.min(length, sampleCount(note, tempo) - from));
 
-		double[] sounds = new double[nbSample];
 		if (frequency == 0){
-			return sounds;
+			Arrays.fill(out, offset, offset + nbSample, 0.0);
+			return nbSample;
+		}
+
+		// The frequency and the amplitude of each partial do not depend on time.
+		Oscillator[] oscillators = new Oscillator[n + 1];
+		double[] amplitudes = new double[n + 1];
+		for (int j = 1; j <= n; j++) {
+			double f = 2000+800*j;
+			oscillators[j] = Oscillator.of(4*Math.PI*f, from);
+			amplitudes[j] = Math.exp(-5*(0.5+0.3*j));
 		}
 
 		for(int i=0;i<nbSample;i++){
-			double t = (double) i /SAMPLE_RATE;
 			double value = 0.0;
 			for (int j = 1; j <= n; j++) {
-				double exp = Math.exp(-5*(0.5+0.3*j));
-				double f = 2000+800*j;
-				value += exp*Math.sin(4*Math.PI*f*t);
+				value += amplitudes[j]*oscillators[j].next();
 			}
-			sounds[i] = volume*value;
+			out[offset+i] = volume*value;
 		}
 
-		return sounds;	}
+		return nbSample;
+	}
+
+	/**
+	 * Tells that the sound of a triangle is always the same for the same note.
+	 *
+	 * @return always {@code true}
+	 */
+	@Override
+	public boolean isDeterministic() {
+		return true;
+	}
+
+	/**
+	 * Tells that any block of a triangle sound can be computed on its own.
+	 *
+	 * @return always {@code true}
+	 */
+	@Override
+	public boolean supportsBlocks() {
+		return true;
+	}
 }
@@ -23,7 +23,7 @@ import fr.univartois.butinfo.lensymphony.notes.Note;
  * @author Dassonville Ugo
  * @version 0.1.0
  */
-public class VibratoSynthesizer extends NoteSynthesizerDecorator {
+public class VibratoSynthesizer extends NoteSynthesizerDecorator implements FusibleSynthesizer {
 	private double d; //depth
 	private double s; //speed
 
@@ -46,24 +46,55 @@ public class VibratoSynthesizer extends NoteSynthesizerDecorator {
 	}
 
 	/**
-	 * Synthesizes the given note with vibrato effect applied.
-	 * <p>
-	 * First gets the base sound from the decorated synthesizer, then applies
-	 * the vibrato modulation to create a pulsating pitch effect.
+	 * Synthesizes a block of the given note with vibrato effect applied, in place in the
+	 * given buffer.
 	 *
 	 * @param note   The note to synthesize.
 	 * @param tempo  The tempo in beats per minute (BPM).
 	 * @param volume The volume level for the note (0.0 to 1.0).
-	 * @return An array of audio samples with vibrato effect applied.
+	 * @param onset  The index in its part of the first sample of the note.
+	 * @param from   The index in the note of the first sample to compute.
+	 * @param out    The buffer in which to write the samples.
+	 * @param offset The index of the first sample in the buffer.
+	 * @param length The maximum number of samples to write.
+	 * @return The number of samples written in the buffer.
 	 */
 	@Override
-	public double[] synthesize(Note note, int tempo, double volume) {
-		double[] sounds = super.synthesize(note, tempo, volume);
-		for (int i = 0; i < sounds.length; i++) {
-			double t = (double) i / SAMPLE_RATE;
-			sounds[i] += d * Math.sin(2 * Math.PI * s * t);
+	public int synthesizeBlock(Note note, int tempo, double volume, long onset, int from,
+			double[] out, int offset, int length) {
+		int n = super.synthesizeBlock(note, tempo, volume, onset, from, out, offset, length);
+		addVibrato(Oscillator.of(2 * Math.PI * s, from), out, offset, n);
+		return n;
+	}
+
+	/**
+	 * Creates the stage adding the vibrato to the samples of the given note, from a given
+	 * index of the note.
+	 *
+	 * @param note   The note to synthesize.
+	 * @param tempo  The tempo in beats per minute (BPM).
+	 * @param volume The volume level for the note (0.0 to 1.0).
+	 * @param from   The index in the note of the first sample to compute.
+	 * @return The stage adding the vibrato to the samples of the note.
+	 */
+	@Override
+	public SampleStage stage(Note note, int tempo, double volume, int from) {
+		Oscillator oscillator = Oscillator.of(2 * Math.PI * s, from);
+		return (buffer, offset, length) -> addVibrato(oscillator, buffer, offset, length);
+	}
+
+	/**
+	 * Adds the vibrato to the next samples of a note.
+	 *
+	 * @param oscillator The oscillator giving the next values of the vibrato.
+	 * @param buffer     The buffer containing the samples.
+	 * @param offset     The index of the first sample in the buffer.
+	 * @param length     The number of samples to modify.
+	 */
+	private void addVibrato(Oscillator oscillator, double[] buffer, int offset, int length) {
+		for (int i = 0; i < length; i++) {
+			buffer[offset + i] += d * oscillator.next();
 		}
-		return sounds;
 	}
 
 }
\ No newline at end of file
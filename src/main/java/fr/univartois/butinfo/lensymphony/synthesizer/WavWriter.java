@@ -0,0 +1,223 @@
+/**
+ * LenSymphony - A simple music synthesizer library developed in Lens, France.
+ * Copyright (c) 2025 Romain Wallon - Université d'Artois.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package fr.univartois.butinfo.lensymphony.synthesizer;
+
+import static fr.univartois.butinfo.lensymphony.synthesizer.NoteSynthesizer.SAMPLE_RATE;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The WavWriter writes audio samples to a WAV file as they are produced.
+ * The RIFF header is written with placeholder lengths when the file is opened, and
+ * patched when the writer is closed.
+ * The samples go through a single reusable buffer, so that the memory used does not
+ * depend on the length of the audio stream.
+ *
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+public final class WavWriter implements Closeable {
+
+    /**
+     * The size of the RIFF header of a PCM WAV file.
+     */
+    private static final int HEADER_SIZE = 44;
+
+    /**
+     * The position in the header of the size of the RIFF chunk.
+     */
+    private static final int RIFF_SIZE_POSITION = 4;
+
+    /**
+     * The position in the header of the size of the data chunk.
+     */
+    private static final int DATA_SIZE_POSITION = 40;
+
+    /**
+     * The largest number of bytes of audio data that a WAV file can hold.
+     */
+    private static final long MAX_DATA_SIZE = 0xFFFFFFFFL - (HEADER_SIZE - 8);
+
+    /**
+     * The channel of the written file.
+     */
+    private final FileChannel channel;
+
+    /**
+     * The buffer in which the samples are encoded before being written to the file.
+     */
+    private final ByteBuffer buffer = ByteBuffer
+            .allocateDirect(AudioStreamer.BLOCK_FRAMES * PcmEncoding.BYTES_PER_SAMPLE)
+            .order(ByteOrder.LITTLE_ENDIAN);
+
+    /**
+     * The number of bytes of audio data written so far.
+     */
+    private long dataSize;
+
+    /**
+     * Creates a new WavWriter, and writes the header of the file.
+     * If the file already exists, it is overwritten.
+     *
+     * @param path The path of the file to write.
+     *
+     * @throws IOException If the file cannot be opened.
+     */
+    public WavWriter(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        try {
+            writeHeader();
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Writes all the samples of an audio source to a WAV file.
+     *
+     * @param source The source of the samples to write.
+     * @param path The path of the file to write.
+     *
+     * @throws IOException If an I/O error occurs while writing the file.
+     */
+    public static void write(AudioSource source, Path path) throws IOException {
+        double[] samples = new double[AudioStreamer.BLOCK_FRAMES];
+        try (WavWriter writer = new WavWriter(path)) {
+            for (int n = source.read(samples, 0, samples.length); n >= 0;
+                    n = source.read(samples, 0, samples.length)) {
+                writer.write(samples, 0, n);
+            }
+        }
+    }
+
+    /**
+     * Writes the header of the file, with lengths that are patched when the writer is
+     * closed.
+     *
+     * @throws IOException If an I/O error occurs while writing the file.
+     */
+    private void writeHeader() throws IOException {
+        buffer.put("RIFF".getBytes(StandardCharsets.US_ASCII));
+        buffer.putInt(0);
+        buffer.put("WAVE".getBytes(StandardCharsets.US_ASCII));
+
+        // The format chunk, describing mono 16-bit PCM data.
+        buffer.put("fmt ".getBytes(StandardCharsets.US_ASCII));
+        buffer.putInt(16);
+        buffer.putShort((short) 1);
+        buffer.putShort((short) 1);
+        buffer.putInt(SAMPLE_RATE);
+        buffer.putInt(SAMPLE_RATE * PcmEncoding.BYTES_PER_SAMPLE);
+        buffer.putShort((short) PcmEncoding.BYTES_PER_SAMPLE);
+        buffer.putShort((short) Short.SIZE);
+
+        // The data chunk, which is followed by the samples.
+        buffer.put("data".getBytes(StandardCharsets.US_ASCII));
+        buffer.putInt(0);
+        flush();
+    }
+
+    /**
+     * Writes audio samples to the file.
+     *
+     * @param samples The samples to write.
+     * @param from The index of the first sample to write.
+     * @param length The number of samples to write.
+     *
+     * @throws IOException If an I/O error occurs while writing the file, or if the file
+     *         would become too large for the WAV format.
+     */
+    public void write(double[] samples, int from, int length) throws IOException {
+        if (dataSize + (long) length * PcmEncoding.BYTES_PER_SAMPLE > MAX_DATA_SIZE) {
+            throw new IOException("Audio stream is too long for a WAV file");
+        }
+
+        int written = 0;
+        while (written < length) {
+            int n = Math.min(length - written, buffer.remaining() / PcmEncoding.BYTES_PER_SAMPLE);
+            PcmEncoding.encode(samples, from + written, n, buffer);
+            written += n;
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+        }
+        dataSize += (long) length * PcmEncoding.BYTES_PER_SAMPLE;
+    }
+
+    /**
+     * Writes the content of the buffer to the file, and clears it.
+     *
+     * @throws IOException If an I/O error occurs while writing the file.
+     */
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Writes the remaining samples, patches the lengths in the header of the file, and
+     * closes it.
+     *
+     * @throws IOException If an I/O error occurs while writing the file.
+     */
+    @Override
+    public void close() throws IOException {
+        try (channel) {
+            flush();
+            patchSize(RIFF_SIZE_POSITION, dataSize + HEADER_SIZE - 8);
+            patchSize(DATA_SIZE_POSITION, dataSize);
+        }
+    }
+
+    /**
+     * Overwrites a length in the header of the file.
+     *
+     * @param position The position of the length in the file.
+     * @param size The value of the length.
+     *
+     * @throws IOException If an I/O error occurs while writing the file.
+     */
+    private void patchSize(long position, long size) throws IOException {
+        buffer.putInt((int) size);
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+        buffer.clear();
+    }
+
+}
@@ -0,0 +1,116 @@
+/**
+ * LenSymphony - A simple music synthesizer library developed in Lens, France.
+ * Copyright (c) 2025 Romain Wallon - Université d'Artois.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package fr.univartois.butinfo.lensymphony.synthesizer;
+
+/**
+ * The WavetableOscillator computes a sine wave by reading a table holding one of its
+ * periods, and interpolating linearly between two consecutive entries of the table.
+ * The table only holds the fundamental, so that reading it never adds partials above the
+ * frequency of the wave.
+ *
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ *
+ * @see OscillatorQuality#WAVETABLE
+ */
+final class WavetableOscillator implements Oscillator {
+
+    /**
+     * The number of entries of the table for one period.
+     */
+    private static final int TABLE_SIZE = 4096;
+
+    /**
+     * The maximum error of the linear interpolation of the sine wave, which is bounded by
+     * {@code (2 * PI / TABLE_SIZE)^2 / 8}, plus a margin for the rounding errors of the
+     * phase accumulator.
+     */
+    static final double MAX_ERROR = 3e-7;
+
+    /**
+     * The table holding one period of the sine wave, with a copy of its first entry at the
+     * end so that no wrapping is needed when interpolating.
+     */
+    private static final double[] TABLE = new double[TABLE_SIZE + 1];
+
+    static {
+        for (int i = 0; i <= TABLE_SIZE; i++) {
+            TABLE[i] = Math.sin(2 * Math.PI * i / TABLE_SIZE);
+        }
+    }
+
+    /**
+     * The number of entries of the table by which the phase moves for each sample.
+     */
+    private final double increment;
+
+    /**
+     * The current phase, as a position in the table.
+     */
+    private double phase;
+
+    /**
+     * Creates a new WavetableOscillator.
+     *
+     * @param omega The angular frequency of the sine wave, in radians per second.
+     * @param from The index of the first sample to generate.
+     */
+    WavetableOscillator(double omega, int from) {
+        double cyclesPerSample = omega / (2 * Math.PI) / NoteSynthesizer.SAMPLE_RATE;
+        this.increment = wrap(cyclesPerSample) * TABLE_SIZE;
+        this.phase = wrap(cyclesPerSample * from) * TABLE_SIZE;
+    }
+
+    /**
+     * Keeps the fractional part of a number of cycles, so that it is in {@code [0, 1)}.
+     *
+     * @param cycles The number of cycles.
+     *
+     * @return The fraction of a cycle.
+     */
+    private static double wrap(double cycles) {
+        double fraction = cycles - Math.floor(cycles);
+        return (fraction >= 1) ? 0 : fraction;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.butinfo.lensymphony.synthesizer.Oscillator#next()
+     */
+    @Override
+    public double next() {
+        int i = (int) phase;
+        double fraction = phase - i;
+        double value = TABLE[i] + ((TABLE[i + 1] - TABLE[i]) * fraction);
+
+        phase += increment;
+        if (phase >= TABLE_SIZE) {
+            phase -= TABLE_SIZE;
+        }
+        return value;
+    }
+
+}
@@ -24,7 +24,6 @@
 package fr.univartois.butinfo.lensymphony.synthesizer;
 
 import fr.univartois.butinfo.lensymphony.notes.Note;
-import java.util.Random;
 
 /**
  * A decorator for {@link NoteSynthesizer} that adds white noise to simulate
@@ -39,6 +38,9 @@ import java.util.Random;
  * The white noise simulates the natural air breath sound characteristic of
  * wind instruments like flutes, clarinets, and saxophones.
  * <p>
+ * The random values are given by a {@link NoiseSource}, so that the same note always gets
+ * the same noise.
+ * <p>
  * This decorator extends {@link NoteSynthesizerDecorator} and follows the
  * Decorator design pattern to add effects to an existing synthesizer.
  *
@@ -46,7 +48,8 @@ import java.util.Random;
  *
  * @version 0.1.0
  */
-public class WhiteNoiseSynthesizer extends NoteSynthesizerDecorator {
+public class WhiteNoiseSynthesizer extends NoteSynthesizerDecorator
+        implements FusibleSynthesizer {
 
     /**
      * The amplitude of the white noise (value b).
@@ -55,9 +58,9 @@ public class WhiteNoiseSynthesizer extends NoteSynthesizerDecorator {
     private final double noiseAmplitude;
 
     /**
-     * Random number generator for producing white noise.
+     * The source of the random values of the white noise.
      */
-    private final Random random;
+    private final NoiseSource noise;
 
     /**
      * Creates a new white noise synthesizer decorator.
@@ -70,44 +73,83 @@ public class WhiteNoiseSynthesizer extends NoteSynthesizerDecorator {
      * @throws IllegalArgumentException If {@code noiseAmplitude} is negative.
      */
     public WhiteNoiseSynthesizer(NoteSynthesizer synthesizer, double noiseAmplitude) {
+        this(synthesizer, noiseAmplitude, NoiseSource.DEFAULT);
+    }
+
+    /**
+     * Creates a new white noise synthesizer decorator using the given source of noise.
+     *
+     * @param synthesizer     The base synthesizer to decorate (must not be {@code null}).
+     * @param noiseAmplitude  The amplitude of the noise (must be &gt;= 0). This defines
+     *                        the range of random values added to each sample: [-b, +b].
+     * @param noise           The source of the random values (must not be {@code null}).
+     *
+     * @throws NullPointerException     If {@code synthesizer} or {@code noise} is
+     *                                  {@code null}.
+     * @throws IllegalArgumentException If {@code noiseAmplitude} is negative.
+     */
+    public WhiteNoiseSynthesizer(NoteSynthesizer synthesizer, double noiseAmplitude,
+            NoiseSource noise) {
         super(synthesizer);
         if (noiseAmplitude < 0) {
             throw new IllegalArgumentException("noiseAmplitude must be >= 0");
         }
+        if (noise == null) {
+            throw new NullPointerException("noise");
+        }
         this.noiseAmplitude = noiseAmplitude;
-        this.random = new Random();
+        this.noise = noise;
     }
 
     /**
-     * Synthesizes the given note and adds white noise to simulate breath sound.
-     * <p>
-     * This method delegates to the wrapped synthesizer to generate the base sound,
-     * then adds random noise to each sample using the formula:
-     * <pre>
-     * s'(t) = s(t) + random(-b, b)
-     * </pre>
-     * where b is the {@code noiseAmplitude}.
-     * <p>
-     * The white noise creates a more realistic wind instrument sound by simulating
-     * the turbulent air flow through the instrument.
+     * Synthesizes a block of the given note and adds white noise to simulate breath sound,
+     * in place in the given buffer.
      *
      * @param note   The note to synthesize (must not be {@code null}).
      * @param tempo  The tempo in beats per minute (BPM).
      * @param volume The volume level for the note (typically between 0.0 and 1.0).
+     * @param onset  The index in its part of the first sample of the note.
+     * @param from   The index in the note of the first sample to compute.
+     * @param out    The buffer in which to write the samples.
+     * @param offset The index of the first sample in the buffer.
+     * @param length The maximum number of samples to write.
      *
-     * @return An array of audio samples with white noise added. Each sample is the
-     *         base synthesized value plus a random noise component.
+     * @return The number of samples written in the buffer.
      */
     @Override
-    public double[] synthesize(Note note, int tempo, double volume) {
-        double[] samples = super.synthesize(note, tempo, volume);
+    public int synthesizeBlock(Note note, int tempo, double volume, long onset, int from,
+            double[] out, int offset, int length) {
+        int n = super.synthesizeBlock(note, tempo, volume, onset, from, out, offset, length);
+        long seed = noise.seed(note, sampleCount(note, tempo));
 
+        SampleKernels.getDefault().addNoise(seed, from, noiseAmplitude, out, offset, n);
+        return n;
+    }
 
-        for (int i = 0; i < samples.length; i++) {
-            double noise = random.nextDouble(-noiseAmplitude, noiseAmplitude);
-            samples[i] = samples[i] + noise;
-        }
+    /**
+     * Creates the stage adding white noise to the samples of the given note, from a given
+     * index of the note.
+     *
+     * @param note   The note to synthesize (must not be {@code null}).
+     * @param tempo  The tempo in beats per minute (BPM).
+     * @param volume The volume level for the note (typically between 0.0 and 1.0).
+     * @param from   The index in the note of the first sample to compute.
+     *
+     * @return The stage adding white noise to the samples of the note.
+     */
+    @Override
+    public SampleStage stage(Note note, int tempo, double volume, int from) {
+        long seed = noise.seed(note, sampleCount(note, tempo));
+
+        return new SampleStage() {
+            private int index = from;
 
-        return samples;
+            @Override
+            public void process(double[] buffer, int offset, int length) {
+                SampleKernels.getDefault().addNoise(seed, index, noiseAmplitude, buffer, offset,
+                        length);
+                index += length;
+            }
+        };
     }
-}
\ No newline at end of file
+}
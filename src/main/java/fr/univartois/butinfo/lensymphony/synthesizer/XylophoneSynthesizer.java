@@ -48,26 +48,87 @@ public class XylophoneSynthesizer implements NoteSynthesizer {
 	 */
 	@Override
 	public double[] synthesize(Note note, int tempo, double volume) {
+		double[] sounds = new double[sampleCount(note, tempo)];
+		synthesizeInto(note, tempo, volume, sounds, 0);
+		return sounds;
+	}
+
+	/**
+	 * Synthesize audio samples for the given note, directly into the given buffer.
+	 *
+	 * @param note the musical note to synthesize
+	 * @param tempo tempo in beats per minute used to interpret the note duration
+	 * @param volume overall gain multiplier for the generated samples
+	 * @param out the buffer in which to write the samples
+	 * @param offset the index of the first sample in the buffer
+	 * @return the number of samples written in the buffer
+	 */
+	@Override
+	public int synthesizeInto(Note note, int tempo, double volume, double[] out, int offset) {
+		return synthesizeBlock(note, tempo, volume, 0, out, offset, sampleCount(note, tempo));
+	}
+
+	/**
+	 * Synthesize a block of the audio samples for the given note, directly into the given
+	 * buffer.
+	 *
+	 * @param note the musical note to synthesize
+	 * @param tempo tempo in beats per minute used to interpret the note duration
+	 * @param volume overall gain multiplier for the generated samples
+	 * @param from the index in the note of the first sample to compute
+	 * @param out the buffer in which to write the samples
+	 * @param offset the index of the first sample in the buffer
+	 * @param length the maximum number of samples to write
+	 * @return the number of samples written in the buffer
+	 */
+	@Override
+	public int synthesizeBlock(Note note, int tempo, double volume, int from, double[] out,
+			int offset, int length) {
 		double frequency = note.getFrequency();
 
-		double durationSeconds = note.getDuration(tempo) / 1000.0;
-		int nbSample = (int) (durationSeconds * SAMPLE_RATE);
+		int nbSample = Math.min(length, sampleCount(note, tempo) - from);
 		if (nbSample <= 0) {
-			return new double[0];
+			return 0;
 		}
 
-		double[] sounds = new double[nbSample];
+		// The frequency and the amplitude of each harmonic do not depend on time.
+		Oscillator[] oscillators = new Oscillator[harmonics];
+		double[] amplitudes = new double[harmonics];
+		for (int i = 0; i < harmonics; i++) {
+			oscillators[i] = Oscillator.of(2.0 * Math.PI * Math.pow(2.0, i) * frequency, from);
+			amplitudes[i] = Math.exp(-(2 * i + 1));
+		}
 
 		for (int s = 0; s < nbSample; s++) {
-			double t = (double) s / SAMPLE_RATE;
+			double t = (double) (from + s) / SAMPLE_RATE;
 			double env = Math.exp(-3.0 * t);
 			double sum = 0.0;
 			for (int i = 0; i < harmonics; i++) {
-				sum += Math.sin(2.0 * Math.PI * Math.pow(2.0, i) * frequency * t) * Math.exp(-(2 * i + 1));
+				sum += oscillators[i].next() * amplitudes[i];
 			}
-			sounds[s] = volume * env * sum;
+			out[offset + s] = volume * env * sum;
 		}
 
-		return sounds;
+		return nbSample;
+	}
+
+	/**
+	 * Tells that the sound of a xylophone is always the same for the same note.
+	 *
+	 * @return always {@code true}
+	 */
+	@Override
+	public boolean isDeterministic() {
+		return true;
+	}
+
+	/**
+	 * Tells that any block of a xylophone sound can be computed on its own.
+	 *
+	 * @return always {@code true}
+	 */
+	@Override
+	public boolean supportsBlocks() {
+		return true;
 	}
-}
\ No newline at end of file
+}
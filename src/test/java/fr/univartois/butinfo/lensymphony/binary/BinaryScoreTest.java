@@ -0,0 +1,191 @@
+package fr.univartois.butinfo.lensymphony.binary;
+
+import fr.univartois.butinfo.lensymphony.musicxml.MusicXMLStaxParser;
+import fr.univartois.butinfo.lensymphony.notes.*;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the BinaryScoreWriter and BinaryScoreReader classes.
+ */
+class BinaryScoreTest {
+
+    private static final String SCORE = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <score-partwise version="4.0">
+              <part id="P1">
+                <measure number="1">
+                  <attributes><time><beats>3</beats><beat-type>4</beat-type></time></attributes>
+                  <direction><sound tempo="84"/></direction>
+                  <note><pitch><step>C</step><alter>1</alter><octave>4</octave></pitch>
+                    <type>quarter</type><dot/><dot/><staff>1</staff></note>
+                  <note><pitch><step>E</step><octave>5</octave></pitch>
+                    <tie type="start"/><type>half</type><staff>1</staff></note>
+                  <note><pitch><step>E</step><octave>5</octave></pitch>
+                    <tie type="stop"/><type>eighth</type><dot/><staff>1</staff></note>
+                  <note><rest/><type>16th</type><notations><fermata/></notations><staff>2</staff></note>
+                </measure>
+                <measure number="2">
+                  <note><rest measure="yes"/><staff>2</staff></note>
+                </measure>
+              </part>
+              <part id="Pé">
+                <measure number="1">
+                  <note><pitch><step>B</step><octave>8</octave></pitch><type>whole</type></note>
+                  <note><pitch><step>C</step><octave>0</octave></pitch><type>256th</type></note>
+                </measure>
+              </part>
+            </score-partwise>
+            """;
+
+    @Test
+    void savedScoreIsLoadedBack() throws Exception {
+        MusicXMLStaxParser parser = parse(new ByteArrayInputStream(SCORE.strip().getBytes(StandardCharsets.UTF_8)));
+        Path file = Files.createTempFile("lensymphony", ".lsym");
+
+        try {
+            BinaryScoreWriter.write(file, parser.getTempo(), parser.getParts());
+            assertTrue(BinaryScoreReader.isBinaryScore(file.toFile()));
+
+            BinaryScoreReader reader = new BinaryScoreReader(NoteFactory.getInstance());
+            reader.read(file.toFile());
+            assertEquals(84, reader.getTempo());
+            assertEquals(List.of("P1.1", "P1.2", "Pé"), new ArrayList<>(reader.getParts().keySet()));
+            assertEquals(describe(parser.getParts()), describe(reader.getParts()));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void bundledScoreIsLoadedBack() throws Exception {
+        MusicXMLStaxParser parser;
+        try (InputStream input = BinaryScoreTest.class.getResourceAsStream("/mystere-1.xml")) {
+            parser = parse(input);
+        }
+        byte[] encoded = BinaryScoreWriter.encode(parser.getTempo(), parser.getParts());
+
+        BinaryScoreReader reader = new BinaryScoreReader(NoteFactory.getInstance());
+        reader.read(ByteBuffer.wrap(encoded));
+        assertEquals(parser.getTempo(), reader.getTempo());
+        assertEquals(describe(parser.getParts()), describe(reader.getParts()));
+    }
+
+    @Test
+    void changesOfTempoAreLoadedBack() throws Exception {
+        Map<String, List<Note>> parts = new TreeMap<>();
+        parts.put("P1", List.of(new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.HALF)));
+        TreeMap<Long, Integer> changes = new TreeMap<>();
+        changes.put(0L, 60);
+        changes.put(Timeline.TICKS_PER_WHOLE / 4, 120);
+        byte[] encoded = BinaryScoreWriter.encode(120, TempoMap.of(changes), parts);
+
+        BinaryScoreReader reader = new BinaryScoreReader(NoteFactory.getInstance());
+        reader.read(ByteBuffer.wrap(encoded));
+        assertEquals(120, reader.getTempo());
+        assertEquals(changes, reader.getTempoMap().getChanges());
+        assertEquals(describe(parts), describe(reader.getParts()));
+    }
+
+    @Test
+    void scoresOfTheFirstVersionAreLoadedAtTheirTempo() throws Exception {
+        Map<String, List<Note>> parts = new TreeMap<>();
+        parts.put("P1", List.of(new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.HALF)));
+        ByteBuffer encoded = ByteBuffer.wrap(BinaryScoreWriter.encode(90, parts));
+
+        // The first version has neither the number of changes of tempo nor their table.
+        ByteBuffer first = ByteBuffer.allocate(encoded.capacity() - Integer.BYTES - BinaryScore.TEMPO_ENTRY_SIZE);
+        first.putInt(encoded.getInt()).putInt(BinaryScore.SINGLE_TEMPO_VERSION);
+        encoded.getInt();
+        first.putInt(encoded.getInt());
+        encoded.getInt();
+        first.putInt(encoded.getInt()).putInt(encoded.getInt());
+        encoded.position(encoded.position() + BinaryScore.TEMPO_ENTRY_SIZE);
+        first.put(encoded).flip();
+
+        BinaryScoreReader reader = new BinaryScoreReader(NoteFactory.getInstance());
+        reader.read(first);
+        assertEquals(90, reader.getTempo());
+        assertEquals(Map.of(0L, 90), reader.getTempoMap().getChanges());
+        assertEquals(describe(parts), describe(reader.getParts()));
+    }
+
+    @Test
+    void musicXMLFilesAreNotBinaryScores() throws IOException {
+        Path file = Files.createTempFile("lensymphony", ".xml");
+        try {
+            Files.writeString(file, SCORE);
+            assertFalse(BinaryScoreReader.isBinaryScore(file.toFile()));
+            Files.write(file, new byte[2]);
+            assertFalse(BinaryScoreReader.isBinaryScore(file.toFile()));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void corruptedScoresAreRejected() {
+        Map<String, List<Note>> parts = new TreeMap<>();
+        parts.put("P1", List.of(new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.HALF)));
+        byte[] encoded = BinaryScoreWriter.encode(120, parts);
+
+        byte[] truncated = java.util.Arrays.copyOf(encoded, encoded.length - 1);
+        assertThrows(IOException.class,
+                () -> new BinaryScoreReader(NoteFactory.getInstance()).read(ByteBuffer.wrap(truncated)));
+
+        byte[] badMagic = encoded.clone();
+        badMagic[0] = 'X';
+        assertThrows(IOException.class,
+                () -> new BinaryScoreReader(NoteFactory.getInstance()).read(ByteBuffer.wrap(badMagic)));
+
+        byte[] badValue = encoded.clone();
+        badValue[encoded.length - 2] = 42;
+        assertThrows(IOException.class,
+                () -> new BinaryScoreReader(NoteFactory.getInstance()).read(ByteBuffer.wrap(badValue)));
+    }
+
+    @Test
+    void unsupportedNotesAreRejected() {
+        Rest dotted = new Rest(NoteValue.QUARTER);
+        dotted.addDot();
+        Map<String, List<Note>> parts = Map.of("P1", List.of(dotted));
+        assertThrows(IllegalArgumentException.class, () -> BinaryScoreWriter.encode(60, parts));
+
+        Note fermataUnderDot = new DottedNote(new FermataNote(new Rest(NoteValue.HALF)));
+        Map<String, List<Note>> others = Map.of("P1", List.of(fermataUnderDot));
+        assertThrows(IllegalArgumentException.class, () -> BinaryScoreWriter.encode(60, others));
+    }
+
+    private static MusicXMLStaxParser parse(InputStream input) throws Exception {
+        MusicXMLStaxParser parser = new MusicXMLStaxParser(NoteFactory.getInstance());
+        parser.parse(input);
+        return parser;
+    }
+
+    private static Map<String, List<String>> describe(Map<String, List<Note>> parts) {
+        Map<String, List<String>> description = new LinkedHashMap<>();
+        for (Map.Entry<String, List<Note>> part : parts.entrySet()) {
+            List<String> notes = new ArrayList<>();
+            for (Note note : part.getValue()) {
+                notes.add(note.getClass().getSimpleName() + "/" + note.getFrequency()
+                        + "/" + note.getDuration(60) + "/" + note.getDuration(137));
+            }
+            description.put(part.getKey(), notes);
+        }
+        return description;
+    }
+}
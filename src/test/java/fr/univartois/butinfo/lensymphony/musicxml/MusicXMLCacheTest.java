@@ -0,0 +1,183 @@
+package fr.univartois.butinfo.lensymphony.musicxml;
+
+import fr.univartois.butinfo.lensymphony.notes.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the MusicXMLCache class.
+ */
+class MusicXMLCacheTest {
+
+    private static final String SCORE = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <score-partwise version="4.0">
+              <part id="P1">
+                <measure number="1">
+                  <direction><sound tempo="%d"/></direction>
+                  <note><pitch><step>C</step><octave>4</octave></pitch><type>quarter</type></note>
+                  <note><pitch><step>E</step><octave>4</octave></pitch><type>half</type></note>
+                  <note><rest/><type>quarter</type></note>
+                </measure>
+              </part>
+            </score-partwise>
+            """;
+
+    private Path directory;
+
+    @BeforeEach
+    void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("lensymphony");
+    }
+
+    @AfterEach
+    void deleteDirectory() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    void unchangedFileIsNotParsedAgain() throws Exception {
+        Path file = write("score.xml", 84);
+        MusicXMLCache cache = new MusicXMLCache(NoteFactory.getInstance());
+
+        MusicXMLCache.ParsedScore first = cache.parse(file.toFile());
+        assertEquals(84, first.tempo());
+        assertEquals(3, first.parts().get("P1").size());
+        assertEquals(3, cache.size());
+
+        // The returned map is not shared with the cache.
+        first.parts().get("P1").clear();
+        first.parts().clear();
+
+        MusicXMLCache.ParsedScore second = cache.parse(file.toFile());
+        assertEquals(84, second.tempo());
+        assertEquals(3, second.parts().get("P1").size());
+        assertSame(second.parts().get("P1").get(0), cache.parse(file.toFile()).parts().get("P1").get(0));
+    }
+
+    @Test
+    void modifiedFileIsParsedAgain() throws Exception {
+        Path file = write("score.xml", 84);
+        MusicXMLCache cache = new MusicXMLCache(NoteFactory.getInstance());
+        assertEquals(84, cache.parse(file.toFile()).tempo());
+
+        Files.writeString(file, SCORE.formatted(132));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 2000));
+        assertEquals(132, cache.parse(file.toFile()).tempo());
+    }
+
+    @Test
+    void identicalFilesAreStoredOnce() throws Exception {
+        Path first = write("first.xml", 84);
+        Path second = write("second.xml", 84);
+        MusicXMLCache cache = new MusicXMLCache(NoteFactory.getInstance());
+
+        Note note = cache.parse(first.toFile()).parts().get("P1").get(0);
+        assertSame(note, cache.parse(second.toFile()).parts().get("P1").get(0));
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    void leastRecentlyUsedScoresAreEvicted() throws Exception {
+        Path first = write("first.xml", 84);
+        Path second = write("second.xml", 90);
+        MusicXMLCache cache = new MusicXMLCache(NoteFactory.getInstance(), 4, null);
+
+        Note note = cache.parse(first.toFile()).parts().get("P1").get(0);
+        cache.parse(second.toFile());
+        assertEquals(3, cache.size());
+        assertNotSame(note, cache.parse(first.toFile()).parts().get("P1").get(0));
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertThrows(IllegalArgumentException.class,
+                () -> new MusicXMLCache(NoteFactory.getInstance(), -1, null));
+    }
+
+    @Test
+    void parsedScoresAreSavedOnDisk() throws Exception {
+        Path file = write("score.xml", 84);
+        Path saved = directory.resolve("cache");
+        MusicXMLCache.ParsedScore parsed = new MusicXMLCache(NoteFactory.getInstance(), 0, saved)
+                .parse(file.toFile());
+
+        List<Path> files;
+        try (Stream<Path> list = Files.list(saved)) {
+            files = list.toList();
+        }
+        assertEquals(1, files.size());
+        assertTrue(files.get(0).toString().endsWith(".lsym"));
+
+        // The saved score is loaded instead of being parsed and saved again.
+        FileTime time = FileTime.fromMillis(0);
+        Files.setLastModifiedTime(files.get(0), time);
+        MusicXMLCache.ParsedScore loaded = new MusicXMLCache(NoteFactory.getInstance(), 0, saved)
+                .parse(file.toFile());
+        assertEquals(84, loaded.tempo());
+        assertEquals(describe(parsed.parts()), describe(loaded.parts()));
+        assertEquals(time, Files.getLastModifiedTime(files.get(0)));
+
+        // A corrupted score is replaced.
+        Files.writeString(files.get(0), "");
+        loaded = new MusicXMLCache(NoteFactory.getInstance(), 0, saved).parse(file.toFile());
+        assertEquals(describe(parsed.parts()), describe(loaded.parts()));
+        assertNotEquals(0, Files.size(files.get(0)));
+    }
+
+    @Test
+    void changesOfTempoAreKept() throws Exception {
+        Path file = Files.writeString(directory.resolve("tempi.xml"), """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <score-partwise version="4.0">
+                  <part id="P1">
+                    <measure number="1">
+                      <direction><sound tempo="60"/></direction>
+                      <note><pitch><step>C</step><octave>4</octave></pitch><type>whole</type></note>
+                    </measure>
+                    <measure number="2">
+                      <direction><sound tempo="120"/></direction>
+                      <note><pitch><step>E</step><octave>4</octave></pitch><type>whole</type></note>
+                    </measure>
+                  </part>
+                </score-partwise>
+                """);
+        Map<Long, Integer> changes = Map.of(0L, 60, Timeline.TICKS_PER_WHOLE, 120);
+        Path saved = directory.resolve("cache");
+
+        MusicXMLCache.ParsedScore parsed = new MusicXMLCache(NoteFactory.getInstance(), 0, saved)
+                .parse(file.toFile());
+        assertEquals(changes, parsed.tempoMap().getChanges());
+
+        // The changes of tempo are also saved on disk.
+        MusicXMLCache.ParsedScore loaded = new MusicXMLCache(NoteFactory.getInstance(), 0, saved)
+                .parse(file.toFile());
+        assertEquals(parsed.tempo(), loaded.tempo());
+        assertEquals(changes, loaded.tempoMap().getChanges());
+    }
+
+    private Path write(String name, int tempo) throws IOException {
+        return Files.writeString(directory.resolve(name), SCORE.formatted(tempo));
+    }
+
+    private static List<String> describe(Map<String, List<Note>> parts) {
+        return parts.values().stream().flatMap(List::stream)
+                .map(note -> note.getFrequency() + "/" + note.getDuration(60))
+                .toList();
+    }
+}
@@ -0,0 +1,162 @@
+package fr.univartois.butinfo.lensymphony.musicxml;
+
+import fr.univartois.butinfo.lensymphony.notes.Note;
+import fr.univartois.butinfo.lensymphony.notes.NoteFactory;
+import org.junit.jupiter.api.Test;
+
+import javax.xml.parsers.SAXParserFactory;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the MusicXMLParallelParser class, checked against MusicXMLSaxParser.
+ */
+class MusicXMLParallelParserTest {
+
+    /**
+     * A score in which the second part relies on the time signature of the first one, and
+     * the tempo is changed in the last part.
+     * A comment and an attribute value contain markup-like text, which must be ignored.
+     */
+    private static final String SCORE = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <!DOCTYPE score-partwise PUBLIC "-//Recordare//DTD MusicXML 4.0 Partwise//EN" "http://www.musicxml.org/dtds/partwise.dtd">
+            <score-partwise version="4.0">
+              <part-list>
+                <score-part id="P1"><part-name>One</part-name></score-part>
+                <score-part id="P2"><part-name>Two</part-name></score-part>
+                <score-part id="P3"><part-name>Three</part-name></score-part>
+              </part-list>
+              <!-- <part id="P0"><beats>7</beats></part> -->
+              <part id="P1">
+                <measure number="1">
+                  <attributes><time><beats>3</beats><beat-type>4</beat-type></time></attributes>
+                  <direction><sound tempo="80"/></direction>
+                  <note><pitch><step>A</step><octave>4</octave></pitch><type>half</type></note>
+                  <note><pitch><step>B</step><octave>4</octave></pitch><type>quarter</type></note>
+                </measure>
+              </part>
+              <part id="P2">
+                <measure number="1" text="&lt;part&gt; >">
+                  <note><rest measure="yes"/></note>
+                </measure>
+                <measure number="2">
+                  <note><pitch><step>C</step><octave>5</octave></pitch><tie type="start"/>
+                    <type>half</type><staff>1</staff></note>
+                  <note><pitch><step>C</step><octave>5</octave></pitch><tie type="stop"/>
+                    <type>quarter</type><staff>1</staff></note>
+                  <note><rest/><type>eighth</type><dot/><staff>2</staff></note>
+                </measure>
+              </part>
+              <part id="P3">
+                <measure number="1">
+                  <attributes><time><beats>2</beats><beat-type>4</beat-type></time></attributes>
+                  <direction><sound tempo="132"/></direction>
+                  <note><rest measure="yes"/></note>
+                  <note><unpitched><display-step>E</display-step>
+                    <display-octave>4</display-octave></unpitched><type>16th</type></note>
+                </measure>
+              </part>
+            </score-partwise>
+            """;
+
+    @Test
+    void parsesThePartsInParallelLikeTheSaxParser() throws Exception {
+        byte[] document = SCORE.strip().getBytes(StandardCharsets.UTF_8);
+        MusicXMLSaxParser sax = parseWithSax(new ByteArrayInputStream(document));
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            MusicXMLParallelParser parallel = new MusicXMLParallelParser(
+                    NoteFactory.getInstance(), executor);
+            parallel.parse(document);
+
+            assertEquals(132, parallel.getTempo());
+            assertEquals(sax.getTempo(), parallel.getTempo());
+            assertEquals(List.of("P1", "P2", "P2.1", "P2.2", "P3"),
+                    new ArrayList<>(parallel.getParts().keySet()));
+            assertEquals(3000, parallel.getNotes("P2").get(0).getDuration(60));
+            assertEquals(describe(sax.getParts()), describe(parallel.getParts()));
+            assertEquals(sax.getTempoMap().getChanges(), parallel.getTempoMap().getChanges());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void parsesThePartsSequentiallyWithoutExecutor() throws Exception {
+        byte[] document = SCORE.strip().getBytes(StandardCharsets.UTF_8);
+        MusicXMLSaxParser sax = parseWithSax(new ByteArrayInputStream(document));
+        MusicXMLParallelParser parallel = new MusicXMLParallelParser(NoteFactory.getInstance(), null);
+        parallel.parse(document);
+
+        assertEquals(sax.getTempo(), parallel.getTempo());
+        assertEquals(describe(sax.getParts()), describe(parallel.getParts()));
+        assertEquals(sax.getTempoMap().getChanges(), parallel.getTempoMap().getChanges());
+    }
+
+    @Test
+    void scansTheRangesOfTheParts() {
+        byte[] document = SCORE.strip().getBytes(StandardCharsets.UTF_8);
+        List<MusicXMLParallelParser.PartRange> ranges = MusicXMLParallelParser.scan(document);
+
+        assertEquals(3, ranges.size());
+        assertEquals(List.of(0, 3, 3), ranges.stream().map(MusicXMLParallelParser.PartRange::beats).toList());
+        for (MusicXMLParallelParser.PartRange range : ranges) {
+            String part = new String(document, range.start(), range.end() - range.start(),
+                    StandardCharsets.UTF_8);
+            assertTrue(part.startsWith("<part id=\"P"));
+            assertTrue(part.endsWith("</part>"));
+        }
+    }
+
+    @Test
+    void parsesTheBundledScoreLikeTheSaxParser() throws Exception {
+        byte[] document;
+        try (InputStream input = MusicXMLParallelParserTest.class.getResourceAsStream("/mystere-1.xml")) {
+            document = input.readAllBytes();
+        }
+        MusicXMLSaxParser sax = parseWithSax(new ByteArrayInputStream(document));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            MusicXMLParallelParser parallel = new MusicXMLParallelParser(
+                    NoteFactory.getInstance(), executor);
+            parallel.parse(document);
+
+            assertEquals(sax.getTempo(), parallel.getTempo());
+            assertEquals(describe(sax.getParts()), describe(parallel.getParts()));
+            assertEquals(sax.getTempoMap().getChanges(), parallel.getTempoMap().getChanges());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static MusicXMLSaxParser parseWithSax(InputStream input) throws Exception {
+        SAXParserFactory factory = SAXParserFactory.newInstance();
+        factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+        MusicXMLSaxParser handler = new MusicXMLSaxParser(NoteFactory.getInstance());
+        factory.newSAXParser().parse(input, handler);
+        return handler;
+    }
+
+    private static Map<String, List<String>> describe(Map<String, List<Note>> parts) {
+        Map<String, List<String>> description = new LinkedHashMap<>();
+        for (Map.Entry<String, List<Note>> part : parts.entrySet()) {
+            List<String> notes = new ArrayList<>();
+            for (Note note : part.getValue()) {
+                notes.add(note.getClass().getSimpleName() + "/" + note.getFrequency()
+                        + "/" + note.getDuration(60) + "/" + note.getDuration(137));
+            }
+            description.put(part.getKey(), notes);
+        }
+        return description;
+    }
+}
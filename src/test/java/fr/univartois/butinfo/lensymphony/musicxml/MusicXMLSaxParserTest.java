@@ -0,0 +1,229 @@
+package fr.univartois.butinfo.lensymphony.musicxml;
+
+import fr.univartois.butinfo.lensymphony.notes.Note;
+import fr.univartois.butinfo.lensymphony.notes.NoteFactory;
+import fr.univartois.butinfo.lensymphony.notes.NotePitch;
+import fr.univartois.butinfo.lensymphony.notes.NoteValue;
+import fr.univartois.butinfo.lensymphony.notes.PitchClass;
+import fr.univartois.butinfo.lensymphony.notes.TempoMap;
+import fr.univartois.butinfo.lensymphony.notes.Timeline;
+import org.junit.jupiter.api.Test;
+
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the MusicXMLSaxParser class.
+ */
+class MusicXMLSaxParserTest {
+
+    private static SAXParser newSaxParser() throws Exception {
+        SAXParserFactory factory = SAXParserFactory.newInstance();
+        factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+        return factory.newSAXParser();
+    }
+
+    @Test
+    void listenerReceivesTheNotesOfEachPartInOrder() throws Exception {
+        MusicXMLSaxParser stored = new MusicXMLSaxParser(NoteFactory.getInstance());
+        try (InputStream input = MusicXMLSaxParserTest.class.getResourceAsStream("/mystere-1.xml")) {
+            newSaxParser().parse(input, stored);
+        }
+
+        Map<String, List<Note>> notified = new TreeMap<>();
+        List<Integer> tempos = new ArrayList<>();
+        MusicXMLSaxParser streamed = new MusicXMLSaxParser(NoteFactory.getInstance(), (part, tempo, note) -> {
+            notified.computeIfAbsent(part, k -> new ArrayList<>()).add(note);
+            tempos.add(tempo);
+        });
+        try (InputStream input = MusicXMLSaxParserTest.class.getResourceAsStream("/mystere-1.xml")) {
+            newSaxParser().parse(input, streamed);
+        }
+
+        assertFalse(notified.isEmpty());
+        assertEquals(stored.getParts().keySet(), notified.keySet());
+        for (Map.Entry<String, List<Note>> part : stored.getParts().entrySet()) {
+            List<Note> expected = part.getValue();
+            List<Note> actual = notified.get(part.getKey());
+            assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).getFrequency(), actual.get(i).getFrequency());
+                assertEquals(expected.get(i).getDuration(60), actual.get(i).getDuration(60));
+            }
+            assertTrue(streamed.getParts().get(part.getKey()).isEmpty());
+        }
+        assertEquals(stored.getTempo(), tempos.get(tempos.size() - 1).intValue());
+    }
+
+    @Test
+    void tempoChangesArePlacedWhereTheyOccur() throws Exception {
+        String score = """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <score-partwise version="4.0">
+                  <part id="P1">
+                    <measure number="1">
+                      <attributes><divisions>2</divisions></attributes>
+                      <direction><sound tempo="60"/></direction>
+                      <note><pitch><step>A</step><octave>4</octave></pitch><duration>4</duration><type>half</type><staff>1</staff></note>
+                      <note><pitch><step>A</step><octave>4</octave></pitch><duration>3</duration><type>quarter</type><dot/><staff>1</staff></note>
+                      <note><rest/><duration>1</duration><type>eighth</type><staff>1</staff></note>
+                      <backup><duration>8</duration></backup>
+                      <note><rest/><duration>8</duration><type>whole</type><staff>2</staff></note>
+                    </measure>
+                    <measure number="2">
+                      <direction><sound tempo="120"/></direction>
+                      <direction><sound dynamics="80"/></direction>
+                      <note><pitch><step>C</step><octave>5</octave></pitch><duration>8</duration><type>whole</type><staff>1</staff></note>
+                      <backup><duration>8</duration></backup>
+                      <note><rest/><duration>8</duration><type>whole</type><staff>2</staff></note>
+                    </measure>
+                    <measure number="3">
+                      <direction><sound tempo="90"/></direction>
+                      <note><pitch><step>C</step><octave>5</octave></pitch><duration>2</duration><type>quarter</type><staff>1</staff></note>
+                    </measure>
+                  </part>
+                </score-partwise>
+                """;
+        MusicXMLSaxParser handler = new MusicXMLSaxParser(NoteFactory.getInstance());
+        newSaxParser().parse(new ByteArrayInputStream(score.strip().getBytes(StandardCharsets.UTF_8)), handler);
+
+        assertEquals(90, handler.getTempo());
+        TempoMap tempoMap = handler.getTempoMap();
+        assertEquals(Map.of(0L, 60, Timeline.TICKS_PER_WHOLE, 120, 2 * Timeline.TICKS_PER_WHOLE, 90),
+                tempoMap.getChanges());
+        assertEquals(60, tempoMap.getInitialTempo());
+
+        // One second per beat in the first measure, then half a second in the second one.
+        Timeline timeline = Timeline.of(handler.getNotes("P1.1"), tempoMap);
+        assertEquals(4 * 44100, timeline.getOnset(3));
+        assertEquals(2 * 44100, timeline.getLength(3));
+        assertEquals(120, timeline.getTempo(3));
+        assertEquals(29400, timeline.getLength(4));
+        assertEquals(90, timeline.getTempo(4));
+    }
+
+    @Test
+    void defaultTempoIsUsedWithoutSound() throws Exception {
+        MusicXMLSaxParser handler = new MusicXMLSaxParser(NoteFactory.getInstance());
+        String score = "<score-partwise><part id=\"P1\"><measure><note><rest/><type>half</type></note></measure></part></score-partwise>";
+        newSaxParser().parse(new ByteArrayInputStream(score.getBytes(StandardCharsets.UTF_8)), handler);
+        assertEquals(Map.of(0L, 60), handler.getTempoMap().getChanges());
+    }
+
+    @Test
+    void notesPlayedAtTheSameTimeArePlacedOnDifferentLines() throws Exception {
+        String score = """
+                <score-partwise version="4.0">
+                  <part id="P1">
+                    <measure number="1">
+                      <attributes><divisions>1</divisions></attributes>
+                      <note><pitch><step>C</step><octave>4</octave></pitch><duration>2</duration><voice>1</voice><type>half</type></note>
+                      <note><chord/><pitch><step>E</step><octave>4</octave></pitch><duration>2</duration><voice>1</voice><type>half</type></note>
+                      <note><chord/><pitch><step>G</step><octave>4</octave></pitch><duration>2</duration><voice>1</voice><type>half</type></note>
+                      <note><pitch><step>F</step><octave>4</octave></pitch><duration>2</duration><voice>1</voice><type>half</type></note>
+                      <backup><duration>4</duration></backup>
+                      <note><pitch><step>C</step><octave>3</octave></pitch><duration>4</duration><voice>2</voice><type>whole</type></note>
+                    </measure>
+                    <measure number="2">
+                      <note><pitch><step>A</step><octave>4</octave></pitch><duration>1</duration><voice>1</voice><type>quarter</type></note>
+                      <forward><duration>1</duration></forward>
+                      <note><pitch><step>B</step><octave>4</octave></pitch><duration>1</duration><voice>1</voice><type>quarter</type></note>
+                    </measure>
+                  </part>
+                </score-partwise>
+                """;
+        MusicXMLSaxParser handler = new MusicXMLSaxParser(NoteFactory.getInstance());
+        newSaxParser().parse(new ByteArrayInputStream(score.strip().getBytes(StandardCharsets.UTF_8)), handler);
+
+        assertEquals(List.of("P1", "P1/2", "P1/3", "P1/4"), new ArrayList<>(handler.getParts().keySet()));
+        assertEquals(List.of(frequency(PitchClass.C, 4), frequency(PitchClass.F, 4), frequency(PitchClass.A, 4), 0.0,
+                frequency(PitchClass.B, 4)), frequencies(handler.getNotes("P1")));
+        assertEquals(List.of(frequency(PitchClass.E, 4)), frequencies(handler.getNotes("P1/2")));
+        assertEquals(List.of(frequency(PitchClass.G, 4)), frequencies(handler.getNotes("P1/3")));
+        assertEquals(List.of(frequency(PitchClass.C, 3)), frequencies(handler.getNotes("P1/4")));
+
+        // The gap left by the forward element is filled with a rest.
+        assertEquals(NoteValue.QUARTER.ticks(), handler.getNotes("P1").get(3).getTicks());
+        assertEquals(Timeline.TICKS_PER_WHOLE + NoteValue.HALF.ticks(),
+                handler.getNotes("P1").stream().limit(4).mapToLong(Note::getTicks).sum());
+        assertEquals(VoiceLayout.staffOf("P1.1"), VoiceLayout.staffOf("P1.1/3"));
+    }
+
+    @Test
+    void tiedChordsAreTiedByPitch() throws Exception {
+        String score = """
+                <score-partwise version="4.0">
+                  <part id="P1">
+                    <measure number="1">
+                      <attributes><divisions>1</divisions></attributes>
+                      <note><pitch><step>C</step><octave>4</octave></pitch><duration>2</duration><tie type="start"/><type>half</type><staff>1</staff></note>
+                      <note><chord/><pitch><step>E</step><octave>4</octave></pitch><duration>2</duration><tie type="start"/><type>half</type><staff>1</staff></note>
+                      <note><pitch><step>C</step><octave>4</octave></pitch><duration>1</duration><tie type="stop"/><type>quarter</type><staff>1</staff></note>
+                      <note><chord/><pitch><step>E</step><octave>4</octave></pitch><duration>1</duration><tie type="stop"/><type>quarter</type><staff>1</staff></note>
+                      <note><pitch><step>D</step><octave>4</octave></pitch><duration>1</duration><type>quarter</type><staff>1</staff></note>
+                    </measure>
+                  </part>
+                </score-partwise>
+                """;
+        MusicXMLSaxParser handler = new MusicXMLSaxParser(NoteFactory.getInstance());
+        newSaxParser().parse(new ByteArrayInputStream(score.strip().getBytes(StandardCharsets.UTF_8)), handler);
+
+        List<Note> lower = handler.getNotes("P1.1");
+        List<Note> upper = handler.getNotes("P1.1/2");
+        assertEquals(List.of(frequency(PitchClass.C, 4), frequency(PitchClass.D, 4)), frequencies(lower));
+        assertEquals(List.of(frequency(PitchClass.E, 4)), frequencies(upper));
+        assertEquals(NoteValue.HALF.ticks() + NoteValue.QUARTER.ticks(), lower.get(0).getTicks());
+        assertEquals(NoteValue.HALF.ticks() + NoteValue.QUARTER.ticks(), upper.get(0).getTicks());
+    }
+
+    @Test
+    void unterminatedTiesArePlacedAtTheEndOfTheirPart() throws Exception {
+        String score = """
+                <score-partwise version="4.0">
+                  <part id="P1">
+                    <measure number="1">
+                      <attributes><divisions>1</divisions></attributes>
+                      <note><pitch><step>D</step><octave>4</octave></pitch><duration>1</duration><type>quarter</type><staff>1</staff></note>
+                      <note><pitch><step>C</step><octave>4</octave></pitch><duration>2</duration><tie type="start"/><type>half</type><staff>1</staff></note>
+                      <note><pitch><step>C</step><octave>4</octave></pitch><duration>1</duration><tie type="start"/><type>quarter</type><staff>1</staff></note>
+                    </measure>
+                  </part>
+                  <part id="P2">
+                    <measure number="1">
+                      <attributes><divisions>1</divisions></attributes>
+                      <note><pitch><step>C</step><octave>4</octave></pitch><duration>1</duration><type>quarter</type><staff>1</staff></note>
+                      <note><pitch><step>E</step><octave>4</octave></pitch><duration>1</duration><tie type="start"/><type>quarter</type><staff>1</staff></note>
+                    </measure>
+                  </part>
+                </score-partwise>
+                """;
+        MusicXMLSaxParser handler = new MusicXMLSaxParser(NoteFactory.getInstance());
+        newSaxParser().parse(new ByteArrayInputStream(score.strip().getBytes(StandardCharsets.UTF_8)), handler);
+
+        List<Note> first = handler.getNotes("P1.1");
+        assertEquals(List.of(frequency(PitchClass.D, 4), frequency(PitchClass.C, 4)), frequencies(first));
+        assertEquals(NoteValue.HALF.ticks() + NoteValue.QUARTER.ticks(), first.get(1).getTicks());
+        // The tie of the first part does not continue in the second one.
+        List<Note> second = handler.getNotes("P2.1");
+        assertEquals(List.of(frequency(PitchClass.C, 4), frequency(PitchClass.E, 4)), frequencies(second));
+        assertEquals(NoteValue.QUARTER.ticks(), second.get(0).getTicks());
+        assertEquals(NoteValue.QUARTER.ticks(), second.get(1).getTicks());
+    }
+
+    private static double frequency(PitchClass pitchClass, int octave) {
+        return NotePitch.of(pitchClass, octave).frequency();
+    }
+
+    private static List<Double> frequencies(List<Note> notes) {
+        return notes.stream().map(Note::getFrequency).toList();
+    }
+}
@@ -0,0 +1,181 @@
+package fr.univartois.butinfo.lensymphony.musicxml;
+
+import fr.univartois.butinfo.lensymphony.notes.Note;
+import fr.univartois.butinfo.lensymphony.notes.NoteFactory;
+import fr.univartois.butinfo.lensymphony.notes.NoteValue;
+import org.junit.jupiter.api.Test;
+
+import javax.xml.parsers.SAXParserFactory;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the MusicXMLStaxParser class, checked against MusicXMLSaxParser.
+ */
+class MusicXMLStaxParserTest {
+
+    private static final String SCORE = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <!DOCTYPE score-partwise PUBLIC "-//Recordare//DTD MusicXML 4.0 Partwise//EN" "http://www.musicxml.org/dtds/partwise.dtd">
+            <score-partwise version="4.0">
+              <part-list><score-part id="P1"><part-name>Test</part-name></score-part></part-list>
+              <part id="P1">
+                <measure number="1">
+                  <attributes>
+                    <time><beats> 3 </beats><beat-type>4</beat-type></time>
+                    <transpose><chromatic>-2</chromatic></transpose>
+                  </attributes>
+                  <direction><sound tempo="96"/></direction>
+                  <note><pitch><step>C</step><alter>1</alter><octave>4</octave></pitch>
+                    <type>quarter</type><dot/><staff>1</staff></note>
+                  <note><pitch><step>e</step><octave>5</octave></pitch>
+                    <tie type="start"/><type>Half</type><staff>1</staff></note>
+                  <note><pitch><step>E</step><octave>5</octave></pitch>
+                    <tie type="stop"/><type>eighth</type><staff>1</staff></note>
+                  <note><rest/><type>16th</type><staff>2</staff></note>
+                  <note><unpitched><display-step>G</display-step>
+                    <display-octave>3</display-octave></unpitched>
+                    <type>32nd</type><notations><fermata/></notations><staff>2</staff></note>
+                </measure>
+                <measure number="2">
+                  <note><rest measure="yes"/><staff>2</staff></note>
+                </measure>
+              </part>
+            </score-partwise>
+            """;
+
+    @Test
+    void parsesTheSameNotesAsTheSaxParser() throws Exception {
+        MusicXMLSaxParser sax = parseWithSax(stream(SCORE));
+        MusicXMLStaxParser stax = new MusicXMLStaxParser(NoteFactory.getInstance());
+        stax.parse(stream(SCORE));
+
+        assertEquals(96, stax.getTempo());
+        assertEquals(sax.getTempo(), stax.getTempo());
+        assertEquals(List.of("P1.1", "P1.2"), new ArrayList<>(stax.getParts().keySet()));
+        assertEquals(2, stax.getNotes("P1.1").size());
+        assertEquals(3, stax.getNotes("P1.2").size());
+        assertEquals(describe(sax.getParts()), describe(stax.getParts()));
+        assertEquals(sax.getTempoMap().getChanges(), stax.getTempoMap().getChanges());
+    }
+
+    @Test
+    void parsesTheBundledScoreLikeTheSaxParser() throws Exception {
+        MusicXMLSaxParser sax = parseWithSax(resource());
+        MusicXMLStaxParser stax = new MusicXMLStaxParser(NoteFactory.getInstance());
+        try (InputStream input = resource()) {
+            stax.parse(input);
+        }
+
+        assertFalse(stax.getParts().isEmpty());
+        assertEquals(sax.getTempo(), stax.getTempo());
+        assertEquals(describe(sax.getParts()), describe(stax.getParts()));
+        assertEquals(sax.getTempoMap().getChanges(), stax.getTempoMap().getChanges());
+    }
+
+    @Test
+    void placesChordsAndVoicesLikeTheSaxParser() throws Exception {
+        String score = """
+                <score-partwise version="4.0">
+                  <part id="P1">
+                    <measure number="1">
+                      <attributes><divisions>2</divisions></attributes>
+                      <note><pitch><step>C</step><octave>4</octave></pitch><duration>4</duration><voice>1</voice><type>half</type><staff>1</staff></note>
+                      <note><chord/><pitch><step>E</step><octave>4</octave></pitch><duration>4</duration><voice>1</voice><type>half</type><staff>1</staff></note>
+                      <note><pitch><step>D</step><octave>4</octave></pitch><duration>2</duration><tie type="start"/><voice>1</voice><type>quarter</type><staff>1</staff></note>
+                      <note><pitch><step>D</step><octave>4</octave></pitch><duration>2</duration><tie type="stop"/><voice>1</voice><type>quarter</type><staff>1</staff></note>
+                      <backup><duration>8</duration></backup>
+                      <note><pitch><step>G</step><octave>3</octave></pitch><duration>6</duration><voice>2</voice><type>half</type><dot/><staff>1</staff></note>
+                      <forward><duration>2</duration></forward>
+                      <backup><duration>8</duration></backup>
+                      <note><rest/><duration>2</duration><voice>5</voice><type>quarter</type><staff>2</staff></note>
+                      <note><pitch><step>C</step><octave>2</octave></pitch><duration>6</duration><voice>5</voice><type>half</type><dot/><staff>2</staff></note>
+                    </measure>
+                  </part>
+                </score-partwise>
+                """;
+        MusicXMLSaxParser sax = parseWithSax(stream(score));
+        MusicXMLStaxParser stax = new MusicXMLStaxParser(NoteFactory.getInstance());
+        stax.parse(stream(score));
+
+        assertEquals(List.of("P1.1", "P1.1/2", "P1.1/3", "P1.2"), new ArrayList<>(stax.getParts().keySet()));
+        assertEquals(describe(sax.getParts()), describe(stax.getParts()));
+    }
+
+    @Test
+    void placesUnterminatedTiesLikeTheSaxParser() throws Exception {
+        String score = """
+                <score-partwise version="4.0">
+                  <part id="P1">
+                    <measure number="1">
+                      <attributes><divisions>1</divisions></attributes>
+                      <note><pitch><step>C</step><octave>4</octave></pitch><duration>2</duration><tie type="start"/><type>half</type><staff>1</staff></note>
+                      <note><pitch><step>E</step><octave>4</octave></pitch><duration>1</duration><type>quarter</type><staff>2</staff></note>
+                    </measure>
+                  </part>
+                  <part id="P2">
+                    <measure number="1">
+                      <attributes><divisions>1</divisions></attributes>
+                      <note><pitch><step>C</step><octave>4</octave></pitch><duration>1</duration><type>quarter</type><staff>1</staff></note>
+                    </measure>
+                  </part>
+                </score-partwise>
+                """;
+        MusicXMLSaxParser sax = parseWithSax(stream(score));
+        MusicXMLStaxParser stax = new MusicXMLStaxParser(NoteFactory.getInstance());
+        stax.parse(stream(score));
+
+        assertEquals(List.of("P1.1", "P1.2", "P2.1"), new ArrayList<>(stax.getParts().keySet()));
+        assertEquals(NoteValue.HALF.ticks(), stax.getParts().get("P1.1").getFirst().getTicks());
+        assertEquals(describe(sax.getParts()), describe(stax.getParts()));
+    }
+
+    @Test
+    void rejectsInvalidIntegers() {
+        String score = SCORE.replace("<beats> 3 </beats>", "<beats>3a</beats>");
+        MusicXMLStaxParser stax = new MusicXMLStaxParser(NoteFactory.getInstance());
+        assertThrows(NumberFormatException.class, () -> stax.parse(stream(score)));
+    }
+
+    private static InputStream stream(String xml) {
+        return new ByteArrayInputStream(xml.strip().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static InputStream resource() {
+        return MusicXMLStaxParserTest.class.getResourceAsStream("/mystere-1.xml");
+    }
+
+    private static MusicXMLSaxParser parseWithSax(InputStream input) throws Exception {
+        SAXParserFactory factory = SAXParserFactory.newInstance();
+        factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+        MusicXMLSaxParser handler = new MusicXMLSaxParser(NoteFactory.getInstance());
+        try (input) {
+            factory.newSAXParser().parse(input, handler);
+        }
+        return handler;
+    }
+
+    /**
+     * Describes the notes of each part by their type, frequency and durations, as notes
+     * do not all implement equals.
+     */
+    private static Map<String, List<String>> describe(Map<String, List<Note>> parts) {
+        Map<String, List<String>> description = new LinkedHashMap<>();
+        for (Map.Entry<String, List<Note>> part : parts.entrySet()) {
+            List<String> notes = new ArrayList<>();
+            for (Note note : part.getValue()) {
+                notes.add(note.getClass().getSimpleName() + "/" + note.getFrequency()
+                        + "/" + note.getDuration(60) + "/" + note.getDuration(137));
+            }
+            description.put(part.getKey(), notes);
+        }
+        return description;
+    }
+}
@@ -1,7 +1,10 @@
 package fr.univartois.butinfo.lensymphony.notes;
 
+import fr.univartois.butinfo.lensymphony.synthesizer.NoiseSource;
 import fr.univartois.butinfo.lensymphony.synthesizer.NoteSynthesizer;
 import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -28,4 +31,38 @@ class InstrumentsTest {
         assertSame(piano1, piano2,
                 "getSynthesizer() should return the same instance each time.");
     }
-}
\ No newline at end of file
+
+    @Test
+    void noisyInstrumentsSoundDifferentlyInEachPart() {
+        Note note = new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.QUARTER);
+        for (Instruments instrument : new Instruments[] { Instruments.SNARE_DRUM,
+                Instruments.CYMBAL, Instruments.GASBA, Instruments.FLUTE }) {
+            double[] first = instrument.getSynthesizer(NoiseSource.DEFAULT.derive("P1"))
+                    .synthesize(note, 120, 1.0);
+            double[] second = instrument.getSynthesizer(NoiseSource.DEFAULT.derive("P2"))
+                    .synthesize(note, 120, 1.0);
+            double[] again = instrument.getSynthesizer(NoiseSource.DEFAULT.derive("P1"))
+                    .synthesize(note, 120, 1.0);
+
+            assertFalse(Arrays.equals(first, second), instrument.name());
+            assertArrayEquals(first, again, instrument.name());
+        }
+    }
+
+    @Test
+    void defaultNoiseSoundsAsTheDefaultSynthesizer() {
+        Note note = new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.QUARTER);
+        for (Instruments instrument : Instruments.values()) {
+            assertArrayEquals(instrument.getSynthesizer().synthesize(note, 120, 1.0),
+                    instrument.getSynthesizer(NoiseSource.DEFAULT).synthesize(note, 120, 1.0),
+                    instrument.name());
+        }
+    }
+
+    @Test
+    void instrumentsWithoutNoiseShareTheirSynthesizer() {
+        NoteSynthesizer piano = Instruments.PIANO.getSynthesizer();
+        assertSame(piano, Instruments.PIANO.getSynthesizer(NoiseSource.DEFAULT.derive("P1")));
+        assertSame(piano, Instruments.PIANO.getSynthesizer(NoiseSource.DEFAULT.derive("P2")));
+    }
+}
@@ -1,6 +1,14 @@
 package fr.univartois.butinfo.lensymphony.notes;
 
 import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -122,4 +130,69 @@ class NotePitchTest {
         });
         assertEquals("Pitch is too low or too high", e.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testAllPitchesAreInIncreasingOrder() {
+        double previous = 0;
+        for (int octave = 0; octave < 9; octave++) {
+            for (PitchClass pitchClass : PitchClass.values()) {
+                NotePitch pitch = NotePitch.of(pitchClass, octave);
+                assertSame(pitchClass, pitch.pitchClass());
+                assertEquals(octave, pitch.octave());
+                assertTrue(pitch.frequency() > previous);
+                previous = pitch.frequency();
+            }
+        }
+    }
+
+    @Test
+    void testAlterationsSpanningSeveralOctaves() {
+        assertSame(NotePitch.of(PitchClass.A, 6), NotePitch.of(PitchClass.A, 4, 24));
+        assertSame(NotePitch.of(PitchClass.B, 2), NotePitch.of(PitchClass.C, 4, -13));
+        assertThrows(IllegalArgumentException.class, () -> NotePitch.of(PitchClass.A, 0, -10));
+    }
+
+    @Test
+    void testConcurrentLookups() throws Exception {
+        PitchClass[] classes = PitchClass.values();
+        NotePitch[] expected = new NotePitch[9 * classes.length];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = NotePitch.of(classes[i % classes.length], i / classes.length);
+        }
+
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int seed = t;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int mismatches = 0;
+                    for (int n = 0; n < 100_000; n++) {
+                        int i = (seed * 31 + n * 7) % expected.length;
+                        int alteration = (n % 5) - 2;
+                        int altered = i + alteration;
+                        if ((altered < 0) || (altered >= expected.length)) {
+                            continue;
+                        }
+                        NotePitch pitch = NotePitch.of(classes[i % classes.length], i / classes.length, alteration);
+                        if ((pitch != expected[altered]) || (pitch.frequency() != expected[altered].frequency())) {
+                            mismatches++;
+                        }
+                    }
+                    return mismatches;
+                }));
+            }
+
+            start.countDown();
+            for (Future<Integer> result : results) {
+                assertEquals(0, (int) result.get());
+            }
+
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
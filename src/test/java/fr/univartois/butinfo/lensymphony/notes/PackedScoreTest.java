@@ -0,0 +1,104 @@
+package fr.univartois.butinfo.lensymphony.notes;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the PackedScore class.
+ */
+class PackedScoreTest {
+
+    private static final int TEMPO = 96;
+
+    @Test
+    void notesArePackedInOrder() {
+        Note a = new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.QUARTER);
+        Note dotted = new DottedNote(new PitchedNote(NotePitch.of(PitchClass.C, 5), NoteValue.EIGHTH));
+        Note rest = new FermataNote(new Rest(NoteValue.HALF));
+        Note tied = new TiedNotes(List.of(a, new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.SIXTEENTH)));
+        List<Note> notes = List.of(a, dotted, rest, tied);
+
+        PackedScore score = PackedScore.of(notes, TEMPO);
+        Timeline timeline = Timeline.of(notes, TEMPO);
+        assertEquals(TEMPO, score.getTempo(0));
+        assertEquals(4, score.size());
+
+        for (int i = 0; i < notes.size(); i++) {
+            Note note = notes.get(i);
+            assertEquals(timeline.getOnset(i), score.getOnset(i));
+            assertEquals(timeline.getLength(i), score.getLength(i));
+            assertEquals(note.getFrequency(), score.getFrequency(i));
+            assertEquals(note.getDuration(TEMPO), score.getDuration(i));
+        }
+        assertEquals(timeline.getLength(), score.getLength());
+
+        assertEquals(0, score.getFlags(0));
+        assertEquals(PackedScore.DOTTED, score.getFlags(1));
+        assertEquals(PackedScore.FERMATA | PackedScore.REST, score.getFlags(2));
+        assertEquals(PackedScore.TIED, score.getFlags(3));
+    }
+
+    @Test
+    void scoresArePacked() {
+        List<Note> notes = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            notes.add(new PitchedNote(NotePitch.of(PitchClass.G, 3), NoteValue.EIGHTH));
+        }
+
+        PackedScore score = PackedScore.of(new Score(Instruments.PIANO, notes), TEMPO);
+        assertEquals(100, score.size());
+        assertEquals(Timeline.toSamples(100 * NoteValue.EIGHTH.ticks(), TEMPO), score.getLength());
+        assertEquals(100 * 21, score.footprint());
+    }
+
+    @Test
+    void emptyScoresHaveNoSample() {
+        PackedScore score = PackedScore.of(List.of(), TEMPO);
+        assertEquals(0, score.size());
+        assertEquals(0, score.getLength());
+    }
+
+    @Test
+    void voicesStartTogether() {
+        Note quarter = new PitchedNote(NotePitch.of(PitchClass.C, 4), NoteValue.QUARTER);
+        Note whole = new PitchedNote(NotePitch.of(PitchClass.E, 4), NoteValue.WHOLE);
+        Score score = new Score(Instruments.PIANO, List.of(quarter, quarter));
+        score.addVoice(List.of(whole));
+        score.addVoice(List.of(new Rest(NoteValue.HALF), quarter));
+
+        PackedScore packed = PackedScore.of(score, TempoMap.of(TEMPO));
+        assertEquals(3, packed.getVoiceCount());
+        assertEquals(5, packed.size());
+        assertEquals(List.of(0, 2, 3, 5), List.of(packed.getVoiceStart(0), packed.getVoiceStart(1),
+                packed.getVoiceStart(2), packed.getVoiceStart(3)));
+        assertEquals(0, packed.getOnset(2));
+        assertEquals(Timeline.toSamples(NoteValue.HALF.ticks(), TEMPO), packed.getOnset(4));
+        assertEquals(Timeline.toSamples(NoteValue.WHOLE.ticks(), TEMPO), packed.getLength());
+        assertEquals(PackedScore.REST, packed.getFlags(3));
+    }
+
+    @Test
+    void polyphonyCountsTheVoicesSoundingAtEachOnset() {
+        Note quarter = new PitchedNote(NotePitch.of(PitchClass.C, 4), NoteValue.QUARTER);
+        Note whole = new PitchedNote(NotePitch.of(PitchClass.E, 4), NoteValue.WHOLE);
+        Score score = new Score(Instruments.PIANO, List.of(quarter, quarter, quarter, quarter));
+        score.addVoice(List.of(new Rest(NoteValue.QUARTER), whole));
+        score.addVoice(List.of(quarter, new Rest(NoteValue.QUARTER), quarter));
+
+        PackedScore packed = PackedScore.of(score, TempoMap.of(TEMPO));
+        // The first note is only played with the first note of the third voice.
+        assertEquals(2, packed.getPolyphony(0));
+        // The second note is played with the whole note, while the third voice rests.
+        assertEquals(2, packed.getPolyphony(1));
+        assertEquals(3, packed.getPolyphony(2));
+        // The last note is played with the whole note, after the end of the third voice.
+        assertEquals(2, packed.getPolyphony(3));
+        assertEquals(2, packed.getPolyphony(5));
+        assertEquals(2, packed.getPolyphony(6));
+        assertEquals(3, packed.getPolyphony(8));
+    }
+}
@@ -0,0 +1,90 @@
+package fr.univartois.butinfo.lensymphony.notes;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the TempoMap class.
+ */
+class TempoMapTest {
+
+    private static final long WHOLE = Timeline.TICKS_PER_WHOLE;
+
+    @Test
+    void constantTempoIsTheSameAsWithoutMap() {
+        TempoMap tempoMap = TempoMap.of(97);
+        assertEquals(97, tempoMap.getInitialTempo());
+        assertEquals(Map.of(0L, 97), tempoMap.getChanges());
+        for (long ticks = 0; ticks < 100 * WHOLE; ticks += WHOLE / 3) {
+            assertEquals(Timeline.toSamples(ticks, 97), tempoMap.toSamples(ticks));
+            assertEquals(97, tempoMap.tempoAt(ticks));
+        }
+    }
+
+    @Test
+    void samplesFollowTheChangesOfTempo() {
+        TreeMap<Long, Integer> changes = new TreeMap<>();
+        changes.put(0L, 60);
+        changes.put(WHOLE, 120);
+        changes.put(3 * WHOLE, 30);
+        TempoMap tempoMap = TempoMap.of(changes);
+
+        // A whole note lasts 4 seconds at 60 BPM, 2 at 120 and 8 at 30.
+        assertEquals(0, tempoMap.toSamples(0));
+        assertEquals(2 * 44100, tempoMap.toSamples(WHOLE / 2));
+        assertEquals(4 * 44100, tempoMap.toSamples(WHOLE));
+        assertEquals(5 * 44100, tempoMap.toSamples(WHOLE + WHOLE / 2));
+        assertEquals(8 * 44100, tempoMap.toSamples(3 * WHOLE));
+        assertEquals(16 * 44100, tempoMap.toSamples(4 * WHOLE));
+
+        assertEquals(60, tempoMap.tempoAt(WHOLE - 1));
+        assertEquals(120, tempoMap.tempoAt(WHOLE));
+        assertEquals(30, tempoMap.tempoAt(10 * WHOLE));
+        assertEquals(60, tempoMap.tempoAtSample(4 * 44100 - 1));
+        assertEquals(120, tempoMap.tempoAtSample(4 * 44100));
+        assertEquals(30, tempoMap.tempoAtSample(8 * 44100));
+    }
+
+    @Test
+    void firstTempoAppliesFromTheBeginning() {
+        TreeMap<Long, Integer> changes = new TreeMap<>();
+        changes.put(WHOLE, 120);
+        changes.put(2 * WHOLE, 120);
+        changes.put(3 * WHOLE, 60);
+        TempoMap tempoMap = TempoMap.of(changes);
+
+        assertEquals(120, tempoMap.getInitialTempo());
+        assertEquals(Map.of(0L, 120, 3 * WHOLE, 60), tempoMap.getChanges());
+        assertEquals(6 * 44100, tempoMap.toSamples(3 * WHOLE));
+    }
+
+    @Test
+    void positionsOfNotesFollowTheChangesOfTempo() {
+        Note quarter = new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.QUARTER);
+        TreeMap<Long, Integer> changes = new TreeMap<>();
+        changes.put(0L, 60);
+        changes.put(WHOLE / 2, 120);
+        PackedScore score = PackedScore.of(List.of(quarter, quarter, quarter, quarter),
+                TempoMap.of(changes));
+
+        assertEquals(3 * 44100, score.getLength());
+        assertEquals(60, score.getTempo(1));
+        assertEquals(1000, score.getDuration(1));
+        assertEquals(120, score.getTempo(2));
+        assertEquals(500, score.getDuration(2));
+        assertEquals(2 * 44100, score.getOnset(2));
+        assertEquals(22050, score.getLength(3));
+    }
+
+    @Test
+    void invalidChangesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> TempoMap.of(0));
+        assertThrows(IllegalArgumentException.class, () -> TempoMap.of(new TreeMap<>()));
+        assertThrows(IllegalArgumentException.class, () -> TempoMap.of(new TreeMap<>(Map.of(-1L, 60))));
+    }
+}
@@ -0,0 +1,95 @@
+package fr.univartois.butinfo.lensymphony.notes;
+
+import fr.univartois.butinfo.lensymphony.synthesizer.NoteSynthesizer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the Timeline class, and the lengths of the notes in ticks.
+ */
+class TimelineTest {
+
+    private static Note note(NoteValue value) {
+        return new PitchedNote(NotePitch.of(PitchClass.A, 4), value);
+    }
+
+    @Test
+    void lengthsOfTheNotesAreExact() {
+        long quarter = Timeline.TICKS_PER_WHOLE / 4;
+        assertEquals(Timeline.TICKS_PER_WHOLE, NoteValue.WHOLE.ticks());
+        assertEquals(Timeline.TICKS_PER_WHOLE / 256, NoteValue.TWO_HUNDRED_FIFTY_SIXTH.ticks());
+        assertEquals(quarter, note(NoteValue.QUARTER).getTicks());
+        assertEquals(quarter * 3 / 2, new DottedNote(note(NoteValue.QUARTER)).getTicks());
+        assertEquals(quarter * 9 / 4, new DottedNote(new DottedNote(note(NoteValue.QUARTER))).getTicks());
+        assertEquals(quarter * 2, new FermataNote(note(NoteValue.QUARTER)).getTicks());
+        assertEquals(quarter * 5 / 4,
+                new TiedNotes(List.of(note(NoteValue.QUARTER), note(NoteValue.SIXTEENTH))).getTicks());
+
+        Rest rest = new Rest(NoteValue.QUARTER);
+        assertEquals(quarter, rest.getTicks());
+        rest.addDots(3);
+        assertEquals(quarter * 15 / 8, rest.getTicks());
+        rest.tieWith(new Rest(NoteValue.HALF));
+        assertEquals(quarter * 31 / 8, rest.getTicks());
+    }
+
+    @Test
+    void notesDoNotDrift() {
+        // At 97 BPM, an eighth note lasts 13639.17... samples, or 309 ms once truncated.
+        List<Note> eighths = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            eighths.add(note(NoteValue.EIGHTH));
+        }
+        List<Note> wholes = new ArrayList<>();
+        for (int i = 0; i < 125; i++) {
+            wholes.add(note(NoteValue.WHOLE));
+        }
+
+        Timeline first = Timeline.of(eighths, 97);
+        Timeline second = Timeline.of(wholes, 97);
+        assertEquals(1000, first.size());
+        assertEquals(97, first.getTempo(999));
+        assertEquals(13639175, first.getLength());
+        assertEquals(first.getLength(), second.getLength());
+        for (int i = 0; i < 125; i++) {
+            assertEquals(second.getOnset(i), first.getOnset(8 * i));
+        }
+
+        long total = 0;
+        for (int i = 0; i < first.size(); i++) {
+            assertEquals(first.getOnset(i + 1) - first.getOnset(i), first.getLength(i));
+            assertTrue(Math.abs(first.getLength(i) - 13639.175) < 1);
+            total += first.getLength(i);
+        }
+        assertEquals(first.getLength(), total);
+    }
+
+    @Test
+    void notesOfUnknownLengthShiftTheFollowingOnes() {
+        Timeline timeline = Timeline.of(List.of(note(NoteValue.QUARTER), new FakeNote(440, 100),
+                note(NoteValue.QUARTER)), 60);
+        assertEquals(0, timeline.getOnset(0));
+        assertEquals(44100, timeline.getOnset(1));
+        assertEquals(4410, timeline.getLength(1));
+        assertEquals(48510, timeline.getOnset(2));
+        assertEquals(92610, timeline.getLength());
+    }
+
+    @Test
+    void invalidTemposAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> Timeline.of(List.of(), 0));
+        assertEquals(0, Timeline.of(List.of(), 120).getLength());
+        assertEquals(0, Timeline.of(List.of(), 120).size());
+    }
+
+    @Test
+    void notesLastAsManySamplesAsTheirDuration() {
+        assertEquals(NoteSynthesizer.SAMPLE_RATE, Timeline.SAMPLE_RATE);
+        assertEquals(4410, new FakeNote(440, 100).getSampleCount(60));
+        assertEquals(11025, note(NoteValue.EIGHTH).getSampleCount(120));
+    }
+}
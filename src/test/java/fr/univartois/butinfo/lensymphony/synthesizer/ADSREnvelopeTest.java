@@ -0,0 +1,143 @@
+package fr.univartois.butinfo.lensymphony.synthesizer;
+
+import fr.univartois.butinfo.lensymphony.notes.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ADSREnvelope class.
+ */
+class ADSREnvelopeTest {
+
+    private static final double VOLUME = 0.7;
+
+    /**
+     * The parameters of the envelopes to test: those of the instruments, and envelopes
+     * whose phases overlap or are empty.
+     */
+    private static final double[][] PARAMETERS = {
+            {0.1, 0.2, 0.7, 0.3},
+            {0.001, 0.1, 0.3, 1.5},
+            {100, 200, 0.5, 150},
+            {300, 300, 0.5, 300},
+            {0, 0, 0.4, 0},
+            {50, 0, 1.0, 2000},
+            {2000, 10, 0.5, 10},
+    };
+
+    /**
+     * A note lasting a given number of milliseconds.
+     */
+    private static Note lasting(int duration) {
+        return new Note() {
+            @Override
+            public double getFrequency() {
+                return 440;
+            }
+
+            @Override
+            public int getDuration(int tempo) {
+                return duration;
+            }
+        };
+    }
+
+    /**
+     * Computes the samples of a note one at a time, as the envelope is defined.
+     */
+    private static double[] expected(ADSRSynthesizer adsr, int total, int duration) {
+        Note note = lasting(duration);
+        double[] samples = new double[total];
+        for (int i = 0; i < total; i++) {
+            double t = (double) duration * i / total;
+            samples[i] = (i - 300.5) * adsr.adsrEnvelope(t, note, 120, VOLUME);
+        }
+        return samples;
+    }
+
+    private static double[] ramp(int total) {
+        double[] samples = new double[total];
+        for (int i = 0; i < total; i++) {
+            samples[i] = i - 300.5;
+        }
+        return samples;
+    }
+
+    @Test
+    void phasesGiveTheSameSamplesAsTheEnvelope() {
+        int[][] sizes = {{22050, 500}, {1000, 500}, {44100, 1}, {7, 1000}, {500, 0}, {0, 500}};
+
+        for (double[] p : PARAMETERS) {
+            ADSRSynthesizer adsr = new ADSRSynthesizer(new PureSound(), p[0], p[1], p[2], p[3]);
+            ADSREnvelope envelope = new ADSREnvelope(p[0], p[1], p[2], p[3]);
+            for (int[] size : sizes) {
+                double[] samples = ramp(size[0]);
+                envelope.phases(size[0], size[1]).apply(VOLUME, 0, samples, 0, size[0]);
+                assertArrayEquals(expected(adsr, size[0], size[1]), samples, 0.0,
+                        Arrays.toString(p) + " " + Arrays.toString(size));
+            }
+        }
+    }
+
+    @Test
+    void blocksGiveTheSameSamplesAsTheWholeNote() {
+        ADSREnvelope envelope = new ADSREnvelope(100, 200, 0.5, 150);
+        ADSREnvelope.Phases phases = envelope.phases(1000, 500);
+        double[] whole = ramp(1000);
+        phases.apply(VOLUME, 0, whole, 0, 1000);
+
+        double[] blocks = ramp(1000);
+        double[] buffer = new double[70];
+        for (int from = 0; from < 1000; from += 33) {
+            int length = Math.min(33, 1000 - from);
+            System.arraycopy(blocks, from, buffer, 10, length);
+            phases.apply(VOLUME, from, buffer, 10, length);
+            System.arraycopy(buffer, 10, blocks, from, length);
+        }
+        assertArrayEquals(whole, blocks, 0.0);
+    }
+
+    @Test
+    void synthesizerAppliesTheEnvelope() {
+        Note note = new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.EIGHTH);
+        NoteSynthesizer pure = new PureSound();
+        ADSRSynthesizer adsr = new ADSRSynthesizer(pure, 20, 50, 0.6, 40);
+        double[] base = pure.synthesize(note, 120, VOLUME);
+        int duration = note.getDuration(120);
+
+        double[] samples = adsr.synthesize(note, 120, VOLUME);
+
+        for (int i = 0; i < samples.length; i++) {
+            double t = (double) duration * i / base.length;
+            assertEquals(base[i] * adsr.adsrEnvelope(t, note, 120, VOLUME), samples[i]);
+        }
+    }
+
+    @Test
+    void silentSamplesAreMultipliedByZero() {
+        ADSREnvelope envelope = new ADSREnvelope(100, 200, 0.5, 150);
+        double[] samples = {1, -1, Double.NaN, Double.POSITIVE_INFINITY};
+
+        envelope.phases(samples.length, 0).apply(VOLUME, 0, samples, 0, samples.length);
+
+        assertEquals(0.0, samples[0]);
+        assertEquals(-0.0, samples[1]);
+        assertEquals(Double.NaN, samples[2]);
+        assertEquals(Double.NaN, samples[3]);
+    }
+
+    @Test
+    void phasesAreCached() {
+        ADSREnvelope envelope = new ADSREnvelope(0.1, 0.2, 0.7, 0.3);
+
+        assertSame(envelope.phases(22050, 500), envelope.phases(22050, 500));
+        assertNotSame(envelope.phases(22050, 500), envelope.phases(22051, 500));
+        for (int total = 0; total < 1000; total++) {
+            envelope.phases(total, 500);
+        }
+        assertTrue(envelope.size() <= 64);
+    }
+}
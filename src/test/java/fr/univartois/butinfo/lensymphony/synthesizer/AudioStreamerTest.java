@@ -0,0 +1,74 @@
+package fr.univartois.butinfo.lensymphony.synthesizer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the AudioStreamer class.
+ */
+class AudioStreamerTest {
+
+    private static double[] ramp(int length) {
+        double[] samples = new double[length];
+        for (int i = 0; i < length; i++) {
+            samples[i] = Math.sin(i * 0.01);
+        }
+        return samples;
+    }
+
+    @Test
+    void streamedDataAreTheEncodedSamples() {
+        double[] samples = ramp(3 * AudioStreamer.BLOCK_FRAMES + 123);
+        byte[] expected = new byte[samples.length * 2];
+        PcmEncoding.encode(samples, 0, samples.length, expected, 0);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        AudioStreamer.stream(AudioSource.of(samples), out::write);
+
+        assertArrayEquals(expected, out.toByteArray());
+    }
+
+    @Test
+    void dataAreWrittenBlockByBlock() {
+        List<Integer> lengths = new ArrayList<>();
+        AudioStreamer.stream(AudioSource.of(new double[AudioStreamer.BLOCK_FRAMES + 10]),
+                (data, offset, length) -> lengths.add(length));
+
+        assertEquals(List.of(AudioStreamer.BLOCK_FRAMES * 2, 20), lengths);
+    }
+
+    @Test
+    void emptySourceWritesNothing() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        AudioStreamer.stream(AudioSource.of(new double[0]), out::write);
+
+        assertEquals(0, out.size());
+    }
+
+    @Test
+    void failuresOfTheSourceAreRethrown() {
+        AudioSource broken = (buffer, offset, length) -> {
+            throw new IllegalStateException("broken source");
+        };
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> AudioStreamer.stream(broken, (data, offset, length) -> { }));
+        assertEquals("broken source", e.getMessage());
+    }
+
+    @Test
+    void arraySourceReadsAllSamplesThenEnds() {
+        AudioSource source = AudioSource.of(new double[] {1, 2, 3});
+        double[] buffer = new double[4];
+
+        assertEquals(2, source.read(buffer, 1, 2));
+        assertEquals(1, source.read(buffer, 0, 2));
+        assertEquals(-1, source.read(buffer, 0, 2));
+        assertArrayEquals(new double[] {3, 1, 2, 0}, buffer, 0.0);
+    }
+}
@@ -0,0 +1,222 @@
+package fr.univartois.butinfo.lensymphony.synthesizer;
+
+import fr.univartois.butinfo.lensymphony.notes.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the CachingSynthesizer class.
+ */
+class CachingSynthesizerTest {
+
+    private static final int TEMPO = 120;
+
+    private static final double VOLUME = 0.5;
+
+    /**
+     * A deterministic synthesizer counting the notes it actually synthesizes.
+     */
+    private static class CountingSynth implements NoteSynthesizer {
+        protected int calls;
+
+        @Override
+        public double[] synthesize(Note note, int tempo, double volume) {
+            calls++;
+            double[] sounds = new double[sampleCount(note, tempo)];
+            Arrays.fill(sounds, note.getFrequency() * volume);
+            return sounds;
+        }
+
+        @Override
+        public boolean isDeterministic() {
+            return true;
+        }
+    }
+
+    @Test
+    void repeatedNotesAreSynthesizedOnce() {
+        CountingSynth counting = new CountingSynth();
+        CachingSynthesizer cached = new CachingSynthesizer(counting);
+        Note a = new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.QUARTER);
+        Note sameA = new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.QUARTER);
+
+        double[] first = cached.synthesize(a, TEMPO, VOLUME);
+        double[] second = cached.synthesize(sameA, TEMPO, VOLUME);
+
+        assertEquals(1, counting.calls);
+        assertArrayEquals(first, second, 0.0);
+        assertNotSame(first, second);
+        assertEquals(22050, cached.size());
+    }
+
+    @Test
+    void cachedSamplesCannotBeAltered() {
+        CachingSynthesizer cached = new CachingSynthesizer(new CountingSynth());
+        Note a = new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.EIGHTH);
+
+        double[] first = cached.synthesize(a, TEMPO, VOLUME);
+        Arrays.fill(first, 42.0);
+        double[] out = new double[cached.sampleCount(a, TEMPO)];
+        cached.synthesizeInto(a, TEMPO, VOLUME, out, 0);
+
+        assertEquals(220.0, out[0], 1e-9);
+    }
+
+    @Test
+    void differentVolumesAndDurationsAreNotShared() {
+        CountingSynth counting = new CountingSynth();
+        CachingSynthesizer cached = new CachingSynthesizer(counting);
+        Note a = new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.QUARTER);
+
+        cached.synthesize(a, TEMPO, VOLUME);
+        cached.synthesize(a, TEMPO, 1.0);
+        cached.synthesize(a, 60, VOLUME);
+        cached.synthesize(new DottedNote(a), TEMPO, VOLUME);
+
+        assertEquals(4, counting.calls);
+    }
+
+    @Test
+    void leastRecentlyUsedNotesAreEvicted() {
+        CountingSynth counting = new CountingSynth();
+        CachingSynthesizer cached = new CachingSynthesizer(counting, 30_000);
+        Note a = new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.QUARTER);
+        Note c = new PitchedNote(NotePitch.of(PitchClass.C, 4), NoteValue.EIGHTH);
+        Note e = new PitchedNote(NotePitch.of(PitchClass.E, 4), NoteValue.EIGHTH);
+
+        // Storing c evicts a, then e fits along with c.
+        cached.synthesize(a, TEMPO, VOLUME);
+        cached.synthesize(c, TEMPO, VOLUME);
+        cached.synthesize(e, TEMPO, VOLUME);
+        cached.synthesize(c, TEMPO, VOLUME);
+        assertEquals(3, counting.calls);
+        assertEquals(22050, cached.size());
+
+        // Storing a again evicts c, which is now the least recently used, then e.
+        cached.synthesize(e, TEMPO, VOLUME);
+        cached.synthesize(a, TEMPO, VOLUME);
+        cached.synthesize(a, TEMPO, VOLUME);
+        assertEquals(4, counting.calls);
+        assertEquals(22050, cached.size());
+    }
+
+    @Test
+    void randomSynthesizersAreNotCached() {
+        Random random = new Random();
+        NoteSynthesizer noisy = (note, tempo, volume) -> random.doubles(22050).toArray();
+        CachingSynthesizer cached = new CachingSynthesizer(noisy);
+        Note a = new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.QUARTER);
+
+        double[] first = cached.synthesize(a, TEMPO, VOLUME);
+        double[] second = cached.synthesize(a, TEMPO, VOLUME);
+
+        assertFalse(cached.isDeterministic());
+        assertNotEquals(first[1000], second[1000]);
+        assertEquals(0, cached.size());
+    }
+
+    @Test
+    void noisesAreCached() {
+        NoteSynthesizer noisy = new WhiteNoiseSynthesizer(new PureSound(), 0.02);
+        CachingSynthesizer cached = new CachingSynthesizer(noisy);
+        Note a = new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.QUARTER);
+
+        double[] first = cached.synthesize(a, TEMPO, VOLUME);
+        double[] second = cached.synthesize(a, TEMPO, VOLUME);
+
+        assertTrue(cached.isDeterministic());
+        assertArrayEquals(noisy.synthesize(a, TEMPO, VOLUME), first);
+        assertArrayEquals(first, second);
+        assertEquals(first.length, cached.size());
+    }
+
+    @Test
+    void instrumentsAreCachedWithTheSameSamples() {
+        Note a = new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.QUARTER);
+        Instruments[] deterministic = {Instruments.PIANO, Instruments.VIOLIN, Instruments.XYLOPHONE};
+
+        for (Instruments instrument : deterministic) {
+            CachingSynthesizer cached = new CachingSynthesizer(instrument.getSynthesizer());
+            double[] expected = instrument.getSynthesizer().synthesize(a, TEMPO, VOLUME);
+
+            cached.synthesize(a, TEMPO, VOLUME);
+            double[] block = new double[1000];
+            int n = cached.synthesizeBlock(a, TEMPO, VOLUME, 5000, block, 0, block.length);
+
+            assertTrue(cached.supportsBlocks(), instrument.name());
+            assertEquals(1000, n, instrument.name());
+            assertArrayEquals(Arrays.copyOfRange(expected, 5000, 6000), block, 0.0, instrument.name());
+        }
+    }
+
+    /**
+     * A deterministic synthesizer computing its notes block by block, and counting the
+     * notes it synthesizes in full.
+     */
+    private static class BlockSynth extends CountingSynth {
+        private int blocks;
+
+        @Override
+        public int synthesizeBlock(Note note, int tempo, double volume, int from, double[] out,
+                int offset, int length) {
+            blocks++;
+            int n = Math.max(0, Math.min(length, sampleCount(note, tempo) - from));
+            Arrays.fill(out, offset, offset + n, note.getFrequency() * volume);
+            return n;
+        }
+
+        @Override
+        public boolean supportsBlocks() {
+            return true;
+        }
+    }
+
+    @Test
+    void notesTooLongToBeCachedAreRenderedBlockByBlock() {
+        BlockSynth blocky = new BlockSynth();
+        CachingSynthesizer cached = new CachingSynthesizer(blocky, 1000);
+        Note a = new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.QUARTER);
+        double[] block = new double[1000];
+
+        for (int from = 0; from < 22050; from += block.length) {
+            cached.synthesizeBlock(a, TEMPO, VOLUME, from, block, 0, block.length);
+        }
+
+        assertEquals(0, blocky.calls);
+        assertEquals(23, blocky.blocks);
+        assertEquals(220.0, block[0], 1e-9);
+        assertEquals(0, cached.size());
+    }
+
+    @Test
+    void evictedNotesAreRenderedBlockByBlock() {
+        BlockSynth blocky = new BlockSynth();
+        CachingSynthesizer cached = new CachingSynthesizer(blocky);
+        Note a = new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.QUARTER);
+        double[] block = new double[1000];
+
+        cached.synthesizeBlock(a, TEMPO, VOLUME, 0, block, 0, block.length);
+        cached.clear();
+        cached.synthesizeBlock(a, TEMPO, VOLUME, 1000, block, 0, block.length);
+        cached.synthesizeBlock(a, TEMPO, VOLUME, 2000, block, 0, block.length);
+
+        assertEquals(1, blocky.calls);
+        assertEquals(2, blocky.blocks);
+        assertEquals(220.0, block[999], 1e-9);
+    }
+
+    @Test
+    void blocksAreSupportedAsByTheDecoratedSynthesizer() {
+        assertFalse(new CachingSynthesizer(new CountingSynth()).supportsBlocks());
+        assertTrue(new CachingSynthesizer(new BlockSynth()).supportsBlocks());
+    }
+
+    @Test
+    void negativeCapacity_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> new CachingSynthesizer(new PureSound(), -1));
+    }
+}
@@ -1,18 +1,21 @@
 package fr.univartois.butinfo.lensymphony.synthesizer;
 
 import fr.univartois.butinfo.lensymphony.notes.Note;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * Unit tests for the CymbaleSynthesizer class.
  *
- * Testing is focused on the deterministic parts of the synthesizer:
+ * Testing is focused on:
  * - The cymbaleEnvelope() method, which is public and deterministic.
  * - Edge cases like zero frequency or zero duration notes.
- *
- * Direct testing of the synthesize() output values is not possible
- * due to the use of java.util.Random.
+ * - The reproducibility of the noise, which only depends on the note.
  */
 class CymbaleSynthesizerTest {
 
@@ -155,4 +158,98 @@ class CymbaleSynthesizerTest {
         assertEquals(nbSample, resultSound.length,
                 "Synthesize method did not return an array of the expected length.");
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests that the same note always gives the same samples, whether it is
+     * synthesized in full or block by block.
+     */
+    @Test
+    void testSameNoteSoundsTheSame() {
+        Note note = new FakeNote(440.0, 50.0);
+        CymbaleSynthesizer synth = CymbaleSynthesizer.getInstance();
+        double[] expected = synth.synthesize(note, TEMPO, VOLUME);
+
+        double[] blocks = new double[expected.length];
+        for (int from = 0; from < blocks.length; from += 500) {
+            synth.synthesizeBlock(note, TEMPO, VOLUME, from, blocks, from, 500);
+        }
+
+        assertFalse(synth.isDeterministic());
+        assertArrayEquals(expected, synth.synthesize(note, TEMPO, VOLUME), 0.0);
+        assertArrayEquals(expected, blocks, 0.0);
+    }
+
+    /**
+     * Tests that the hits of the same note played one after the other do not all sound
+     * the same, while each of them can still be computed block by block.
+     */
+    @Test
+    void testRepeatedHitsVary() {
+        Note note = new FakeNote(440.0, 50.0);
+        CymbaleSynthesizer synth = CymbaleSynthesizer.getInstance();
+        int length = synth.sampleCount(note, TEMPO);
+
+        Set<Integer> hits = new HashSet<>();
+        for (int i = 0; i < 8; i++) {
+            long onset = (long) i * length;
+            double[] hit = new double[length];
+            synth.synthesizeInto(note, TEMPO, VOLUME, onset, hit, 0);
+            double[] blocks = new double[length];
+            for (int from = 0; from < length; from += 500) {
+                synth.synthesizeBlock(note, TEMPO, VOLUME, onset, from, blocks, from, 500);
+            }
+            assertArrayEquals(hit, blocks, 0.0);
+            hits.add(Arrays.hashCode(hit));
+        }
+        assertTrue(hits.size() > 1, "Repeated hits must not all sound the same.");
+    }
+
+    /**
+     * Tests that another source of noise gives another sound.
+     */
+    @Test
+    void testSeedChangesNoise() {
+        Note note = new FakeNote(440.0, 50.0);
+        double[] first = CymbaleSynthesizer.getInstance().synthesize(note, TEMPO, VOLUME);
+        double[] second = CymbaleSynthesizer.withNoise(NoiseSource.of(7))
+                .synthesize(note, TEMPO, VOLUME);
+
+        assertNotEquals(first[100], second[100]);
+    }
+
+    /**
+     * Tests that each hit is the hit computed sample by sample with the noise of the
+     * variation chosen for its note and its position, and that two hits of the same note
+     * are the same exactly when their positions choose the same variation.
+     */
+    @Test
+    void testHitsAreTheComputedHitOfTheirVariant() {
+        Note note = new FakeNote(440.0, 500.0);
+        CymbaleSynthesizer synth = CymbaleSynthesizer.getInstance();
+        double volume = 0.8;
+        int length = synth.sampleCount(note, TEMPO);
+        long seed = NoiseSource.DEFAULT.seed(note, length);
+        double[][] hits = new double[16][length];
+        int[] variants = new int[hits.length];
+
+        for (int h = 0; h < hits.length; h++) {
+            long onset = (long) h * length;
+            variants[h] = PercussionBank.variantOf(seed, onset);
+            long variantSeed = NoiseSource.DEFAULT.seed(variants[h]);
+            synth.synthesizeInto(note, TEMPO, volume, onset, hits[h], 0);
+            for (int i = 0; i < length; i++) {
+                double t = (double) i / SAMPLE_RATE;
+                double expected = volume * synth.cymbaleEnvelope(t, volume)
+                        * NoiseSource.noise(variantSeed, i) * Math.sin(4000.0 * Math.PI * t);
+                assertEquals(expected, hits[h][i], 1e-12);
+            }
+        }
+
+        for (int h = 0; h < hits.length; h++) {
+            for (int k = 0; k < hits.length; k++) {
+                assertEquals(variants[h] == variants[k], Arrays.equals(hits[h], hits[k]));
+            }
+        }
+        assertTrue(Arrays.stream(variants).distinct().count() > 1);
+    }
+}
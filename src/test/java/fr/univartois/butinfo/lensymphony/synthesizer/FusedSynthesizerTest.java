@@ -0,0 +1,182 @@
+package fr.univartois.butinfo.lensymphony.synthesizer;
+
+import fr.univartois.butinfo.lensymphony.notes.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the FusedSynthesizer class.
+ */
+class FusedSynthesizerTest {
+
+    private static final int TEMPO = 120;
+
+    private static final double VOLUME = 0.5;
+
+    /**
+     * A synthesizer that cannot be fused, and does not support blocks.
+     */
+    private static class LegacySynth implements NoteSynthesizer {
+        @Override
+        public double[] synthesize(Note note, int tempo, double volume) {
+            double[] sounds = new double[sampleCount(note, tempo)];
+            Arrays.fill(sounds, volume);
+            return sounds;
+        }
+    }
+
+    /**
+     * A fusible layer leaving the samples as they are, and counting the stages it creates.
+     */
+    private static class CountingLayer extends NoteSynthesizerDecorator implements FusibleSynthesizer {
+        private int stages;
+
+        CountingLayer(NoteSynthesizer synthesizer) {
+            super(synthesizer);
+        }
+
+        @Override
+        public SampleStage stage(Note note, int tempo, double volume, int from) {
+            stages++;
+            return (buffer, offset, length) -> { };
+        }
+    }
+
+    @Test
+    void everyInstrumentSoundsTheSameWhenFused() {
+        Note note = new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.QUARTER);
+
+        for (Instruments instrument : Instruments.values()) {
+            NoteSynthesizer layered = instrument.getSynthesizer();
+            NoteSynthesizer fused = FusedSynthesizer.fuse(layered);
+
+            assertEquals(layered.sampleCount(note, TEMPO), fused.sampleCount(note, TEMPO));
+            assertEquals(layered.isDeterministic(), fused.isDeterministic());
+            assertArrayEquals(layered.synthesize(note, TEMPO, VOLUME),
+                    fused.synthesize(note, TEMPO, VOLUME), 1e-12, instrument.name());
+        }
+    }
+
+    @Test
+    void decoratorChainsAreFused() {
+        assertInstanceOf(FusedSynthesizer.class,
+                FusedSynthesizer.fuse(Instruments.VIOLIN.getSynthesizer()));
+        assertInstanceOf(FusedSynthesizer.class,
+                FusedSynthesizer.fuse(Instruments.FLUTE.getSynthesizer()));
+        assertInstanceOf(FusedSynthesizer.class,
+                FusedSynthesizer.fuse(new VibratoSynthesizer(new ADSRSynthesizer(new LegacySynth(),
+                        10, 10, 0.5, 10), 0.01, 5)));
+    }
+
+    @Test
+    void synthesizersWithNothingToFuseAreKept() {
+        NoteSynthesizer pure = new PureSound();
+        NoteSynthesizer drum = Instruments.SNARE_DRUM.getSynthesizer();
+        NoteSynthesizer cached = new CachingSynthesizer(Instruments.VIOLIN.getSynthesizer());
+        NoteSynthesizer single = new VibratoSynthesizer(drum, 0.01, 5);
+
+        assertSame(pure, FusedSynthesizer.fuse(pure));
+        assertSame(drum, FusedSynthesizer.fuse(drum));
+        assertSame(cached, FusedSynthesizer.fuse(cached));
+        assertSame(single, FusedSynthesizer.fuse(single));
+    }
+
+    @Test
+    void blocksMatchWholeNote() {
+        Note note = new PitchedNote(NotePitch.of(PitchClass.E, 5), NoteValue.HALF);
+
+        for (Instruments instrument : Instruments.values()) {
+            NoteSynthesizer fused = FusedSynthesizer.fuse(instrument.getSynthesizer());
+            if (!fused.supportsBlocks()) {
+                continue;
+            }
+            double[] expected = fused.synthesize(note, TEMPO, VOLUME);
+            double[] blocks = new double[expected.length];
+            for (int from = 0; from < blocks.length; from += 1000) {
+                fused.synthesizeBlock(note, TEMPO, VOLUME, from, blocks, from, 1000);
+            }
+            assertArrayEquals(expected, blocks, 1e-12, instrument.name());
+        }
+    }
+
+    @Test
+    void chainsOverUnfusibleSynthesizersSoundTheSame() {
+        Note note = new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.EIGHTH);
+        NoteSynthesizer layered = new VibratoSynthesizer(
+                new ADSRSynthesizer(new LegacySynth(), 10, 10, 0.5, 10), 0.01, 5);
+        NoteSynthesizer fused = FusedSynthesizer.fuse(layered);
+        double[] out = new double[100 + fused.sampleCount(note, TEMPO)];
+
+        int written = fused.synthesizeInto(note, TEMPO, VOLUME, out, 100);
+
+        assertEquals(11025, written);
+        assertArrayEquals(layered.synthesize(note, TEMPO, VOLUME),
+                Arrays.copyOfRange(out, 100, out.length), 1e-12);
+    }
+
+    @Test
+    void restsHaveNoSamples() {
+        Note rest = NoteFactory.getInstance().createRest(NoteValue.QUARTER);
+        NoteSynthesizer fused = FusedSynthesizer.fuse(Instruments.VIOLIN.getSynthesizer());
+
+        assertEquals(0, fused.synthesize(rest, TEMPO, VOLUME).length);
+    }
+
+    @Test
+    void stagesAreCreatedOncePerNote() {
+        Note a = new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.QUARTER);
+        Note c = new PitchedNote(NotePitch.of(PitchClass.C, 5), NoteValue.QUARTER);
+        NoteSynthesizer layered = new VibratoSynthesizer(new PureSound(), 0.01, 5);
+        CountingLayer counting = new CountingLayer(layered);
+        NoteSynthesizer fused = FusedSynthesizer.fuse(counting);
+        int count = fused.sampleCount(a, TEMPO);
+        double[] first = new double[count];
+        double[] second = new double[count];
+
+        // The notes of a chord are rendered together, block by block.
+        for (int from = 0; from < count; from += 1000) {
+            fused.synthesizeBlock(a, TEMPO, VOLUME, 0, from, first, from, 1000);
+            fused.synthesizeBlock(c, TEMPO, VOLUME, 0, from, second, from, 1000);
+        }
+
+        assertEquals(2, counting.stages);
+        assertArrayEquals(layered.synthesize(a, TEMPO, VOLUME), first, 1e-12);
+        assertArrayEquals(layered.synthesize(c, TEMPO, VOLUME), second, 1e-12);
+    }
+
+    @Test
+    void blocksThatDoNotFollowGetNewStages() {
+        Note a = new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.QUARTER);
+        NoteSynthesizer layered = new VibratoSynthesizer(new PureSound(), 0.01, 5);
+        CountingLayer counting = new CountingLayer(layered);
+        NoteSynthesizer fused = FusedSynthesizer.fuse(counting);
+        double[] expected = layered.synthesize(a, TEMPO, VOLUME);
+        double[] block = new double[1000];
+
+        fused.synthesizeBlock(a, TEMPO, VOLUME, 0, block, 0, 1000);
+        fused.synthesizeBlock(a, TEMPO, VOLUME, 5000, block, 0, 1000);
+
+        assertEquals(2, counting.stages);
+        assertArrayEquals(Arrays.copyOfRange(expected, 5000, 6000), block, 1e-12);
+    }
+
+    @Test
+    void unfusibleSourcesGetTheOnsetOfTheNote() {
+        Note note = new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.QUARTER);
+        NoteSynthesizer layered = new VibratoSynthesizer(
+                new ADSRSynthesizer(Instruments.SNARE_DRUM.getSynthesizer(), 10, 10, 0.5, 10), 0.01, 5);
+        NoteSynthesizer fused = FusedSynthesizer.fuse(layered);
+        int count = layered.sampleCount(note, TEMPO);
+        double[] expected = new double[count];
+        double[] samples = new double[count];
+
+        layered.synthesizeInto(note, TEMPO, VOLUME, 44100, expected, 0);
+        fused.synthesizeInto(note, TEMPO, VOLUME, 44100, samples, 0);
+
+        assertInstanceOf(FusedSynthesizer.class, fused);
+        assertArrayEquals(expected, samples, 1e-12);
+    }
+}
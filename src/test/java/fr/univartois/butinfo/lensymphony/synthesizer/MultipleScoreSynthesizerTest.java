@@ -1,7 +1,12 @@
 package fr.univartois.butinfo.lensymphony.synthesizer;
 
+import fr.univartois.butinfo.lensymphony.notes.*;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class MultipleScoreSynthesizerTest {
@@ -84,4 +89,110 @@ class MultipleScoreSynthesizerTest {
 		assertTrue(s1.synthesized, "First child must have been synthesized");
 		assertTrue(s2.synthesized, "Second child must have been synthesized");
 	}
+
+	private static MultipleScoreSynthesizer compositeOfParts(MultipleScoreSynthesizer composite) {
+		Note a = new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.QUARTER);
+		Note e = new PitchedNote(NotePitch.of(PitchClass.E, 5), NoteValue.EIGHTH);
+		Note rest = new Rest(NoteValue.SIXTEENTH);
+		composite.add(new SimpleMusicSynthesizer(120, List.of(a, e, rest, a), Instruments.PIANO.getSynthesizer(), 0.5));
+		composite.add(new SimpleMusicSynthesizer(120, List.of(e, a), Instruments.VIOLIN.getSynthesizer(), 0.5));
+		composite.add(new SimpleMusicSynthesizer(120, List.of(rest, a, e), Instruments.XYLOPHONE.getSynthesizer(), 0.5));
+		return composite;
+	}
+
+	@Test
+	void parallelRenderingGivesTheSameSamplesAsSequentialRendering() {
+		MultipleScoreSynthesizer sequential = compositeOfParts(new MultipleScoreSynthesizer());
+		sequential.synthesize();
+		double[] expected = sequential.getSamples();
+
+		ForkJoinPool pool = new ForkJoinPool(3);
+		try {
+			MultipleScoreSynthesizer parallel = compositeOfParts(new MultipleScoreSynthesizer(pool));
+			parallel.synthesize();
+			assertArrayEquals(expected, parallel.getSamples(), 0.0);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	void parallelRenderingInvokesChildren() {
+		MultipleScoreSynthesizer composite = new MultipleScoreSynthesizer(Runnable::run);
+		FakeSynth s1 = new FakeSynth(new double[]{1.0, 1.0});
+		FakeSynth s2 = new FakeSynth(new double[]{3.0});
+
+		composite.add(s1);
+		composite.add(s2);
+
+		composite.synthesize();
+
+		assertTrue(s1.synthesized, "First child must have been synthesized");
+		assertTrue(s2.synthesized, "Second child must have been synthesized");
+		assertArrayEquals(new double[]{2.0, 0.5}, composite.getSamples(), EPS);
+	}
+
+	@Test
+	void parallelRenderingRethrowsFailures() {
+		MultipleScoreSynthesizer composite = new MultipleScoreSynthesizer(Runnable::run);
+		composite.add(new FakeSynth(new double[]{0.0}) {
+			@Override
+			public void synthesize() {
+				throw new IllegalStateException("broken part");
+			}
+		});
+
+		IllegalStateException e = assertThrows(IllegalStateException.class, composite::synthesize);
+		assertEquals("broken part", e.getMessage());
+	}
+
+	@Test
+	void gettingSamplesTwiceGivesTheSameMix() {
+		MultipleScoreSynthesizer composite = new MultipleScoreSynthesizer();
+		composite.add(new FakeSynth(new double[]{1.0, 1.0}));
+		composite.add(new FakeSynth(new double[]{3.0}));
+
+		composite.synthesize();
+		composite.getAudioData();
+
+		assertArrayEquals(new double[]{2.0, 0.5}, composite.getSamples(), EPS);
+	}
+
+	@Test
+	void mixSpansSeveralBlocks() {
+		double[] longPart = new double[10_000];
+		double[] shortPart = new double[5_000];
+		for (int i = 0; i < longPart.length; i++) {
+			longPart[i] = i;
+		}
+		Arrays.fill(shortPart, 1.0);
+
+		MultipleScoreSynthesizer composite = new MultipleScoreSynthesizer();
+		composite.add(new FakeSynth(longPart));
+		composite.add(new FakeSynth(shortPart));
+		composite.synthesize();
+
+		double[] out = composite.getSamples();
+		assertEquals(10_000, out.length);
+		for (int i = 0; i < out.length; i++) {
+			double expected = i / 2.0 + (i < 5_000 ? 0.5 : 0.0);
+			assertEquals(expected, out[i], EPS);
+		}
+	}
+
+	@Test
+	void streamMixesThePartsOnTheFly() {
+		MultipleScoreSynthesizer synthesized = compositeOfParts(new MultipleScoreSynthesizer());
+		synthesized.synthesize();
+		double[] expected = synthesized.getSamples();
+
+		AudioSource stream = compositeOfParts(new MultipleScoreSynthesizer()).openStream();
+		double[] block = new double[3000];
+		int position = 0;
+		for (int n = stream.read(block, 0, block.length); n >= 0; n = stream.read(block, 0, block.length)) {
+			assertArrayEquals(Arrays.copyOfRange(expected, position, position + n), Arrays.copyOf(block, n), 0.0);
+			position += n;
+		}
+		assertEquals(expected.length, position);
+	}
 }
@@ -0,0 +1,68 @@
+package fr.univartois.butinfo.lensymphony.synthesizer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import fr.univartois.butinfo.lensymphony.notes.Note;
+import fr.univartois.butinfo.lensymphony.notes.NotePitch;
+import fr.univartois.butinfo.lensymphony.notes.NoteValue;
+import fr.univartois.butinfo.lensymphony.notes.PitchClass;
+import fr.univartois.butinfo.lensymphony.notes.PitchedNote;
+
+class NoiseSourceTest {
+
+    private final Note note = new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.QUARTER);
+
+    @Test
+    void noiseIsUniformInRange() {
+        long seed = NoiseSource.DEFAULT.seed(note, 22050);
+        double sum = 0;
+        int negatives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            double value = NoiseSource.noise(seed, i);
+            assertTrue((value >= -1.0) && (value < 1.0));
+            sum += value;
+            if (value < 0) {
+                negatives++;
+            }
+        }
+        assertEquals(0.0, sum / 100_000, 0.01);
+        assertEquals(50_000, negatives, 1000);
+    }
+
+    @Test
+    void sameNoteGetsSameSeed() {
+        Note other = new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.QUARTER);
+        assertEquals(NoiseSource.DEFAULT.seed(note, 22050), NoiseSource.DEFAULT.seed(other, 22050));
+        assertEquals(NoiseSource.of(42).seed(note, 22050), NoiseSource.of(42).seed(other, 22050));
+    }
+
+    @Test
+    void seedDependsOnSourceAndNote() {
+        Note other = new PitchedNote(NotePitch.of(PitchClass.C, 4), NoteValue.QUARTER);
+        long seed = NoiseSource.of(42).seed(note, 22050);
+        assertNotEquals(seed, NoiseSource.of(43).seed(note, 22050));
+        assertNotEquals(seed, NoiseSource.of(42).seed(other, 22050));
+        assertNotEquals(seed, NoiseSource.of(42).seed(note, 11025));
+    }
+
+    @Test
+    void noiseDependsOnIndex() {
+        long seed = NoiseSource.DEFAULT.seed(note, 22050);
+        assertEquals(NoiseSource.noise(seed, 1234), NoiseSource.noise(seed, 1234));
+        assertNotEquals(NoiseSource.noise(seed, 1234), NoiseSource.noise(seed, 1235));
+    }
+
+    @Test
+    void derivedSourcesDependOnTheKey() {
+        assertEquals(NoiseSource.DEFAULT.derive("P1").getSeed(), NoiseSource.DEFAULT.derive("P1").getSeed());
+        assertNotEquals(NoiseSource.DEFAULT.derive("P1").getSeed(), NoiseSource.DEFAULT.derive("P2").getSeed());
+        assertNotEquals(NoiseSource.DEFAULT.derive("P1").getSeed(), NoiseSource.of(42).derive("P1").getSeed());
+        assertNotEquals(NoiseSource.DEFAULT.derive("P1").seed(note, 22050),
+                NoiseSource.DEFAULT.derive("P2").seed(note, 22050));
+    }
+
+}
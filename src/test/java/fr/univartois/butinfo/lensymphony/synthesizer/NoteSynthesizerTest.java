@@ -0,0 +1,181 @@
+package fr.univartois.butinfo.lensymphony.synthesizer;
+
+import fr.univartois.butinfo.lensymphony.notes.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the buffer-oriented methods of the NoteSynthesizer interface.
+ */
+class NoteSynthesizerTest {
+
+    private static final int TEMPO = 120;
+
+    private static final double VOLUME = 0.5;
+
+    private static final int OFFSET = 100;
+
+    /**
+     * A legacy synthesizer, which only implements the array-returning method.
+     */
+    private static class LegacySynth implements NoteSynthesizer {
+        @Override
+        public double[] synthesize(Note note, int tempo, double volume) {
+            double[] sounds = new double[sampleCount(note, tempo)];
+            Arrays.fill(sounds, volume);
+            return sounds;
+        }
+    }
+
+    @Test
+    void defaultAdapterCopiesTheSamples() {
+        NoteSynthesizer legacy = new LegacySynth();
+        Note note = new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.EIGHTH);
+        double[] out = new double[OFFSET + legacy.sampleCount(note, TEMPO)];
+
+        int written = legacy.synthesizeInto(note, TEMPO, VOLUME, out, OFFSET);
+
+        assertEquals(11025, written);
+        assertEquals(0.0, out[OFFSET - 1]);
+        assertEquals(VOLUME, out[OFFSET]);
+        assertEquals(VOLUME, out[out.length - 1]);
+    }
+
+    @Test
+    void defaultAdapterKeepsToTheBuffer() {
+        NoteSynthesizer legacy = new LegacySynth();
+        Note note = new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.EIGHTH);
+        double[] out = new double[OFFSET + 1000];
+
+        int written = legacy.synthesizeInto(note, TEMPO, VOLUME, out, OFFSET);
+
+        assertEquals(1000, written);
+        assertEquals(VOLUME, out[out.length - 1]);
+    }
+
+    @Test
+    void decoratorsWorkOnLegacySynthesizers() {
+        NoteSynthesizer legacy = new LegacySynth();
+        NoteSynthesizer vibrato = new VibratoSynthesizer(new ADSRSynthesizer(legacy, 10, 10, 0.5, 10), 0.01, 5);
+        Note note = new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.EIGHTH);
+
+        double[] samples = vibrato.synthesize(note, TEMPO, VOLUME);
+
+        assertEquals(11025, samples.length);
+    }
+
+    @Test
+    void inPlaceSynthesisMatchesArraySynthesis() {
+        Note note = new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.QUARTER);
+        Instruments[] deterministic = {
+                Instruments.BASS_DRUM, Instruments.TRIANGLE, Instruments.XYLOPHONE,
+                Instruments.VIOLIN, Instruments.GUITAR, Instruments.PIANO,
+                Instruments.FRENCH_HORN, Instruments.ACCORDION, Instruments.BANJO, Instruments.HARP
+        };
+
+        for (Instruments instrument : deterministic) {
+            NoteSynthesizer synth = instrument.getSynthesizer();
+            double[] expected = synth.synthesize(note, TEMPO, VOLUME);
+            double[] out = new double[OFFSET + synth.sampleCount(note, TEMPO)];
+            Arrays.fill(out, 42.0);
+
+            int written = synth.synthesizeInto(note, TEMPO, VOLUME, out, OFFSET);
+
+            assertEquals(expected.length, written, instrument.name());
+            assertEquals(42.0, out[OFFSET - 1], instrument.name());
+            assertArrayEquals(expected, Arrays.copyOfRange(out, OFFSET, OFFSET + written), 0.0, instrument.name());
+        }
+    }
+
+    @Test
+    void silencesAreWrittenAsZeros() {
+        Note rest = new Rest(NoteValue.QUARTER);
+        NoteSynthesizer[] synths = {
+                new PureSound(), TriangleSynthesizer.getInstance(), CymbaleSynthesizer.getInstance()
+        };
+
+        for (NoteSynthesizer synth : synths) {
+            double[] out = new double[synth.sampleCount(rest, TEMPO)];
+            Arrays.fill(out, 42.0);
+
+            synth.synthesizeInto(rest, TEMPO, VOLUME, out, 0);
+
+            for (double sample : out) {
+                assertEquals(0.0, sample, 1e-12);
+            }
+        }
+    }
+
+    @Test
+    void harmonicSynthesizerProducesNothingForSilences() {
+        NoteSynthesizer harmonic = new HarmonicSynthesizer(new PureSound(), 4);
+        Note rest = new Rest(NoteValue.QUARTER);
+
+        assertEquals(0, harmonic.sampleCount(rest, TEMPO));
+        assertEquals(0, harmonic.synthesizeInto(rest, TEMPO, VOLUME, new double[0], 0));
+    }
+
+    @Test
+    void blockSynthesisMatchesArraySynthesis() {
+        Note note = new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.QUARTER);
+        Instruments[] deterministic = {
+                Instruments.BASS_DRUM, Instruments.TRIANGLE, Instruments.TIMPANI, Instruments.XYLOPHONE,
+                Instruments.VIOLIN, Instruments.GUITAR, Instruments.PIANO,
+                Instruments.FRENCH_HORN, Instruments.ACCORDION, Instruments.BANJO, Instruments.HARP
+        };
+
+        for (Instruments instrument : deterministic) {
+            NoteSynthesizer synth = instrument.getSynthesizer();
+            double[] expected = synth.synthesize(note, TEMPO, VOLUME);
+            double[] out = new double[expected.length];
+
+            int from = 0;
+            for (int n = synth.synthesizeBlock(note, TEMPO, VOLUME, from, out, from, 1000); n > 0;
+                    n = synth.synthesizeBlock(note, TEMPO, VOLUME, from, out, from, 1000)) {
+                from += n;
+            }
+
+            assertTrue(synth.supportsBlocks(), instrument.name());
+            assertEquals(expected.length, from, instrument.name());
+            assertArrayEquals(expected, out, 0.0, instrument.name());
+        }
+    }
+
+    @Test
+    void legacySynthesizersAreRenderedInFullForBlocks() {
+        NoteSynthesizer legacy = new ADSRSynthesizer(new LegacySynth(), 10, 10, 0.5, 10);
+        Note note = new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.EIGHTH);
+        double[] expected = legacy.synthesize(note, TEMPO, VOLUME);
+        double[] out = new double[OFFSET + 500];
+
+        int written = legacy.synthesizeBlock(note, TEMPO, VOLUME, 11000, out, OFFSET, 500);
+
+        assertFalse(legacy.supportsBlocks());
+        assertEquals(25, written);
+        assertArrayEquals(Arrays.copyOfRange(expected, 11000, 11025),
+                Arrays.copyOfRange(out, OFFSET, OFFSET + written), 0.0);
+    }
+
+    @Test
+    void decoratorsPassTheOnsetOfTheNote() {
+        NoteSynthesizer snare = Instruments.SNARE_DRUM.getSynthesizer();
+        NoteSynthesizer decorated = new VibratoSynthesizer(snare, 0, 0);
+        Note note = new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.QUARTER);
+        int count = decorated.sampleCount(note, TEMPO);
+        double[] expected = new double[count];
+        double[] first = new double[count];
+        double[] second = new double[count];
+
+        snare.synthesizeInto(note, TEMPO, VOLUME, 44100, expected, 0);
+        decorated.synthesizeInto(note, TEMPO, VOLUME, 44100, first, 0);
+        decorated.synthesizeBlock(note, TEMPO, VOLUME, 88200, 0, second, 0, count);
+
+        assertFalse(decorated.isDeterministic());
+        assertTrue(decorated.supportsBlocks());
+        assertArrayEquals(expected, first, 0.0);
+        assertFalse(Arrays.equals(first, second));
+    }
+}
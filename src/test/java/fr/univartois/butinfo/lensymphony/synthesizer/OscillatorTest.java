@@ -0,0 +1,94 @@
+package fr.univartois.butinfo.lensymphony.synthesizer;
+
+import fr.univartois.butinfo.lensymphony.notes.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the Oscillator backends.
+ */
+class OscillatorTest {
+
+    private static final double[] FREQUENCIES = {27.5, 440.0, 4186.0, 16800.0, 512000.0};
+
+    private static final int LENGTH = 5 * NoteSynthesizer.SAMPLE_RATE;
+
+    @Test
+    void exactOscillatorMatchesMathSin() {
+        Oscillator oscillator = OscillatorQuality.EXACT.create(2 * Math.PI * 440.0, 12345);
+
+        for (int i = 12345; i < 20000; i++) {
+            double t = (double) i / NoteSynthesizer.SAMPLE_RATE;
+            assertEquals(Math.sin(2 * Math.PI * 440.0 * t), oscillator.next(), 0.0);
+        }
+    }
+
+    @Test
+    void errorIsBoundedForEveryQuality() {
+        for (OscillatorQuality quality : OscillatorQuality.values()) {
+            for (double frequency : FREQUENCIES) {
+                double omega = 2 * Math.PI * frequency;
+                for (int from : new int[] {0, 777, 3 * NoteSynthesizer.SAMPLE_RATE}) {
+                    Oscillator oscillator = quality.create(omega, from);
+                    double maxError = 0;
+                    for (int i = from; i < from + LENGTH; i++) {
+                        double expected = Math.sin(omega * ((double) i / NoteSynthesizer.SAMPLE_RATE));
+                        maxError = Math.max(maxError, Math.abs(expected - oscillator.next()));
+                    }
+                    assertTrue(maxError <= quality.maxError(),
+                            quality + " at " + frequency + " Hz: " + maxError);
+                }
+            }
+        }
+    }
+
+    @Test
+    void instrumentsStayCloseToTheReference() {
+        Note note = new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.HALF);
+        Instruments[] deterministic = {
+                Instruments.TRIANGLE, Instruments.TIMPANI, Instruments.XYLOPHONE,
+                Instruments.VIOLIN, Instruments.PIANO, Instruments.BANJO, Instruments.HARP
+        };
+
+        OscillatorQuality previous = OscillatorQuality.getDefault();
+        try {
+            for (Instruments instrument : deterministic) {
+                NoteSynthesizer synth = instrument.getSynthesizer();
+                OscillatorQuality.setDefault(OscillatorQuality.EXACT);
+                double[] expected = synth.synthesize(note, 120, 0.5);
+
+                for (OscillatorQuality quality : OscillatorQuality.values()) {
+                    OscillatorQuality.setDefault(quality);
+                    double[] actual = synth.synthesize(note, 120, 0.5);
+                    // The harmonics add up at most ten errors of the oscillators.
+                    assertArrayEquals(expected, actual, 10 * quality.maxError(), instrument + " " + quality);
+                }
+            }
+        } finally {
+            OscillatorQuality.setDefault(previous);
+        }
+    }
+
+    @Test
+    void nullQuality_throwsException() {
+        assertThrows(NullPointerException.class, () -> OscillatorQuality.setDefault(null));
+    }
+
+    @Test
+    void qualitiesAreParsedLeniently() {
+        Locale previous = Locale.getDefault();
+        try {
+            // The upper case of "i" is not "I" in Turkish.
+            Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+            assertEquals(OscillatorQuality.ROTATION, OscillatorQuality.parse("rotation"));
+            assertEquals(OscillatorQuality.WAVETABLE, OscillatorQuality.parse(" WaveTable "));
+        } finally {
+            Locale.setDefault(previous);
+        }
+        assertEquals(OscillatorQuality.EXACT, OscillatorQuality.parse(null));
+        assertEquals(OscillatorQuality.EXACT, OscillatorQuality.parse("rotaton"));
+    }
+}
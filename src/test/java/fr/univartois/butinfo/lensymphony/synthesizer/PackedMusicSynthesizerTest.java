@@ -0,0 +1,271 @@
+package fr.univartois.butinfo.lensymphony.synthesizer;
+
+import fr.univartois.butinfo.lensymphony.notes.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the PackedMusicSynthesizer class.
+ */
+class PackedMusicSynthesizerTest {
+
+    /**
+     * The tempo at which all the notes last a whole number of milliseconds and samples,
+     * so that the timeline agrees with the durations of the notes.
+     */
+    private static final int TEMPO = 60;
+
+    private static final double VOLUME = 0.5;
+
+    private static final List<Note> NOTES = List.of(
+            new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.QUARTER),
+            new DottedNote(new PitchedNote(NotePitch.of(PitchClass.C, 5), NoteValue.EIGHTH)),
+            new FermataNote(new Rest(NoteValue.SIXTEENTH)),
+            new TiedNotes(List.of(
+                    new PitchedNote(NotePitch.of(PitchClass.E, 4), NoteValue.HALF),
+                    new PitchedNote(NotePitch.of(PitchClass.E, 4), NoteValue.EIGHTH))),
+            new PitchedNote(NotePitch.of(PitchClass.G, 2), NoteValue.WHOLE));
+
+    @Test
+    void samplesAreTheSameAsWithTheObjectModel() {
+        for (Instruments instrument : List.of(Instruments.PIANO, Instruments.XYLOPHONE,
+                Instruments.HARP)) {
+            NoteSynthesizer synthesizer = instrument.getSynthesizer();
+            SimpleMusicSynthesizer simple = new SimpleMusicSynthesizer(TEMPO, NOTES, synthesizer, VOLUME);
+            simple.synthesize();
+
+            PackedMusicSynthesizer packed = new PackedMusicSynthesizer(
+                    PackedScore.of(NOTES, TEMPO), synthesizer, VOLUME);
+            packed.synthesize();
+            assertArrayEquals(simple.getSamples(), packed.getSamples(), instrument.name());
+        }
+    }
+
+    @Test
+    void streamedSamplesAreTheSameAsSynthesizedOnes() {
+        for (NoteSynthesizer synthesizer : List.of(new PureSound(),
+                new HarmonicSynthesizer(new PureSound(), 3), Instruments.PIANO.getSynthesizer())) {
+            PackedScore score = PackedScore.of(NOTES, TEMPO);
+            PackedMusicSynthesizer packed = new PackedMusicSynthesizer(score, synthesizer, VOLUME);
+            double[] streamed = read(packed.openStream(), 1000);
+
+            packed.synthesize();
+            assertArrayEquals(packed.getSamples(), streamed);
+            assertEquals(score.getLength(), streamed.length);
+        }
+    }
+
+    @Test
+    void shorterNotesKeepTheFollowingOnesInPlace() {
+        PackedScore score = PackedScore.of(NOTES.subList(0, 2), TEMPO);
+        int second = score.getOnset(1);
+
+        PackedMusicSynthesizer packed = new PackedMusicSynthesizer(score, new FixedLengthSynth(10), VOLUME);
+        double[] streamed = read(packed.openStream(), 7);
+        packed.synthesize();
+        double[] samples = packed.getSamples();
+        assertArrayEquals(samples, streamed);
+
+        assertEquals(score.getLength(), samples.length);
+        assertEquals(NOTES.get(0).getFrequency(), samples[9]);
+        assertEquals(0, samples[10]);
+        assertEquals(0, samples[second - 1]);
+        assertEquals(NOTES.get(1).getFrequency(), samples[second]);
+        assertEquals(0, samples[second + 10]);
+    }
+
+    @Test
+    void longerNotesAreCut() {
+        PackedScore score = PackedScore.of(NOTES.subList(0, 2), TEMPO);
+        int second = score.getOnset(1);
+
+        PackedMusicSynthesizer packed = new PackedMusicSynthesizer(score, new FixedLengthSynth(100_000), VOLUME);
+        double[] streamed = read(packed.openStream(), 4096);
+        packed.synthesize();
+        double[] samples = packed.getSamples();
+        assertArrayEquals(samples, streamed);
+
+        assertEquals(score.getLength(), samples.length);
+        assertEquals(NOTES.get(0).getFrequency(), samples[second - 1]);
+        assertEquals(NOTES.get(1).getFrequency(), samples[second]);
+    }
+
+    @Test
+    void restsDroppedBySynthesizersAreSilent() {
+        // The harmonic synthesizer produces no sample for rests.
+        NoteSynthesizer harmonic = new HarmonicSynthesizer(new PureSound(), 3);
+        PackedScore score = PackedScore.of(NOTES, TEMPO);
+        PackedMusicSynthesizer packed = new PackedMusicSynthesizer(score, harmonic, VOLUME);
+        packed.synthesize();
+        double[] samples = packed.getSamples();
+
+        assertEquals(score.getLength(), samples.length);
+        for (int i = score.getOnset(2); i < score.getOnset(3); i++) {
+            assertEquals(0, samples[i]);
+        }
+        double[] tied = harmonic.synthesize(NOTES.get(3), TEMPO, VOLUME);
+        assertEquals(tied[100], samples[score.getOnset(3) + 100]);
+    }
+
+    @Test
+    void synthesizersReceiveTheExactLengthOfTheNotes() {
+        // At this tempo, the durations of the notes are rounded to whole milliseconds.
+        List<Note> eighths = List.of(
+                new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.EIGHTH),
+                new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.EIGHTH),
+                new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.EIGHTH));
+        PackedScore score = PackedScore.of(eighths, 97);
+        PackedNote note = new PackedNote(score);
+        for (int i = 0; i < score.size(); i++) {
+            note.moveTo(i);
+            assertEquals(score.getLength(i), new PureSound().sampleCount(note, 97));
+        }
+        assertEquals(Timeline.toSamples(3 * NoteValue.EIGHTH.ticks(), 97), score.getLength());
+    }
+
+    @Test
+    void notesAreOnlyKnownAtTheirTempo() {
+        PackedScore score = PackedScore.of(NOTES, TEMPO);
+        PackedNote note = new PackedNote(score);
+        note.moveTo(3);
+        assertEquals(NOTES.get(3).getFrequency(), note.getFrequency());
+        assertEquals(NOTES.get(3).getDuration(TEMPO), note.getDuration(TEMPO));
+        assertThrows(IllegalArgumentException.class, () -> note.getDuration(TEMPO + 1));
+    }
+
+    @Test
+    void voicesAreMixedAtTheirOnset() {
+        List<Note> chord = List.of(
+                new PitchedNote(NotePitch.of(PitchClass.C, 4), NoteValue.HALF),
+                new PitchedNote(NotePitch.of(PitchClass.E, 4), NoteValue.HALF));
+        List<List<Note>> voices = List.of(NOTES, chord, NOTES.subList(1, 4));
+        for (NoteSynthesizer synthesizer : List.of(new PureSound(), Instruments.PIANO.getSynthesizer())) {
+            PackedScore score = PackedScore.ofVoices(voices, TempoMap.of(TEMPO));
+            PackedMusicSynthesizer packed = new PackedMusicSynthesizer(score, synthesizer, VOLUME);
+            double[] streamed = read(packed.openStream(), 1000);
+            packed.synthesize();
+            double[] samples = packed.getSamples();
+            assertArrayEquals(samples, streamed);
+
+            // The voices are added, each note being divided by the voices sounding at its onset.
+            assertEquals(score.getLength(), samples.length);
+            double[] expected = new double[samples.length];
+            for (int v = 0; v < voices.size(); v++) {
+                PackedScore voice = PackedScore.of(voices.get(v), TEMPO);
+                PackedMusicSynthesizer alone = new PackedMusicSynthesizer(voice, synthesizer, VOLUME);
+                alone.synthesize();
+                double[] part = alone.getSamples();
+                for (int i = 0; i < voice.size(); i++) {
+                    int polyphony = score.getPolyphony(score.getVoiceStart(v) + i);
+                    for (int j = voice.getOnset(i); j < voice.getOnset(i) + voice.getLength(i); j++) {
+                        expected[j] += part[j] / polyphony;
+                    }
+                }
+            }
+            assertArrayEquals(expected, samples);
+
+            // A voice playing alone keeps its volume.
+            int last = score.getVoiceStart(1) - 1;
+            assertEquals(1, score.getPolyphony(last));
+            PackedMusicSynthesizer first = new PackedMusicSynthesizer(
+                    PackedScore.of(NOTES, TEMPO), synthesizer, VOLUME);
+            first.synthesize();
+            for (int j = score.getOnset(last); j < score.getLength(); j++) {
+                assertEquals(first.getSamples()[j], samples[j]);
+            }
+        }
+    }
+
+    @Test
+    void legacySynthesizersLongerThanAnnouncedAreCut() {
+        // Both the pitched notes of the score are followed by a rest.
+        List<Note> notes = List.of(NOTES.get(0), NOTES.get(2), NOTES.get(1), NOTES.get(2));
+        NoteSynthesizer legacy = new LegacySynth(5000);
+        PackedScore score = PackedScore.of(notes, TEMPO);
+        PackedMusicSynthesizer packed = new PackedMusicSynthesizer(score, legacy, VOLUME);
+        double[] streamed = read(packed.openStream(), 1000);
+        packed.synthesize();
+        double[] samples = packed.getSamples();
+        assertArrayEquals(samples, streamed);
+
+        assertEquals(score.getLength(), samples.length);
+        assertEquals(notes.get(0).getFrequency(), samples[score.getOnset(1) - 1]);
+        for (int i = score.getOnset(1); i < score.getOnset(2); i++) {
+            assertEquals(0, samples[i]);
+        }
+        for (int i = score.getOnset(3); i < samples.length; i++) {
+            assertEquals(0, samples[i]);
+        }
+
+        // With several voices, the notes are cut in the same way before being mixed.
+        PackedScore voices = PackedScore.ofVoices(List.of(notes, notes), TempoMap.of(TEMPO));
+        PackedMusicSynthesizer mixed = new PackedMusicSynthesizer(voices, legacy, VOLUME);
+        double[] mixedStream = read(mixed.openStream(), 1000);
+        mixed.synthesize();
+        assertArrayEquals(samples, mixed.getSamples());
+        assertArrayEquals(samples, mixedStream);
+    }
+
+    /**
+     * A legacy synthesizer, which only implements the array-returning method, and produces
+     * more samples than announced for each pitched note, all equal to the frequency of the
+     * note, and none for rests.
+     */
+    private static class LegacySynth implements NoteSynthesizer {
+        private final int extra;
+
+        LegacySynth(int extra) {
+            this.extra = extra;
+        }
+
+        @Override
+        public double[] synthesize(Note note, int tempo, double volume) {
+            if (note.getFrequency() == 0) {
+                return new double[0];
+            }
+            double[] sounds = new double[sampleCount(note, tempo) + extra];
+            Arrays.fill(sounds, note.getFrequency());
+            return sounds;
+        }
+    }
+
+    /**
+     * A fake synthesizer producing a fixed number of samples for each note, all equal to
+     * the frequency of the note.
+     */
+    private static class FixedLengthSynth implements NoteSynthesizer {
+        private final int length;
+
+        FixedLengthSynth(int length) {
+            this.length = length;
+        }
+
+        @Override
+        public double[] synthesize(Note note, int tempo, double volume) {
+            double[] sounds = new double[length];
+            Arrays.fill(sounds, note.getFrequency());
+            return sounds;
+        }
+
+        @Override
+        public int sampleCount(Note note, int tempo) {
+            return length;
+        }
+    }
+
+    private static double[] read(AudioSource source, int block) {
+        double[] all = new double[0];
+        double[] buffer = new double[block];
+        int n;
+        while ((n = source.read(buffer, 0, block)) >= 0) {
+            int length = all.length;
+            all = Arrays.copyOf(all, length + n);
+            System.arraycopy(buffer, 0, all, length, n);
+        }
+        return all;
+    }
+}
@@ -0,0 +1,106 @@
+package fr.univartois.butinfo.lensymphony.synthesizer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class PercussionBankTest {
+
+    private static final PercussionBank.Shape SHAPE = (i, r) -> Math.exp(-i / 1000.0) * r;
+
+    private final NoiseSource noise = NoiseSource.of(42);
+
+    private final PercussionBank bank = new PercussionBank(noise, SHAPE);
+
+    @Test
+    void variantsFollowTheShape() {
+        for (int v = 0; v < PercussionBank.VARIANTS; v++) {
+            double[] samples = bank.variant(v, PercussionBank.LENGTH);
+            assertEquals(PercussionBank.LENGTH, samples.length);
+            for (int i = 0; i < samples.length; i += 97) {
+                assertEquals(SHAPE.sample(i, NoiseSource.noise(noise.seed(v), i)), samples[i]);
+            }
+        }
+        assertSame(bank.variant(3, 100), bank.variant(3, 100));
+    }
+
+    @Test
+    void hitsAreScaledCopiesOfTheirVariant() {
+        long seed = 123_456_789L;
+        double[] samples = bank.variant(PercussionBank.variantOf(seed, 44_100), 1500);
+        double[] out = new double[600];
+
+        bank.play(seed, 44_100, 0.25, 1000, out, 100, 500);
+
+        assertEquals(0.0, out[99]);
+        for (int i = 0; i < 500; i++) {
+            assertEquals(0.25 * samples[1000 + i], out[100 + i]);
+        }
+    }
+
+    @Test
+    void variantsOnlyStoreTheHitsPlayed() {
+        PercussionBank fresh = new PercussionBank(noise, SHAPE);
+        long seed = 55_555L;
+        int variant = PercussionBank.variantOf(seed, 0);
+        double[] out = new double[10_000];
+
+        fresh.play(seed, 0, 1.0, 0, out, 0, 1000);
+        int stored = fresh.stored(variant);
+        fresh.play(seed, 0, 1.0, 1000, out, 1000, 9000);
+
+        assertTrue(stored >= 1000 && stored < PercussionBank.LENGTH);
+        assertTrue(fresh.stored(variant) >= 10_000 && fresh.stored(variant) < PercussionBank.LENGTH);
+        for (int v = 0; v < PercussionBank.VARIANTS; v++) {
+            if (v != variant) {
+                assertEquals(0, fresh.stored(v));
+            }
+        }
+        for (int i = 0; i < out.length; i += 97) {
+            assertEquals(SHAPE.sample(i, NoiseSource.noise(noise.seed(variant), i)), out[i]);
+        }
+    }
+
+    @Test
+    void hitsLastingLongerThanTheBankAreComputed() {
+        long seed = 987_654_321L;
+        int variant = PercussionBank.variantOf(seed, 0);
+        int from = PercussionBank.LENGTH - 10;
+        double[] out = new double[20];
+
+        bank.play(seed, 0, 2.0, from, out, 0, out.length);
+
+        for (int i = 0; i < out.length; i++) {
+            double expected = 2.0 * SHAPE.sample(from + i, NoiseSource.noise(noise.seed(variant), from + i));
+            assertEquals(expected, out[i]);
+        }
+    }
+
+    @Test
+    void notesAreSpreadOverTheVariants() {
+        Set<Integer> used = new HashSet<>();
+        for (long key = 0; key < 200; key++) {
+            used.add(PercussionBank.variantOf(noise.seed(key), 0));
+        }
+        assertEquals(PercussionBank.VARIANTS, used.size());
+        assertNotEquals(bank.variant(0, 101)[100], bank.variant(1, 101)[100]);
+    }
+
+    @Test
+    void repeatedHitsOfTheSameNoteAreSpreadOverTheVariants() {
+        long seed = noise.seed(12);
+        Set<Integer> used = new HashSet<>();
+        for (long onset = 0; onset < 32 * 11_025; onset += 11_025) {
+            used.add(PercussionBank.variantOf(seed, onset));
+            assertEquals(PercussionBank.variantOf(seed, onset), PercussionBank.variantOf(seed, onset));
+        }
+        assertTrue(used.size() >= PercussionBank.VARIANTS / 2);
+    }
+
+}
@@ -0,0 +1,221 @@
+package fr.univartois.butinfo.lensymphony.synthesizer;
+
+import fr.univartois.butinfo.lensymphony.musicxml.MusicXMLSaxParser;
+import fr.univartois.butinfo.lensymphony.musicxml.NoteListener;
+import fr.univartois.butinfo.lensymphony.musicxml.VoiceLayout;
+import fr.univartois.butinfo.lensymphony.notes.*;
+import org.junit.jupiter.api.Test;
+
+import javax.xml.parsers.SAXParserFactory;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the PipelinedMusicSynthesizer class.
+ */
+class PipelinedMusicSynthesizerTest {
+
+    private static final int TEMPO = 150;
+
+    private static final double VOLUME = 0.5;
+
+    private static List<Note> melody(int length, int shift) {
+        PitchClass[] classes = PitchClass.values();
+        NoteValue[] values = {NoteValue.QUARTER, NoteValue.EIGHTH, NoteValue.SIXTEENTH};
+        List<Note> notes = new ArrayList<>();
+        for (int i = 0; i < length; i++) {
+            if (i % 7 == 3) {
+                notes.add(new Rest(values[i % values.length]));
+            } else {
+                NotePitch pitch = NotePitch.of(classes[(i + shift) % classes.length], 4);
+                notes.add(new PitchedNote(pitch, values[i % values.length]));
+            }
+        }
+        return notes;
+    }
+
+    private static double[] readAll(AudioSource source, int blockSize) {
+        double[] all = new double[0];
+        double[] block = new double[blockSize];
+        for (int n = source.read(block, 0, blockSize); n >= 0; n = source.read(block, 0, blockSize)) {
+            all = Arrays.copyOf(all, all.length + n);
+            System.arraycopy(block, 0, all, all.length - n, n);
+        }
+        return all;
+    }
+
+    @Test
+    void pipelineGivesTheSameMixAsTheWholePiece() throws InterruptedException {
+        // The parts are longer than the blocks in which they are read.
+        List<Note> first = melody(120, 0);
+        List<Note> second = melody(90, 5);
+        NoteSynthesizer synth = new ADSRSynthesizer(new PureSound(), 0.05, 0.1, 0.7, 0.1);
+        TempoMap tempoMap = TempoMap.of(TEMPO);
+
+        MultipleScoreSynthesizer expected = new MultipleScoreSynthesizer();
+        expected.add(new PackedMusicSynthesizer(PackedScore.of(first, tempoMap), synth, VOLUME));
+        expected.add(new PackedMusicSynthesizer(PackedScore.of(second, tempoMap), synth, VOLUME));
+        expected.synthesize();
+
+        PipelinedMusicSynthesizer pipeline = new PipelinedMusicSynthesizer(part -> synth, VOLUME);
+        Thread producer = new Thread(() -> {
+            // The parts are produced one after the other, as in partwise MusicXML files.
+            first.forEach(note -> pipeline.addNote("P1", "P1", note));
+            pipeline.endParts(tempoMap);
+            second.forEach(note -> pipeline.addNote("P2", "P2", note));
+            pipeline.finish(tempoMap);
+        });
+        producer.start();
+        producer.join();
+
+        assertArrayEquals(expected.getSamples(), readAll(pipeline.openStream(), 1000), 0.0);
+    }
+
+    @Test
+    void pipelineFollowsTheTempoAndTheLinesOfTheParsedStaves() throws Exception {
+        String score = """
+                <score-partwise version="4.0">
+                  <part id="P1">
+                    <measure number="1">
+                      <attributes><divisions>2</divisions></attributes>
+                      <direction><sound tempo="120"/></direction>
+                      <note><pitch><step>C</step><octave>4</octave></pitch><duration>4</duration><type>half</type><staff>1</staff></note>
+                      <note><chord/><pitch><step>E</step><octave>4</octave></pitch><duration>4</duration><type>half</type><staff>1</staff></note>
+                      <note><pitch><step>G</step><octave>4</octave></pitch><duration>4</duration><type>half</type><staff>1</staff></note>
+                    </measure>
+                    <measure number="2">
+                      <direction><sound tempo="80"/></direction>
+                      <note><pitch><step>D</step><octave>4</octave></pitch><duration>8</duration><type>whole</type><staff>1</staff></note>
+                      <note><chord/><pitch><step>F</step><octave>4</octave></pitch><duration>8</duration><type>whole</type><staff>1</staff></note>
+                    </measure>
+                  </part>
+                  <part id="P2">
+                    <measure number="1">
+                      <attributes><divisions>2</divisions></attributes>
+                      <note><pitch><step>A</step><octave>3</octave></pitch><duration>8</duration><type>whole</type><staff>1</staff></note>
+                    </measure>
+                    <measure number="2">
+                      <note><pitch><step>B</step><octave>3</octave></pitch><duration>4</duration><type>half</type><staff>1</staff></note>
+                      <note><rest/><duration>2</duration><type>quarter</type><staff>1</staff></note>
+                      <note><pitch><step>C</step><octave>4</octave></pitch><duration>2</duration><type>quarter</type><staff>1</staff></note>
+                    </measure>
+                  </part>
+                </score-partwise>
+                """;
+        NoteSynthesizer synth = new ADSRSynthesizer(new PureSound(), 0.05, 0.1, 0.7, 0.1);
+
+        // The whole file is parsed, and the lines of each staff are played together.
+        MusicXMLSaxParser stored = new MusicXMLSaxParser(NoteFactory.getInstance());
+        SAXParserFactory.newInstance().newSAXParser().parse(
+                new ByteArrayInputStream(score.getBytes(StandardCharsets.UTF_8)), stored);
+        Map<String, List<List<Note>>> staves = new TreeMap<>();
+        stored.getParts().forEach((line, notes) ->
+                staves.computeIfAbsent(VoiceLayout.staffOf(line), k -> new ArrayList<>()).add(notes));
+        assertEquals(2, staves.get("P1.1").size());
+        MultipleScoreSynthesizer expected = new MultipleScoreSynthesizer();
+        for (List<List<Note>> lines : staves.values()) {
+            PackedScore packed = PackedScore.ofVoices(lines, stored.getTempoMap());
+            expected.add(new PackedMusicSynthesizer(packed, synth, VOLUME));
+        }
+        expected.synthesize();
+
+        // The staves are rendered while the file is parsed.
+        PipelinedMusicSynthesizer pipeline = new PipelinedMusicSynthesizer(part -> synth, VOLUME);
+        MusicXMLSaxParser streamed = new MusicXMLSaxParser(NoteFactory.getInstance(), new NoteListener() {
+
+            @Override
+            public void noteParsed(String lineId, int tempo, Note note) {
+                pipeline.addNote(VoiceLayout.staffOf(lineId), lineId, note);
+            }
+
+            @Override
+            public void partParsed(TempoMap tempoMap) {
+                pipeline.endParts(tempoMap);
+            }
+
+        });
+        SAXParserFactory.newInstance().newSAXParser().parse(
+                new ByteArrayInputStream(score.getBytes(StandardCharsets.UTF_8)), streamed);
+        pipeline.finish(streamed.getTempoMap());
+
+        assertArrayEquals(expected.getSamples(), readAll(pipeline.openStream(), 1000), 0.0);
+    }
+
+    @Test
+    void partsAreRenderedWhileTheFollowingOnesAreProduced() throws InterruptedException {
+        List<Note> first = melody(200, 0);
+        CountDownLatch rendered = new CountDownLatch(first.size());
+        NoteSynthesizer counting = new PureSound() {
+            @Override
+            public int synthesizeInto(Note note, int tempo, double volume, double[] out, int offset) {
+                int n = super.synthesizeInto(note, tempo, volume, out, offset);
+                rendered.countDown();
+                return n;
+            }
+        };
+
+        PipelinedMusicSynthesizer pipeline = new PipelinedMusicSynthesizer(part -> counting, VOLUME);
+        first.forEach(note -> pipeline.addNote("P1", "P1", note));
+        pipeline.endParts(TempoMap.of(TEMPO));
+
+        // The whole part is rendered, although nothing reads it and other parts may come.
+        assertTrue(rendered.await(10, TimeUnit.SECONDS));
+        pipeline.addNote("P2", "P2", first.get(0));
+        pipeline.finish(TempoMap.of(TEMPO));
+        assertTrue(readAll(pipeline.openStream(), 4096).length > 0);
+    }
+
+    @Test
+    void synthesizedSamplesCanBeReadSeveralTimes() {
+        PipelinedMusicSynthesizer pipeline = new PipelinedMusicSynthesizer(part -> new PureSound(), VOLUME);
+        melody(10, 2).forEach(note -> pipeline.addNote("P1", "P1", note));
+        pipeline.finish(TempoMap.of(TEMPO));
+        pipeline.synthesize();
+
+        double[] samples = pipeline.getSamples();
+        assertTrue(samples.length > 0);
+        assertArrayEquals(samples, readAll(pipeline.openStream(), 4096), 0.0);
+        assertArrayEquals(samples, readAll(pipeline.openStream(), 333), 0.0);
+    }
+
+    @Test
+    void streamRequiresAllTheNotes() {
+        PipelinedMusicSynthesizer pipeline = new PipelinedMusicSynthesizer(part -> new PureSound(), VOLUME);
+        pipeline.addNote("P1", "P1", melody(1, 0).get(0));
+        assertThrows(IllegalStateException.class, pipeline::openStream);
+
+        pipeline.endParts(TempoMap.of(TEMPO));
+        Note note = melody(1, 0).get(0);
+        assertThrows(IllegalStateException.class, () -> pipeline.addNote("P1", "P1/2", note));
+        pipeline.addNote("P2", "P2", note);
+
+        pipeline.finish(TempoMap.of(TEMPO));
+        assertThrows(IllegalStateException.class, () -> pipeline.addNote("P3", "P3", note));
+        pipeline.openStream();
+        assertThrows(IllegalStateException.class, pipeline::openStream);
+    }
+
+    @Test
+    void renderingFailuresAreRethrownToTheReader() {
+        NoteSynthesizer failing = (note, tempo, volume) -> {
+            throw new IllegalStateException("boom");
+        };
+        PipelinedMusicSynthesizer pipeline = new PipelinedMusicSynthesizer(part -> failing, VOLUME);
+        melody(3, 0).forEach(note -> pipeline.addNote("P1", "P1", note));
+        pipeline.finish(TempoMap.of(TEMPO));
+
+        AudioSource source = pipeline.openStream();
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> readAll(source, 4096));
+        assertEquals("boom", e.getMessage());
+    }
+}
@@ -0,0 +1,153 @@
+package fr.univartois.butinfo.lensymphony.synthesizer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Unit tests for the SampleKernels enumeration.
+ * The vector kernels are only tested when the Vector API is available.
+ */
+class SampleKernelsTest {
+
+    /**
+     * The lengths to test, so that the samples after the last full vector are also
+     * processed.
+     */
+    private static final int[] LENGTHS = {0, 1, 3, 8, 17, 1000, 4099};
+
+    private static double[] random(int length, long seed) {
+        Random random = new Random(seed);
+        double[] samples = new double[length];
+        for (int i = 0; i < length; i++) {
+            samples[i] = random.nextDouble(-1.2, 1.2);
+        }
+        return samples;
+    }
+
+    @Test
+    void defaultKernelsAreAvailable() {
+        assertTrue(SampleKernels.SCALAR.isAvailable());
+        assertTrue(SampleKernels.getDefault().isAvailable());
+    }
+
+    @Test
+    void unavailableKernelsFallBackToScalar() {
+        SampleKernels previous = SampleKernels.getDefault();
+        try {
+            SampleKernels.setDefault(SampleKernels.VECTOR);
+            assertEquals(SampleKernels.VECTOR.isAvailable() ? SampleKernels.VECTOR : SampleKernels.SCALAR,
+                    SampleKernels.getDefault());
+            SampleKernels.setDefault(SampleKernels.SCALAR);
+            assertEquals(SampleKernels.SCALAR, SampleKernels.getDefault());
+            assertThrows(NullPointerException.class, () -> SampleKernels.setDefault(null));
+        } finally {
+            SampleKernels.setDefault(previous);
+        }
+    }
+
+    @Test
+    void kernelsAreParsedLeniently() {
+        Locale previous = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+            assertEquals(SampleKernels.SCALAR, SampleKernels.parse(" scalar "));
+            assertEquals(SampleKernels.VECTOR, SampleKernels.parse("Vector"));
+        } finally {
+            Locale.setDefault(previous);
+        }
+        assertEquals(SampleKernels.VECTOR, SampleKernels.parse(null));
+        assertEquals(SampleKernels.VECTOR, SampleKernels.parse("simd"));
+    }
+
+    @Test
+    void unavailableVectorKernelsCannotBeRun() {
+        assumeFalse(SampleKernels.VECTOR.isAvailable());
+        assertThrows(IllegalStateException.class,
+                () -> SampleKernels.VECTOR.scale(new double[1], 0, new double[1], 0, 1, 0.5));
+    }
+
+    @Test
+    void scalarKernelsComputeTheDocumentedValues() {
+        double[] src = random(10, 1);
+        double[] dst = new double[12];
+        SampleKernels.SCALAR.scale(src, 0, dst, 2, 10, 0.25);
+        assertEquals(0.0, dst[1]);
+        assertEquals(src[9] * 0.25, dst[11]);
+
+        double[] mixed = random(10, 2);
+        double expected = mixed[3] + src[5] / 3;
+        SampleKernels.SCALAR.mix(src, 2, mixed, 0, 10 - 2, 3);
+        assertEquals(expected, mixed[3]);
+
+        double[] noisy = new double[5];
+        SampleKernels.SCALAR.addNoise(42, 100, 0.5, noisy, 1, 4);
+        assertEquals(0.0, noisy[0]);
+        assertEquals(0.5 * NoiseSource.noise(42, 101), noisy[2]);
+
+        byte[] pcm = new byte[4];
+        SampleKernels.SCALAR.encode(new double[] {0.5, -1.0}, 0, 2, pcm, 0);
+        assertArrayEquals(new byte[] {(byte) 0xff, 0x3f, 0x01, (byte) 0x80}, pcm);
+    }
+
+    @Test
+    void vectorScaleMatchesScalar() {
+        assumeTrue(SampleKernels.VECTOR.isAvailable());
+        for (int length : LENGTHS) {
+            double[] src = random(length + 5, length);
+            double[] expected = new double[length + 7];
+            double[] actual = new double[length + 7];
+            SampleKernels.SCALAR.scale(src, 5, expected, 3, length, 0.3);
+            SampleKernels.VECTOR.scale(src, 5, actual, 3, length, 0.3);
+            assertArrayEquals(expected, actual, 0.0);
+
+            SampleKernels.SCALAR.scale(expected, 3, expected, 3, length, 1.7);
+            SampleKernels.VECTOR.scale(actual, 3, actual, 3, length, 1.7);
+            assertArrayEquals(expected, actual, 0.0);
+        }
+    }
+
+    @Test
+    void vectorMixMatchesScalar() {
+        assumeTrue(SampleKernels.VECTOR.isAvailable());
+        for (int length : LENGTHS) {
+            double[] part = random(length + 2, length);
+            double[] expected = random(length + 9, -length);
+            double[] actual = expected.clone();
+            SampleKernels.SCALAR.mix(part, 2, expected, 9, length, 3);
+            SampleKernels.VECTOR.mix(part, 2, actual, 9, length, 3);
+            assertArrayEquals(expected, actual, 0.0);
+        }
+    }
+
+    @Test
+    void vectorNoiseMatchesScalar() {
+        assumeTrue(SampleKernels.VECTOR.isAvailable());
+        for (int length : LENGTHS) {
+            double[] expected = random(length + 1, length);
+            double[] actual = expected.clone();
+            SampleKernels.SCALAR.addNoise(-123456789L, 77, 0.02, expected, 1, length);
+            SampleKernels.VECTOR.addNoise(-123456789L, 77, 0.02, actual, 1, length);
+            assertArrayEquals(expected, actual, 0.0);
+        }
+    }
+
+    @Test
+    void vectorEncodingMatchesScalar() {
+        assumeTrue(SampleKernels.VECTOR.isAvailable());
+        for (int length : LENGTHS) {
+            double[] samples = random(length + 4, length);
+            samples[samples.length - 1 - length / 2] = Double.NaN;
+            byte[] expected = new byte[2 * length + 6];
+            byte[] actual = new byte[2 * length + 6];
+            SampleKernels.SCALAR.encode(samples, 4, length, expected, 3);
+            SampleKernels.VECTOR.encode(samples, 4, length, actual, 3);
+            assertArrayEquals(expected, actual);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package fr.univartois.butinfo.lensymphony.synthesizer;
+
+import fr.univartois.butinfo.lensymphony.notes.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the SimpleMusicSynthesizer class.
+ */
+class SimpleMusicSynthesizerTest {
+
+    private static final int TEMPO = 120;
+
+    private static final double VOLUME = 0.5;
+
+    /**
+     * A fake synthesizer producing a fixed number of samples for each note, all equal to
+     * the frequency of the note.
+     */
+    private static class FixedLengthSynth implements NoteSynthesizer {
+        private final int length;
+
+        FixedLengthSynth(int length) {
+            this.length = length;
+        }
+
+        @Override
+        public double[] synthesize(Note note, int tempo, double volume) {
+            double[] sounds = new double[length];
+            Arrays.fill(sounds, note.getFrequency());
+            return sounds;
+        }
+    }
+
+    /**
+     * A synthesizer recording the position of each note it synthesizes in place.
+     */
+    private static class RecordingSynth extends PureSound {
+        private final List<Long> onsets = new ArrayList<>();
+
+        @Override
+        public int synthesizeInto(Note note, int tempo, double volume, long onset, double[] out,
+                int offset) {
+            onsets.add(onset);
+            return super.synthesizeInto(note, tempo, volume, onset, out, offset);
+        }
+    }
+
+    @Test
+    void samplesAreTheConcatenationOfTheNotes() {
+        NoteSynthesizer pure = new PureSound();
+        Note a = new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.QUARTER);
+        Note c = new PitchedNote(NotePitch.of(PitchClass.C, 5), NoteValue.EIGHTH);
+        Note rest = new Rest(NoteValue.SIXTEENTH);
+
+        SimpleMusicSynthesizer synth = new SimpleMusicSynthesizer(TEMPO, List.of(a, rest, c), pure, VOLUME);
+        synth.synthesize();
+
+        double[] first = pure.synthesize(a, TEMPO, VOLUME);
+        double[] second = pure.synthesize(rest, TEMPO, VOLUME);
+        double[] third = pure.synthesize(c, TEMPO, VOLUME);
+        double[] samples = synth.getSamples();
+
+        assertEquals(first.length + second.length + third.length, samples.length);
+        for (int i = 0; i < first.length; i++) {
+            assertEquals(first[i], samples[i]);
+        }
+        for (int i = 0; i < third.length; i++) {
+            assertEquals(third[i], samples[first.length + second.length + i]);
+        }
+    }
+
+    @Test
+    void shorterNotesAreTrimmed() {
+        // The harmonic synthesizer produces no sample for rests.
+        NoteSynthesizer harmonic = new HarmonicSynthesizer(new PureSound(), 3);
+        Note a = new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.QUARTER);
+        Note rest = new Rest(NoteValue.QUARTER);
+
+        SimpleMusicSynthesizer synth = new SimpleMusicSynthesizer(TEMPO, List.of(a, rest), harmonic, VOLUME);
+        synth.synthesize();
+
+        assertEquals(22050, synth.getSamples().length);
+    }
+
+    @Test
+    void longerNotesGrowTheBuffer() {
+        Note a = new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.SIXTY_FOURTH);
+        SimpleMusicSynthesizer synth = new SimpleMusicSynthesizer(TEMPO, List.of(a, a, a),
+                new FixedLengthSynth(50_000), VOLUME);
+        synth.synthesize();
+
+        double[] samples = synth.getSamples();
+        assertEquals(150_000, samples.length);
+        assertEquals(a.getFrequency(), samples[149_999]);
+    }
+
+    @Test
+    void eachNoteIsSynthesizedOnceAtItsPosition() {
+        RecordingSynth recording = new RecordingSynth();
+        Note a = new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.QUARTER);
+        Note c = new PitchedNote(NotePitch.of(PitchClass.C, 5), NoteValue.EIGHTH);
+        SimpleMusicSynthesizer synth = new SimpleMusicSynthesizer(TEMPO, List.of(a, c, a), recording, VOLUME);
+        synth.synthesize();
+
+        assertEquals(List.of(0L, 22050L, 33075L), recording.onsets);
+        assertEquals(55125, synth.getSamples().length);
+    }
+
+    @Test
+    void synthesizeTwiceGivesTheSameSamples() {
+        Note a = new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.QUARTER);
+        SimpleMusicSynthesizer synth = new SimpleMusicSynthesizer(TEMPO, List.of(a, a), new PureSound(), VOLUME);
+
+        synth.synthesize();
+        double[] first = synth.getSamples();
+        synth.synthesize();
+
+        assertArrayEquals(first, synth.getSamples(), 0.0);
+    }
+
+    @Test
+    void notSynthesizedGivesNoSample() {
+        Note a = new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.QUARTER);
+        SimpleMusicSynthesizer synth = new SimpleMusicSynthesizer(TEMPO, List.of(a), new PureSound(), VOLUME);
+
+        assertEquals(0, synth.getSamples().length);
+    }
+
+    private static double[] readAll(AudioSource source, int blockSize) {
+        double[] all = new double[0];
+        double[] block = new double[blockSize];
+        for (int n = source.read(block, 0, blockSize); n >= 0; n = source.read(block, 0, blockSize)) {
+            all = Arrays.copyOf(all, all.length + n);
+            System.arraycopy(block, 0, all, all.length - n, n);
+        }
+        return all;
+    }
+
+    @Test
+    void streamRendersTheNotesOnTheFly() {
+        NoteSynthesizer piano = Instruments.PIANO.getSynthesizer();
+        Note a = new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.QUARTER);
+        Note c = new PitchedNote(NotePitch.of(PitchClass.C, 5), NoteValue.EIGHTH);
+        List<Note> notes = List.of(a, new Rest(NoteValue.SIXTEENTH), c);
+
+        SimpleMusicSynthesizer synthesized = new SimpleMusicSynthesizer(TEMPO, notes, piano, VOLUME);
+        synthesized.synthesize();
+        SimpleMusicSynthesizer streamed = new SimpleMusicSynthesizer(TEMPO, notes, piano, VOLUME);
+
+        assertArrayEquals(synthesized.getSamples(), readAll(streamed.openStream(), 1000), 0.0);
+        assertEquals(0, streamed.getSamples().length);
+    }
+
+    @Test
+    void streamReadsSynthesizedSamples() {
+        Note a = new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.QUARTER);
+        SimpleMusicSynthesizer synth = new SimpleMusicSynthesizer(TEMPO, List.of(a), new PureSound(), VOLUME);
+        synth.synthesize();
+
+        assertArrayEquals(synth.getSamples(), readAll(synth.openStream(), 4096), 0.0);
+    }
+
+    @Test
+    void pieceSourceMixesTheScoresOnTheFly() {
+        Note a = new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.QUARTER);
+        Note c = new PitchedNote(NotePitch.of(PitchClass.C, 5), NoteValue.EIGHTH);
+        Score violin = new Score(Instruments.VIOLIN, List.of(a, new Rest(NoteValue.SIXTEENTH), c));
+        Score harp = new Score(Instruments.HARP, List.of(c, a));
+        MusicPiece piece = new MusicPiece(TEMPO);
+        piece.addScore(violin);
+        piece.addScore(harp);
+
+        MultipleScoreSynthesizer composite = new MultipleScoreSynthesizer();
+        for (Score score : piece) {
+            composite.add(new SimpleMusicSynthesizer(TEMPO, score.getNotes(),
+                    score.getInstrument().getSynthesizer(), VOLUME));
+        }
+        composite.synthesize();
+
+        assertArrayEquals(composite.getSamples(), readAll(AudioSource.of(piece, VOLUME), 777), 0.0);
+    }
+
+    @Test
+    void streamGrowsWithLongerNotes() {
+        Note a = new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.SIXTY_FOURTH);
+        NoteSynthesizer fixed = new FixedLengthSynth(50_000);
+        SimpleMusicSynthesizer synthesized = new SimpleMusicSynthesizer(TEMPO, List.of(a, a), fixed, VOLUME);
+        synthesized.synthesize();
+        SimpleMusicSynthesizer streamed = new SimpleMusicSynthesizer(TEMPO, List.of(a, a), fixed, VOLUME);
+
+        assertEquals(100_000, synthesized.getSamples().length);
+        assertArrayEquals(synthesized.getSamples(), readAll(streamed.openStream(), 4096), 0.0);
+    }
+}
@@ -4,10 +4,17 @@ import fr.univartois.butinfo.lensymphony.notes.Note;
 import fr.univartois.butinfo.lensymphony.notes.NoteFactory;
 import fr.univartois.butinfo.lensymphony.notes.NotePitch;
 import fr.univartois.butinfo.lensymphony.notes.NoteValue;
+import fr.univartois.butinfo.lensymphony.notes.PackedScore;
 import fr.univartois.butinfo.lensymphony.notes.PitchClass;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -99,4 +106,94 @@ public class SnareDrumSynthesizerTest {
         assertTrue(maxBeforeAttack > maxAfterAttack,
                 "Le signal doit décroître après la phase d’attaque");
     }
+
+    @Test
+    void testSameNoteSoundsTheSame() {
+        assertFalse(snare.isDeterministic());
+        assertArrayEquals(snare.synthesize(note, 120, 1.0), snare.synthesize(note, 120, 1.0));
+        double[] hit = new double[snare.sampleCount(note, 120)];
+        double[] again = new double[hit.length];
+        snare.synthesizeInto(note, 120, 1.0, 22050, hit, 0);
+        snare.synthesizeInto(note, 120, 1.0, 22050, again, 0);
+        assertArrayEquals(hit, again);
+    }
+
+    @Test
+    void testRepeatedHitsVary() {
+        List<Note> notes = Collections.nCopies(8, note);
+        NoteSynthesizer cached = new CachingSynthesizer(snare);
+        SimpleMusicSynthesizer music = new SimpleMusicSynthesizer(120, notes, cached, 1.0);
+        music.synthesize();
+        double[] samples = music.getSamples();
+
+        // Chaque coup est joué avec la variation choisie par sa position
+        int length = snare.sampleCount(note, 120);
+        Set<Integer> hits = new HashSet<>();
+        for (int i = 0; i < notes.size(); i++) {
+            double[] hit = new double[length];
+            snare.synthesizeInto(note, 120, 1.0, (long) i * length, hit, 0);
+            assertArrayEquals(hit, Arrays.copyOfRange(samples, i * length, (i + 1) * length));
+            hits.add(Arrays.hashCode(hit));
+        }
+        assertTrue(hits.size() > 1, "Les coups répétés ne doivent pas tous être identiques");
+
+        // Les autres rendus donnent les mêmes coups
+        PackedMusicSynthesizer packed = new PackedMusicSynthesizer(
+                PackedScore.of(notes, 120), cached, 1.0);
+        packed.synthesize();
+        assertArrayEquals(samples, packed.getSamples());
+        double[] streamed = new double[samples.length];
+        AudioSource source = AudioSource.of(120, notes, cached, 1.0);
+        for (int read = 0; read < streamed.length; ) {
+            read += source.read(streamed, read, Math.min(1000, streamed.length - read));
+        }
+        assertArrayEquals(samples, streamed);
+    }
+
+    @Test
+    void testBlocksMatchWholeNote() {
+        double[] expected = snare.synthesize(note, 120, 1.0);
+        double[] blocks = new double[expected.length];
+        for (int from = 0; from < blocks.length; from += 777) {
+            snare.synthesizeBlock(note, 120, 1.0, from, blocks, from, 777);
+        }
+        assertArrayEquals(expected, blocks);
+    }
+
+    @Test
+    void testSeedChangesNoise() {
+        SnareDrumSynthesizer other = SnareDrumSynthesizer.withNoise(NoiseSource.of(7));
+        assertNotSame(snare, other);
+        assertNotEquals(snare.synthesize(note, 120, 1.0)[100], other.synthesize(note, 120, 1.0)[100]);
+    }
+
+    @Test
+    void testHitsAreTheComputedHitOfTheirVariant() {
+        // Chaque coup est le son calculé avec le bruit de la variation choisie par sa position
+        double volume = 0.8;
+        int length = snare.sampleCount(note, 120);
+        long seed = NoiseSource.DEFAULT.seed(note, length);
+        double[][] hits = new double[16][length];
+        int[] variants = new int[hits.length];
+
+        for (int h = 0; h < hits.length; h++) {
+            long onset = (long) h * length;
+            variants[h] = PercussionBank.variantOf(seed, onset);
+            long variantSeed = NoiseSource.DEFAULT.seed(variants[h]);
+            snare.synthesizeInto(note, 120, volume, onset, hits[h], 0);
+            for (int i = 0; i < length; i++) {
+                double t = (double) i / SnareDrumSynthesizer.SAMPLE_RATE;
+                double expected = volume * snare.envelope(t, volume) * NoiseSource.noise(variantSeed, i);
+                assertEquals(expected, hits[h][i], 1e-12);
+            }
+        }
+
+        // Deux coups sont identiques si et seulement si leurs positions choisissent la même variation
+        for (int h = 0; h < hits.length; h++) {
+            for (int k = 0; k < hits.length; k++) {
+                assertEquals(variants[h] == variants[k], Arrays.equals(hits[h], hits[k]));
+            }
+        }
+        assertTrue(Arrays.stream(variants).distinct().count() > 1);
+    }
 }
@@ -0,0 +1,93 @@
+package fr.univartois.butinfo.lensymphony.synthesizer;
+
+import fr.univartois.butinfo.lensymphony.notes.*;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the WavWriter class.
+ */
+class WavWriterTest {
+
+    private static double[] ramp(int length) {
+        double[] samples = new double[length];
+        for (int i = 0; i < length; i++) {
+            samples[i] = Math.sin(i * 0.01) * 0.8;
+        }
+        return samples;
+    }
+
+    @Test
+    void writtenFileCanBeReadBack() throws IOException, UnsupportedAudioFileException {
+        double[] samples = ramp(2 * AudioStreamer.BLOCK_FRAMES + 57);
+        byte[] expected = new byte[samples.length * 2];
+        PcmEncoding.encode(samples, 0, samples.length, expected, 0);
+        Path file = Files.createTempFile("lensymphony", ".wav");
+
+        try {
+            WavWriter.write(AudioSource.of(samples), file);
+
+            try (AudioInputStream in = AudioSystem.getAudioInputStream(file.toFile())) {
+                AudioFormat format = in.getFormat();
+                assertEquals(NoteSynthesizer.SAMPLE_RATE, format.getSampleRate());
+                assertEquals(16, format.getSampleSizeInBits());
+                assertEquals(1, format.getChannels());
+                assertFalse(format.isBigEndian());
+                assertEquals(samples.length, in.getFrameLength());
+                assertArrayEquals(expected, in.readAllBytes());
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void headerLengthsArePatched() throws IOException {
+        Path file = Files.createTempFile("lensymphony", ".wav");
+
+        try {
+            try (WavWriter writer = new WavWriter(file)) {
+                writer.write(ramp(10), 0, 10);
+                writer.write(ramp(10), 5, 5);
+            }
+
+            ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+            assertEquals(44 + 30, content.capacity());
+            assertEquals(36 + 30, content.getInt(4));
+            assertEquals(30, content.getInt(40));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void savedFileHoldsTheAudioData() throws IOException, UnsupportedAudioFileException {
+        Note a = new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.QUARTER);
+        SimpleMusicSynthesizer synth = new SimpleMusicSynthesizer(120, List.of(a, a), new PureSound(), 0.5);
+        synth.synthesize();
+        Path file = Files.createTempFile("lensymphony", ".wav");
+
+        try {
+            synth.save(file.toString());
+
+            try (AudioInputStream in = AudioSystem.getAudioInputStream(file.toFile())) {
+                assertArrayEquals(synth.getAudioData(), in.readAllBytes());
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -50,4 +50,44 @@ public class WhiteNoiseSynthesizerTest {
             new WhiteNoiseSynthesizer(new PureSound(), -0.01);
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    void sameNoteGetsSameNoise() {
+        NoteSynthesizer noisy = new WhiteNoiseSynthesizer(new PureSound(), 0.02);
+        Note note = new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.QUARTER);
+
+        assertTrue(noisy.isDeterministic());
+        assertArrayEquals(noisy.synthesize(note, 120, 0.5), noisy.synthesize(note, 120, 0.5));
+    }
+
+    @Test
+    void seedChangesNoise() {
+        Note note = new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.QUARTER);
+        double[] first = new WhiteNoiseSynthesizer(new PureSound(), 0.02, NoiseSource.of(1))
+                .synthesize(note, 120, 0.5);
+        double[] second = new WhiteNoiseSynthesizer(new PureSound(), 0.02, NoiseSource.of(2))
+                .synthesize(note, 120, 0.5);
+
+        assertNotEquals(first[1000], second[1000]);
+    }
+
+    @Test
+    void blocksMatchWholeNote() {
+        NoteSynthesizer noisy = new WhiteNoiseSynthesizer(new PureSound(), 0.02);
+        Note note = new PitchedNote(NotePitch.of(PitchClass.A, 4), NoteValue.QUARTER);
+        double[] expected = noisy.synthesize(note, 120, 0.5);
+
+        double[] blocks = new double[expected.length];
+        for (int from = 0; from < blocks.length; from += 1000) {
+            noisy.synthesizeBlock(note, 120, 0.5, from, blocks, from, 1000);
+        }
+        assertArrayEquals(expected, blocks);
+    }
+
+    @Test
+    void nullNoise_throwsException() {
+        assertThrows(NullPointerException.class, () -> {
+            new WhiteNoiseSynthesizer(new PureSound(), 0.02, null);
+        });
+    }
+}
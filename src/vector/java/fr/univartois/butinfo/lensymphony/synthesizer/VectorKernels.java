@@ -0,0 +1,158 @@
+/**
+ * LenSymphony - A simple music synthesizer library developed in Lens, France.
+ * Copyright (c) 2025 Romain Wallon - Université d'Artois.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to
+ * deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package fr.univartois.butinfo.lensymphony.synthesizer;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The VectorKernels implement the {@link SampleKernels#VECTOR} kernels with the Vector API
+ * of the JDK, so that each instruction processes as many samples as the SIMD registers of
+ * the CPU can hold.
+ * The samples remaining after the last full vector are processed one at a time.
+ * <p>
+ * Each kernel performs the same operations as the scalar kernels (in particular, no fused
+ * multiply-add), so that they produce exactly the same samples.
+ * <p>
+ * This class requires the {@code jdk.incubator.vector} module.
+ * It is thus built apart from the other classes, and only loaded by {@link SampleKernels}
+ * when this module is available.
+ *
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+final class VectorKernels implements SampleKernels.Loops {
+
+    /**
+     * The species of the vectors of samples.
+     */
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+
+    /**
+     * The species of the vectors of the states of the noise, with as many lanes as
+     * {@link #DOUBLES}.
+     */
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+
+    /**
+     * The increment between the states of the noise (see {@link NoiseSource}).
+     */
+    private static final long GAMMA = 0x9e3779b97f4a7c15L;
+
+    /**
+     * Creates new VectorKernels.
+     * They are created by {@link SampleKernels} when the Vector API is available.
+     */
+    VectorKernels() {
+        // Nothing to initialize: the kernels have no state.
+    }
+
+    /**
+     * Multiplies samples by a gain (see {@link SampleKernels#scale}).
+     *
+     * @param src The array containing the samples to scale.
+     * @param srcOffset The index of the first sample to scale.
+     * @param dst The array in which to write the scaled samples.
+     * @param dstOffset The index at which to write the first scaled sample.
+     * @param length The number of samples to scale.
+     * @param gain The gain to apply.
+     */
+    @Override
+    public void scale(double[] src, int srcOffset, double[] dst, int dstOffset, int length,
+            double gain) {
+        int i = 0;
+        for (int bound = DOUBLES.loopBound(length); i < bound; i += DOUBLES.length()) {
+            DoubleVector.fromArray(DOUBLES, src, srcOffset + i).mul(gain)
+                    .intoArray(dst, dstOffset + i);
+        }
+        for (; i < length; i++) {
+            dst[dstOffset + i] = src[srcOffset + i] * gain;
+        }
+    }
+
+    /**
+     * Adds the samples of a part to a mix (see {@link SampleKernels#mix}).
+     *
+     * @param part The array containing the samples of the part.
+     * @param partOffset The index of the first sample of the part to add.
+     * @param mixed The array containing the mix.
+     * @param mixedOffset The index of the first sample of the mix to add to.
+     * @param length The number of samples to add.
+     * @param count The number of parts in the mix.
+     */
+    @Override
+    public void mix(double[] part, int partOffset, double[] mixed, int mixedOffset,
+            int length, int count) {
+        int i = 0;
+        for (int bound = DOUBLES.loopBound(length); i < bound; i += DOUBLES.length()) {
+            DoubleVector.fromArray(DOUBLES, part, partOffset + i).div(count)
+                    .add(DoubleVector.fromArray(DOUBLES, mixed, mixedOffset + i))
+                    .intoArray(mixed, mixedOffset + i);
+        }
+        for (; i < length; i++) {
+            mixed[mixedOffset + i] += part[partOffset + i] / count;
+        }
+    }
+
+    /**
+     * Adds white noise to samples (see {@link SampleKernels#addNoise}).
+     * The values of the noise are computed in the lanes of long vectors.
+     *
+     * @param seed The seed of the noise of the note.
+     * @param from The index in the note of the first sample.
+     * @param amplitude The amplitude of the noise.
+     * @param buffer The buffer containing the samples.
+     * @param offset The index of the first sample in the buffer.
+     * @param length The number of samples to which to add noise.
+     */
+    @Override
+    public void addNoise(long seed, int from, double amplitude, double[] buffer, int offset,
+            int length) {
+        int i = 0;
+        LongVector state = LongVector.zero(LONGS).addIndex(1).mul(GAMMA)
+                .add(seed + (from + 1L) * GAMMA);
+        long step = LONGS.length() * GAMMA;
+        for (int bound = DOUBLES.loopBound(length); i < bound; i += DOUBLES.length()) {
+            LongVector z = state;
+            z = z.lanewise(VectorOperators.XOR, z.lanewise(VectorOperators.LSHR, 30))
+                    .mul(0xbf58476d1ce4e5b9L);
+            z = z.lanewise(VectorOperators.XOR, z.lanewise(VectorOperators.LSHR, 27))
+                    .mul(0x94d049bb133111ebL);
+            z = z.lanewise(VectorOperators.XOR, z.lanewise(VectorOperators.LSHR, 31))
+                    .lanewise(VectorOperators.LSHR, 11);
+            DoubleVector noise = ((DoubleVector) z.convert(VectorOperators.L2D, 0))
+                    .mul(0x1.0p-52).sub(1.0);
+            noise.mul(amplitude).add(DoubleVector.fromArray(DOUBLES, buffer, offset + i))
+                    .intoArray(buffer, offset + i);
+            state = state.add(step);
+        }
+        for (; i < length; i++) {
+            buffer[offset + i] += amplitude * NoiseSource.noise(seed, from + i);
+        }
+    }
+
+}